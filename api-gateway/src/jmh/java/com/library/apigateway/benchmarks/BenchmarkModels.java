@@ -0,0 +1,82 @@
+package com.library.apigateway.benchmarks;
+
+import com.library.apigateway.domainclientlayer.catalogs.Author;
+import com.library.apigateway.domainclientlayer.catalogs.Status;
+import com.library.apigateway.domainclientlayer.loans.BookModel;
+import com.library.apigateway.domainclientlayer.loans.LoanStatus;
+import com.library.apigateway.presentationlayer.catalogs.books.BookResponseModel;
+import com.library.apigateway.presentationlayer.loans.LoanResponseModel;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Response models shaped like the ones the downstream services return, so the benchmarks map and serialize
+// realistic payloads.
+final class BenchmarkModels {
+
+    static final String CATALOG_ID = "d846a5a7-2e1c-4c79-809c-4f3f471e826d";
+
+    private BenchmarkModels() {
+    }
+
+    static List<BookResponseModel> books(int size) {
+        List<BookResponseModel> books = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            books.add(BookResponseModel.builder()
+                    .isbn(9780000000000L + i)
+                    .catalogId(CATALOG_ID)
+                    .title("The Great Gatsby " + i)
+                    .collection("F. Scott Fitzgerald")
+                    .edition("1st edition")
+                    .publisher("Scribner")
+                    .synopsis("A novel that follows a cast of characters living in the fictional towns of West Egg "
+                            + "and East Egg on prosperous Long Island in the summer of 1922.")
+                    .language("English")
+                    .status(Status.AVAILABLE)
+                    .author(new Author("F. Scott", "Fitzgerald"))
+                    .build());
+        }
+        return books;
+    }
+
+    static List<LoanResponseModel> loans(int size) {
+        List<LoanResponseModel> loans = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            loans.add(LoanResponseModel.builder()
+                    .loanId(UUID.nameUUIDFromBytes(("loan" + i).getBytes()).toString())
+                    .patronId("e5913a79-9b1e-4516-9ffd-06578e7af261")
+                    .patronFirstName("Vilma")
+                    .patronLastName("Chawner")
+                    .fineId(i % 4 == 0 ? UUID.nameUUIDFromBytes(("fine" + i).getBytes()).toString() : null)
+                    .status(LoanStatus.ACTIVE)
+                    .borrowedDate(LocalDate.of(2024, 3, 1))
+                    .dueDate(LocalDate.of(2024, 3, 15))
+                    .books(List.of(BookModel.builder()
+                            .isbn(9780000000000L + i)
+                            .catalogId(CATALOG_ID)
+                            .title("The Great Gatsby " + i)
+                            .collection("F. Scott Fitzgerald")
+                            .status(com.library.apigateway.domainclientlayer.loans.Status.BORROWED)
+                            .build()))
+                    .build());
+        }
+        return loans;
+    }
+
+    // links are built from the current request, as they are when a controller calls the mappers
+    static void bindRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/catalogs/" + CATALOG_ID + "/books");
+        request.setServerName("localhost");
+        request.setServerPort(8080);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    static void unbindRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+}
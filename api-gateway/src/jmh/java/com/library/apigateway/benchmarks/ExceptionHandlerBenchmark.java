@@ -0,0 +1,34 @@
+package com.library.apigateway.benchmarks;
+
+import com.library.apigateway.utils.GlobalControllerExceptionHandler;
+import com.library.apigateway.utils.HttpErrorInfo;
+import com.library.apigateway.utils.exceptions.NotFoundException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.concurrent.TimeUnit;
+
+// Building the error body for a downstream 404, the most common error the gateway passes on.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ExceptionHandlerBenchmark {
+
+    private final GlobalControllerExceptionHandler exceptionHandler = new GlobalControllerExceptionHandler();
+    private final NotFoundException exception = new NotFoundException("Unknown loanId provided: "
+            + "a2b1e3f4-0c1d-4e5f-8a9b-1c2d3e4f5a6b");
+    private WebRequest request;
+
+    @Setup
+    public void setUp() {
+        request = new ServletWebRequest(new MockHttpServletRequest("GET",
+                "/api/v1/patrons/e5913a79-9b1e-4516-9ffd-06578e7af261/loans/a2b1e3f4-0c1d-4e5f-8a9b-1c2d3e4f5a6b"));
+    }
+
+    @Benchmark
+    public HttpErrorInfo handleNotFound() {
+        return exceptionHandler.handleNotFoundException(request, exception);
+    }
+}
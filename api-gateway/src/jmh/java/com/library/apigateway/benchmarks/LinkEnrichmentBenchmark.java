@@ -0,0 +1,58 @@
+package com.library.apigateway.benchmarks;
+
+import com.library.apigateway.presentationlayer.catalogs.catalogbooks.CatalogBooksController;
+import com.library.apigateway.utils.LinkTemplate;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.hateoas.Link;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+// The three links of a book, built with linkTo(methodOn(...)) as the mappers used to and with the cached templates
+// they use now.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LinkEnrichmentBenchmark {
+
+    private static final Long ISBN = 9789390183524L;
+
+    private final LinkTemplate bookLink = LinkTemplate.of(CatalogBooksController.class, "getBook");
+    private final LinkTemplate booksLink = LinkTemplate.of(CatalogBooksController.class, "getAllBooks");
+    private final LinkTemplate catalogLink = LinkTemplate.of(CatalogBooksController.class, "getCatalog");
+
+    @Setup
+    public void setUp() {
+        BenchmarkModels.bindRequest();
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkModels.unbindRequest();
+    }
+
+    @Benchmark
+    public void linkToMethodOn(Blackhole blackhole) {
+        blackhole.consume(linkTo(methodOn(CatalogBooksController.class)
+                .getBook(BenchmarkModels.CATALOG_ID, ISBN)).withSelfRel());
+        blackhole.consume(linkTo(methodOn(CatalogBooksController.class)
+                .getAllBooks(BenchmarkModels.CATALOG_ID, null, null)).withRel("All the books in this catalog"));
+        blackhole.consume(linkTo(methodOn(CatalogBooksController.class)
+                .getCatalog(BenchmarkModels.CATALOG_ID)).withRel("Catalog"));
+    }
+
+    @Benchmark
+    public void linkTemplate(Blackhole blackhole) {
+        blackhole.consume(bookLink.expand(BenchmarkModels.CATALOG_ID, ISBN).withSelfRel());
+        blackhole.consume(booksLink.expand(BenchmarkModels.CATALOG_ID).withRel("All the books in this catalog"));
+        blackhole.consume(catalogLink.expand(BenchmarkModels.CATALOG_ID).withRel("Catalog"));
+    }
+
+    @Benchmark
+    public Link singleLinkTemplate() {
+        return bookLink.expand(BenchmarkModels.CATALOG_ID, ISBN).withSelfRel();
+    }
+}
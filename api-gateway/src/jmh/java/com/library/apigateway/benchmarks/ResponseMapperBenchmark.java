@@ -0,0 +1,50 @@
+package com.library.apigateway.benchmarks;
+
+import com.library.apigateway.mapperlayer.catalogs.book.BookResponseMapper;
+import com.library.apigateway.mapperlayer.catalogs.book.BookResponseMapperImpl;
+import com.library.apigateway.mapperlayer.loans.LoanResponseMapper;
+import com.library.apigateway.mapperlayer.loans.LoanResponseMapperImpl;
+import com.library.apigateway.presentationlayer.catalogs.books.BookResponseModel;
+import com.library.apigateway.presentationlayer.loans.LoanResponseModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// The list mappers every gateway list endpoint goes through, links included.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ResponseMapperBenchmark {
+
+    @Param({"1", "50", "500"})
+    int size;
+
+    private final BookResponseMapper bookResponseMapper = new BookResponseMapperImpl();
+    private final LoanResponseMapper loanResponseMapper = new LoanResponseMapperImpl();
+
+    private List<BookResponseModel> books;
+    private List<LoanResponseModel> loans;
+
+    @Setup
+    public void setUp() {
+        BenchmarkModels.bindRequest();
+        books = BenchmarkModels.books(size);
+        loans = BenchmarkModels.loans(size);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkModels.unbindRequest();
+    }
+
+    @Benchmark
+    public List<BookResponseModel> mapBooks() {
+        return bookResponseMapper.responseModelListToResponseModelList(books);
+    }
+
+    @Benchmark
+    public List<LoanResponseModel> mapLoans() {
+        return loanResponseMapper.responseModelListToResponseModelList(loans);
+    }
+}
@@ -0,0 +1,57 @@
+package com.library.apigateway.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.library.apigateway.mapperlayer.catalogs.book.BookResponseMapperImpl;
+import com.library.apigateway.mapperlayer.loans.LoanResponseMapperImpl;
+import com.library.apigateway.presentationlayer.catalogs.books.BookResponseModel;
+import com.library.apigateway.presentationlayer.loans.LoanResponseModel;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Writing mapped lists with links as HAL, the way the gateway renders its responses.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SerializationBenchmark {
+
+    @Param({"1", "50", "500"})
+    int size;
+
+    private ObjectMapper objectMapper;
+    private List<BookResponseModel> books;
+    private List<LoanResponseModel> loans;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .registerModule(new Jackson2HalModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        objectMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new DefaultLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+
+        BenchmarkModels.bindRequest();
+        books = new BookResponseMapperImpl().responseModelListToResponseModelList(BenchmarkModels.books(size));
+        loans = new LoanResponseMapperImpl().responseModelListToResponseModelList(BenchmarkModels.loans(size));
+        BenchmarkModels.unbindRequest();
+    }
+
+    @Benchmark
+    public byte[] writeBooks() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(books);
+    }
+
+    @Benchmark
+    public byte[] writeLoans() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(loans);
+    }
+}
@@ -1,22 +1,20 @@
 package com.library.apigateway;
 
-import org.apache.hc.client5.http.classic.HttpClient;
-import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import com.library.apigateway.domainclientlayer.ConditionalGetInterceptor;
+import com.library.apigateway.domainclientlayer.DownstreamHttpClientFactory;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @SpringBootApplication
 public class ApiGatewayApplication {
 
 	@Bean
-	RestTemplate restTemplate() {
-		RestTemplate restTemplate = new RestTemplate();
-		HttpClient httpClient = HttpClientBuilder.create().build();
-		HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
-		restTemplate.setRequestFactory(requestFactory);
+	RestTemplate restTemplate(DownstreamHttpClientFactory downstreamHttpClientFactory,
+							  ConditionalGetInterceptor conditionalGetInterceptor) {
+		RestTemplate restTemplate = new RestTemplate(downstreamHttpClientFactory.createRoutingRequestFactory("catalog-service", "fines-service", "patrons-service", "loans-service"));
+		restTemplate.getInterceptors().add(conditionalGetInterceptor);
 		return restTemplate;
 	}
 
@@ -4,20 +4,21 @@ import com.library.apigateway.presentationlayer.catalogs.books.BookRequestModel;
 import com.library.apigateway.presentationlayer.catalogs.books.BookResponseModel;
 import com.library.apigateway.presentationlayer.catalogs.catalog.CatalogRequestModel;
 import com.library.apigateway.presentationlayer.catalogs.catalog.CatalogResponseModel;
+import com.library.apigateway.utils.CursorPage;
 
 import java.util.List;
 
 public interface CatalogBooksService {
 
     // Methods for the catalogs
-    List<CatalogResponseModel> getAllCatalogs();
+    CursorPage<CatalogResponseModel> getAllCatalogs(String cursor, Integer size);
     CatalogResponseModel getCatalog(String catalogId);
     CatalogResponseModel addCatalog(CatalogRequestModel catalogRequestModel);
     CatalogResponseModel updateCatalog(CatalogRequestModel catalogRequestModel, String catalogId);
     void deleteCatalog(String catalogId);
 
     // Methods for the books
-    List<BookResponseModel> getAllBooksInCatalog(String catalogId);
+    CursorPage<BookResponseModel> getAllBooksInCatalog(String catalogId, String cursor, Integer size);
 
     BookResponseModel getBookInCatalog(String catalogId, Long isbn);
 
@@ -26,4 +27,6 @@ public interface CatalogBooksService {
     BookResponseModel updateBookInCatalog(String catalogId, Long isbn, BookRequestModel bookRequestModel);
 
     void deleteBookInCatalog(String catalogId, Long isbn);
+
+    List<BookResponseModel> searchBooks(String query, String catalogId, Integer size);
 }
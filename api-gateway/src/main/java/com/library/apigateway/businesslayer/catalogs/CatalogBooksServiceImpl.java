@@ -7,6 +7,7 @@ import com.library.apigateway.presentationlayer.catalogs.books.BookRequestModel;
 import com.library.apigateway.presentationlayer.catalogs.books.BookResponseModel;
 import com.library.apigateway.presentationlayer.catalogs.catalog.CatalogRequestModel;
 import com.library.apigateway.presentationlayer.catalogs.catalog.CatalogResponseModel;
+import com.library.apigateway.utils.CursorPage;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -26,8 +27,9 @@ public class CatalogBooksServiceImpl implements CatalogBooksService {
 
     // Methods for the catalogs
     @Override
-    public List<CatalogResponseModel> getAllCatalogs() {
-        return catalogResponseMapper.responseModelListToResponseModelList(catalogServiceClient.getAllCatalogs());
+    public CursorPage<CatalogResponseModel> getAllCatalogs(String cursor, Integer size) {
+        return catalogServiceClient.getAllCatalogs(cursor, size)
+                .map(catalogResponseMapper::responseModelListToResponseModelList);
     }
 
     @Override
@@ -56,9 +58,9 @@ public class CatalogBooksServiceImpl implements CatalogBooksService {
 
     // Methods for the books
     @Override
-    public List<BookResponseModel> getAllBooksInCatalog(String catalogId) {
-        return bookResponseMapper.responseModelListToResponseModelList(
-                catalogServiceClient.getBooksInCatalog(catalogId));
+    public CursorPage<BookResponseModel> getAllBooksInCatalog(String catalogId, String cursor, Integer size) {
+        return catalogServiceClient.getBooksInCatalog(catalogId, cursor, size)
+                .map(bookResponseMapper::responseModelListToResponseModelList);
     }
 
     @Override
@@ -83,4 +85,10 @@ public class CatalogBooksServiceImpl implements CatalogBooksService {
     public void deleteBookInCatalog(String catalogId, Long isbn) {
         catalogServiceClient.deleteBookByCatalogIdAndIsbn(catalogId, isbn);
     }
+
+    @Override
+    public List<BookResponseModel> searchBooks(String query, String catalogId, Integer size) {
+        return bookResponseMapper.responseModelListToResponseModelList(catalogServiceClient
+                .searchBooks(query, catalogId, size));
+    }
 }
@@ -2,11 +2,12 @@ package com.library.apigateway.businesslayer.fines;
 
 import com.library.apigateway.presentationlayer.fines.FineRequestModel;
 import com.library.apigateway.presentationlayer.fines.FineResponseModel;
+import com.library.apigateway.utils.CursorPage;
 
 import java.util.List;
 
 public interface FineService {
-    List<FineResponseModel> getAllFines();
+    CursorPage<FineResponseModel> getAllFines(String cursor, Integer size);
 
     FineResponseModel getFine(String fineId);
 
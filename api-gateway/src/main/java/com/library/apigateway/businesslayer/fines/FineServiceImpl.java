@@ -4,6 +4,7 @@ import com.library.apigateway.domainclientlayer.fines.FineServiceClient;
 import com.library.apigateway.mapperlayer.fines.FineResponseMapper;
 import com.library.apigateway.presentationlayer.fines.FineRequestModel;
 import com.library.apigateway.presentationlayer.fines.FineResponseModel;
+import com.library.apigateway.utils.CursorPage;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -21,8 +22,8 @@ public class FineServiceImpl implements FineService{
     }
 
     @Override
-    public List<FineResponseModel> getAllFines() {
-        return fineResponseMapper.responseModelListToResponseModelList(fineServiceClient.getAllFines());
+    public CursorPage<FineResponseModel> getAllFines(String cursor, Integer size) {
+        return fineServiceClient.getAllFines(cursor, size).map(fineResponseMapper::responseModelListToResponseModelList);
     }
 
     @Override
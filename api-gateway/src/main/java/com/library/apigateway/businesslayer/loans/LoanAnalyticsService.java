@@ -0,0 +1,20 @@
+package com.library.apigateway.businesslayer.loans;
+
+import com.library.apigateway.presentationlayer.loans.BookCheckoutsResponseModel;
+import com.library.apigateway.presentationlayer.loans.DailyCheckoutsResponseModel;
+import com.library.apigateway.presentationlayer.loans.LoanDurationResponseModel;
+import com.library.apigateway.presentationlayer.loans.OverdueRateResponseModel;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface LoanAnalyticsService {
+
+    List<DailyCheckoutsResponseModel> getCheckoutsPerDay(LocalDate from, LocalDate to);
+
+    OverdueRateResponseModel getOverdueRate(LocalDate from, LocalDate to);
+
+    LoanDurationResponseModel getAverageLoanDuration(LocalDate from, LocalDate to);
+
+    List<BookCheckoutsResponseModel> getMostBorrowedBooks(LocalDate from, LocalDate to, Integer limit);
+}
@@ -0,0 +1,41 @@
+package com.library.apigateway.businesslayer.loans;
+
+import com.library.apigateway.domainclientlayer.loans.LoanServiceClient;
+import com.library.apigateway.presentationlayer.loans.BookCheckoutsResponseModel;
+import com.library.apigateway.presentationlayer.loans.DailyCheckoutsResponseModel;
+import com.library.apigateway.presentationlayer.loans.LoanDurationResponseModel;
+import com.library.apigateway.presentationlayer.loans.OverdueRateResponseModel;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+public class LoanAnalyticsServiceImpl implements LoanAnalyticsService {
+
+    private final LoanServiceClient loanServiceClient;
+
+    public LoanAnalyticsServiceImpl(LoanServiceClient loanServiceClient) {
+        this.loanServiceClient = loanServiceClient;
+    }
+
+    @Override
+    public List<DailyCheckoutsResponseModel> getCheckoutsPerDay(LocalDate from, LocalDate to) {
+        return loanServiceClient.getCheckoutsPerDay(from, to);
+    }
+
+    @Override
+    public OverdueRateResponseModel getOverdueRate(LocalDate from, LocalDate to) {
+        return loanServiceClient.getOverdueRate(from, to);
+    }
+
+    @Override
+    public LoanDurationResponseModel getAverageLoanDuration(LocalDate from, LocalDate to) {
+        return loanServiceClient.getAverageLoanDuration(from, to);
+    }
+
+    @Override
+    public List<BookCheckoutsResponseModel> getMostBorrowedBooks(LocalDate from, LocalDate to, Integer limit) {
+        return loanServiceClient.getMostBorrowedBooks(from, to, limit);
+    }
+}
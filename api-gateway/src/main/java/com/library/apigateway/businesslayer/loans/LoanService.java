@@ -2,15 +2,16 @@ package com.library.apigateway.businesslayer.loans;
 
 import com.library.apigateway.presentationlayer.loans.LoanRequestModel;
 import com.library.apigateway.presentationlayer.loans.LoanResponseModel;
+import com.library.apigateway.utils.CursorPage;
 
 import java.util.List;
 
 public interface LoanService {
-    List<LoanResponseModel> getAllLoansForPatron(String patronId);
+    CursorPage<LoanResponseModel> getAllLoansForPatron(String patronId, String cursor, Integer size);
 
     LoanResponseModel getLoanForPatron(String patronId, String loanId);
 
-    LoanResponseModel addLoanForPatron(String patronId, LoanRequestModel loanRequestModel);
+    LoanResponseModel addLoanForPatron(String patronId, LoanRequestModel loanRequestModel, String idempotencyKey);
 
     LoanResponseModel updateLoanForPatron(String patronId, String loanId, LoanRequestModel loanRequestModel);
 
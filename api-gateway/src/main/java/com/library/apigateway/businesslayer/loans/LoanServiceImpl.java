@@ -4,6 +4,7 @@ import com.library.apigateway.domainclientlayer.loans.LoanServiceClient;
 import com.library.apigateway.mapperlayer.loans.LoanResponseMapper;
 import com.library.apigateway.presentationlayer.loans.LoanRequestModel;
 import com.library.apigateway.presentationlayer.loans.LoanResponseModel;
+import com.library.apigateway.utils.CursorPage;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -20,8 +21,8 @@ public class LoanServiceImpl implements LoanService{
     }
 
     @Override
-    public List<LoanResponseModel> getAllLoansForPatron(String patronId) {
-        return loanResponseMapper.responseModelListToResponseModelList(loanServiceClient.getAllLoans(patronId));
+    public CursorPage<LoanResponseModel> getAllLoansForPatron(String patronId, String cursor, Integer size) {
+        return loanServiceClient.getAllLoans(patronId, cursor, size).map(loanResponseMapper::responseModelListToResponseModelList);
     }
 
     @Override
@@ -30,8 +31,8 @@ public class LoanServiceImpl implements LoanService{
     }
 
     @Override
-    public LoanResponseModel addLoanForPatron(String patronId, LoanRequestModel loanRequestModel) {
-        return loanResponseMapper.responseModelToResponseModel(loanServiceClient.postLoan(patronId, loanRequestModel));
+    public LoanResponseModel addLoanForPatron(String patronId, LoanRequestModel loanRequestModel, String idempotencyKey) {
+        return loanResponseMapper.responseModelToResponseModel(loanServiceClient.postLoan(patronId, loanRequestModel, idempotencyKey));
     }
 
     @Override
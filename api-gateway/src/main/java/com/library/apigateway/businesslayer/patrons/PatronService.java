@@ -2,12 +2,13 @@ package com.library.apigateway.businesslayer.patrons;
 
 import com.library.apigateway.presentationlayer.patrons.PatronRequestModel;
 import com.library.apigateway.presentationlayer.patrons.PatronResponseModel;
+import com.library.apigateway.utils.CursorPage;
 
 import java.util.List;
 
 public interface PatronService {
 
-    List<PatronResponseModel> getAllPatrons();
+    CursorPage<PatronResponseModel> getAllPatrons(String cursor, Integer size);
 
     PatronResponseModel getPatron(String patronId);
 
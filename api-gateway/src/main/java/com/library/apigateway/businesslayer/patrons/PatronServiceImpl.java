@@ -4,6 +4,7 @@ import com.library.apigateway.domainclientlayer.patrons.PatronServiceClient;
 import com.library.apigateway.mapperlayer.patrons.PatronResponseMapper;
 import com.library.apigateway.presentationlayer.patrons.PatronRequestModel;
 import com.library.apigateway.presentationlayer.patrons.PatronResponseModel;
+import com.library.apigateway.utils.CursorPage;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -20,8 +21,8 @@ public class PatronServiceImpl implements PatronService{
     }
 
     @Override
-    public List<PatronResponseModel> getAllPatrons() {
-        return patronResponseMapper.responseModelListToResponseModelList(patronServiceClient.getAllPatrons());
+    public CursorPage<PatronResponseModel> getAllPatrons(String cursor, Integer size) {
+        return patronServiceClient.getAllPatrons(cursor, size).map(patronResponseMapper::responseModelListToResponseModelList);
     }
 
     @Override
@@ -0,0 +1,106 @@
+package com.library.apigateway.domainclientlayer;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+
+// Revalidates GETs against the last tagged response seen for the same URI. When the downstream answers 304 the
+// cached body is replayed as a 200, so a lookup that fell out of the TTL caches does not transfer the body again.
+@Component
+public class ConditionalGetInterceptor implements ClientHttpRequestInterceptor {
+
+    private final Cache<URI, TaggedBody> cache;
+
+    public ConditionalGetInterceptor(MeterRegistry meterRegistry,
+                                     @Value("${app.clients.revalidation.max-bytes:16777216}") long maxBytes) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((URI uri, TaggedBody body) -> body.body().length)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "http.client.revalidation");
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (request.getMethod() != HttpMethod.GET) {
+            return execution.execute(request, body);
+        }
+
+        URI uri = request.getURI();
+        TaggedBody cached = cache.getIfPresent(uri);
+        if (cached != null) {
+            request.getHeaders().setIfNoneMatch(cached.etag());
+        }
+
+        ClientHttpResponse response = execution.execute(request, body);
+        if (cached != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            response.close();
+            return new ReplayedResponse(cached);
+        }
+
+        String etag = response.getHeaders().getETag();
+        if (response.getStatusCode() != HttpStatus.OK || etag == null) {
+            cache.invalidate(uri);
+            return response;
+        }
+
+        TaggedBody tagged;
+        try (response) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(response.getHeaders());
+            tagged = new TaggedBody(etag, HttpHeaders.readOnlyHttpHeaders(headers),
+                    StreamUtils.copyToByteArray(response.getBody()));
+        }
+        cache.put(uri, tagged);
+        return new ReplayedResponse(tagged);
+    }
+
+    private record TaggedBody(String etag, HttpHeaders headers, byte[] body) {
+    }
+
+    private record ReplayedResponse(TaggedBody tagged) implements ClientHttpResponse {
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return HttpStatus.OK;
+        }
+
+        @Override
+        public String getStatusText() {
+            return HttpStatus.OK.getReasonPhrase();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return tagged.headers();
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(tagged.body());
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
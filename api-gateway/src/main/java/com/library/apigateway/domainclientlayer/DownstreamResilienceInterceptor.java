@@ -0,0 +1,137 @@
+package com.library.apigateway.domainclientlayer;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+// Guards every call to one downstream with its own bulkhead and circuit breaker.
+// Server errors, I/O failures and slow calls count against the breaker; 4xx responses do not.
+// A call lasts until its response is closed, so a body that is slow to arrive or fails halfway holds the bulkhead
+// permit and counts in the breaker's timing like a slow or failed call.
+class DownstreamResilienceInterceptor implements ClientHttpRequestInterceptor {
+
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+
+    DownstreamResilienceInterceptor(CircuitBreaker circuitBreaker, Bulkhead bulkhead) {
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        bulkhead.acquirePermission();
+        long start;
+        ClientHttpResponse response;
+        try {
+            circuitBreaker.acquirePermission();
+            start = System.nanoTime();
+            try {
+                response = execution.execute(request, body);
+            } catch (IOException | RuntimeException ex) {
+                circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, ex);
+                throw ex;
+            }
+        } catch (IOException | RuntimeException ex) {
+            bulkhead.onComplete();
+            throw ex;
+        }
+
+        GuardedResponse guardedResponse = new GuardedResponse(response, start);
+        try {
+            HttpStatusCode statusCode = response.getStatusCode();
+            if (statusCode.is5xxServerError()) {
+                guardedResponse.failure = new HttpServerErrorException(statusCode);
+            }
+            return guardedResponse;
+        } catch (IOException | RuntimeException ex) {
+            guardedResponse.failure = ex;
+            guardedResponse.close();
+            throw ex;
+        }
+    }
+
+    // records the call and releases the permit once, when the caller closes the response
+    private class GuardedResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse response;
+        private final long start;
+        private Throwable failure;
+        private boolean closed;
+
+        private GuardedResponse(ClientHttpResponse response, long start) {
+            this.response = response;
+            this.start = start;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return new FilterInputStream(response.getBody()) {
+                @Override
+                public int read() throws IOException {
+                    try {
+                        return super.read();
+                    } catch (IOException ex) {
+                        failure = ex;
+                        throw ex;
+                    }
+                }
+
+                @Override
+                public int read(byte[] bytes, int offset, int length) throws IOException {
+                    try {
+                        return super.read(bytes, offset, length);
+                    } catch (IOException ex) {
+                        failure = ex;
+                        throw ex;
+                    }
+                }
+            };
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                response.close();
+            } finally {
+                long duration = System.nanoTime() - start;
+                if (failure != null) {
+                    circuitBreaker.onError(duration, TimeUnit.NANOSECONDS, failure);
+                } else {
+                    circuitBreaker.onSuccess(duration, TimeUnit.NANOSECONDS);
+                }
+                bulkhead.onComplete();
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.library.apigateway.domainclientlayer;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Map;
+
+// Sends each request through the pool of the downstream it targets, keyed by host:port
+class RoutingClientHttpRequestFactory implements ClientHttpRequestFactory {
+
+    private final Map<String, ClientHttpRequestFactory> requestFactories;
+    private final ClientHttpRequestFactory defaultRequestFactory;
+
+    RoutingClientHttpRequestFactory(Map<String, ClientHttpRequestFactory> requestFactories,
+                                    ClientHttpRequestFactory defaultRequestFactory) {
+        this.requestFactories = Map.copyOf(requestFactories);
+        this.defaultRequestFactory = defaultRequestFactory;
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+        return requestFactories.getOrDefault(uri.getHost() + ":" + uri.getPort(), defaultRequestFactory)
+                .createRequest(uri, httpMethod);
+    }
+}
@@ -5,6 +5,7 @@ import com.library.apigateway.presentationlayer.catalogs.books.BookRequestModel;
 import com.library.apigateway.presentationlayer.catalogs.books.BookResponseModel;
 import com.library.apigateway.presentationlayer.catalogs.catalog.CatalogRequestModel;
 import com.library.apigateway.presentationlayer.catalogs.catalog.CatalogResponseModel;
+import com.library.apigateway.utils.CursorPage;
 import com.library.apigateway.utils.HttpErrorInfo;
 import com.library.apigateway.utils.exceptions.DuplicateISBNException;
 import com.library.apigateway.utils.exceptions.InUseException;
@@ -12,13 +13,19 @@ import com.library.apigateway.utils.exceptions.InvalidISBNException;
 import com.library.apigateway.utils.exceptions.NotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import java.io.IOException;
+import java.net.URI;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
@@ -30,6 +37,7 @@ public class CatalogServiceClient {
     private final RestTemplate restTemplate;
     private final ObjectMapper mapper;
     private final String BOOK_SERVICE_BASE_URL;
+    private final String BOOK_SEARCH_URL;
 
     private CatalogServiceClient(RestTemplate restTemplate, ObjectMapper mapper,
                                  @Value("${app.catalog-service.host}") String catalogServiceHost,
@@ -38,14 +46,15 @@ public class CatalogServiceClient {
         this.mapper = mapper;
 
         BOOK_SERVICE_BASE_URL  = "http://" + catalogServiceHost + ":" + catalogServicePort + "/api/v1/catalogs";
+        BOOK_SEARCH_URL = "http://" + catalogServiceHost + ":" + catalogServicePort + "/api/v1/books/search";
     }
 
-    public List<CatalogResponseModel> getAllCatalogs() {
+    public CursorPage<CatalogResponseModel> getAllCatalogs(String cursor, Integer size) {
         try {
-            CatalogResponseModel [] catalogResponseModels = restTemplate.getForObject(BOOK_SERVICE_BASE_URL,
-                    CatalogResponseModel[].class);
+            String url = CursorPage.withPageParams(BOOK_SERVICE_BASE_URL, cursor, size);
 
-            return Arrays.asList(catalogResponseModels);
+            return CursorPage.fromResponse(restTemplate.exchange(url, HttpMethod.GET, null,
+                    CatalogResponseModel[].class));
         }
         catch (HttpClientErrorException ex) {
             throw handleHttpClientException(ex);
@@ -56,7 +65,10 @@ public class CatalogServiceClient {
         try {
             String url = BOOK_SERVICE_BASE_URL + "/" + catalogId;
 
-            return restTemplate.getForObject(url, CatalogResponseModel.class);
+            ResponseEntity<CatalogResponseModel> response = restTemplate.getForEntity(url, CatalogResponseModel.class);
+            CatalogResponseModel catalog = response.getBody();
+            catalog.setEtag(response.getHeaders().getETag());
+            return catalog;
         }
         catch (HttpClientErrorException ex) {
             throw handleHttpClientException(ex);
@@ -95,13 +107,11 @@ public class CatalogServiceClient {
         }
     }
 
-    public List<BookResponseModel> getBooksInCatalog(String catalogId) {
+    public CursorPage<BookResponseModel> getBooksInCatalog(String catalogId, String cursor, Integer size) {
         try {
-            String url = BOOK_SERVICE_BASE_URL + "/" + catalogId + "/books";
-
-            BookResponseModel [] bookResponseModels = restTemplate.getForObject(url, BookResponseModel[].class);
+            String url = CursorPage.withPageParams(BOOK_SERVICE_BASE_URL + "/" + catalogId + "/books", cursor, size);
 
-            return Arrays.asList(bookResponseModels);
+            return CursorPage.fromResponse(restTemplate.exchange(url, HttpMethod.GET, null, BookResponseModel[].class));
         }
         catch (HttpClientErrorException ex) {
             throw handleHttpClientException(ex);
@@ -112,7 +122,10 @@ public class CatalogServiceClient {
         try {
             String url = BOOK_SERVICE_BASE_URL + "/" + catalogId + "/books/" + isbn;
 
-            return restTemplate.getForObject(url, BookResponseModel.class);
+            ResponseEntity<BookResponseModel> response = restTemplate.getForEntity(url, BookResponseModel.class);
+            BookResponseModel book = response.getBody();
+            book.setEtag(response.getHeaders().getETag());
+            return book;
         }
         catch (HttpClientErrorException ex) {
             throw handleHttpClientException(ex);
@@ -153,6 +166,29 @@ public class CatalogServiceClient {
         }
     }
 
+    // the query is free text, so it is passed as a variable and encoded strictly, a '+' in it stays a plus
+    public List<BookResponseModel> searchBooks(String query, String catalogId, Integer size) {
+        try {
+            Map<String, Object> params = new HashMap<>();
+            params.put("q", query);
+            UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(BOOK_SEARCH_URL).queryParam("q", "{q}");
+            if (catalogId != null) {
+                builder.queryParam("catalogId", "{catalogId}");
+                params.put("catalogId", catalogId);
+            }
+            if (size != null) {
+                builder.queryParam("size", "{size}");
+                params.put("size", size);
+            }
+            URI url = builder.encode().buildAndExpand(params).toUri();
+
+            return Arrays.asList(restTemplate.getForObject(url, BookResponseModel[].class));
+        }
+        catch (HttpClientErrorException ex) {
+            throw handleHttpClientException(ex);
+        }
+    }
+
     public RuntimeException handleHttpClientException(HttpClientErrorException ex) {
 
         //include all possible responses from the client
@@ -3,18 +3,19 @@ package com.library.apigateway.domainclientlayer.fines;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.library.apigateway.presentationlayer.fines.FineRequestModel;
 import com.library.apigateway.presentationlayer.fines.FineResponseModel;
+import com.library.apigateway.utils.CursorPage;
 import com.library.apigateway.utils.HttpErrorInfo;
 import com.library.apigateway.utils.exceptions.InvalidAmountException;
 import com.library.apigateway.utils.exceptions.NotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.List;
 
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
@@ -36,12 +37,11 @@ public class FineServiceClient {
         FINE_SERVICE_BASE_URL  = "http://" + fineServiceHost + ":" + fineServicePort + "/api/v1/fines";
     }
 
-    public List<FineResponseModel> getAllFines() {
+    public CursorPage<FineResponseModel> getAllFines(String cursor, Integer size) {
         try {
-            FineResponseModel[] fineResponseModels = restTemplate.getForObject(FINE_SERVICE_BASE_URL,
-                    FineResponseModel[].class);
+            String url = CursorPage.withPageParams(FINE_SERVICE_BASE_URL, cursor, size);
 
-            return Arrays.asList(fineResponseModels);
+            return CursorPage.fromResponse(restTemplate.exchange(url, HttpMethod.GET, null, FineResponseModel[].class));
         }
         catch (HttpClientErrorException ex) {
             throw handleHttpClientException(ex);
@@ -52,7 +52,10 @@ public class FineServiceClient {
         try {
             String url = FINE_SERVICE_BASE_URL + "/" + fineId;
 
-            return restTemplate.getForObject(url, FineResponseModel.class);
+            ResponseEntity<FineResponseModel> response = restTemplate.getForEntity(url, FineResponseModel.class);
+            FineResponseModel fine = response.getBody();
+            fine.setEtag(response.getHeaders().getETag());
+            return fine;
         }
         catch (HttpClientErrorException ex) {
             throw handleHttpClientException(ex);
@@ -1,21 +1,35 @@
 package com.library.apigateway.domainclientlayer.loans;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.apigateway.presentationlayer.loans.BookCheckoutsResponseModel;
+import com.library.apigateway.presentationlayer.loans.DailyCheckoutsResponseModel;
+import com.library.apigateway.presentationlayer.loans.LoanDurationResponseModel;
 import com.library.apigateway.presentationlayer.loans.LoanRequestModel;
 import com.library.apigateway.presentationlayer.loans.LoanResponseModel;
+import com.library.apigateway.presentationlayer.loans.OverdueRateResponseModel;
+import com.library.apigateway.utils.CursorPage;
 import com.library.apigateway.utils.HttpErrorInfo;
 import com.library.apigateway.utils.exceptions.NotFoundException;
+import com.library.apigateway.utils.exceptions.RequestInProgressException;
 import com.library.apigateway.utils.exceptions.UnavailableBookException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import java.io.IOException;
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
+import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
 
@@ -23,9 +37,12 @@ import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
 @Slf4j
 public class LoanServiceClient {
 
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final RestTemplate restTemplate;
     private final ObjectMapper mapper;
     private final String LOAN_SERVICE_BASE_URL;
+    private final String LOAN_ANALYTICS_BASE_URL;
 
     private LoanServiceClient(RestTemplate restTemplate, ObjectMapper mapper,
                               @Value("${app.loans-service.host}") String loanServiceHost,
@@ -34,13 +51,13 @@ public class LoanServiceClient {
         this.mapper = mapper;
 
         LOAN_SERVICE_BASE_URL  = "http://" + loanServiceHost + ":" + loanServicePort + "/api/v1/patrons";
+        LOAN_ANALYTICS_BASE_URL = "http://" + loanServiceHost + ":" + loanServicePort + "/api/v1/loans/analytics";
     }
 
-    public List<LoanResponseModel> getAllLoans(String patronId) {
+    public CursorPage<LoanResponseModel> getAllLoans(String patronId, String cursor, Integer size) {
         try {
-            String url = LOAN_SERVICE_BASE_URL + "/" + patronId + "/loans";
-            LoanResponseModel[] loanResponseModels = restTemplate.getForObject(url, LoanResponseModel[].class);
-            return Arrays.asList(loanResponseModels);
+            String url = CursorPage.withPageParams(LOAN_SERVICE_BASE_URL + "/" + patronId + "/loans", cursor, size);
+            return CursorPage.fromResponse(restTemplate.exchange(url, HttpMethod.GET, null, LoanResponseModel[].class));
         }
         catch (HttpClientErrorException ex) {
             throw handleHttpClientException(ex);
@@ -50,17 +67,24 @@ public class LoanServiceClient {
     public LoanResponseModel getLoanByLoanId(String patronId, String loanId) {
         try {
             String url = LOAN_SERVICE_BASE_URL + "/" + patronId + "/loans/" + loanId;
-            return restTemplate.getForObject(url, LoanResponseModel.class);
+            ResponseEntity<LoanResponseModel> response = restTemplate.getForEntity(url, LoanResponseModel.class);
+            LoanResponseModel loan = response.getBody();
+            loan.setEtag(response.getHeaders().getETag());
+            return loan;
         }
         catch (HttpClientErrorException ex) {
             throw handleHttpClientException(ex);
         }
     }
 
-    public LoanResponseModel postLoan(String patronId, LoanRequestModel loanRequestModel) {
+    public LoanResponseModel postLoan(String patronId, LoanRequestModel loanRequestModel, String idempotencyKey) {
         try {
             String url = LOAN_SERVICE_BASE_URL + "/" + patronId + "/loans";
-            return restTemplate.postForObject(url, loanRequestModel, LoanResponseModel.class);
+            HttpHeaders headers = new HttpHeaders();
+            if (idempotencyKey != null) {
+                headers.set(IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+            }
+            return restTemplate.postForObject(url, new HttpEntity<>(loanRequestModel, headers), LoanResponseModel.class);
         }
         catch (HttpClientErrorException ex) {
             throw handleHttpClientException(ex);
@@ -88,6 +112,54 @@ public class LoanServiceClient {
         }
     }
 
+    public List<DailyCheckoutsResponseModel> getCheckoutsPerDay(LocalDate from, LocalDate to) {
+        try {
+            String url = withDateRange(LOAN_ANALYTICS_BASE_URL + "/checkouts", from, to).toUriString();
+            return Arrays.asList(restTemplate.getForObject(url, DailyCheckoutsResponseModel[].class));
+        }
+        catch (HttpClientErrorException ex) {
+            throw handleHttpClientException(ex);
+        }
+    }
+
+    public OverdueRateResponseModel getOverdueRate(LocalDate from, LocalDate to) {
+        try {
+            String url = withDateRange(LOAN_ANALYTICS_BASE_URL + "/overdue-rate", from, to).toUriString();
+            return restTemplate.getForObject(url, OverdueRateResponseModel.class);
+        }
+        catch (HttpClientErrorException ex) {
+            throw handleHttpClientException(ex);
+        }
+    }
+
+    public LoanDurationResponseModel getAverageLoanDuration(LocalDate from, LocalDate to) {
+        try {
+            String url = withDateRange(LOAN_ANALYTICS_BASE_URL + "/loan-duration", from, to).toUriString();
+            return restTemplate.getForObject(url, LoanDurationResponseModel.class);
+        }
+        catch (HttpClientErrorException ex) {
+            throw handleHttpClientException(ex);
+        }
+    }
+
+    public List<BookCheckoutsResponseModel> getMostBorrowedBooks(LocalDate from, LocalDate to, Integer limit) {
+        try {
+            String url = withDateRange(LOAN_ANALYTICS_BASE_URL + "/top-books", from, to)
+                    .queryParamIfPresent("limit", Optional.ofNullable(limit))
+                    .toUriString();
+            return Arrays.asList(restTemplate.getForObject(url, BookCheckoutsResponseModel[].class));
+        }
+        catch (HttpClientErrorException ex) {
+            throw handleHttpClientException(ex);
+        }
+    }
+
+    private UriComponentsBuilder withDateRange(String url, LocalDate from, LocalDate to) {
+        return UriComponentsBuilder.fromHttpUrl(url)
+                .queryParamIfPresent("from", Optional.ofNullable(from))
+                .queryParamIfPresent("to", Optional.ofNullable(to));
+    }
+
     public RuntimeException handleHttpClientException(HttpClientErrorException ex) {
 
         //include all possible responses from the client
@@ -97,6 +169,9 @@ public class LoanServiceClient {
         if (ex.getStatusCode() == UNPROCESSABLE_ENTITY) {
             return new UnavailableBookException(getErrorMessage(ex));
         }
+        if (ex.getStatusCode() == CONFLICT) {
+            return new RequestInProgressException(getErrorMessage(ex));
+        }
         log.warn("Got an unexpected HTTP error: {}, will rethrow it", ex.getStatusCode());
         log.warn("Error body: {}", ex.getResponseBodyAsString());
         return ex;
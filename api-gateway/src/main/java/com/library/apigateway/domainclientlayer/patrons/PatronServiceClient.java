@@ -3,18 +3,19 @@ package com.library.apigateway.domainclientlayer.patrons;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.library.apigateway.presentationlayer.patrons.PatronRequestModel;
 import com.library.apigateway.presentationlayer.patrons.PatronResponseModel;
+import com.library.apigateway.utils.CursorPage;
 import com.library.apigateway.utils.HttpErrorInfo;
 import com.library.apigateway.utils.exceptions.InvalidEmailException;
 import com.library.apigateway.utils.exceptions.NotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.List;
 
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
@@ -36,12 +37,12 @@ public class PatronServiceClient {
         PATRON_SERVICE_BASE_URL  = "http://" + patronsServiceHost + ":" + patronsServicePort + "/api/v1/patrons";
     }
 
-    public List<PatronResponseModel> getAllPatrons() {
+    public CursorPage<PatronResponseModel> getAllPatrons(String cursor, Integer size) {
         try {
-            PatronResponseModel [] patronResponseModels = restTemplate.getForObject(PATRON_SERVICE_BASE_URL,
-                    PatronResponseModel[].class);
+            String url = CursorPage.withPageParams(PATRON_SERVICE_BASE_URL, cursor, size);
 
-            return Arrays.asList(patronResponseModels);
+            return CursorPage.fromResponse(restTemplate.exchange(url, HttpMethod.GET, null,
+                    PatronResponseModel[].class));
         }
         catch (HttpClientErrorException ex) {
             throw handleHttpClientException(ex);
@@ -52,7 +53,10 @@ public class PatronServiceClient {
         try {
             String url = PATRON_SERVICE_BASE_URL + "/" + patronId;
 
-            return restTemplate.getForObject(url, PatronResponseModel.class);
+            ResponseEntity<PatronResponseModel> response = restTemplate.getForEntity(url, PatronResponseModel.class);
+            PatronResponseModel patron = response.getBody();
+            patron.setEtag(response.getHeaders().getETag());
+            return patron;
         }
         catch (HttpClientErrorException ex) {
             throw handleHttpClientException(ex);
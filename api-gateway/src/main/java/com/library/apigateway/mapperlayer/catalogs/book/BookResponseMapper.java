@@ -2,39 +2,38 @@ package com.library.apigateway.mapperlayer.catalogs.book;
 
 import com.library.apigateway.presentationlayer.catalogs.books.BookResponseModel;
 import com.library.apigateway.presentationlayer.catalogs.catalogbooks.CatalogBooksController;
+import com.library.apigateway.utils.LinkTemplate;
 import org.mapstruct.*;
-import org.springframework.hateoas.Link;
 
 import java.util.List;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 @Mapper(componentModel = "spring", builder = @Builder(disableBuilder = true))
 public interface BookResponseMapper {
 
+    LinkTemplate BOOK_LINK = LinkTemplate.of(CatalogBooksController.class, "getBook");
+    LinkTemplate BOOKS_LINK = LinkTemplate.of(CatalogBooksController.class, "getAllBooks");
+    LinkTemplate CATALOG_LINK = LinkTemplate.of(CatalogBooksController.class, "getCatalog");
+
     BookResponseModel responseModelToResponseModel(BookResponseModel bookResponseModel);
 
     List<BookResponseModel> responseModelListToResponseModelList(List<BookResponseModel> bookResponseModelList);
 
     @AfterMapping
     default void addLinks(@MappingTarget BookResponseModel bookResponseModel) {
+        if (!LinkTemplate.linksRequested()) {
+            return;
+        }
+
         //self link
-        Link selfLink = linkTo(methodOn(CatalogBooksController.class)
-                .getBook(bookResponseModel.getCatalogId(), bookResponseModel.getIsbn()))
-                .withSelfRel();
-        bookResponseModel.add(selfLink);
+        bookResponseModel.add(BOOK_LINK.expand(bookResponseModel.getCatalogId(), bookResponseModel.getIsbn())
+                .withSelfRel());
 
         // all books link
-        Link booksLink = linkTo(methodOn(CatalogBooksController.class)
-                .getAllBooks(bookResponseModel.getCatalogId()))
-                .withRel("All the books in this catalog");
-        bookResponseModel.add(booksLink);
+        bookResponseModel.add(BOOKS_LINK.expand(bookResponseModel.getCatalogId())
+                .withRel("All the books in this catalog"));
 
         //get catalogue by id
-        Link catalogueId = linkTo(methodOn(CatalogBooksController.class)
-                .getCatalog(bookResponseModel.getCatalogId()))
-                .withRel("Catalog");
-        bookResponseModel.add(catalogueId);
+        bookResponseModel.add(CATALOG_LINK.expand(bookResponseModel.getCatalogId())
+                .withRel("Catalog"));
     }
 }
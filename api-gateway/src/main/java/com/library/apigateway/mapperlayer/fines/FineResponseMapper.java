@@ -2,36 +2,34 @@ package com.library.apigateway.mapperlayer.fines;
 
 import com.library.apigateway.presentationlayer.fines.FineController;
 import com.library.apigateway.presentationlayer.fines.FineResponseModel;
+import com.library.apigateway.utils.LinkTemplate;
 import org.mapstruct.AfterMapping;
 import org.mapstruct.Builder;
 import org.mapstruct.Mapper;
 import org.mapstruct.MappingTarget;
-import org.springframework.hateoas.Link;
 
 import java.util.List;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 @Mapper(componentModel = "spring", builder = @Builder(disableBuilder = true))
 public interface FineResponseMapper {
 
+    LinkTemplate FINE_LINK = LinkTemplate.of(FineController.class, "getFine");
+    LinkTemplate FINES_LINK = LinkTemplate.of(FineController.class, "getAllFines");
+
     FineResponseModel responseModelToResponseModel(FineResponseModel fineResponseModel);
 
     List<FineResponseModel> responseModelListToResponseModelList(List<FineResponseModel> fineResponseModelList);
 
     @AfterMapping
     default void addLinks(@MappingTarget FineResponseModel fineResponseModel) {
+        if (!LinkTemplate.linksRequested()) {
+            return;
+        }
+
         //self link
-        Link selfLink = linkTo(methodOn(FineController.class)
-                .getFine(fineResponseModel.getFineId()))
-                .withSelfRel();
-        fineResponseModel.add(selfLink);
-
-        // all patrons link
-        Link finesLink = linkTo(methodOn(FineController.class)
-                .getAllFines())
-                .withRel("All fines");
-        fineResponseModel.add(finesLink);
+        fineResponseModel.add(FINE_LINK.expand(fineResponseModel.getFineId()).withSelfRel());
+
+        // all fines link
+        fineResponseModel.add(FINES_LINK.expand().withRel("All fines"));
     }
 }
@@ -3,41 +3,41 @@ package com.library.apigateway.mapperlayer.loans;
 import com.library.apigateway.presentationlayer.fines.FineController;
 import com.library.apigateway.presentationlayer.loans.LoanResponseModel;
 import com.library.apigateway.presentationlayer.loans.PatronLoansController;
+import com.library.apigateway.utils.LinkTemplate;
 import org.mapstruct.AfterMapping;
+import org.mapstruct.Builder;
 import org.mapstruct.Mapper;
 import org.mapstruct.MappingTarget;
-import org.springframework.hateoas.Link;
 
 import java.util.List;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", builder = @Builder(disableBuilder = true))
 public interface LoanResponseMapper {
 
+    LinkTemplate LOAN_LINK = LinkTemplate.of(PatronLoansController.class, "getLoanForPatron");
+    LinkTemplate LOANS_LINK = LinkTemplate.of(PatronLoansController.class, "getAllLoansForPatron");
+    LinkTemplate FINE_LINK = LinkTemplate.of(FineController.class, "getFine");
+
     LoanResponseModel responseModelToResponseModel(LoanResponseModel loanResponseModel);
 
     List<LoanResponseModel> responseModelListToResponseModelList(List<LoanResponseModel> loanResponseModelList);
 
     @AfterMapping
     default void addLinks(@MappingTarget LoanResponseModel loanResponseModel) {
+        if (!LinkTemplate.linksRequested()) {
+            return;
+        }
+
         //self link
-        Link selfLink = linkTo(methodOn(PatronLoansController.class)
-                .getLoanForPatron(loanResponseModel.getPatronId(), loanResponseModel.getLoanId()))
-                .withSelfRel();
-        loanResponseModel.add(selfLink);
+        loanResponseModel.add(LOAN_LINK.expand(loanResponseModel.getPatronId(), loanResponseModel.getLoanId())
+                .withSelfRel());
 
         // all loans link
-        Link booksLink = linkTo(methodOn(PatronLoansController.class)
-                .getAllLoansForPatron(loanResponseModel.getPatronId()))
-                .withRel("Loans for this patron");
-        loanResponseModel.add(booksLink);
+        loanResponseModel.add(LOANS_LINK.expand(loanResponseModel.getPatronId()).withRel("Loans for this patron"));
 
-        // all loans link
-        Link fineLink = linkTo(methodOn(FineController.class)
-                .getFine(loanResponseModel.getFineId()))
-                .withRel("Fine for this loan");
-        loanResponseModel.add(fineLink);
+        // fine link, loans only get a fine once they are returned late
+        if (loanResponseModel.getFineId() != null) {
+            loanResponseModel.add(FINE_LINK.expand(loanResponseModel.getFineId()).withRel("Fine for this loan"));
+        }
     }
 }
@@ -2,36 +2,34 @@ package com.library.apigateway.mapperlayer.patrons;
 
 import com.library.apigateway.presentationlayer.patrons.PatronController;
 import com.library.apigateway.presentationlayer.patrons.PatronResponseModel;
+import com.library.apigateway.utils.LinkTemplate;
 import org.mapstruct.AfterMapping;
 import org.mapstruct.Builder;
 import org.mapstruct.Mapper;
 import org.mapstruct.MappingTarget;
-import org.springframework.hateoas.Link;
 
 import java.util.List;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 @Mapper(componentModel = "spring", builder = @Builder(disableBuilder = true))
 public interface PatronResponseMapper {
 
+    LinkTemplate PATRON_LINK = LinkTemplate.of(PatronController.class, "getPatron");
+    LinkTemplate PATRONS_LINK = LinkTemplate.of(PatronController.class, "getAllPatrons");
+
     PatronResponseModel responseModelToResponseModel(PatronResponseModel patronResponseModel);
 
     List<PatronResponseModel> responseModelListToResponseModelList(List<PatronResponseModel> patronResponseModelList);
 
     @AfterMapping
     default void addLinks(@MappingTarget PatronResponseModel patronResponseModel) {
+        if (!LinkTemplate.linksRequested()) {
+            return;
+        }
+
         //self link
-        Link selfLink = linkTo(methodOn(PatronController.class)
-                .getPatron(patronResponseModel.getPatronId()))
-                .withSelfRel();
-        patronResponseModel.add(selfLink);
+        patronResponseModel.add(PATRON_LINK.expand(patronResponseModel.getPatronId()).withSelfRel());
 
         // all patrons link
-        Link patronsLink = linkTo(methodOn(PatronController.class)
-                .getAllPatrons())
-                .withRel("All patrons");
-        patronResponseModel.add(patronsLink);
+        patronResponseModel.add(PATRONS_LINK.expand().withRel("All patrons"));
     }
 }
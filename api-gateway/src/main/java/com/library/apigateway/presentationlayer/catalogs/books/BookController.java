@@ -0,0 +1,29 @@
+package com.library.apigateway.presentationlayer.catalogs.books;
+
+import com.library.apigateway.businesslayer.catalogs.CatalogBooksService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("api/v1/books")
+public class BookController {
+
+    private final CatalogBooksService catalogBooksService;
+
+    public BookController(CatalogBooksService catalogBooksService) {
+        this.catalogBooksService = catalogBooksService;
+    }
+
+    // best matches first, searches every catalog unless catalogId is given
+    @GetMapping(value = "search", produces = "application/json")
+    public ResponseEntity<List<BookResponseModel>> searchBooks(@RequestParam String q,
+                                                               @RequestParam(required = false) String catalogId,
+                                                               @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok().body(catalogBooksService.searchBooks(q, catalogId, size));
+    }
+}
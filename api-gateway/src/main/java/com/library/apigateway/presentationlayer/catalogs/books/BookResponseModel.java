@@ -1,5 +1,6 @@
 package com.library.apigateway.presentationlayer.catalogs.books;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.library.apigateway.domainclientlayer.catalogs.Author;
 import com.library.apigateway.domainclientlayer.catalogs.Status;
 import lombok.*;
@@ -22,4 +23,9 @@ public class BookResponseModel extends RepresentationModel<BookResponseModel> {
     private String language;
     private Status status;
     private Author author;
+
+    // sent as the ETag header, not in the body
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private String etag;
 }
@@ -1,5 +1,6 @@
 package com.library.apigateway.presentationlayer.catalogs.catalog;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 import org.springframework.hateoas.RepresentationModel;
 
@@ -13,4 +14,9 @@ public class CatalogResponseModel extends RepresentationModel<CatalogResponseMod
     private String catalogId;
     private String type;
     private Integer size;
+
+    // sent as the ETag header, not in the body
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private String etag;
 }
@@ -1,6 +1,7 @@
 package com.library.apigateway.presentationlayer.fines;
 
 import com.library.apigateway.businesslayer.fines.FineService;
+import com.library.apigateway.utils.ETags;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -18,13 +19,15 @@ public class FineController {
     }
 
     @GetMapping(produces = "application/json")
-    public ResponseEntity<List<FineResponseModel>> getAllFines() {
-        return ResponseEntity.ok().body(fineService.getAllFines());
+    public ResponseEntity<List<FineResponseModel>> getAllFines(@RequestParam(required = false) String cursor,
+                                                               @RequestParam(required = false) Integer size) {
+        return fineService.getAllFines(cursor, size).toResponseEntity();
     }
 
     @GetMapping(value = "{fineId}", produces = "application/json")
     public ResponseEntity<FineResponseModel> getFine(@PathVariable String fineId) {
-        return ResponseEntity.ok().body(fineService.getFine(fineId));
+        FineResponseModel fine = fineService.getFine(fineId);
+        return ETags.ok(fine.getEtag()).body(fine);
     }
 
     @PostMapping(consumes = "application/json", produces = "application/json")
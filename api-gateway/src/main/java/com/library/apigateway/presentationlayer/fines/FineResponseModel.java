@@ -1,5 +1,6 @@
 package com.library.apigateway.presentationlayer.fines;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 import org.springframework.hateoas.RepresentationModel;
 
@@ -17,4 +18,9 @@ public class FineResponseModel extends RepresentationModel<FineResponseModel> {
     private String reason;
     private Boolean isPaid;
 //    private String patronId;
+
+    // sent as the ETag header, not in the body
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private String etag;
 }
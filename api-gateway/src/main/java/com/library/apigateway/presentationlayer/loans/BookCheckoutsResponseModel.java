@@ -0,0 +1,14 @@
+package com.library.apigateway.presentationlayer.loans;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookCheckoutsResponseModel {
+
+    private Long isbn;
+    private long checkouts;
+}
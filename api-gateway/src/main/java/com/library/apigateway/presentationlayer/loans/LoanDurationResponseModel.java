@@ -0,0 +1,18 @@
+package com.library.apigateway.presentationlayer.loans;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LoanDurationResponseModel {
+
+    private LocalDate from;
+    private LocalDate to;
+    private long returnedLoans;
+    private double averageDays;
+}
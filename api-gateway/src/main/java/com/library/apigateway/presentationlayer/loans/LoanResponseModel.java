@@ -1,5 +1,6 @@
 package com.library.apigateway.presentationlayer.loans;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.library.apigateway.domainclientlayer.loans.BookModel;
 import com.library.apigateway.domainclientlayer.loans.LoanStatus;
 import lombok.*;
@@ -25,4 +26,9 @@ public class LoanResponseModel extends RepresentationModel<LoanResponseModel> {
     private LocalDate dueDate;
     private LocalDate returnedDate;
     private List<BookModel> books;
+
+    // sent as the ETag header, not in the body
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private String etag;
 }
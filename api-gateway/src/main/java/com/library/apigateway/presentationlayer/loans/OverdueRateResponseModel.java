@@ -0,0 +1,19 @@
+package com.library.apigateway.presentationlayer.loans;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OverdueRateResponseModel {
+
+    private LocalDate from;
+    private LocalDate to;
+    private long dueLoans;
+    private long overdueLoans;
+    private double overdueRate;
+}
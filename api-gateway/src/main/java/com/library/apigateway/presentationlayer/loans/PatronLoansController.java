@@ -1,6 +1,7 @@
 package com.library.apigateway.presentationlayer.loans;
 
 import com.library.apigateway.businesslayer.loans.LoanService;
+import com.library.apigateway.utils.ETags;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -18,20 +19,25 @@ public class PatronLoansController {
     }
 
     @GetMapping(produces = "application/json")
-    public ResponseEntity<List<LoanResponseModel>> getAllLoansForPatron(@PathVariable String patronId) {
-        return ResponseEntity.ok().body(loanService.getAllLoansForPatron(patronId));
+    public ResponseEntity<List<LoanResponseModel>> getAllLoansForPatron(@PathVariable String patronId,
+                                                                        @RequestParam(required = false) String cursor,
+                                                                        @RequestParam(required = false) Integer size) {
+        return loanService.getAllLoansForPatron(patronId, cursor, size).toResponseEntity();
     }
 
     @GetMapping(value = "{loanId}", produces = "application/json")
     public ResponseEntity<LoanResponseModel> getLoanForPatron(@PathVariable String patronId,
                                                               @PathVariable String loanId) {
-        return ResponseEntity.ok().body(loanService.getLoanForPatron(patronId, loanId));
+        LoanResponseModel loan = loanService.getLoanForPatron(patronId, loanId);
+        return ETags.ok(loan.getEtag()).body(loan);
     }
 
     @PostMapping(consumes = "application/json", produces = "application/json")
     public ResponseEntity<LoanResponseModel> addLoanForPatron(@PathVariable String patronId,
-                                                              @RequestBody LoanRequestModel loanRequestModel) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(loanService.addLoanForPatron(patronId, loanRequestModel));
+                                                              @RequestBody LoanRequestModel loanRequestModel,
+                                                              @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(loanService.addLoanForPatron(patronId, loanRequestModel, idempotencyKey));
     }
 
     @PutMapping(consumes = "application/json", value = "{loanId}", produces = "application/json")
@@ -2,6 +2,7 @@ package com.library.apigateway.presentationlayer.patrons;
 
 import com.library.apigateway.businesslayer.patrons.PatronService;
 import lombok.extern.slf4j.Slf4j;
+import com.library.apigateway.utils.ETags;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -20,13 +21,15 @@ public class PatronController {
     }
 
     @GetMapping(produces = "application/json")
-    public ResponseEntity<List<PatronResponseModel>> getAllPatrons() {
-        return ResponseEntity.ok().body(patronService.getAllPatrons());
+    public ResponseEntity<List<PatronResponseModel>> getAllPatrons(@RequestParam(required = false) String cursor,
+                                                                   @RequestParam(required = false) Integer size) {
+        return patronService.getAllPatrons(cursor, size).toResponseEntity();
     }
 
     @GetMapping(value = "{patronId}", produces = "application/json")
     public ResponseEntity<PatronResponseModel> getPatron(@PathVariable String patronId) {
-        return ResponseEntity.ok().body(patronService.getPatron(patronId));
+        PatronResponseModel patron = patronService.getPatron(patronId);
+        return ETags.ok(patron.getEtag()).body(patron);
     }
 
     @PostMapping(consumes = "application/json", produces = "application/json")
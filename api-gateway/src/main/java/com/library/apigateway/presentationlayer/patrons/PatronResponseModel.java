@@ -1,5 +1,6 @@
 package com.library.apigateway.presentationlayer.patrons;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.library.apigateway.domainclientlayer.patrons.ContactMethodPreference;
 import com.library.apigateway.domainclientlayer.patrons.PhoneNumber;
 import lombok.*;
@@ -27,4 +28,9 @@ public class PatronResponseModel extends RepresentationModel<PatronResponseModel
     private String country;
     private String postalCode;
     private List<PhoneNumber> phoneNumbers;
+
+    // sent as the ETag header, not in the body
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private String etag;
 }
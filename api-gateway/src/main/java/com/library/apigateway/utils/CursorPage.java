@@ -0,0 +1,52 @@
+package com.library.apigateway.utils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+// One page of a downstream list. The services page by keyset and hand out an opaque cursor for the next page
+// in a header, the gateway passes it through untouched.
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final List<T> items;
+    private final String nextCursor;
+    private final String etag;
+
+    public CursorPage(List<T> items, String nextCursor) {
+        this(items, nextCursor, null);
+    }
+
+    public <R> CursorPage<R> map(Function<List<T>, List<R>> mapper) {
+        return new CursorPage<>(mapper.apply(items), nextCursor, etag);
+    }
+
+    public ResponseEntity<List<T>> toResponseEntity() {
+        ResponseEntity.BodyBuilder response = ETags.ok(etag);
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(items);
+    }
+
+    public static String withPageParams(String url, String cursor, Integer size) {
+        return UriComponentsBuilder.fromHttpUrl(url)
+                .queryParamIfPresent("cursor", Optional.ofNullable(cursor))
+                .queryParamIfPresent("size", Optional.ofNullable(size))
+                .toUriString();
+    }
+
+    public static <T> CursorPage<T> fromResponse(ResponseEntity<T[]> response) {
+        return new CursorPage<>(Arrays.asList(response.getBody()), response.getHeaders().getFirst(NEXT_CURSOR_HEADER),
+                response.getHeaders().getETag());
+    }
+}
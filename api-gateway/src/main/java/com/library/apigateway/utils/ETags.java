@@ -0,0 +1,18 @@
+package com.library.apigateway.utils;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+
+// The gateway answers with the tag the downstream service computed, so a matching If-None-Match from a client gets
+// a 304 before the body is serialized.
+public final class ETags {
+
+    private ETags() {
+    }
+
+    // no-cache lets clients keep the response as long as they revalidate it
+    public static ResponseEntity.BodyBuilder ok(String etag) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(CacheControl.noCache());
+        return etag == null ? response : response.eTag(etag);
+    }
+}
@@ -0,0 +1,161 @@
+package com.library.apigateway.utils;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.hateoas.Link;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// The href of a controller method, read from its request mappings once and then expanded by substituting the path
+// variables in order. linkTo(methodOn(...)) proxies the controller and resolves the mappings again for every link,
+// which dominated the time spent mapping large lists. The hrefs match the ones linkTo builds: optional request
+// params are left as a {?...} template and the host comes from the current request, outside a request the
+// href is relative.
+public final class LinkTemplate {
+
+    // internal callers send links=none to get the models without links
+    public static final String LINKS_PARAM = "links";
+
+    private static final Map<Method, LinkTemplate> TEMPLATES = new ConcurrentHashMap<>();
+    private static final Pattern PATH_VARIABLE = Pattern.compile("\\{[^}]+}");
+    private static final String BASE_URI_ATTRIBUTE = LinkTemplate.class.getName() + ".baseUri";
+    private static final String LINKS_ATTRIBUTE = LinkTemplate.class.getName() + ".links";
+
+    // the path split around its variables, literals.length is always one more than the number of variables
+    private final String[] literals;
+    private final String queryTemplate;
+
+    private LinkTemplate(String[] literals, String queryTemplate) {
+        this.literals = literals;
+        this.queryTemplate = queryTemplate;
+    }
+
+    // the parameter types pick one of several overloads, without them the name has to match exactly one method
+    public static LinkTemplate of(Class<?> controller, String methodName, Class<?>... parameterTypes) {
+        Method method = parameterTypes.length > 0
+                ? findMethod(controller, methodName, parameterTypes)
+                : findMethod(controller, methodName);
+        return TEMPLATES.computeIfAbsent(method, key -> resolve(controller, key));
+    }
+
+    public Link expand(Object... pathVariables) {
+        if (pathVariables.length != literals.length - 1) {
+            throw new IllegalArgumentException("Expected " + (literals.length - 1) + " path variables, got "
+                    + pathVariables.length);
+        }
+
+        StringBuilder href = new StringBuilder(baseUri()).append(literals[0]);
+        for (int i = 0; i < pathVariables.length; i++) {
+            href.append(UriUtils.encodePathSegment(String.valueOf(pathVariables[i]), StandardCharsets.UTF_8))
+                    .append(literals[i + 1]);
+        }
+        return Link.of(href.append(queryTemplate).toString());
+    }
+
+    public static boolean linksRequested() {
+        HttpServletRequest request = currentRequest();
+        if (request == null) {
+            return true;
+        }
+
+        Boolean requested = (Boolean) request.getAttribute(LINKS_ATTRIBUTE);
+        if (requested == null) {
+            requested = !"none".equalsIgnoreCase(request.getParameter(LINKS_PARAM));
+            request.setAttribute(LINKS_ATTRIBUTE, requested);
+        }
+        return requested;
+    }
+
+    private static Method findMethod(Class<?> controller, String methodName, Class<?>... parameterTypes) {
+        try {
+            return controller.getMethod(methodName, parameterTypes);
+        } catch (NoSuchMethodException ex) {
+            throw new IllegalArgumentException(controller.getSimpleName() + " has no method " + methodName
+                    + Arrays.toString(parameterTypes), ex);
+        }
+    }
+
+    private static Method findMethod(Class<?> controller, String methodName) {
+        List<Method> methods = Arrays.stream(controller.getMethods())
+                .filter(candidate -> candidate.getName().equals(methodName) && !candidate.isBridge())
+                .toList();
+        if (methods.isEmpty()) {
+            throw new IllegalArgumentException(controller.getSimpleName() + " has no method " + methodName);
+        }
+        if (methods.size() > 1) {
+            throw new IllegalArgumentException(controller.getSimpleName() + " has " + methods.size()
+                    + " methods named " + methodName + ", pass the parameter types of the one to link to");
+        }
+        return methods.get(0);
+    }
+
+    private static LinkTemplate resolve(Class<?> controller, Method method) {
+        String path = "/" + mappedPath(controller) + "/" + mappedPath(method);
+        path = path.replaceAll("/{2,}", "/");
+        if (path.length() > 1 && path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+
+        List<String> literals = new ArrayList<>();
+        Matcher matcher = PATH_VARIABLE.matcher(path);
+        int start = 0;
+        while (matcher.find()) {
+            literals.add(path.substring(start, matcher.start()));
+            start = matcher.end();
+        }
+        literals.add(path.substring(start));
+
+        List<String> params = new ArrayList<>();
+        for (Parameter parameter : method.getParameters()) {
+            RequestParam requestParam = parameter.getAnnotation(RequestParam.class);
+            if (requestParam != null) {
+                params.add(requestParam.name().isEmpty() ? parameter.getName() : requestParam.name());
+            }
+        }
+        String queryTemplate = params.isEmpty() ? "" : "{?" + String.join(",", params) + "}";
+
+        return new LinkTemplate(literals.toArray(String[]::new), queryTemplate);
+    }
+
+    private static String mappedPath(AnnotatedElement element) {
+        RequestMapping mapping = AnnotatedElementUtils.findMergedAnnotation(element, RequestMapping.class);
+        return mapping == null || mapping.path().length == 0 ? "" : mapping.path()[0];
+    }
+
+    // the base is the same for every link of a response, so it is built once per request
+    private static String baseUri() {
+        HttpServletRequest request = currentRequest();
+        if (request == null) {
+            return "";
+        }
+
+        String baseUri = (String) request.getAttribute(BASE_URI_ATTRIBUTE);
+        if (baseUri == null) {
+            baseUri = ServletUriComponentsBuilder.fromContextPath(request).toUriString();
+            request.setAttribute(BASE_URI_ATTRIBUTE, baseUri);
+        }
+        return baseUri;
+    }
+
+    private static HttpServletRequest currentRequest() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                ? attributes.getRequest()
+                : null;
+    }
+}
@@ -9,6 +9,7 @@ import com.library.apigateway.presentationlayer.catalogs.books.BookRequestModel;
 import com.library.apigateway.presentationlayer.catalogs.books.BookResponseModel;
 import com.library.apigateway.presentationlayer.catalogs.catalog.CatalogRequestModel;
 import com.library.apigateway.presentationlayer.catalogs.catalog.CatalogResponseModel;
+import com.library.apigateway.utils.CursorPage;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -55,18 +56,18 @@ class CatalogBooksServiceUnitTest {
                         .build()
         );
 
-        when(catalogServiceClient.getAllCatalogs()).thenReturn(catalogResponseModelList);
+        when(catalogServiceClient.getAllCatalogs(null, null)).thenReturn(new CursorPage<>(catalogResponseModelList, null));
         when(catalogResponseMapper.responseModelListToResponseModelList(catalogResponseModelList))
                 .thenReturn(catalogResponseModelList);
 
         // act
-        List<CatalogResponseModel> result = catalogBooksService.getAllCatalogs();
+        List<CatalogResponseModel> result = catalogBooksService.getAllCatalogs(null, null).getItems();
 
         // assert
         assertNotNull(result);
         assertEquals(2, result.size());
         assertEquals(catalogResponseModelList, result);
-        verify(catalogServiceClient, times(1)).getAllCatalogs();
+        verify(catalogServiceClient, times(1)).getAllCatalogs(null, null);
         verify(catalogResponseMapper, times(1)).responseModelListToResponseModelList(catalogResponseModelList);
     }
 
@@ -76,17 +77,17 @@ class CatalogBooksServiceUnitTest {
         // arrange
         List<CatalogResponseModel> catalogResponseModelList = List.of();
 
-        when(catalogServiceClient.getAllCatalogs()).thenReturn(catalogResponseModelList);
+        when(catalogServiceClient.getAllCatalogs(null, null)).thenReturn(new CursorPage<>(catalogResponseModelList, null));
         when(catalogResponseMapper.responseModelListToResponseModelList(catalogResponseModelList))
                 .thenReturn(catalogResponseModelList);
 
         // act
-        List<CatalogResponseModel> result = catalogBooksService.getAllCatalogs();
+        List<CatalogResponseModel> result = catalogBooksService.getAllCatalogs(null, null).getItems();
 
         // assert
         assertNotNull(result);
         assertEquals(catalogResponseModelList, result);
-        verify(catalogServiceClient, times(1)).getAllCatalogs();
+        verify(catalogServiceClient, times(1)).getAllCatalogs(null, null);
         verify(catalogResponseMapper, times(1)).responseModelListToResponseModelList(catalogResponseModelList);
     }
 
@@ -227,18 +228,18 @@ class CatalogBooksServiceUnitTest {
                         .build()
         );
 
-        when(catalogServiceClient.getBooksInCatalog("ef23ab6e-d614-47b9-95d0-d66167ae5081"))
-                .thenReturn(bookResponseModelList);
+        when(catalogServiceClient.getBooksInCatalog("ef23ab6e-d614-47b9-95d0-d66167ae5081", null, null))
+                .thenReturn(new CursorPage<>(bookResponseModelList, null));
         when(bookResponseMapper.responseModelListToResponseModelList(bookResponseModelList))
                 .thenReturn(bookResponseModelList);
 
         // act
         List<BookResponseModel> result = catalogBooksService
-                .getAllBooksInCatalog("ef23ab6e-d614-47b9-95d0-d66167ae5081");
+                .getAllBooksInCatalog("ef23ab6e-d614-47b9-95d0-d66167ae5081", null, null).getItems();
 
         // assert
         assertEquals(bookResponseModelList, result);
-        verify(catalogServiceClient, times(1)).getBooksInCatalog("ef23ab6e-d614-47b9-95d0-d66167ae5081");
+        verify(catalogServiceClient, times(1)).getBooksInCatalog("ef23ab6e-d614-47b9-95d0-d66167ae5081", null, null);
         verify(bookResponseMapper, times(1)).responseModelListToResponseModelList(bookResponseModelList);
     }
 
@@ -248,18 +249,18 @@ class CatalogBooksServiceUnitTest {
         // arrange
         List<BookResponseModel> bookResponseModelList = List.of();
 
-        when(catalogServiceClient.getBooksInCatalog("ef23ab6e-d614-47b9-95d0-d66167ae5081"))
-                .thenReturn(bookResponseModelList);
+        when(catalogServiceClient.getBooksInCatalog("ef23ab6e-d614-47b9-95d0-d66167ae5081", null, null))
+                .thenReturn(new CursorPage<>(bookResponseModelList, null));
         when(bookResponseMapper.responseModelListToResponseModelList(bookResponseModelList))
                 .thenReturn(bookResponseModelList);
 
         // act
         List<BookResponseModel> result = catalogBooksService
-                .getAllBooksInCatalog("ef23ab6e-d614-47b9-95d0-d66167ae5081");
+                .getAllBooksInCatalog("ef23ab6e-d614-47b9-95d0-d66167ae5081", null, null).getItems();
 
         // assert
         assertEquals(bookResponseModelList, result);
-        verify(catalogServiceClient, times(1)).getBooksInCatalog("ef23ab6e-d614-47b9-95d0-d66167ae5081");
+        verify(catalogServiceClient, times(1)).getBooksInCatalog("ef23ab6e-d614-47b9-95d0-d66167ae5081", null, null);
         verify(bookResponseMapper, times(1)).responseModelListToResponseModelList(bookResponseModelList);
     }
 
@@ -410,4 +411,33 @@ class CatalogBooksServiceUnitTest {
                 .deleteBookByCatalogIdAndIsbn("ef23ab6e-d614-47b9-95d0-d66167ae5081", 1234567890L);
     }
 
+    // positive test
+    @Test
+    public void whenBooksSearched_thenKeepRankingOrder() {
+        // arrange
+        List<BookResponseModel> bookResponseModelList = List.of(
+                BookResponseModel.builder()
+                        .isbn(9780201633610L)
+                        .catalogId("ef23ab6e-d614-47b9-95d0-d66167ae5081")
+                        .title("Design Patterns")
+                        .build(),
+                BookResponseModel.builder()
+                        .isbn(9780321125217L)
+                        .catalogId("ef23ab6e-d614-47b9-95d0-d66167ae5081")
+                        .title("Domain-Driven Design")
+                        .build()
+        );
+
+        when(catalogServiceClient.searchBooks("design patterns", null, 10)).thenReturn(bookResponseModelList);
+        when(bookResponseMapper.responseModelListToResponseModelList(bookResponseModelList))
+                .thenReturn(bookResponseModelList);
+
+        // act
+        List<BookResponseModel> result = catalogBooksService.searchBooks("design patterns", null, 10);
+
+        // assert
+        assertEquals(List.of(9780201633610L, 9780321125217L), result.stream().map(BookResponseModel::getIsbn).toList());
+        verify(catalogServiceClient, times(1)).searchBooks("design patterns", null, 10);
+    }
+
 }
\ No newline at end of file
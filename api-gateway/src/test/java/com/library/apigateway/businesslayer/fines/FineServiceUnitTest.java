@@ -4,6 +4,7 @@ import com.library.apigateway.domainclientlayer.fines.FineServiceClient;
 import com.library.apigateway.mapperlayer.fines.FineResponseMapper;
 import com.library.apigateway.presentationlayer.fines.FineRequestModel;
 import com.library.apigateway.presentationlayer.fines.FineResponseModel;
+import com.library.apigateway.utils.CursorPage;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -51,30 +52,55 @@ class FineServiceUnitTest {
                         .build()
         );
 
-        when(fineServiceClient.getAllFines()).thenReturn(fineResponseModelList);
+        when(fineServiceClient.getAllFines(null, null)).thenReturn(new CursorPage<>(fineResponseModelList, null));
 
         // act
-        List<FineResponseModel> result = fineService.getAllFines();
+        List<FineResponseModel> result = fineService.getAllFines(null, null).getItems();
 
         // assert
         assertNotNull(result);
         assertEquals(2, result.size());
-        verify(fineServiceClient, times(1)).getAllFines();
+        verify(fineServiceClient, times(1)).getAllFines(null, null);
+    }
+
+    // positive test
+    @Test
+    public void whenMoreFinesThanPage_thenPassNextCursorThrough() {
+        // arrange
+        List<FineResponseModel> fineResponseModelList = List.of(
+                FineResponseModel.builder()
+                        .fineId("ef23ab6e-d614-47b9-95d0-d66167ae5081")
+                        .amount(BigDecimal.valueOf(0.50))
+                        .reason("Late return")
+                        .isPaid(true)
+                        .build()
+        );
+
+        when(fineServiceClient.getAllFines("MQ", 1)).thenReturn(new CursorPage<>(fineResponseModelList, "Mg"));
+
+        // act
+        CursorPage<FineResponseModel> result = fineService.getAllFines("MQ", 1);
+
+        // assert
+        assertEquals(1, result.getItems().size());
+        assertEquals("Mg", result.getNextCursor());
+        assertEquals("Mg", result.toResponseEntity().getHeaders().getFirst(CursorPage.NEXT_CURSOR_HEADER));
+        verify(fineServiceClient, times(1)).getAllFines("MQ", 1);
     }
 
     // negative test
     @Test
     public void whenNoFineExists_thenReturnEmptyList() {
         // arrange
-        when(fineServiceClient.getAllFines()).thenReturn(List.of());
+        when(fineServiceClient.getAllFines(null, null)).thenReturn(new CursorPage<>(List.of(), null));
 
         // act
-        List<FineResponseModel> result = fineService.getAllFines();
+        List<FineResponseModel> result = fineService.getAllFines(null, null).getItems();
 
         // assert
         assertNotNull(result);
         assertEquals(0, result.size());
-        verify(fineServiceClient, times(1)).getAllFines();
+        verify(fineServiceClient, times(1)).getAllFines(null, null);
     }
 
     // positive test
@@ -100,6 +126,31 @@ class FineServiceUnitTest {
                 .getFineByFineId("ef23ab6e-d614-47b9-95d0-d66167ae5081");
     }
 
+    // positive test
+    @Test
+    public void whenFineExists_thenKeepDownstreamETag() {
+        // arrange
+        FineResponseModel fineResponseModel = FineResponseModel.builder()
+                .fineId("ef23ab6e-d614-47b9-95d0-d66167ae5081")
+                .amount(BigDecimal.valueOf(0.50))
+                .reason("Late return")
+                .isPaid(true)
+                .etag("\"5d41402abc4b2a76b9719d911017c592\"")
+                .build();
+
+        when(fineServiceClient.getFineByFineId("ef23ab6e-d614-47b9-95d0-d66167ae5081")).thenReturn(fineResponseModel);
+        when(fineServiceClient.getAllFines(null, null))
+                .thenReturn(new CursorPage<>(List.of(fineResponseModel), null, "\"7d793037a0760186574b0282f2f435e7\""));
+
+        // act
+        FineResponseModel result = fineService.getFine("ef23ab6e-d614-47b9-95d0-d66167ae5081");
+        CursorPage<FineResponseModel> page = fineService.getAllFines(null, null);
+
+        // assert
+        assertEquals("\"5d41402abc4b2a76b9719d911017c592\"", result.getEtag());
+        assertEquals("\"7d793037a0760186574b0282f2f435e7\"", page.toResponseEntity().getHeaders().getETag());
+    }
+
 //    // negative test
 //    @Test
 //    public void whenFineDoesNotExist_thenThrowException() {
@@ -0,0 +1,79 @@
+package com.library.apigateway.businesslayer.loans;
+
+import com.library.apigateway.domainclientlayer.loans.LoanServiceClient;
+import com.library.apigateway.presentationlayer.loans.DailyCheckoutsResponseModel;
+import com.library.apigateway.presentationlayer.loans.OverdueRateResponseModel;
+import com.library.apigateway.utils.exceptions.UnavailableBookException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@TestPropertySource(properties = "spring.autoconfigure.exclude = org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration")
+@ActiveProfiles("test")
+class LoanAnalyticsServiceUnitTest {
+
+    @Autowired
+    LoanAnalyticsService loanAnalyticsService;
+
+    @MockBean
+    LoanServiceClient loanServiceClient;
+
+    // positive test
+    @Test
+    public void whenDateRangeIsValid_thenReturnCheckoutsPerDay() {
+        // arrange
+        LocalDate from = LocalDate.of(2024, 3, 1);
+        LocalDate to = LocalDate.of(2024, 3, 2);
+        when(loanServiceClient.getCheckoutsPerDay(from, to)).thenReturn(List.of(
+                new DailyCheckoutsResponseModel(from, 4),
+                new DailyCheckoutsResponseModel(to, 0)));
+
+        // act
+        List<DailyCheckoutsResponseModel> result = loanAnalyticsService.getCheckoutsPerDay(from, to);
+
+        // assert
+        assertEquals(2, result.size());
+        assertEquals(4, result.get(0).getCheckouts());
+        verify(loanServiceClient, times(1)).getCheckoutsPerDay(from, to);
+    }
+
+    // positive test
+    @Test
+    public void whenNoDateRange_thenLetLoansServiceDefaultIt() {
+        // arrange
+        var overdueRate = new OverdueRateResponseModel(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 30), 8, 2, 0.25);
+        when(loanServiceClient.getOverdueRate(null, null)).thenReturn(overdueRate);
+
+        // act
+        OverdueRateResponseModel result = loanAnalyticsService.getOverdueRate(null, null);
+
+        // assert
+        assertEquals(overdueRate, result);
+        verify(loanServiceClient, times(1)).getOverdueRate(null, null);
+    }
+
+    // negative test
+    @Test
+    public void whenDateRangeIsInvalid_thenThrowException() {
+        // arrange
+        LocalDate from = LocalDate.of(2024, 3, 2);
+        LocalDate to = LocalDate.of(2024, 3, 1);
+        when(loanServiceClient.getAverageLoanDuration(from, to))
+                .thenThrow(new UnavailableBookException("Invalid date range: 2024-03-02 is after 2024-03-01"));
+
+        // act & assert
+        UnavailableBookException exception = assertThrows(UnavailableBookException.class,
+                () -> loanAnalyticsService.getAverageLoanDuration(from, to));
+        assertEquals("Invalid date range: 2024-03-02 is after 2024-03-01", exception.getMessage());
+    }
+}
@@ -6,6 +6,7 @@ import com.library.apigateway.presentationlayer.fines.FineResponseModel;
 import com.library.apigateway.presentationlayer.loans.LoanRequestModel;
 import com.library.apigateway.presentationlayer.loans.LoanResponseModel;
 import com.library.apigateway.presentationlayer.patrons.PatronResponseModel;
+import com.library.apigateway.utils.CursorPage;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -95,11 +96,11 @@ class LoanServiceUnitTest {
         List<LoanResponseModel> loanList = new ArrayList<>();
         loanList.add(loan1);
 
-        when(loanServiceClient.getAllLoans("patronId")).thenReturn(List.of(loan1));
+        when(loanServiceClient.getAllLoans("patronId", null, null)).thenReturn(new CursorPage<>(List.of(loan1), null));
         when(loanResponseMapper.responseModelListToResponseModelList(loanList)).thenReturn(loanList);
 
         // act
-        List<LoanResponseModel> loans = loanService.getAllLoansForPatron("patronId");
+        List<LoanResponseModel> loans = loanService.getAllLoansForPatron("patronId", null, null).getItems();
 
         // assert
         assertEquals(1, loans.size());
@@ -112,7 +113,7 @@ class LoanServiceUnitTest {
         assertEquals(LocalDate.now(), loans.get(0).getBorrowedDate());
         assertEquals(LocalDate.now().plusDays(21), loans.get(0).getDueDate());
         assertEquals(bookModelList, loans.get(0).getBooks());
-        verify(loanServiceClient, times(1)).getAllLoans("patronId");
+        verify(loanServiceClient, times(1)).getAllLoans("patronId", null, null);
     }
 
 //    // negative test
@@ -269,11 +270,11 @@ class LoanServiceUnitTest {
                 .books(bookModelList)
                 .build();
 
-        when(loanServiceClient.postLoan("patronId", loanRequest1)).thenReturn(loanResponse1);
+        when(loanServiceClient.postLoan("patronId", loanRequest1, "5f0c6c1e-5a8c-4a47-9f4b-0d7b1b6b8d11")).thenReturn(loanResponse1);
         when(loanResponseMapper.responseModelToResponseModel(loanResponse1)).thenReturn(loanResponse1);
 
         // act
-        LoanResponseModel loan = loanService.addLoanForPatron("patronId", loanRequest1);
+        LoanResponseModel loan = loanService.addLoanForPatron("patronId", loanRequest1, "5f0c6c1e-5a8c-4a47-9f4b-0d7b1b6b8d11");
 
         // assert
         assertEquals("loanIdentifier1", loan.getLoanId());
@@ -285,7 +286,7 @@ class LoanServiceUnitTest {
         assertEquals(LocalDate.now(), loan.getBorrowedDate());
         assertEquals(LocalDate.now().plusDays(21), loan.getDueDate());
         assertEquals(bookModelList, loan.getBooks());
-        verify(loanServiceClient, times(1)).postLoan("patronId", loanRequest1);
+        verify(loanServiceClient, times(1)).postLoan("patronId", loanRequest1, "5f0c6c1e-5a8c-4a47-9f4b-0d7b1b6b8d11");
     }
 
     // positive test
@@ -7,6 +7,7 @@ import com.library.apigateway.domainclientlayer.patrons.PhoneType;
 import com.library.apigateway.mapperlayer.patrons.PatronResponseMapper;
 import com.library.apigateway.presentationlayer.patrons.PatronRequestModel;
 import com.library.apigateway.presentationlayer.patrons.PatronResponseModel;
+import com.library.apigateway.utils.CursorPage;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -126,15 +127,15 @@ class PatronServiceUnitTest {
                 .phoneNumbers(phoneNumbers2)
                 .build();
 
-        when(patronServiceClient.getAllPatrons()).thenReturn(List.of(patronModel1, patronModel2));
+        when(patronServiceClient.getAllPatrons(null, null)).thenReturn(new CursorPage<>(List.of(patronModel1, patronModel2), null));
 
         // act
-        List<PatronResponseModel> patronResponseModels = patronService.getAllPatrons();
+        List<PatronResponseModel> patronResponseModels = patronService.getAllPatrons(null, null).getItems();
 
         // assert
         assertNotNull(patronResponseModels);
         assertEquals(2, patronResponseModels.size());
-        verify(patronServiceClient, times(1)).getAllPatrons();
+        verify(patronServiceClient, times(1)).getAllPatrons(null, null);
 
         for (PatronResponseModel patronResponseModel : patronResponseModels) {
             assertNotNull(patronResponseModel.getPatronId());
@@ -155,15 +156,15 @@ class PatronServiceUnitTest {
     @Test
     public void whenNoPatronExists_thenReturnEmptyList() {
         // arrange
-        when(patronServiceClient.getAllPatrons()).thenReturn(new ArrayList<>());
+        when(patronServiceClient.getAllPatrons(null, null)).thenReturn(new CursorPage<>(new ArrayList<>(), null));
 
         // act
-        List<PatronResponseModel> patronResponseModels = patronService.getAllPatrons();
+        List<PatronResponseModel> patronResponseModels = patronService.getAllPatrons(null, null).getItems();
 
         // assert
         assertNotNull(patronResponseModels);
         assertEquals(0, patronResponseModels.size());
-        verify(patronServiceClient, times(1)).getAllPatrons();
+        verify(patronServiceClient, times(1)).getAllPatrons(null, null);
     }
 
     // positive test
@@ -0,0 +1,52 @@
+package com.library.apigateway.domainclientlayer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+        "app.http-client.fines-service.max-connections=5",
+        "app.http-client.http2-service.http2=true"
+})
+@ActiveProfiles("test")
+class DownstreamHttpClientFactoryIntegrationTest {
+
+    @Autowired
+    DownstreamHttpClientFactory downstreamHttpClientFactory;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    // positive test
+    @Test
+    public void whenRestTemplateCreated_thenEachDownstreamHasItsOwnPool() {
+        // assert
+        assertEquals(50, meterRegistry.get("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", "catalog-service").gauge().value());
+        assertEquals(5, meterRegistry.get("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", "fines-service").gauge().value());
+        assertNotNull(meterRegistry.get("httpcomponents.httpclient.pool.total.pending")
+                .tag("httpclient", "loans-service").gauge());
+        assertNotNull(meterRegistry.get("httpcomponents.httpclient.pool.lease")
+                .tag("httpclient", "patrons-service").timer());
+    }
+
+    // positive test
+    @Test
+    public void whenHttp2Enabled_thenPoolIsNotCreated() {
+        // act
+        ClientHttpRequestFactory requestFactory = downstreamHttpClientFactory.create("http2-service");
+
+        // assert
+        assertNotNull(requestFactory);
+        assertNull(meterRegistry.find("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", "http2-service").gauge());
+    }
+}
@@ -0,0 +1,148 @@
+package com.library.apigateway.domainclientlayer;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DownstreamResilienceInterceptorUnitTest {
+
+    private final CircuitBreaker circuitBreaker = CircuitBreaker.of("fines-service", CircuitBreakerConfig.custom()
+            .slidingWindowSize(4)
+            .minimumNumberOfCalls(4)
+            .failureRateThreshold(50)
+            .waitDurationInOpenState(Duration.ofMinutes(1))
+            .build());
+
+    private final Bulkhead bulkhead = Bulkhead.of("fines-service", BulkheadConfig.custom()
+            .maxConcurrentCalls(1)
+            .maxWaitDuration(Duration.ZERO)
+            .build());
+
+    private final DownstreamResilienceInterceptor interceptor = new DownstreamResilienceInterceptor(circuitBreaker, bulkhead);
+
+    private final HttpRequest request = mock(HttpRequest.class);
+
+    // positive test
+    @Test
+    public void whenDownstreamReturnsClientErrors_thenCircuitStaysClosed() throws IOException {
+        // arrange
+        ClientHttpRequestExecution execution = mock(ClientHttpRequestExecution.class);
+        when(execution.execute(any(), any())).thenAnswer(invocation -> new MockClientHttpResponse(new byte[0], HttpStatus.NOT_FOUND));
+
+        // act
+        for (int i = 0; i < 4; i++) {
+            interceptor.intercept(request, new byte[0], execution).close();
+        }
+
+        // assert
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(1, bulkhead.getMetrics().getAvailableConcurrentCalls());
+    }
+
+    // negative test
+    @Test
+    public void whenDownstreamKeepsFailing_thenCircuitOpensAndFailsFast() throws IOException {
+        // arrange
+        ClientHttpRequestExecution execution = mock(ClientHttpRequestExecution.class);
+        when(execution.execute(any(), any()))
+                .thenAnswer(invocation -> new MockClientHttpResponse(new byte[0], HttpStatus.INTERNAL_SERVER_ERROR))
+                .thenAnswer(invocation -> new MockClientHttpResponse(new byte[0], HttpStatus.INTERNAL_SERVER_ERROR))
+                .thenThrow(new IOException("Connection refused"));
+
+        for (int i = 0; i < 2; i++) {
+            interceptor.intercept(request, new byte[0], execution).close();
+        }
+        for (int i = 0; i < 2; i++) {
+            assertThrows(IOException.class, () -> interceptor.intercept(request, new byte[0], execution));
+        }
+
+        // act + assert
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertThrows(CallNotPermittedException.class, () -> interceptor.intercept(request, new byte[0], execution));
+        verify(execution, times(4)).execute(any(), any());
+        assertEquals(1, bulkhead.getMetrics().getAvailableConcurrentCalls());
+    }
+
+    // negative test
+    @Test
+    public void whenBulkheadIsFull_thenRejectCall() throws IOException {
+        // arrange
+        ClientHttpRequestExecution execution = mock(ClientHttpRequestExecution.class);
+        when(execution.execute(any(), any())).thenAnswer(invocation -> {
+            // a second call while this one is in flight
+            assertThrows(BulkheadFullException.class, () -> interceptor.intercept(request, new byte[0], execution));
+            return new MockClientHttpResponse("{}".getBytes(), HttpStatus.OK);
+        });
+
+        // act
+        ClientHttpResponse result = interceptor.intercept(request, new byte[0], execution);
+
+        // assert
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        verify(execution, times(1)).execute(any(), any());
+    }
+
+    // negative test
+    @Test
+    public void whenBodyNotClosedYet_thenHoldPermitUntilClosed() throws IOException {
+        // arrange
+        ClientHttpRequestExecution execution = mock(ClientHttpRequestExecution.class);
+        when(execution.execute(any(), any())).thenAnswer(invocation -> new MockClientHttpResponse("{}".getBytes(), HttpStatus.OK));
+
+        // act
+        ClientHttpResponse response = interceptor.intercept(request, new byte[0], execution);
+        int availableWhileReading = bulkhead.getMetrics().getAvailableConcurrentCalls();
+        byte[] read = response.getBody().readAllBytes();
+        response.close();
+        response.close();
+
+        // assert
+        assertEquals(0, availableWhileReading);
+        assertEquals("{}", new String(read));
+        assertEquals(1, bulkhead.getMetrics().getAvailableConcurrentCalls());
+        assertEquals(1, circuitBreaker.getMetrics().getNumberOfSuccessfulCalls());
+    }
+
+    // negative test
+    @Test
+    public void whenBodyReadFails_thenCountAsFailedCall() throws IOException {
+        // arrange
+        ClientHttpRequestExecution execution = mock(ClientHttpRequestExecution.class);
+        ClientHttpResponse response = mock(ClientHttpResponse.class);
+        when(response.getStatusCode()).thenReturn(HttpStatus.OK);
+        when(response.getBody()).thenReturn(new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        });
+        when(execution.execute(any(), any())).thenReturn(response);
+
+        // act
+        ClientHttpResponse result = interceptor.intercept(request, new byte[0], execution);
+        assertThrows(IOException.class, () -> result.getBody().read());
+        result.close();
+
+        // assert
+        assertEquals(1, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+        assertEquals(1, bulkhead.getMetrics().getAvailableConcurrentCalls());
+        verify(response, times(1)).close();
+    }
+}
@@ -0,0 +1,62 @@
+package com.library.apigateway.mapperlayer.loans;
+
+import com.library.apigateway.domainclientlayer.loans.LoanStatus;
+import com.library.apigateway.presentationlayer.loans.LoanResponseModel;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.hateoas.IanaLinkRelations;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoanResponseMapperUnitTest {
+
+    private static final String PATRON_ID = "0f7f5a4f-8c9e-4a2b-9a43-6d8e2b1f0c11";
+    private static final String LOAN_ID = "a3c2e4d8-6f21-4b1e-8d2a-5c9f7e3b1a04";
+    private static final String FINE_ID = "7b1e9c3a-2d4f-4e8a-b6c5-1f0d3a9e8b27";
+
+    private final LoanResponseMapper loanResponseMapper = Mappers.getMapper(LoanResponseMapper.class);
+
+    // positive test
+    @Test
+    public void whenMapLoan_thenAddLinks() {
+        // arrange
+        LoanResponseModel loan = LoanResponseModel.builder()
+                .loanId(LOAN_ID)
+                .patronId(PATRON_ID)
+                .fineId(FINE_ID)
+                .status(LoanStatus.RETURNED)
+                .dueDate(LocalDate.now())
+                .build();
+
+        // act
+        LoanResponseModel mapped = loanResponseMapper.responseModelToResponseModel(loan);
+
+        // assert
+        assertEquals("/api/v1/patrons/" + PATRON_ID + "/loans/" + LOAN_ID,
+                mapped.getRequiredLink(IanaLinkRelations.SELF).getHref());
+        assertTrue(mapped.getLink("Loans for this patron").isPresent());
+        assertEquals("/api/v1/fines/" + FINE_ID, mapped.getRequiredLink("Fine for this loan").getHref());
+    }
+
+    // positive test
+    @Test
+    public void whenMapLoanList_thenAddLinksToEachLoan() {
+        // arrange
+        LoanResponseModel loan = LoanResponseModel.builder()
+                .loanId(LOAN_ID)
+                .patronId(PATRON_ID)
+                .status(LoanStatus.ACTIVE)
+                .build();
+
+        // act
+        List<LoanResponseModel> mapped = loanResponseMapper.responseModelListToResponseModelList(List.of(loan));
+
+        // assert
+        assertEquals(1, mapped.size());
+        assertTrue(mapped.get(0).hasLink(IanaLinkRelations.SELF));
+        assertFalse(mapped.get(0).getLink("Fine for this loan").isPresent());
+    }
+}
@@ -0,0 +1,118 @@
+package com.library.apigateway.utils;
+
+import com.library.apigateway.presentationlayer.catalogs.catalogbooks.CatalogBooksController;
+import com.library.apigateway.presentationlayer.loans.PatronLoansController;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.Link;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+class LinkTemplateUnitTest {
+
+    private static final String CATALOG_ID = "d846a5a7-2e1c-4c79-809c-4f3f471e826d";
+    private static final Long ISBN = 9789390183524L;
+
+    @AfterEach
+    void resetRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    // positive test
+    @Test
+    public void whenExpandedInRequest_thenMatchLinkTo() {
+        // arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/catalogs");
+        request.setServerName("gateway.example");
+        request.setServerPort(8080);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        // act
+        Link book = LinkTemplate.of(CatalogBooksController.class, "getBook").expand(CATALOG_ID, ISBN);
+        Link books = LinkTemplate.of(CatalogBooksController.class, "getAllBooks").expand(CATALOG_ID);
+        Link loan = LinkTemplate.of(PatronLoansController.class, "getLoanForPatron").expand("patron 1/a", "loan-1");
+
+        // assert
+        assertEquals(linkTo(methodOn(CatalogBooksController.class).getBook(CATALOG_ID, ISBN)).toUri().toString(),
+                book.getHref());
+        assertEquals(linkTo(methodOn(CatalogBooksController.class).getAllBooks(CATALOG_ID, null, null))
+                .withSelfRel().getHref(), books.getHref());
+        assertEquals(linkTo(methodOn(PatronLoansController.class).getLoanForPatron("patron 1/a", "loan-1"))
+                .toUri().toString(), loan.getHref());
+        assertTrue(books.isTemplated());
+    }
+
+    // positive test
+    @Test
+    public void whenExpandedOutsideRequest_thenMatchLinkTo() {
+        // act
+        Link catalogs = LinkTemplate.of(CatalogBooksController.class, "getAllCatalogs").expand();
+
+        // assert
+        assertEquals(linkTo(methodOn(CatalogBooksController.class).getAllCatalogs(null, null)).withSelfRel().getHref(),
+                catalogs.getHref());
+    }
+
+    // positive test
+    @Test
+    public void whenLinksNoneRequested_thenSkipLinks() {
+        // arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/catalogs");
+        request.setParameter(LinkTemplate.LINKS_PARAM, "none");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        // act & assert
+        assertFalse(LinkTemplate.linksRequested());
+    }
+
+    // negative test
+    @Test
+    public void whenWrongNumberOfPathVariables_thenThrowException() {
+        // arrange
+        LinkTemplate template = LinkTemplate.of(CatalogBooksController.class, "getBook");
+
+        // act & assert
+        assertThrows(IllegalArgumentException.class, () -> template.expand(CATALOG_ID));
+    }
+
+    // positive test
+    @Test
+    public void whenParameterTypesGiven_thenLinkThatOverload() {
+        // act
+        Link report = LinkTemplate.of(ReportController.class, "getReport", String.class).expand("r-1");
+        Link page = LinkTemplate.of(ReportController.class, "getReport", String.class, int.class).expand("r-1", 2);
+
+        // assert
+        assertEquals("/api/v1/reports/r-1", report.getHref());
+        assertEquals("/api/v1/reports/r-1/pages/2", page.getHref());
+    }
+
+    // negative test
+    @Test
+    public void whenNameMatchesOverloads_thenThrowException() {
+        // act & assert
+        assertThrows(IllegalArgumentException.class, () -> LinkTemplate.of(ReportController.class, "getReport"));
+    }
+
+    @RequestMapping("api/v1/reports")
+    static class ReportController {
+
+        @GetMapping("{reportId}")
+        public String getReport(@PathVariable String reportId) {
+            return reportId;
+        }
+
+        @GetMapping("{reportId}/pages/{page}")
+        public String getReport(@PathVariable String reportId, @PathVariable int page) {
+            return reportId + page;
+        }
+    }
+}
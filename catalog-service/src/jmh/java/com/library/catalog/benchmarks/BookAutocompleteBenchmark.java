@@ -0,0 +1,48 @@
+package com.library.catalog.benchmarks;
+
+import com.library.catalog.businesslayer.search.BookAutocompleteIndex;
+import com.library.catalog.datalayer.books.Author;
+import com.library.catalog.datalayer.books.Book;
+import com.library.catalog.datalayer.books.ISBN;
+import com.library.catalog.datalayer.books.Status;
+import com.library.catalog.datalayer.catalog.CatalogIdentifier;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// One keystroke's lookup over 20,000 books, for the prefixes a user types first. A lookup walks a few nodes and
+// copies at most ten completions, so it should stay in the low microseconds whatever the size of the catalog.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BookAutocompleteBenchmark {
+
+    private static final String CATALOG_ID = "d846a5a7-2e1c-4c79-809c-4f3f471e826d";
+    private static final String[] WORDS = {"clean", "code", "design", "patterns", "domain", "driven", "harry",
+            "potter", "dune", "great", "gatsby", "secret", "history", "garden", "night", "river", "stone", "winter",
+            "empire", "war"};
+
+    @Param({"c", "dom", "gats", "number 1", "secret h"})
+    private String prefix;
+
+    private BookAutocompleteIndex bookAutocompleteIndex;
+
+    // filled through index(), outside a transaction each book is added right away and the repository is not used
+    @Setup
+    public void setUp() {
+        bookAutocompleteIndex = new BookAutocompleteIndex(null, 10);
+        Random random = new Random(42);
+        for (int i = 1; i <= 20_000; i++) {
+            bookAutocompleteIndex.index(new Book(new ISBN(9780000000000L + i), new CatalogIdentifier(CATALOG_ID),
+                    WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + i,
+                    "Collection", "1st", "Publisher", "Synopsis", "English", Status.AVAILABLE,
+                    new Author("Author", "Number " + random.nextInt(2_000))));
+        }
+    }
+
+    @Benchmark
+    public Object complete() {
+        return bookAutocompleteIndex.complete(prefix, 10);
+    }
+}
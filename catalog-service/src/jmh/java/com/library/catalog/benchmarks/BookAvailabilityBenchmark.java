@@ -0,0 +1,42 @@
+package com.library.catalog.benchmarks;
+
+import com.library.catalog.businesslayer.search.BookAvailabilityIndex;
+import com.library.catalog.datalayer.books.Status;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// A batch of 5000 availability lookups against 100,000 books, six in seven of them not in the catalog. Lookups run
+// under an optimistic read and allocate nothing, the gc profiler's gc.alloc.rate.norm should stay at about 0 bytes.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BookAvailabilityBenchmark {
+
+    private final long[] isbns = new long[5000];
+    private final Status[] statuses = new Status[isbns.length];
+    private BookAvailabilityIndex bookAvailabilityIndex;
+
+    // filled through update(), outside a transaction each status is put right away and the repository is not used
+    @Setup
+    public void setUp() {
+        bookAvailabilityIndex = new BookAvailabilityIndex(null);
+        for (int i = 0; i < 100_000; i++) {
+            bookAvailabilityIndex.update(9780000000000L + i * 7L, Status.AVAILABLE);
+        }
+        for (int i = 0; i < isbns.length; i++) {
+            isbns[i] = 9780000000000L + i * 13L;
+        }
+    }
+
+    @Benchmark
+    public Status[] statuses() {
+        bookAvailabilityIndex.statuses(isbns, statuses);
+        return statuses;
+    }
+
+    @Benchmark
+    public Status status() {
+        return bookAvailabilityIndex.status(9780000000000L + 4999 * 7L);
+    }
+}
@@ -0,0 +1,60 @@
+package com.library.catalog.benchmarks;
+
+import com.library.catalog.CatalogServiceApplication;
+import com.library.catalog.businesslayer.catalogbooks.CatalogBooksService;
+import com.library.catalog.datalayer.books.Author;
+import com.library.catalog.presentationlayer.books.BookRequestModel;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Books added to one catalog by one writer and by four. Writers only insert a book and a size delta, so the four
+// writers should add more books per second than the one rather than queue on the catalog's row.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CatalogImportBenchmark {
+
+    private static final String CATALOG_ID = "d846a5a7-2e1c-4c79-809c-4f3f471e826d";
+
+    private final AtomicLong nextIsbn = new AtomicLong(9780000000000L);
+    private ConfigurableApplicationContext context;
+    private CatalogBooksService catalogBooksService;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(CatalogServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("h2")
+                .run("--logging.level.root=WARN", "--logging.level.com.library=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN", "--spring.jpa.show-sql=false");
+        catalogBooksService = context.getBean(CatalogBooksService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object oneWriter() {
+        return addBook();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object fourWriters() {
+        return addBook();
+    }
+
+    private Object addBook() {
+        return catalogBooksService.addBookInCatalog(CATALOG_ID, new BookRequestModel(nextIsbn.getAndIncrement(),
+                "New Book", "New Collection", "1st edition", "Neji Publications", "Val Chase's magnum opus",
+                "English", "AVAILABLE", new Author("Val", "Chase")));
+    }
+}
@@ -0,0 +1,79 @@
+package com.library.catalog.benchmarks;
+
+import com.library.catalog.utils.IdentifierGenerator;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// An import into a growing catalog with random and with time-ordered catalog ids, into a file backed H2 database
+// migrated like the service. A new catalog is opened every few books and each book goes to one of the newest
+// catalogs. books is indexed on (catalog_id, id), so with time-ordered ids the newest catalogs sit next to each other
+// at the end of the index and the inserts keep dirtying the same few pages. fines-service and loans-service have their
+// own IdentifierInsertBenchmark for the fine and loan id indexes.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class IdentifierInsertBenchmark {
+
+    private static final int BOOKS_PER_CATALOG = 20;
+    private static final int OPEN_CATALOGS = 10;
+
+    @Param({"RANDOM", "TIME_ORDERED"})
+    private IdentifierGenerator generator;
+
+    private final List<String> catalogIds = new ArrayList<>();
+    private final Random random = new Random(42);
+    private Path directory;
+    private Connection connection;
+    private PreparedStatement insertCatalog;
+    private PreparedStatement insertBook;
+    private long books;
+
+    @Setup
+    public void setUp() throws IOException, SQLException {
+        directory = Files.createTempDirectory("identifier-inserts");
+        String url = "jdbc:h2:file:" + directory.resolve("catalog-db");
+        Flyway.configure().dataSource(url, "sa", "").load().migrate();
+        connection = DriverManager.getConnection(url, "sa", "");
+        insertCatalog = connection.prepareStatement(
+                "insert into catalogs(catalog_id, type, size) values (?, 'Adult', 0)");
+        insertBook = connection.prepareStatement(
+                "insert into books(isbn, catalog_id, title, status) values (?, ?, 'Imported', 'AVAILABLE')");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException, SQLException {
+        connection.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public int insertBook() throws SQLException {
+        if (books % BOOKS_PER_CATALOG == 0) {
+            catalogIds.add(generator.next());
+            insertCatalog.setString(1, catalogIds.get(catalogIds.size() - 1));
+            insertCatalog.executeUpdate();
+        }
+        int open = Math.min(OPEN_CATALOGS, catalogIds.size());
+        insertBook.setLong(1, 9780000000000L + books++);
+        insertBook.setString(2, catalogIds.get(catalogIds.size() - 1 - random.nextInt(open)));
+        return insertBook.executeUpdate();
+    }
+}
@@ -0,0 +1,91 @@
+package com.library.catalog.benchmarks;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// A lookup by catalog id among 100,000 catalogs, with the ids stored as 36 character strings and as 16 byte UUIDs,
+// in a file backed H2 database migrated like the service. The binary database gets the same string rows first and is
+// converted by the binary-ids migration, as a live database would be. The id is bound the way the service binds it,
+// a String without the profile and a UUID through the attribute converter with it.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IdentifierLookupBenchmark {
+
+    private static final int CATALOGS = 100_000;
+
+    @Param({"STRING", "BINARY"})
+    private String storage;
+
+    private final Random random = new Random(42);
+    private UUID[] ids;
+    private Path directory;
+    private Connection connection;
+    private PreparedStatement select;
+
+    @Setup
+    public void setUp() throws IOException, SQLException {
+        directory = Files.createTempDirectory("identifier-lookups");
+        String url = "jdbc:h2:file:" + directory.resolve("catalog-db");
+        Flyway.configure().dataSource(url, "sa", "").load().migrate();
+
+        ids = new UUID[CATALOGS];
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             PreparedStatement insert = connection.prepareStatement(
+                     "insert into catalogs(catalog_id, type, size) values (?, 'Adult', 0)")) {
+            for (int i = 0; i < CATALOGS; i++) {
+                ids[i] = UUID.randomUUID();
+                insert.setString(1, ids[i].toString());
+                insert.addBatch();
+                if (i % 1000 == 999) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        if (storage.equals("BINARY")) {
+            Flyway.configure().dataSource(url, "sa", "")
+                    .locations("classpath:db/migration", "classpath:db/binary-identifiers/h2").load().migrate();
+        }
+
+        connection = DriverManager.getConnection(url, "sa", "");
+        select = connection.prepareStatement("select id from catalogs where catalog_id = ?");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException, SQLException {
+        connection.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public int findByCatalogId() throws SQLException {
+        UUID id = ids[random.nextInt(CATALOGS)];
+        if (storage.equals("BINARY")) {
+            select.setObject(1, id);
+        } else {
+            select.setString(1, id.toString());
+        }
+        try (ResultSet resultSet = select.executeQuery()) {
+            return resultSet.next() ? resultSet.getInt(1) : -1;
+        }
+    }
+}
@@ -1,10 +1,26 @@
 package com.library.catalog.businesslayer.books;
 
+import com.library.catalog.presentationlayer.books.BookAvailabilityResponseModel;
+import com.library.catalog.presentationlayer.books.BookCompletionResponseModel;
 import com.library.catalog.presentationlayer.books.BookRequestModel;
 import com.library.catalog.presentationlayer.books.BookResponseModel;
+import com.library.catalog.presentationlayer.books.BookStatusTransitionRequestModel;
+import com.library.catalog.presentationlayer.books.BookStatusTransitionResponseModel;
+
+import java.util.List;
 
 public interface BookService {
     BookResponseModel getBook(Long isbn);
 
+    List<BookResponseModel> getBooks(List<Long> isbns);
+
+    BookAvailabilityResponseModel getAvailability(long[] isbns);
+
+    List<BookResponseModel> searchBooks(String query, String catalogId, Integer size);
+
+    List<BookCompletionResponseModel> completeBooks(String prefix, Integer size);
+
     BookResponseModel patchBook(Long isbn, BookRequestModel bookRequestModel);
+
+    BookStatusTransitionResponseModel transitionBooks(BookStatusTransitionRequestModel bookStatusTransitionRequestModel);
 }
@@ -1,24 +1,60 @@
 package com.library.catalog.businesslayer.books;
 
+import com.library.catalog.businesslayer.search.BookAutocompleteIndex;
+import com.library.catalog.businesslayer.search.BookAvailabilityIndex;
+import com.library.catalog.businesslayer.search.BookSearchIndex;
 import com.library.catalog.datalayer.books.Book;
 import com.library.catalog.datalayer.books.BookRepository;
 import com.library.catalog.datalayer.books.Status;
 import com.library.catalog.datamapperlayer.book.BookResponseMapper;
+import com.library.catalog.presentationlayer.books.BookAvailabilityResponseModel;
+import com.library.catalog.presentationlayer.books.BookCompletionResponseModel;
 import com.library.catalog.presentationlayer.books.BookRequestModel;
 import com.library.catalog.presentationlayer.books.BookResponseModel;
+import com.library.catalog.presentationlayer.books.BookStatusTransitionRequestModel;
+import com.library.catalog.presentationlayer.books.BookStatusTransitionResponseModel;
+import com.library.catalog.utils.Pagination;
 import com.library.catalog.utils.exceptions.InvalidISBNException;
+import com.library.catalog.utils.exceptions.InvalidStatusTransitionException;
 import com.library.catalog.utils.exceptions.NotFoundException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class BookServiceImpl implements BookService{
 
     private final BookRepository bookRepository;
     private final BookResponseMapper bookResponseMapper;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookAutocompleteIndex bookAutocompleteIndex;
+    private final BookAvailabilityIndex bookAvailabilityIndex;
+    private final Pagination pagination;
+    private final int maxBatchSize;
+    private final int maxAvailabilityBatchSize;
 
-    public BookServiceImpl(BookRepository bookRepository, BookResponseMapper bookResponseMapper) {
+    public BookServiceImpl(BookRepository bookRepository, BookResponseMapper bookResponseMapper,
+                           BookSearchIndex bookSearchIndex, BookAutocompleteIndex bookAutocompleteIndex,
+                           BookAvailabilityIndex bookAvailabilityIndex, Pagination pagination,
+                           @Value("${app.books.max-batch-size:500}") int maxBatchSize,
+                           @Value("${app.books.max-availability-batch-size:10000}") int maxAvailabilityBatchSize) {
         this.bookRepository = bookRepository;
         this.bookResponseMapper = bookResponseMapper;
+        this.bookSearchIndex = bookSearchIndex;
+        this.bookAutocompleteIndex = bookAutocompleteIndex;
+        this.bookAvailabilityIndex = bookAvailabilityIndex;
+        this.pagination = pagination;
+        this.maxBatchSize = maxBatchSize;
+        this.maxAvailabilityBatchSize = maxAvailabilityBatchSize;
     }
 
     @Override
@@ -31,7 +67,62 @@ public class BookServiceImpl implements BookService{
         if (existingBook == null) {
             throw new NotFoundException("Unknown ISBN provided: " + isbn);
         }
-        return bookResponseMapper.entityToResponseModel(bookRepository.findByIsbn_Isbn(isbn));
+        return bookResponseMapper.entityToResponseModel(existingBook);
+    }
+
+    @Override
+    public List<BookResponseModel> getBooks(List<Long> isbns) {
+        if (isbns == null || isbns.isEmpty()) {
+            return List.of();
+        }
+
+        Set<Long> distinctIsbns = validateIsbns(isbns);
+
+        // unknown ISBNs are left out of the response, the caller decides if that is an error
+        return bookResponseMapper.entityListToResponseModelList(bookRepository.findAllByIsbn_IsbnIn(distinctIsbns));
+    }
+
+    // Answered from the availability index without touching the database, so the batch can be far larger than
+    // batch-get's. The ISBNs are not validated one by one, a malformed ISBN is unknown like any other.
+    @Override
+    public BookAvailabilityResponseModel getAvailability(long[] isbns) {
+        if (isbns == null || isbns.length == 0) {
+            return new BookAvailabilityResponseModel(new long[0], new Status[0]);
+        }
+        if (isbns.length > maxAvailabilityBatchSize) {
+            throw new InvalidISBNException("At most " + maxAvailabilityBatchSize + " ISBNs can be requested at once.");
+        }
+
+        Status[] statuses = new Status[isbns.length];
+        bookAvailabilityIndex.statuses(isbns, statuses);
+        return new BookAvailabilityResponseModel(isbns, statuses);
+    }
+
+    // The index ranks the matches, the books themselves are then loaded by their unique ISBNs in one query.
+    // A match deleted since it was indexed is simply not found.
+    @Override
+    public List<BookResponseModel> searchBooks(String query, String catalogId, Integer size) {
+        List<Long> isbns = bookSearchIndex.search(query, catalogId, pagination.pageSize(size));
+        if (isbns.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Integer> rank = new HashMap<>();
+        for (int i = 0; i < isbns.size(); i++) {
+            rank.put(isbns.get(i), i);
+        }
+        List<Book> books = new ArrayList<>(bookRepository.findAllByIsbn_IsbnIn(isbns));
+        books.sort(Comparator.comparing(book -> rank.get(book.getIsbn().getIsbn())));
+        return bookResponseMapper.entityListToResponseModelList(books);
+    }
+
+    // served from memory on every keystroke, at most the index's top-k come back whatever the size
+    @Override
+    public List<BookCompletionResponseModel> completeBooks(String prefix, Integer size) {
+        return bookAutocompleteIndex.complete(prefix, size == null ? Integer.MAX_VALUE : size).stream()
+                .map(completion -> new BookCompletionResponseModel(completion.text(), completion.type(),
+                        completion.books()))
+                .toList();
     }
 
     @Override
@@ -48,6 +139,64 @@ public class BookServiceImpl implements BookService{
         existingBook.setStatus(Status.valueOf(bookRequestModel.getStatus()));
 
         Book response = bookRepository.save(existingBook);
+        bookAvailabilityIndex.index(response);
         return bookResponseMapper.entityToResponseModel(response);
     }
+
+    @Override
+    @Transactional
+    public BookStatusTransitionResponseModel transitionBooks(BookStatusTransitionRequestModel bookStatusTransitionRequestModel) {
+        Status from = bookStatusTransitionRequestModel.getFrom();
+        Status to = bookStatusTransitionRequestModel.getTo();
+        if (from == null || to == null || from == to) {
+            throw new InvalidStatusTransitionException("A status transition needs two different statuses.");
+        }
+
+        List<Long> isbns = bookStatusTransitionRequestModel.getIsbns();
+        if (isbns == null || isbns.isEmpty()) {
+            return new BookStatusTransitionResponseModel(List.of(), List.of(), List.of());
+        }
+        Set<Long> distinctIsbns = validateIsbns(isbns);
+
+        // each book is only moved if it is still in the expected status, so two concurrent borrows of the
+        // same ISBN cannot both succeed
+        Set<Long> transitionedIsbns = new HashSet<>();
+        for (Long isbn : distinctIsbns) {
+            if (bookRepository.updateStatusByIsbnAndStatus(isbn, from, to) == 1) {
+                transitionedIsbns.add(isbn);
+                bookAvailabilityIndex.update(isbn, to);
+            }
+        }
+
+        List<BookResponseModel> transitioned = new ArrayList<>();
+        List<BookResponseModel> rejected = new ArrayList<>();
+        Set<Long> foundIsbns = new HashSet<>();
+        for (Book book : bookRepository.findAllByIsbn_IsbnIn(distinctIsbns)) {
+            foundIsbns.add(book.getIsbn().getIsbn());
+            if (transitionedIsbns.contains(book.getIsbn().getIsbn())) {
+                transitioned.add(bookResponseMapper.entityToResponseModel(book));
+            }
+            else {
+                rejected.add(bookResponseMapper.entityToResponseModel(book));
+            }
+        }
+
+        List<Long> notFound = distinctIsbns.stream()
+                .filter(isbn -> !foundIsbns.contains(isbn))
+                .toList();
+        return new BookStatusTransitionResponseModel(transitioned, rejected, notFound);
+    }
+
+    private Set<Long> validateIsbns(List<Long> isbns) {
+        Set<Long> distinctIsbns = new LinkedHashSet<>(isbns);
+        if (distinctIsbns.size() > maxBatchSize) {
+            throw new InvalidISBNException("At most " + maxBatchSize + " ISBNs can be requested at once.");
+        }
+        for (Long isbn : distinctIsbns) {
+            if (isbn == null || (isbn.toString().length() != 10 && isbn.toString().length() != 13)) {
+                throw new InvalidISBNException("ISBN must be 10 or 13 digits long.");
+            }
+        }
+        return distinctIsbns;
+    }
 }
@@ -4,20 +4,21 @@ import com.library.catalog.presentationlayer.books.BookRequestModel;
 import com.library.catalog.presentationlayer.books.BookResponseModel;
 import com.library.catalog.presentationlayer.catalog.CatalogRequestModel;
 import com.library.catalog.presentationlayer.catalog.CatalogResponseModel;
+import com.library.catalog.utils.CursorPage;
 
 import java.util.List;
 
 public interface CatalogBooksService {
 
     // Methods for the catalogs
-    List<CatalogResponseModel> getAllCatalogs();
+    CursorPage<CatalogResponseModel> getAllCatalogs(String cursor, Integer size);
     CatalogResponseModel getCatalog(String catalogId);
     CatalogResponseModel addCatalog(CatalogRequestModel catalogRequestModel);
     CatalogResponseModel updateCatalog(CatalogRequestModel catalogRequestModel, String catalogId);
     void deleteCatalog(String catalogId);
 
     // Methods for the books
-    List<BookResponseModel> getAllBooksInCatalog(String catalogId);
+    CursorPage<BookResponseModel> getAllBooksInCatalog(String catalogId, String cursor, Integer size);
 
     BookResponseModel getBookInCatalog(String catalogId, Long isbn);
 
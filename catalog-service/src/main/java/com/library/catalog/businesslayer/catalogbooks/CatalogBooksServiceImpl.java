@@ -1,5 +1,8 @@
 package com.library.catalog.businesslayer.catalogbooks;
 
+import com.library.catalog.businesslayer.search.BookAutocompleteIndex;
+import com.library.catalog.businesslayer.search.BookAvailabilityIndex;
+import com.library.catalog.businesslayer.search.BookSearchIndex;
 import com.library.catalog.datalayer.books.Book;
 import com.library.catalog.datalayer.books.BookRepository;
 import com.library.catalog.datalayer.books.ISBN;
@@ -14,12 +17,16 @@ import com.library.catalog.presentationlayer.books.BookRequestModel;
 import com.library.catalog.presentationlayer.books.BookResponseModel;
 import com.library.catalog.presentationlayer.catalog.CatalogRequestModel;
 import com.library.catalog.presentationlayer.catalog.CatalogResponseModel;
+import com.library.catalog.utils.CursorPage;
+import com.library.catalog.utils.Pagination;
 import com.library.catalog.utils.exceptions.DuplicateISBNException;
 import com.library.catalog.utils.exceptions.InUseException;
 import com.library.catalog.utils.exceptions.InvalidISBNException;
 import com.library.catalog.utils.exceptions.NotFoundException;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -32,21 +39,33 @@ public class CatalogBooksServiceImpl implements CatalogBooksService {
     private final CatalogRequestMapper catalogRequestMapper;
     private final BookResponseMapper bookResponseMapper;
     private final BookRequestMapper bookRequestMapper;
+    private final Pagination pagination;
+    private final CatalogSizeCounter catalogSizeCounter;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookAutocompleteIndex bookAutocompleteIndex;
+    private final BookAvailabilityIndex bookAvailabilityIndex;
 
-    public CatalogBooksServiceImpl(CatalogRepository catalogRepository, BookRepository bookRepository, CatalogResponseMapper catalogResponseMapper, CatalogRequestMapper catalogRequestMapper, BookResponseMapper bookResponseMapper, BookRequestMapper bookRequestMapper) {
+    public CatalogBooksServiceImpl(CatalogRepository catalogRepository, BookRepository bookRepository, CatalogResponseMapper catalogResponseMapper, CatalogRequestMapper catalogRequestMapper, BookResponseMapper bookResponseMapper, BookRequestMapper bookRequestMapper, Pagination pagination, CatalogSizeCounter catalogSizeCounter, BookSearchIndex bookSearchIndex, BookAutocompleteIndex bookAutocompleteIndex, BookAvailabilityIndex bookAvailabilityIndex) {
         this.catalogRepository = catalogRepository;
         this.bookRepository = bookRepository;
         this.catalogResponseMapper = catalogResponseMapper;
         this.catalogRequestMapper = catalogRequestMapper;
         this.bookResponseMapper = bookResponseMapper;
         this.bookRequestMapper = bookRequestMapper;
+        this.pagination = pagination;
+        this.catalogSizeCounter = catalogSizeCounter;
+        this.bookSearchIndex = bookSearchIndex;
+        this.bookAutocompleteIndex = bookAutocompleteIndex;
+        this.bookAvailabilityIndex = bookAvailabilityIndex;
     }
 
     // Methods for the catalogs
     @Override
-    public List<CatalogResponseModel> getAllCatalogs() {
-        List<Catalog> catalogs = catalogRepository.findAll();
-        return catalogResponseMapper.entityListToResponseModelList(catalogs);
+    public CursorPage<CatalogResponseModel> getAllCatalogs(String cursor, Integer size) {
+        int pageSize = pagination.pageSize(size);
+        List<Catalog> catalogs = catalogRepository.findAllByIdGreaterThanOrderByIdAsc(CursorPage.decodeId(cursor),
+                Limit.of(pageSize + 1));
+        return CursorPage.of(catalogs, pageSize, Catalog::getId, catalogResponseMapper::entityListToResponseModelList);
     }
 
     @Override
@@ -71,60 +90,50 @@ public class CatalogBooksServiceImpl implements CatalogBooksService {
 
         Catalog updatedCatalog = catalogRequestMapper.requestModelToEntity(catalogRequestModel, existingCatalog.getCatalogIdentifier());
         updatedCatalog.setId(existingCatalog.getId());
+        updatedCatalog.setVersion(existingCatalog.getVersion());
+        // the requested size is the total, the deltas not merged yet still get added to it
+        updatedCatalog.setPendingSize(existingCatalog.getPendingSize());
+        if (updatedCatalog.getSize() != null)
+            updatedCatalog.setSize(updatedCatalog.getSize() - existingCatalog.getPendingSize());
         return catalogResponseMapper.entityToResponseModel(catalogRepository.save(updatedCatalog));
     }
 
     @Override
+    @Transactional
     public void deleteCatalog(String catalogId) {
         Catalog existingCatalog = catalogRepository.findByCatalogIdentifier_CatalogId(catalogId);
         if (existingCatalog == null)
             throw new NotFoundException("Unknown catalogId provided: " + catalogId);
 
-        if (existingCatalog.getSize() > 0)
+        if (existingCatalog.getTotalSize() > 0)
             throw new InUseException("Catalog has books and cannot be deleted.");
 
+        catalogSizeCounter.deleteDeltas(catalogId);
         catalogRepository.delete(existingCatalog);
     }
 
 
     // Methods for the books
     @Override
-    public List<BookResponseModel> getAllBooksInCatalog(String catalogId) {
-        if (catalogRepository.findByCatalogIdentifier_CatalogId(catalogId) == null)
-            throw new NotFoundException("Unknown catalogId provided: " + catalogId);
-
-        //add query params
+    public CursorPage<BookResponseModel> getAllBooksInCatalog(String catalogId, String cursor, Integer size) {
+        findCatalog(catalogId);
 
-        return bookResponseMapper.entityListToResponseModelList(
-                bookRepository.findAllByCatalogIdentifier_CatalogId(catalogId));
+        int pageSize = pagination.pageSize(size);
+        List<Book> books = bookRepository.findAllByCatalogIdentifier_CatalogIdAndIdGreaterThanOrderByIdAsc(catalogId,
+                CursorPage.decodeId(cursor), Limit.of(pageSize + 1));
+        return CursorPage.of(books, pageSize, Book::getId, bookResponseMapper::entityListToResponseModelList);
     }
 
     @Override
     public BookResponseModel getBookInCatalog(String catalogId, Long isbn) {
-        if (catalogRepository.findByCatalogIdentifier_CatalogId(catalogId) == null)
-            throw new NotFoundException("Unknown catalogId provided: " + catalogId);
-
-        if (isbn.toString().length() != 10 && isbn.toString().length() != 13) {
-            throw new InvalidISBNException("ISBN must be 10 or 13 digits long.");
-        }
-
-        Book book = bookRepository.findByIsbn_Isbn(isbn);
-        if (book == null) {
-            throw new NotFoundException("Unknown ISBN provided: " + isbn);
-        }
-
-        book = bookRepository.findByCatalogIdentifier_CatalogIdAndIsbn_Isbn(catalogId, isbn);
-        if (book == null) {
-            throw new NotFoundException("Book is not in the catalog.");
-        }
-
-        return bookResponseMapper.entityToResponseModel(book);
+        findCatalog(catalogId);
+        return bookResponseMapper.entityToResponseModel(findBookInCatalog(catalogId, isbn));
     }
 
     @Override
+    @Transactional
     public BookResponseModel addBookInCatalog(String catalogId, BookRequestModel bookRequestModel) {
-        if (catalogRepository.findByCatalogIdentifier_CatalogId(catalogId) == null)
-            throw new NotFoundException("Unknown catalogId provided: " + catalogId);
+        findCatalog(catalogId);
 
         if (bookRequestModel.getIsbn().toString().length() != 10 && bookRequestModel.getIsbn().toString().length() != 13) {
             throw new InvalidISBNException("ISBN must be 10 or 13 digits long.");
@@ -133,69 +142,76 @@ public class CatalogBooksServiceImpl implements CatalogBooksService {
         Book book = bookRequestMapper.requestModelToEntity(bookRequestModel, new ISBN(bookRequestModel.getIsbn()),
                 new CatalogIdentifier(catalogId));
 
-        // To increment the number of books in the catalog
-        Catalog catalog = catalogRepository.findByCatalogIdentifier_CatalogId(catalogId);
-        catalog.setSize(catalog.getSize() + 1);
-
+        Book savedBook;
         try {
-            return bookResponseMapper.entityToResponseModel(bookRepository.save(book));
+            savedBook = bookRepository.save(book);
         }
         catch (DataAccessException e) {
-            catalog.setSize(catalog.getSize() - 1);
             throw new DuplicateISBNException("The catalog already contains a book with isbn: " + bookRequestModel.getIsbn());
         }
+
+        // To increment the number of books in the catalog
+        catalogSizeCounter.add(catalogId, 1);
+        bookSearchIndex.index(savedBook);
+        bookAutocompleteIndex.index(savedBook);
+        bookAvailabilityIndex.index(savedBook);
+        return bookResponseMapper.entityToResponseModel(savedBook);
     }
 
     @Override
     public BookResponseModel updateBookInCatalog(String catalogId, Long isbn, BookRequestModel bookRequestModel) {
-        if (catalogRepository.findByCatalogIdentifier_CatalogId(catalogId) == null)
-            throw new NotFoundException("Unknown catalogId provided: " + catalogId);
-
-        if (isbn.toString().length() != 10 && isbn.toString().length() != 13) {
-            throw new InvalidISBNException("ISBN must be 10 or 13 digits long.");
-        }
-
-        Book existingBook = bookRepository.findByIsbn_Isbn(isbn);
-        if (existingBook == null) {
-            throw new NotFoundException("Unknown ISBN provided: " + isbn);
-        }
-
-        existingBook = bookRepository.findByCatalogIdentifier_CatalogIdAndIsbn_Isbn(catalogId, isbn);
-        if (existingBook == null) {
-            throw new NotFoundException("Book is not in the catalog.");
-        }
+        findCatalog(catalogId);
+        Book existingBook = findBookInCatalog(catalogId, isbn);
 
         Book updatedBook = bookRequestMapper.requestModelToEntity(bookRequestModel, existingBook.getIsbn(),
                 existingBook.getCatalogIdentifier());
         updatedBook.setId(existingBook.getId());
+        updatedBook.setVersion(existingBook.getVersion());
 
         Book response = bookRepository.save(updatedBook);
+        bookSearchIndex.index(response);
+        bookAutocompleteIndex.index(response);
+        bookAvailabilityIndex.index(response);
         return bookResponseMapper.entityToResponseModel(response);
     }
 
     @Override
+    @Transactional
     public void deleteBookInCatalog(String catalogId, Long isbn) {
-        if (catalogRepository.findByCatalogIdentifier_CatalogId(catalogId) == null)
+        findCatalog(catalogId);
+        Book existingBook = findBookInCatalog(catalogId, isbn);
+
+        bookRepository.delete(existingBook);
+
+        // To decrement the number of books in the catalogue
+        catalogSizeCounter.add(catalogId, -1);
+        bookSearchIndex.remove(isbn);
+        bookAutocompleteIndex.remove(isbn);
+        bookAvailabilityIndex.remove(isbn);
+    }
+
+    // Lookups shared by the book methods. Each row is read once per request and the managed entity is reused,
+    // the persistence context kept open for the request only dedupes reads by primary key.
+    private Catalog findCatalog(String catalogId) {
+        Catalog catalog = catalogRepository.findByCatalogIdentifier_CatalogId(catalogId);
+        if (catalog == null)
             throw new NotFoundException("Unknown catalogId provided: " + catalogId);
+        return catalog;
+    }
 
+    // isbn is unique, so the catalog is checked on the loaded book instead of with a second query
+    private Book findBookInCatalog(String catalogId, Long isbn) {
         if (isbn.toString().length() != 10 && isbn.toString().length() != 13) {
             throw new InvalidISBNException("ISBN must be 10 or 13 digits long.");
         }
 
-        Book existingBook = bookRepository.findByIsbn_Isbn(isbn);
-        if (existingBook == null) {
+        Book book = bookRepository.findByIsbn_Isbn(isbn);
+        if (book == null) {
             throw new NotFoundException("Unknown ISBN provided: " + isbn);
         }
-
-        existingBook = bookRepository.findByCatalogIdentifier_CatalogIdAndIsbn_Isbn(catalogId, isbn);
-        if (existingBook == null) {
+        if (!catalogId.equals(book.getCatalogIdentifier().getCatalogId())) {
             throw new NotFoundException("Book is not in the catalog.");
         }
-
-        // To decrement the number of books in the catalogue
-        Catalog catalog = catalogRepository.findByCatalogIdentifier_CatalogId(catalogId);
-        catalog.setSize(catalog.getSize() - 1);
-
-        bookRepository.delete(existingBook);
+        return book;
     }
 }
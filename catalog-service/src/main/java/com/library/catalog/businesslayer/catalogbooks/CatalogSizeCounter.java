@@ -0,0 +1,83 @@
+package com.library.catalog.businesslayer.catalogbooks;
+
+import com.library.catalog.datalayer.catalog.CatalogRepository;
+import com.library.catalog.datalayer.catalog.CatalogSizeDelta;
+import com.library.catalog.datalayer.catalog.CatalogSizeDeltaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Keeps catalog sizes without making every book write update the catalog's row. A write inserts its change as a
+// delta row in the same transaction, and merge() folds the deltas into catalogs.size in the background. Catalog
+// reads add up the unmerged deltas, see Catalog.pendingSize.
+@Component
+@Slf4j
+public class CatalogSizeCounter {
+
+    private final CatalogRepository catalogRepository;
+    private final CatalogSizeDeltaRepository catalogSizeDeltaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int mergeBatchSize;
+
+    public CatalogSizeCounter(CatalogRepository catalogRepository,
+                              CatalogSizeDeltaRepository catalogSizeDeltaRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.catalog.size-merge-batch-size:1000}") int mergeBatchSize) {
+        this.catalogRepository = catalogRepository;
+        this.catalogSizeDeltaRepository = catalogSizeDeltaRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.mergeBatchSize = mergeBatchSize;
+    }
+
+    // joins the caller's transaction, so the change is rolled back with the book write it counts
+    @Transactional
+    public void add(String catalogId, int delta) {
+        catalogSizeDeltaRepository.save(new CatalogSizeDelta(catalogId, delta));
+    }
+
+    @Transactional
+    public void deleteDeltas(String catalogId) {
+        catalogSizeDeltaRepository.deleteAllByCatalogId(catalogId);
+    }
+
+    // Each batch is added to the catalogs and deleted in one transaction, so a reader sees a change either as a
+    // delta or in catalogs.size but never in both.
+    @Scheduled(initialDelayString = "${app.catalog.size-merge-interval:PT1M}",
+            fixedDelayString = "${app.catalog.size-merge-interval:PT1M}")
+    public void merge() {
+        int merged;
+        int total = 0;
+        do {
+            merged = transactionTemplate.execute(status -> mergeBatch());
+            total += merged;
+        } while (merged == mergeBatchSize);
+
+        if (total > 0) {
+            log.debug("Merged {} catalog size changes", total);
+        }
+    }
+
+    private int mergeBatch() {
+        List<CatalogSizeDelta> deltas = catalogSizeDeltaRepository.findAllByOrderByIdAsc(Limit.of(mergeBatchSize));
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, Integer> sizeChanges = new LinkedHashMap<>();
+        for (CatalogSizeDelta delta : deltas) {
+            sizeChanges.merge(delta.getCatalogId(), delta.getDelta(), Integer::sum);
+        }
+        sizeChanges.forEach(catalogRepository::addToSize);
+        catalogSizeDeltaRepository.deleteAllInBatch(deltas);
+        return deltas.size();
+    }
+}
@@ -0,0 +1,387 @@
+package com.library.catalog.businesslayer.search;
+
+import com.library.catalog.datalayer.books.Book;
+import com.library.catalog.datalayer.books.BookRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+// Typeahead over book titles and author names. A trie over the folded text, entered at every word start so "gats"
+// completes "The Great Gatsby", where each node keeps the top K completions below it ordered by how many books
+// carry them. A lookup walks at most MAX_DEPTH nodes and copies at most K entries. Memory is bounded by
+// MAX_DEPTH nodes per key and K references per node, whatever the size of the catalog.
+@Component
+@Slf4j
+public class BookAutocompleteIndex implements SmartInitializingSingleton {
+
+    public static final String TITLE = "TITLE";
+    public static final String AUTHOR = "AUTHOR";
+
+    private static final int MAX_DEPTH = 24;
+    private static final int MAX_WORD_STARTS = 8;
+    private static final int REBUILD_PAGE_SIZE = 500;
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Completion[] NO_COMPLETIONS = new Completion[0];
+    private static final Comparator<Completion> BY_WEIGHT = Comparator.<Completion>comparingInt(c -> c.books)
+            .reversed()
+            .thenComparing(c -> c.text);
+
+    private final BookRepository bookRepository;
+    private final int topK;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Trie trie;
+    // the books written while a rebuild runs by ISBN, null for a removed one, null when no rebuild runs
+    private Map<Long, Book> writtenDuringRebuild;
+
+    public BookAutocompleteIndex(BookRepository bookRepository,
+                                 @Value("${app.search.autocomplete.top-k:10}") int topK) {
+        this.bookRepository = bookRepository;
+        this.topK = topK;
+        this.trie = new Trie(topK);
+    }
+
+    // built while the context starts, before the web server takes requests, so typeahead never comes back empty
+    // because the books are not loaded yet
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    // Filled without ranking and ranked once bottom up, patching every path as the books come in would redo the
+    // nodes near the root for every book. The new trie is built outside the lock while lookups and writes keep
+    // using the old one, and swapped in with the writes made meanwhile applied on top, so none of them is lost.
+    public void rebuild() {
+        lock.writeLock().lock();
+        writtenDuringRebuild = new HashMap<>();
+        lock.writeLock().unlock();
+
+        Trie rebuilt = new Trie(topK);
+        try {
+            int lastId = 0;
+            List<Book> page;
+            do {
+                page = bookRepository.findAllByIdGreaterThanOrderByIdAsc(lastId, Limit.of(REBUILD_PAGE_SIZE));
+                for (Book book : page) {
+                    rebuilt.addBook(book, false);
+                    lastId = book.getId();
+                }
+            } while (page.size() == REBUILD_PAGE_SIZE);
+            rebuilt.rankAll(rebuilt.root);
+        }
+        catch (RuntimeException ex) {
+            lock.writeLock().lock();
+            writtenDuringRebuild = null;
+            lock.writeLock().unlock();
+            throw ex;
+        }
+
+        lock.writeLock().lock();
+        try {
+            writtenDuringRebuild.forEach(rebuilt::update);
+            writtenDuringRebuild = null;
+            trie = rebuilt;
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Indexed {} completions for autocomplete", rebuilt.completions.size());
+    }
+
+    public void index(Book book) {
+        IndexUpdates.afterCommit(() -> update(book.getIsbn().getIsbn(), book));
+    }
+
+    public void remove(Long isbn) {
+        IndexUpdates.afterCommit(() -> update(isbn, null));
+    }
+
+    public List<BookCompletion> complete(String prefix, int size) {
+        String key = prefix == null ? "" : NON_WORD.matcher(SearchText.fold(prefix)).replaceAll(" ").stripLeading();
+        if (key.isEmpty() || size < 1) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = trie.root;
+            for (int i = 0; i < Math.min(key.length(), MAX_DEPTH) && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+
+            // keys are cut at MAX_DEPTH, a longer prefix is checked against the text of each candidate
+            List<BookCompletion> result = new ArrayList<>(Math.min(size, node.top.length));
+            for (Completion completion : node.top) {
+                if (result.size() == size) {
+                    break;
+                }
+                if (key.length() <= MAX_DEPTH || completion.matches(key)) {
+                    result.add(new BookCompletion(completion.text, completion.type, completion.books));
+                }
+            }
+            return result;
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void update(Long isbn, Book book) {
+        lock.writeLock().lock();
+        try {
+            trie.update(isbn, book);
+            if (writtenDuringRebuild != null) {
+                writtenDuringRebuild.put(isbn, book);
+            }
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static String join(String firstName, String lastName) {
+        return ((firstName == null ? "" : firstName) + " " + (lastName == null ? "" : lastName)).strip();
+    }
+
+    private static Completion[] append(Completion[] completions, Completion completion) {
+        Completion[] appended = Arrays.copyOf(completions, completions.length + 1);
+        appended[completions.length] = completion;
+        return appended;
+    }
+
+    private static Completion[] without(Completion[] completions, Completion completion) {
+        return Arrays.stream(completions).filter(c -> c != completion).toArray(Completion[]::new);
+    }
+
+    // the completions and the nodes they hang on, swapped as a whole by a rebuild
+    private static final class Trie {
+
+        private final int topK;
+        private final Map<String, Completion> completions = new HashMap<>();
+        private final Map<Long, List<Completion>> bookCompletions = new HashMap<>();
+        private final Node root = new Node();
+
+        private Trie(int topK) {
+            this.topK = topK;
+        }
+
+        private void update(Long isbn, Book book) {
+            removeBook(isbn);
+            if (book != null) {
+                addBook(book, true);
+            }
+        }
+
+        private void addBook(Book book, boolean rank) {
+            List<Completion> added = new ArrayList<>(2);
+            addCompletion(added, book.getTitle(), TITLE, rank);
+            if (book.getAuthor() != null) {
+                addCompletion(added, join(book.getAuthor().getFirstName(), book.getAuthor().getLastName()), AUTHOR,
+                        rank);
+            }
+            bookCompletions.put(book.getIsbn().getIsbn(), added);
+        }
+
+        private void addCompletion(List<Completion> added, String text, String type, boolean rank) {
+            if (text == null || text.isBlank()) {
+                return;
+            }
+
+            String normalized = NON_WORD.matcher(SearchText.fold(text)).replaceAll(" ").strip();
+            if (normalized.isEmpty()) {
+                return;
+            }
+
+            Completion completion = completions.get(type + ":" + normalized);
+            if (completion == null) {
+                completion = new Completion(text.strip(), type, normalized);
+                completions.put(type + ":" + normalized, completion);
+                for (String key : completion.keys) {
+                    Node end = root;
+                    for (int i = 0; i < key.length(); i++) {
+                        end = end.childOrCreate(key.charAt(i));
+                    }
+                    end.ending = append(end.ending, completion);
+                }
+            }
+            completion.books++;
+            added.add(completion);
+
+            if (rank) {
+                for (String key : completion.keys) {
+                    rankPath(key);
+                }
+            }
+        }
+
+        private void removeBook(Long isbn) {
+            List<Completion> removed = bookCompletions.remove(isbn);
+            if (removed == null) {
+                return;
+            }
+
+            for (Completion completion : removed) {
+                completion.books--;
+                if (completion.books == 0) {
+                    completions.remove(completion.type + ":" + completion.normalized);
+                }
+                for (String key : completion.keys) {
+                    if (completion.books == 0) {
+                        Node end = walk(key);
+                        end.ending = without(end.ending, completion);
+                    }
+                    rankPath(key);
+                }
+            }
+        }
+
+        // re-ranks the nodes from the end of the key up to the root and drops the ones left empty
+        private void rankPath(String key) {
+            Node[] path = new Node[key.length() + 1];
+            path[0] = root;
+            for (int i = 0; i < key.length(); i++) {
+                path[i + 1] = path[i].child(key.charAt(i));
+            }
+
+            for (int i = key.length(); i > 0; i--) {
+                if (path[i].isEmpty()) {
+                    path[i - 1].removeChild(key.charAt(i - 1));
+                }
+                else {
+                    rank(path[i]);
+                }
+            }
+            rank(root);
+        }
+
+        private void rankAll(Node node) {
+            for (Node child : node.children) {
+                rankAll(child);
+            }
+            rank(node);
+        }
+
+        // a node's top K are the best of the completions ending at it and the top K of each child
+        private void rank(Node node) {
+            List<Completion> candidates = new ArrayList<>(Arrays.asList(node.ending));
+            for (Node child : node.children) {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+            candidates.sort(BY_WEIGHT);
+
+            // a completion entered at two word starts can reach a node twice, distinct compares by identity
+            node.top = candidates.stream().distinct().limit(topK).toArray(Completion[]::new);
+        }
+
+        private Node walk(String key) {
+            Node node = root;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.child(key.charAt(i));
+            }
+            return node;
+        }
+    }
+
+    private static final class Completion {
+
+        private final String text;
+        private final String type;
+        private final String normalized;
+        private final String[] keys;
+        private int books;
+
+        private Completion(String text, String type, String normalized) {
+            this.text = text;
+            this.type = type;
+            this.normalized = normalized;
+            this.keys = keys(normalized);
+        }
+
+        private boolean matches(String prefix) {
+            return normalized.startsWith(prefix) || normalized.contains(" " + prefix);
+        }
+
+        // the text from each of its first word starts, cut at MAX_DEPTH
+        private static String[] keys(String normalized) {
+            Set<String> keys = new LinkedHashSet<>();
+            int start = 0;
+            while (start >= 0 && keys.size() < MAX_WORD_STARTS) {
+                keys.add(normalized.substring(start, Math.min(normalized.length(), start + MAX_DEPTH)));
+                int space = normalized.indexOf(' ', start);
+                start = space < 0 ? -1 : space + 1;
+            }
+            return keys.toArray(String[]::new);
+        }
+    }
+
+    // children are kept in arrays sorted by character, a few bytes per edge instead of a map per node
+    private static final class Node {
+
+        private char[] labels = new char[0];
+        private Node[] children = new Node[0];
+        private Completion[] ending = NO_COMPLETIONS;
+        private Completion[] top = NO_COMPLETIONS;
+
+        private Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index < 0 ? null : children[index];
+        }
+
+        private Node childOrCreate(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index >= 0) {
+                return children[index];
+            }
+
+            int insertAt = -index - 1;
+            Node child = new Node();
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newLabels[insertAt] = label;
+            newChildren[insertAt] = child;
+            System.arraycopy(labels, insertAt, newLabels, insertAt + 1, labels.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            labels = newLabels;
+            children = newChildren;
+            return child;
+        }
+
+        private void removeChild(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index < 0) {
+                return;
+            }
+
+            char[] newLabels = new char[labels.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(labels, 0, newLabels, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(labels, index + 1, newLabels, index, labels.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            labels = newLabels;
+            children = newChildren;
+        }
+
+        private boolean isEmpty() {
+            return children.length == 0 && ending.length == 0;
+        }
+    }
+}
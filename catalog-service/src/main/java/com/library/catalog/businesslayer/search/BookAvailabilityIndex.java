@@ -0,0 +1,274 @@
+package com.library.catalog.businesslayer.search;
+
+import com.library.catalog.datalayer.books.Book;
+import com.library.catalog.datalayer.books.BookRepository;
+import com.library.catalog.datalayer.books.BookStatusRow;
+import com.library.catalog.datalayer.books.Status;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.StampedLock;
+
+// The status of every book by ISBN. An open addressing table of longs with linear probing, each slot holds the ISBN
+// shifted left with the status ordinal in the low bits and 0 marks a free slot. There are no boxed keys or entry
+// objects, a book costs 8 bytes per slot and the table is kept at most half full. Lookups run under an optimistic
+// read and allocate nothing, writers take the write lock and are applied once their transaction commits.
+@Component
+@Slf4j
+public class BookAvailabilityIndex implements SmartInitializingSingleton {
+
+    private static final Status[] STATUSES = Status.values();
+    private static final int STATUS_BITS = 32 - Integer.numberOfLeadingZeros(STATUSES.length - 1);
+    private static final long STATUS_MASK = (1L << STATUS_BITS) - 1;
+    private static final long MAX_ISBN = Long.MAX_VALUE >>> STATUS_BITS;
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int REBUILD_PAGE_SIZE = 5000;
+
+    private final BookRepository bookRepository;
+    private final StampedLock lock = new StampedLock();
+    private long[] slots = new long[INITIAL_CAPACITY];
+    private int size;
+    // the ISBNs written while a rebuild runs, null otherwise
+    private Set<Long> writtenDuringRebuild;
+
+    public BookAvailabilityIndex(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    // built while the context starts, before the web server takes requests, so a lookup never misses a book that
+    // is just not loaded yet
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    // Pages through the status column only, the synopsis and the other text fields are never loaded. A page may
+    // have been read before a write that committed since, so a row never replaces a book written after the rebuild
+    // started.
+    public void rebuild() {
+        long stamp = lock.writeLock();
+        writtenDuringRebuild = new HashSet<>();
+        lock.unlockWrite(stamp);
+
+        int lastId = 0;
+        int indexed = 0;
+        List<BookStatusRow> page;
+        try {
+            do {
+                page = bookRepository.findStatusRowsByIdGreaterThan(lastId, Limit.of(REBUILD_PAGE_SIZE));
+                stamp = lock.writeLock();
+                try {
+                    for (BookStatusRow row : page) {
+                        if (row.status() != null && !writtenDuringRebuild.contains(row.isbn())) {
+                            put(row.isbn(), row.status());
+                        }
+                    }
+                }
+                finally {
+                    lock.unlockWrite(stamp);
+                }
+                indexed += page.size();
+                if (!page.isEmpty()) {
+                    lastId = page.get(page.size() - 1).id();
+                }
+            } while (page.size() == REBUILD_PAGE_SIZE);
+        }
+        finally {
+            stamp = lock.writeLock();
+            writtenDuringRebuild = null;
+            lock.unlockWrite(stamp);
+        }
+        log.info("Indexed the status of {} books in {} KB", indexed, capacity() * Long.BYTES / 1024);
+    }
+
+    public void index(Book book) {
+        update(book.getIsbn().getIsbn(), book.getStatus());
+    }
+
+    public void update(long isbn, Status status) {
+        IndexUpdates.afterCommit(() -> {
+            long stamp = lock.writeLock();
+            try {
+                put(isbn, status);
+                written(isbn);
+            }
+            finally {
+                lock.unlockWrite(stamp);
+            }
+        });
+    }
+
+    public void remove(long isbn) {
+        IndexUpdates.afterCommit(() -> {
+            long stamp = lock.writeLock();
+            try {
+                delete(isbn);
+                written(isbn);
+            }
+            finally {
+                lock.unlockWrite(stamp);
+            }
+        });
+    }
+
+    // null when the ISBN is not in the catalog
+    public Status status(long isbn) {
+        long stamp = lock.tryOptimisticRead();
+        Status status = find(slots, isbn);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                status = find(slots, isbn);
+            }
+            finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return status;
+    }
+
+    // fills into[i] with the status of isbns[i], the whole batch is read against one version of the table
+    public void statuses(long[] isbns, Status[] into) {
+        long stamp = lock.tryOptimisticRead();
+        findAll(slots, isbns, into);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                findAll(slots, isbns, into);
+            }
+            finally {
+                lock.unlockRead(stamp);
+            }
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        }
+        finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    int capacity() {
+        long stamp = lock.readLock();
+        try {
+            return slots.length;
+        }
+        finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private void written(long isbn) {
+        if (writtenDuringRebuild != null) {
+            writtenDuringRebuild.add(isbn);
+        }
+    }
+
+    // An optimistic read may see the table mid-write. Since it is never more than half full a probe always reaches a
+    // free slot, and a resize fills a new array before publishing it, so a torn read ends and is then discarded.
+    private static void findAll(long[] slots, long[] isbns, Status[] into) {
+        for (int i = 0; i < isbns.length; i++) {
+            into[i] = find(slots, isbns[i]);
+        }
+    }
+
+    private static Status find(long[] slots, long isbn) {
+        if (isbn <= 0 || isbn > MAX_ISBN) {
+            return null;
+        }
+
+        int i = indexOf(slots, isbn);
+        return i < 0 ? null : STATUSES[(int) (slots[i] & STATUS_MASK)];
+    }
+
+    // the slot holding the ISBN, or -(free slot where it would go) - 1
+    private static int indexOf(long[] slots, long isbn) {
+        int mask = slots.length - 1;
+        int i = home(isbn, mask);
+        while (true) {
+            long slot = slots[i];
+            if (slot == 0) {
+                return -i - 1;
+            }
+            if (slot >>> STATUS_BITS == isbn) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    // ISBNs of one publisher share long prefixes and are often consecutive, the multiply spreads them over the table
+    private static int home(long isbn, int mask) {
+        long hash = isbn * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void put(long isbn, Status status) {
+        if (isbn <= 0 || isbn > MAX_ISBN) {
+            throw new IllegalArgumentException("ISBN out of range: " + isbn);
+        }
+
+        long packed = isbn << STATUS_BITS | status.ordinal();
+        int i = indexOf(slots, isbn);
+        if (i >= 0) {
+            slots[i] = packed;
+            return;
+        }
+
+        if ((size + 1) * 2 > slots.length) {
+            grow();
+            i = indexOf(slots, isbn);
+        }
+        slots[-i - 1] = packed;
+        size++;
+    }
+
+    // Backward shift deletion, the entries after the freed slot move back into it when their home allows. Probes
+    // stop at the first free slot, so leaving a hole or a tombstone behind would either lose entries or slow them.
+    private void delete(long isbn) {
+        int i = indexOf(slots, isbn);
+        if (i < 0) {
+            return;
+        }
+
+        int mask = slots.length - 1;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            long slot = slots[j];
+            if (slot == 0) {
+                break;
+            }
+
+            // the entry at j stays if its home lies cyclically in (i, j]
+            int k = home(slot >>> STATUS_BITS, mask);
+            boolean stays = i <= j ? i < k && k <= j : i < k || k <= j;
+            if (!stays) {
+                slots[i] = slot;
+                i = j;
+            }
+        }
+        slots[i] = 0;
+        size--;
+    }
+
+    private void grow() {
+        long[] grown = new long[slots.length * 2];
+        for (long slot : slots) {
+            if (slot != 0) {
+                grown[-indexOf(grown, slot >>> STATUS_BITS) - 1] = slot;
+            }
+        }
+        slots = grown;
+    }
+}
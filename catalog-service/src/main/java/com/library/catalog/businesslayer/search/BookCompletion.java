@@ -0,0 +1,5 @@
+package com.library.catalog.businesslayer.search;
+
+// a completion offered by BookAutocompleteIndex, books is how many books carry it
+public record BookCompletion(String text, String type, int books) {
+}
@@ -0,0 +1,256 @@
+package com.library.catalog.businesslayer.search;
+
+import com.library.catalog.datalayer.books.Book;
+import com.library.catalog.datalayer.books.BookRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+// In-memory inverted index over the text fields of the books, ranked with BM25. Each term maps to the books that
+// contain it and a weighted term frequency, a match in the title counts for more than one in the synopsis. It is
+// filled from the database at startup and kept current by the book writes, searches never touch the books table.
+@Component
+@Slf4j
+public class BookSearchIndex implements SmartInitializingSingleton {
+
+    private static final float TITLE_WEIGHT = 3f;
+    private static final float AUTHOR_WEIGHT = 2f;
+    private static final float COLLECTION_WEIGHT = 1.5f;
+    private static final float PUBLISHER_WEIGHT = 1f;
+    private static final float SYNOPSIS_WEIGHT = 1f;
+
+    // the usual BM25 defaults, k1 caps what repeating a term adds and b how much long documents are penalized
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private static final int REBUILD_PAGE_SIZE = 500;
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> STOP_WORDS = Set.of("a", "an", "and", "are", "as", "at", "by", "for", "from",
+            "in", "is", "it", "of", "on", "or", "that", "the", "this", "to", "with");
+
+    private final BookRepository bookRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Map<Long, Float>> postings = new HashMap<>();
+    private final Map<Long, IndexedBook> books = new HashMap<>();
+    private double totalLength;
+    // the ISBNs written while a rebuild runs, null otherwise
+    private Set<Long> writtenDuringRebuild;
+
+    public BookSearchIndex(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    // built while the context starts, before the web server takes requests, so a search never comes back empty
+    // because the books are not loaded yet
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    // Pages through the books table in id order. A page may have been read before a write that committed since, so
+    // a row never replaces or brings back a book written or deleted after the rebuild started.
+    public void rebuild() {
+        lock.writeLock().lock();
+        writtenDuringRebuild = new HashSet<>();
+        lock.writeLock().unlock();
+
+        int lastId = 0;
+        int indexed = 0;
+        List<Book> page;
+        try {
+            do {
+                page = bookRepository.findAllByIdGreaterThanOrderByIdAsc(lastId, Limit.of(REBUILD_PAGE_SIZE));
+                page.forEach(book -> put(book, true));
+                indexed += page.size();
+                if (!page.isEmpty()) {
+                    lastId = page.get(page.size() - 1).getId();
+                }
+            } while (page.size() == REBUILD_PAGE_SIZE);
+        }
+        finally {
+            lock.writeLock().lock();
+            writtenDuringRebuild = null;
+            lock.writeLock().unlock();
+        }
+        log.info("Indexed {} books for search", indexed);
+    }
+
+    public void index(Book book) {
+        IndexUpdates.afterCommit(() -> put(book, false));
+    }
+
+    public void remove(Long isbn) {
+        IndexUpdates.afterCommit(() -> delete(isbn));
+    }
+
+    // the ISBNs of the best matches first, catalogId is optional
+    public List<Long> search(String query, String catalogId, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty() || limit < 1) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (books.isEmpty()) {
+                return List.of();
+            }
+
+            double averageLength = totalLength / books.size();
+            Map<Long, Double> scores = new HashMap<>();
+            for (String term : terms) {
+                Map<Long, Float> matches = postings.get(term);
+                if (matches == null) {
+                    continue;
+                }
+
+                double idf = Math.log(1 + (books.size() - matches.size() + 0.5) / (matches.size() + 0.5));
+                for (Map.Entry<Long, Float> match : matches.entrySet()) {
+                    IndexedBook book = books.get(match.getKey());
+                    if (catalogId != null && !catalogId.equals(book.catalogId())) {
+                        continue;
+                    }
+                    double frequency = match.getValue();
+                    double score = idf * frequency * (K1 + 1)
+                            / (frequency + K1 * (1 - B + B * book.length() / averageLength));
+                    scores.merge(match.getKey(), score, Double::sum);
+                }
+            }
+            return topMatches(scores, limit);
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_WORD.split(SearchText.fold(text))) {
+            if (!token.isEmpty() && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // a bounded min-heap, so ranking costs O(n log limit) rather than sorting every match
+    private static List<Long> topMatches(Map<Long, Double> scores, int limit) {
+        Comparator<Map.Entry<Long, Double>> byScore = Map.Entry.<Long, Double>comparingByValue()
+                .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder()));
+        PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(limit + 1, byScore);
+        for (Map.Entry<Long, Double> score : scores.entrySet()) {
+            top.offer(score);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<Long> isbns = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            isbns.add(top.poll().getKey());
+        }
+        Collections.reverse(isbns);
+        return isbns;
+    }
+
+    private void put(Book book, boolean fromRebuild) {
+        Map<String, Float> frequencies = new HashMap<>();
+        addField(frequencies, book.getTitle(), TITLE_WEIGHT);
+        if (book.getAuthor() != null) {
+            addField(frequencies, book.getAuthor().getFirstName(), AUTHOR_WEIGHT);
+            addField(frequencies, book.getAuthor().getLastName(), AUTHOR_WEIGHT);
+        }
+        addField(frequencies, book.getCollection(), COLLECTION_WEIGHT);
+        addField(frequencies, book.getPublisher(), PUBLISHER_WEIGHT);
+        addField(frequencies, book.getSynopsis(), SYNOPSIS_WEIGHT);
+
+        float length = 0;
+        for (float frequency : frequencies.values()) {
+            length += frequency;
+        }
+        Long isbn = book.getIsbn().getIsbn();
+        IndexedBook indexed = new IndexedBook(book.getCatalogIdentifier().getCatalogId(), frequencies.keySet(),
+                length);
+
+        lock.writeLock().lock();
+        try {
+            if (fromRebuild && writtenDuringRebuild.contains(isbn)) {
+                return;
+            }
+            if (!fromRebuild) {
+                written(isbn);
+            }
+            deleteLocked(isbn);
+            frequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, key -> new HashMap<>()).put(isbn, frequency));
+            books.put(isbn, indexed);
+            totalLength += length;
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void delete(Long isbn) {
+        lock.writeLock().lock();
+        try {
+            written(isbn);
+            deleteLocked(isbn);
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void written(Long isbn) {
+        if (writtenDuringRebuild != null) {
+            writtenDuringRebuild.add(isbn);
+        }
+    }
+
+    private void deleteLocked(Long isbn) {
+        IndexedBook previous = books.remove(isbn);
+        if (previous == null) {
+            return;
+        }
+
+        for (String term : previous.terms()) {
+            Map<Long, Float> matches = postings.get(term);
+            if (matches != null) {
+                matches.remove(isbn);
+                if (matches.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= previous.length();
+    }
+
+    private static void addField(Map<String, Float> frequencies, String text, float weight) {
+        for (String token : tokenize(text)) {
+            frequencies.merge(token, weight, Float::sum);
+        }
+    }
+
+    private record IndexedBook(String catalogId, Set<String> terms, float length) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.library.catalog.businesslayer.search;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// writes inside a transaction are applied to the indexes once it commits, so a rolled back write never shows up
+final class IndexUpdates {
+
+    private IndexUpdates() {
+    }
+
+    static void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+}
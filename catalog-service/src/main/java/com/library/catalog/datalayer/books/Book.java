@@ -5,6 +5,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Table(name="books")
@@ -34,6 +35,11 @@ public class Book {
     @Embedded
     private Author author;
 
+    // rows loaded by the data scripts start at version 0
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
     public Book(@NotNull ISBN isbn, @NotNull CatalogIdentifier catalogIdentifier, @NotNull String title, String collection, @NotNull String edition, @NotNull String publisher, @NotNull String synopsis, @NotNull String language, @NotNull Status status, @NotNull Author author) {
         this.isbn = isbn;
         this.catalogIdentifier = catalogIdentifier;
@@ -1,7 +1,12 @@
 package com.library.catalog.datalayer.books;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface BookRepository extends JpaRepository<Book, Integer>{
@@ -9,4 +14,21 @@ public interface BookRepository extends JpaRepository<Book, Integer>{
     Book findByIsbn_Isbn(Long isbn);
     Book findByCatalogIdentifier_CatalogIdAndIsbn_Isbn(String catalogId, Long isbn);
     List<Book> findAllByCatalogIdentifier_CatalogId(String catalogueId);
+    List<Book> findAllByIsbn_IsbnIn(Collection<Long> isbns);
+
+    // keyset page over all books, used to rebuild the search index
+    List<Book> findAllByIdGreaterThanOrderByIdAsc(Integer id, Limit limit);
+
+    // keyset page over the status of all books, used to rebuild the availability index
+    @Query("SELECT new com.library.catalog.datalayer.books.BookStatusRow(b.id, b.isbn.isbn, b.status) FROM Book b "
+            + "WHERE b.id > :id ORDER BY b.id")
+    List<BookStatusRow> findStatusRowsByIdGreaterThan(@Param("id") Integer id, Limit limit);
+
+    // keyset page, the catalog's books after the given id in id order
+    List<Book> findAllByCatalogIdentifier_CatalogIdAndIdGreaterThanOrderByIdAsc(String catalogId, Integer id, Limit limit);
+
+    // compare-and-set on the status column, returns 0 when the book is unknown or not in the expected status
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Book b SET b.status = :to, b.version = b.version + 1 WHERE b.isbn.isbn = :isbn AND b.status = :from")
+    int updateStatusByIsbnAndStatus(@Param("isbn") Long isbn, @Param("from") Status from, @Param("to") Status to);
 }
@@ -0,0 +1,5 @@
+package com.library.catalog.datalayer.books;
+
+// the columns the availability index needs, read without loading the rest of the book
+public record BookStatusRow(Integer id, Long isbn, Status status) {
+}
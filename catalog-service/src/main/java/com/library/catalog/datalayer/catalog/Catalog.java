@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.Formula;
 
 @Entity
 @Table(name="catalogs")
@@ -17,11 +19,22 @@ public class Catalog {
     @Embedded
     private CatalogIdentifier catalogIdentifier;
     private String type;
+    // size holds the merged count, pendingSize the deltas not merged yet, summed in the same select
     private Integer size;
+    @Formula("(select coalesce(sum(d.delta), 0) from catalog_size_deltas d where d.catalog_id = catalog_id)")
+    private Integer pendingSize;
+
+    @Version
+    @ColumnDefault("0")
+    private Long version;
 
     public Catalog(@NotNull CatalogIdentifier catalogIdentifier, @NotNull String type, @NotNull Integer size) {
         this.catalogIdentifier = catalogIdentifier;
         this.type = type;
         this.size = size;
     }
+
+    public int getTotalSize() {
+        return (size == null ? 0 : size) + (pendingSize == null ? 0 : pendingSize);
+    }
 }
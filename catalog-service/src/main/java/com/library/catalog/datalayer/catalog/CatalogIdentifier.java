@@ -1,11 +1,10 @@
 package com.library.catalog.datalayer.catalog;
 
+import com.library.catalog.utils.IdentifierGenerator;
 import jakarta.persistence.Embeddable;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
-import java.util.UUID;
-
 @Embeddable
 @Getter
 @AllArgsConstructor
@@ -14,6 +13,6 @@ public class CatalogIdentifier {
     private String catalogId;
 
     public CatalogIdentifier() {
-        this.catalogId = UUID.randomUUID().toString();
+        this.catalogId = IdentifierGenerator.nextId();
     }
 }
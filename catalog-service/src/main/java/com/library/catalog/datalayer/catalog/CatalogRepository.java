@@ -1,8 +1,24 @@
 package com.library.catalog.datalayer.catalog;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface CatalogRepository extends JpaRepository<Catalog, Integer>{
 
     Catalog findByCatalogIdentifier_CatalogId(String catalogId);
+
+    // keyset page, the rows after the given id in id order
+    List<Catalog> findAllByIdGreaterThanOrderByIdAsc(Integer id, Limit limit);
+
+    // Moves merged deltas into the size column. The total does not change but the version still does, an update that
+    // read the catalog before the merge subtracted the deltas it saw as pending and must not save over the merge.
+    @Modifying
+    @Query("update Catalog c set c.size = coalesce(c.size, 0) + :delta, c.version = c.version + 1 " +
+            "where c.catalogIdentifier.catalogId = :catalogId")
+    int addToSize(@Param("catalogId") String catalogId, @Param("delta") Integer delta);
 }
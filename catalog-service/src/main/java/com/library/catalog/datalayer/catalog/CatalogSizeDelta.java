@@ -0,0 +1,26 @@
+package com.library.catalog.datalayer.catalog;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// A change to a catalog's size that is not merged into catalogs.size yet. Book writes only insert these rows, so
+// concurrent imports into one catalog never wait on each other or on the catalog's row.
+@Entity
+@Table(name = "catalog_size_deltas", indexes = @Index(name = "catalog_size_deltas_catalog_id", columnList = "catalog_id"))
+@Data
+@NoArgsConstructor
+public class CatalogSizeDelta {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(name = "catalog_id")
+    private String catalogId;
+    private Integer delta;
+
+    public CatalogSizeDelta(String catalogId, Integer delta) {
+        this.catalogId = catalogId;
+        this.delta = delta;
+    }
+}
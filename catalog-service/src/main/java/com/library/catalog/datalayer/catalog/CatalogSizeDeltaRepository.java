@@ -0,0 +1,22 @@
+package com.library.catalog.datalayer.catalog;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface CatalogSizeDeltaRepository extends JpaRepository<CatalogSizeDelta, Long> {
+
+    // locked so a merge running elsewhere cannot count the same rows
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<CatalogSizeDelta> findAllByOrderByIdAsc(Limit limit);
+
+    @Modifying
+    @Query("delete from CatalogSizeDelta d where d.catalogId = :catalogId")
+    int deleteAllByCatalogId(@Param("catalogId") String catalogId);
+}
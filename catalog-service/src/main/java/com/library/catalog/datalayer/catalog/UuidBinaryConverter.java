@@ -0,0 +1,34 @@
+package com.library.catalog.datalayer.catalog;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.UUID;
+
+// Stores a string identifier as a UUID, which Hibernate writes as BINARY(16) on MySQL and as uuid on H2 and Postgres.
+// Only applied by META-INF/binary-identifiers.orm.xml under the binary-ids profile, the Java and JSON side stay strings.
+@Converter
+public class UuidBinaryConverter implements AttributeConverter<String, UUID> {
+
+    // the nil UUID is never generated, so an id that is not a UUID is looked up and simply not found
+    private static final UUID NOT_A_UUID = new UUID(0, 0);
+
+    @Override
+    public UUID convertToDatabaseColumn(String attribute) {
+        if (attribute == null) {
+            return null;
+        }
+
+        try {
+            return UUID.fromString(attribute);
+        }
+        catch (IllegalArgumentException e) {
+            return NOT_A_UUID;
+        }
+    }
+
+    @Override
+    public String convertToEntityAttribute(UUID dbData) {
+        return dbData == null ? null : dbData.toString();
+    }
+}
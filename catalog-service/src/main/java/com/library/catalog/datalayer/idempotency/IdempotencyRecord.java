@@ -0,0 +1,36 @@
+package com.library.catalog.datalayer.idempotency;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// Response stored for a write sent with an Idempotency-Key. A row without a status code is a request that
+// is still being handled.
+@Entity
+@Table(name = "idempotency_keys", indexes = @Index(name = "idempotency_keys_created_at", columnList = "created_at"))
+@Data
+@NoArgsConstructor
+public class IdempotencyRecord {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(unique = true, nullable = false)
+    private String idempotencyKey;
+    private String requestHash;
+    private Integer statusCode;
+    private String contentType;
+    private String etag;
+
+    @Lob
+    private byte[] body;
+    private Instant createdAt;
+
+    public IdempotencyRecord(String idempotencyKey, String requestHash, Instant createdAt) {
+        this.idempotencyKey = idempotencyKey;
+        this.requestHash = requestHash;
+        this.createdAt = createdAt;
+    }
+}
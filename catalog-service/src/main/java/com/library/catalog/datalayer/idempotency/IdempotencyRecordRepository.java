@@ -0,0 +1,46 @@
+package com.library.catalog.datalayer.idempotency;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Integer> {
+
+    Optional<IdempotencyRecord> findByIdempotencyKey(String idempotencyKey);
+
+    // bulk delete, expired rows are not loaded into the persistence context
+    @Modifying
+    @Transactional
+    @Query("delete from IdempotencyRecord r where r.createdAt < :cutoff")
+    int deleteAllCreatedBefore(@Param("cutoff") Instant cutoff);
+
+    // restarts the lease of a key whose request never stored a response, only for the same request
+    @Modifying
+    @Transactional
+    @Query("update IdempotencyRecord r set r.createdAt = :now where r.idempotencyKey = :key"
+            + " and r.requestHash = :requestHash and r.statusCode is null and r.createdAt < :staleBefore")
+    int claimAbandoned(@Param("key") String idempotencyKey, @Param("requestHash") String requestHash,
+                       @Param("staleBefore") Instant staleBefore, @Param("now") Instant now);
+
+    // joins the caller's transaction, so the response is stored with the write it answers, only while the request
+    // still holds the key
+    @Modifying
+    @Transactional
+    @Query("update IdempotencyRecord r set r.statusCode = :statusCode, r.contentType = :contentType, r.etag = :etag,"
+            + " r.body = :body where r.idempotencyKey = :key and r.createdAt = :claimedAt and r.statusCode is null")
+    int storeResponse(@Param("key") String idempotencyKey, @Param("claimedAt") Instant claimedAt,
+                      @Param("statusCode") Integer statusCode, @Param("contentType") String contentType,
+                      @Param("etag") String etag, @Param("body") byte[] body);
+
+    // releases the key only if no other request has taken it over since
+    @Modifying
+    @Transactional
+    @Query("delete from IdempotencyRecord r where r.idempotencyKey = :key and r.createdAt = :claimedAt"
+            + " and r.statusCode is null")
+    int release(@Param("key") String idempotencyKey, @Param("claimedAt") Instant claimedAt);
+}
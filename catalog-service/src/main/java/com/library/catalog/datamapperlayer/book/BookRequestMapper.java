@@ -11,6 +11,7 @@ import org.mapstruct.Mapping;
 public interface BookRequestMapper {
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "isbn", source = "isbn")
     @Mapping(expression = "java(catalogIdentifier)", target = "catalogIdentifier")
     Book requestModelToEntity(BookRequestModel requestModel,
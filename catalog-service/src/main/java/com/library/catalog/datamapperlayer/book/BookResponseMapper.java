@@ -2,16 +2,18 @@ package com.library.catalog.datamapperlayer.book;
 
 import com.library.catalog.datalayer.books.Book;
 import com.library.catalog.presentationlayer.books.BookResponseModel;
+import com.library.catalog.utils.ETags;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
 import java.util.List;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", imports = ETags.class)
 public interface BookResponseMapper {
 
     @Mapping(expression = "java(book.getIsbn().getIsbn())", target = "isbn")
     @Mapping(expression = "java(book.getCatalogIdentifier().getCatalogId())", target = "catalogId")
+    @Mapping(expression = "java(ETags.of(book.getId(), book.getVersion()))", target = "etag")
     BookResponseModel entityToResponseModel(Book book);
 
     List<BookResponseModel> entityListToResponseModelList(List<Book> books);
@@ -10,5 +10,7 @@ import org.mapstruct.Mapping;
 public interface CatalogRequestMapper {
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "pendingSize", ignore = true)
     Catalog requestModelToEntity(CatalogRequestModel requestModel, CatalogIdentifier catalogIdentifier);
 }
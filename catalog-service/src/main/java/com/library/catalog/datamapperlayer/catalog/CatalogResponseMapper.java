@@ -2,15 +2,19 @@ package com.library.catalog.datamapperlayer.catalog;
 
 import com.library.catalog.datalayer.catalog.Catalog;
 import com.library.catalog.presentationlayer.catalog.CatalogResponseModel;
+import com.library.catalog.utils.ETags;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
 import java.util.List;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", imports = ETags.class)
 public interface CatalogResponseMapper {
 
     @Mapping(expression = "java(catalog.getCatalogIdentifier().getCatalogId())", target = "catalogId")
+    @Mapping(expression = "java(catalog.getTotalSize())", target = "size")
+    // book writes change the size without touching the catalog's row, so the tag covers it too
+    @Mapping(expression = "java(ETags.of(catalog.getId() + \":\" + catalog.getTotalSize(), catalog.getVersion()))", target = "etag")
     CatalogResponseModel entityToResponseModel(Catalog catalog);
 
     List<CatalogResponseModel> entityListToResponseModelList(List<Catalog> catalogs);
@@ -0,0 +1,15 @@
+package com.library.catalog.presentationlayer.books;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookAvailabilityRequestModel {
+
+    private long[] isbns;
+}
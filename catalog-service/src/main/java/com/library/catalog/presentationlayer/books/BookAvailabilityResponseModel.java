@@ -0,0 +1,18 @@
+package com.library.catalog.presentationlayer.books;
+
+import com.library.catalog.datalayer.books.Status;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookAvailabilityResponseModel {
+
+    // in the order requested, statuses[i] is the status of isbns[i] and null when the ISBN is unknown
+    private long[] isbns;
+    private Status[] statuses;
+}
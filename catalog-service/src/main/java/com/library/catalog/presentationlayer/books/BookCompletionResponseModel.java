@@ -0,0 +1,18 @@
+package com.library.catalog.presentationlayer.books;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookCompletionResponseModel {
+
+    private String text;
+    // TITLE or AUTHOR
+    private String type;
+    private Integer books;
+}
@@ -1,9 +1,12 @@
 package com.library.catalog.presentationlayer.books;
 
 import com.library.catalog.businesslayer.books.BookService;
+import com.library.catalog.utils.ETags;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("api/v1/books")
 public class BookController {
@@ -16,7 +19,35 @@ public class BookController {
 
     @GetMapping(produces = "application/json", value = "{isbn}")
     public ResponseEntity<BookResponseModel> getBook(@PathVariable Long isbn) {
-        return ResponseEntity.ok().body(bookService.getBook(isbn));
+        BookResponseModel book = bookService.getBook(isbn);
+        return ETags.ok(book.getEtag()).body(book);
+    }
+
+    // ranked full-text search over title, author, collection, publisher and synopsis, optionally within one catalog
+    @GetMapping(value = "search", produces = "application/json")
+    public ResponseEntity<List<BookResponseModel>> searchBooks(@RequestParam String q,
+                                                               @RequestParam(required = false) String catalogId,
+                                                               @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok().body(bookService.searchBooks(q, catalogId, size));
+    }
+
+    // typeahead over titles and author names, the completions carried by the most books first
+    @GetMapping(value = "autocomplete", produces = "application/json")
+    public ResponseEntity<List<BookCompletionResponseModel>> completeBooks(@RequestParam String prefix,
+                                                                           @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok().body(bookService.completeBooks(prefix, size));
+    }
+
+    @PostMapping(value = "batch-get", consumes = "application/json", produces = "application/json")
+    public ResponseEntity<List<BookResponseModel>> getBooks(@RequestBody BookBatchRequestModel bookBatchRequestModel) {
+        return ResponseEntity.ok().body(bookService.getBooks(bookBatchRequestModel.getIsbns()));
+    }
+
+    // the status of thousands of books per request, served from memory
+    @PostMapping(value = "availability", consumes = "application/json", produces = "application/json")
+    public ResponseEntity<BookAvailabilityResponseModel> getAvailability(
+            @RequestBody BookAvailabilityRequestModel bookAvailabilityRequestModel) {
+        return ResponseEntity.ok().body(bookService.getAvailability(bookAvailabilityRequestModel.getIsbns()));
     }
 
     @PatchMapping(consumes = "application/json", value = "{isbn}", produces = "application/json")
@@ -24,4 +55,10 @@ public class BookController {
                                                        @PathVariable Long isbn) {
         return ResponseEntity.ok().body(bookService.patchBook(isbn, bookRequestModel));
     }
+
+    @PostMapping(value = "status-transitions", consumes = "application/json", produces = "application/json")
+    public ResponseEntity<BookStatusTransitionResponseModel> transitionBooks(
+            @RequestBody BookStatusTransitionRequestModel bookStatusTransitionRequestModel) {
+        return ResponseEntity.ok().body(bookService.transitionBooks(bookStatusTransitionRequestModel));
+    }
 }
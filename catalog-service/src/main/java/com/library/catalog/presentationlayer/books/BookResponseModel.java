@@ -1,10 +1,12 @@
 package com.library.catalog.presentationlayer.books;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.library.catalog.datalayer.books.Author;
 import com.library.catalog.datalayer.books.Status;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 @Data
@@ -23,4 +25,9 @@ public class BookResponseModel {
     private String language;
     private Status status;
     private Author author;
+
+    // sent as the ETag header, not in the body
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private String etag;
 }
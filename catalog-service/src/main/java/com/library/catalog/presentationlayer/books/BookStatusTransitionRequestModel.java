@@ -0,0 +1,20 @@
+package com.library.catalog.presentationlayer.books;
+
+import com.library.catalog.datalayer.books.Status;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookStatusTransitionRequestModel {
+
+    private List<Long> isbns;
+    private Status from;
+    private Status to;
+}
@@ -0,0 +1,19 @@
+package com.library.catalog.presentationlayer.books;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookStatusTransitionResponseModel {
+
+    private List<BookResponseModel> transitioned;
+    private List<BookResponseModel> rejected;
+    private List<Long> notFound;
+}
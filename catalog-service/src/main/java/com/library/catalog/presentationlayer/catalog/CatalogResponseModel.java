@@ -1,8 +1,10 @@
 package com.library.catalog.presentationlayer.catalog;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 @Data
@@ -14,4 +16,9 @@ public class CatalogResponseModel {
     private String catalogId;
     private String type;
     private Integer size;
+
+    // sent as the ETag header, not in the body
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private String etag;
 }
@@ -5,6 +5,7 @@ import com.library.catalog.presentationlayer.books.BookRequestModel;
 import com.library.catalog.presentationlayer.books.BookResponseModel;
 import com.library.catalog.presentationlayer.catalog.CatalogRequestModel;
 import com.library.catalog.presentationlayer.catalog.CatalogResponseModel;
+import com.library.catalog.utils.ETags;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -24,13 +25,15 @@ public class CatalogBooksController {
     // Methods for the catalogs
 
     @GetMapping(produces = "application/json")
-    public ResponseEntity<List<CatalogResponseModel>> getAllCatalogs() {
-        return ResponseEntity.ok().body(catalogBooksService.getAllCatalogs());
+    public ResponseEntity<List<CatalogResponseModel>> getAllCatalogs(@RequestParam(required = false) String cursor,
+                                                                     @RequestParam(required = false) Integer size) {
+        return catalogBooksService.getAllCatalogs(cursor, size).toResponseEntity(CatalogResponseModel::getEtag);
     }
 
     @GetMapping(value = "{catalogId}", produces = "application/json")
     public ResponseEntity<CatalogResponseModel> getCatalog(@PathVariable String catalogId) {
-        return ResponseEntity.ok().body(catalogBooksService.getCatalog(catalogId));
+        CatalogResponseModel catalog = catalogBooksService.getCatalog(catalogId);
+        return ETags.ok(catalog.getEtag()).body(catalog);
     }
 
     @PostMapping(consumes = "application/json", produces = "application/json")
@@ -52,13 +55,16 @@ public class CatalogBooksController {
 
     // Methods for the books
     @GetMapping(value = "{catalogId}/books", produces = "application/json")
-    public ResponseEntity<List<BookResponseModel>> getAllBooks(@PathVariable String catalogId) {
-        return ResponseEntity.ok().body(catalogBooksService.getAllBooksInCatalog(catalogId));
+    public ResponseEntity<List<BookResponseModel>> getAllBooks(@PathVariable String catalogId,
+                                                               @RequestParam(required = false) String cursor,
+                                                               @RequestParam(required = false) Integer size) {
+        return catalogBooksService.getAllBooksInCatalog(catalogId, cursor, size).toResponseEntity(BookResponseModel::getEtag);
     }
 
     @GetMapping(value = "{catalogId}/books/{isbn}", produces = "application/json")
     public ResponseEntity<BookResponseModel> getBook(@PathVariable String catalogId, @PathVariable Long isbn) {
-        return ResponseEntity.ok().body(catalogBooksService.getBookInCatalog(catalogId, isbn));
+        BookResponseModel book = catalogBooksService.getBookInCatalog(catalogId, isbn);
+        return ETags.ok(book.getEtag()).body(book);
     }
 
     @PostMapping(value = "{catalogId}/books", consumes = "application/json", produces = "application/json")
@@ -0,0 +1,35 @@
+package com.library.catalog.utils;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+// Version based entity tags. An entity's tag changes whenever its row is written, a list's whenever one of its
+// entities does or the page ends somewhere else. Spring answers a matching If-None-Match with a 304 before the
+// body is serialized.
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String of(Object id, Long version) {
+        return digest(id + ":" + version);
+    }
+
+    public static String ofAll(List<String> etags, String nextCursor) {
+        return digest(String.join(",", etags) + ";" + nextCursor);
+    }
+
+    // no-cache lets clients keep the response as long as they revalidate it
+    public static ResponseEntity.BodyBuilder ok(String etag) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(CacheControl.noCache());
+        return etag == null ? response : response.eTag(etag);
+    }
+
+    private static String digest(String value) {
+        return "\"" + DigestUtils.md5DigestAsHex(value.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
@@ -0,0 +1,48 @@
+package com.library.catalog.utils;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Logs how many SQL statements each request ran, and warns when a request goes over the budget so a query
+// regression shows up in the logs before it shows up in latency.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class SqlStatementLoggingFilter extends OncePerRequestFilter {
+
+    private final SqlStatementCounter sqlStatementCounter;
+    private final int statementBudget;
+
+    public SqlStatementLoggingFilter(SqlStatementCounter sqlStatementCounter,
+                                     @Value("${app.sql.request-statement-budget:10}") int statementBudget) {
+        this.sqlStatementCounter = sqlStatementCounter;
+        this.statementBudget = statementBudget;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        sqlStatementCounter.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int statements = sqlStatementCounter.count();
+            if (statements > statementBudget) {
+                log.warn("{} {} ran {} SQL statements, the budget is {}", request.getMethod(), request.getRequestURI(),
+                        statements, statementBudget);
+            } else {
+                log.debug("{} {} ran {} SQL statements", request.getMethod(), request.getRequestURI(), statements);
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.library.catalog.utils.exceptions;
+
+public class InvalidStatusTransitionException extends RuntimeException{
+
+    public InvalidStatusTransitionException() {}
+
+    public InvalidStatusTransitionException(String message) { super(message); }
+
+    public InvalidStatusTransitionException(Throwable cause) { super(cause); }
+
+    public InvalidStatusTransitionException(String message, Throwable cause) { super(message, cause); }
+}
@@ -0,0 +1,4 @@
+-- catalog ids as 16 byte UUIDs, H2 parses the existing strings and rebuilds the indexes on them
+alter table catalogs alter column catalog_id set data type uuid;
+alter table books alter column catalog_id set data type uuid;
+alter table catalog_size_deltas alter column catalog_id set data type uuid;
@@ -0,0 +1,14 @@
+-- catalog ids as 16 byte UUIDs. The strings are packed in place, the column is widened first so the packed bytes fit
+-- next to the strings not converted yet. An id that is not a UUID is left as it was, fails the last step and the
+-- migration with it, so no id is silently lost.
+alter table catalogs modify catalog_id VARBINARY(36);
+update catalogs set catalog_id = coalesce(unhex(replace(catalog_id, '-', '')), catalog_id) where length(catalog_id) = 36;
+alter table catalogs modify catalog_id BINARY(16);
+
+alter table books modify catalog_id VARBINARY(36);
+update books set catalog_id = coalesce(unhex(replace(catalog_id, '-', '')), catalog_id) where length(catalog_id) = 36;
+alter table books modify catalog_id BINARY(16);
+
+alter table catalog_size_deltas modify catalog_id VARBINARY(36);
+update catalog_size_deltas set catalog_id = coalesce(unhex(replace(catalog_id, '-', '')), catalog_id) where length(catalog_id) = 36;
+alter table catalog_size_deltas modify catalog_id BINARY(16);
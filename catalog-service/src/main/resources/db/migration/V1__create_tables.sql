@@ -0,0 +1,48 @@
+-- the schema as schema-mysql.sql created it, databases set up from that script are baselined at this version
+
+create table books (
+    id INTEGER NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    isbn BIGINT UNIQUE,
+    catalog_id VARCHAR(36),
+    title VARCHAR(255),
+    collection VARCHAR(255),
+    edition VARCHAR(255),
+    publisher VARCHAR(255),
+    synopsis VARCHAR(550),
+    language VARCHAR(50),
+    status VARCHAR(50),
+    first_name VARCHAR(50),
+    last_name VARCHAR(50),
+    version BIGINT NOT NULL DEFAULT 0
+    );
+
+create index books_catalog_id on books (catalog_id);
+
+create table catalogs (
+    id INTEGER NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    catalog_id VARCHAR(36),
+    type VARCHAR(50),
+    size INTEGER,
+    version BIGINT NOT NULL DEFAULT 0
+    );
+
+create table catalog_size_deltas (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    catalog_id VARCHAR(36),
+    delta INTEGER
+    );
+
+create index catalog_size_deltas_catalog_id on catalog_size_deltas (catalog_id);
+
+create table idempotency_keys (
+    id INTEGER NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    idempotency_key VARCHAR(255) NOT NULL UNIQUE,
+    request_hash VARCHAR(32),
+    status_code INTEGER,
+    content_type VARCHAR(255),
+    etag VARCHAR(255),
+    body LONGBLOB,
+    created_at TIMESTAMP(6)
+    );
+
+create index idempotency_keys_created_at on idempotency_keys (created_at);
@@ -0,0 +1,6 @@
+-- every catalog lookup filters on its public id, unique so a duplicate id fails the insert
+create unique index catalogs_catalog_id on catalogs (catalog_id);
+
+-- a catalog's books in id order, the keyset pages read the index in order instead of sorting the matches
+drop index books_catalog_id on books;
+create index books_catalog_id_id on books (catalog_id, id);
@@ -0,0 +1,124 @@
+package com.library.catalog.businesslayer.catalogbooks;
+
+import com.library.catalog.datalayer.books.Author;
+import com.library.catalog.datalayer.catalog.Catalog;
+import com.library.catalog.datalayer.catalog.CatalogRepository;
+import com.library.catalog.datalayer.catalog.CatalogSizeDeltaRepository;
+import com.library.catalog.presentationlayer.books.BookRequestModel;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.annotation.DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+@DirtiesContext(classMode = AFTER_EACH_TEST_METHOD)
+class CatalogSizeCounterIntegrationTest {
+
+    private final String FOUND_CATALOG_ID = "d846a5a7-2e1c-4c79-809c-4f3f471e826d";
+    private final int FOUND_CATALOG_SIZE = 4;
+
+    @Autowired
+    private CatalogBooksService catalogBooksService;
+
+    @Autowired
+    private CatalogSizeCounter catalogSizeCounter;
+
+    @Autowired
+    private CatalogRepository catalogRepository;
+
+    @Autowired
+    private CatalogSizeDeltaRepository catalogSizeDeltaRepository;
+
+    // positive path
+    @Test
+    public void whenBooksImportedConcurrently_thenNoSizeUpdateIsLost() throws Exception {
+        // arrange
+        int writers = 8;
+        int booksPerWriter = 25;
+
+        // act
+        importBooks(9780000000000L, writers, booksPerWriter);
+        int sizeBeforeMerge = catalogBooksService.getCatalog(FOUND_CATALOG_ID).getSize();
+        catalogSizeCounter.merge();
+
+        // assert
+        int expectedSize = FOUND_CATALOG_SIZE + writers * booksPerWriter;
+        assertEquals(expectedSize, sizeBeforeMerge);
+        assertEquals(expectedSize, catalogRepository.findByCatalogIdentifier_CatalogId(FOUND_CATALOG_ID).getSize());
+        assertEquals(expectedSize, catalogBooksService.getCatalog(FOUND_CATALOG_ID).getSize());
+        assertEquals(0, catalogSizeDeltaRepository.count());
+    }
+
+    // positive path
+    @Test
+    public void whenBooksAddedAndDeleted_thenSizeAndETagFollowWithoutMerge() {
+        // arrange
+        String etag = catalogBooksService.getCatalog(FOUND_CATALOG_ID).getEtag();
+
+        // act
+        catalogBooksService.addBookInCatalog(FOUND_CATALOG_ID, book(9780000000001L));
+        catalogBooksService.addBookInCatalog(FOUND_CATALOG_ID, book(9780000000002L));
+        catalogBooksService.deleteBookInCatalog(FOUND_CATALOG_ID, 9780000000001L);
+
+        // assert
+        assertEquals(FOUND_CATALOG_SIZE + 1, catalogBooksService.getCatalog(FOUND_CATALOG_ID).getSize());
+        assertNotEquals(etag, catalogBooksService.getCatalog(FOUND_CATALOG_ID).getEtag());
+    }
+
+    // negative path
+    @Test
+    public void whenMergedAfterCatalogWasRead_thenUpdateFromThatReadIsRejected() {
+        // arrange, the update subtracts the delta it read as pending from the requested size
+        catalogBooksService.addBookInCatalog(FOUND_CATALOG_ID, book(9780000000001L));
+        Catalog stale = catalogRepository.findByCatalogIdentifier_CatalogId(FOUND_CATALOG_ID);
+        stale.setSize(FOUND_CATALOG_SIZE + 1 - stale.getPendingSize());
+
+        // act
+        catalogSizeCounter.merge();
+
+        // assert
+        assertThrows(OptimisticLockingFailureException.class, () -> catalogRepository.save(stale));
+        assertEquals(FOUND_CATALOG_SIZE + 1, catalogBooksService.getCatalog(FOUND_CATALOG_ID).getSize());
+    }
+
+    private void importBooks(long firstIsbn, int writers, int booksPerWriter) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        for (int writer = 0; writer < writers; writer++) {
+            long writerFirstIsbn = firstIsbn + (long) writer * booksPerWriter;
+            results.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < booksPerWriter; i++) {
+                    catalogBooksService.addBookInCatalog(FOUND_CATALOG_ID, book(writerFirstIsbn + i));
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+    }
+
+    private BookRequestModel book(long isbn) {
+        return new BookRequestModel(isbn, "New Book", "New Collection", "1st edition", "Neji Publications",
+                "Val Chase's magnum opus", "English", "AVAILABLE", new Author("Val", "Chase"));
+    }
+}
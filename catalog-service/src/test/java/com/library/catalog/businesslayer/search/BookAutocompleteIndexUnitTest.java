@@ -0,0 +1,184 @@
+package com.library.catalog.businesslayer.search;
+
+import com.library.catalog.datalayer.books.Author;
+import com.library.catalog.datalayer.books.Book;
+import com.library.catalog.datalayer.books.BookRepository;
+import com.library.catalog.datalayer.books.ISBN;
+import com.library.catalog.datalayer.books.Status;
+import com.library.catalog.datalayer.catalog.CatalogIdentifier;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookAutocompleteIndexUnitTest {
+
+    private static final String CATALOG_ID = "d846a5a7-2e1c-4c79-809c-4f3f471e826d";
+
+    private final BookRepository bookRepository = mock(BookRepository.class);
+
+    private final BookAutocompleteIndex bookAutocompleteIndex = new BookAutocompleteIndex(bookRepository, 3);
+
+    // positive path
+    @Test
+    public void whenPrefixTyped_thenCompleteTitlesAndAuthorsByBookCount() {
+        // arrange
+        bookAutocompleteIndex.index(book(9780000000001L, "Clean Architecture", "Robert", "Martin"));
+        bookAutocompleteIndex.index(book(9780000000002L, "Clean Code", "Robert", "Martin"));
+        bookAutocompleteIndex.index(book(9780000000003L, "Clean Code", "Robert", "Martin"));
+
+        // act
+        List<BookCompletion> titles = bookAutocompleteIndex.complete("cle", 10);
+        List<BookCompletion> authors = bookAutocompleteIndex.complete("Rob", 10);
+
+        // assert
+        assertEquals(List.of(new BookCompletion("Clean Code", BookAutocompleteIndex.TITLE, 2),
+                new BookCompletion("Clean Architecture", BookAutocompleteIndex.TITLE, 1)), titles);
+        assertEquals(List.of(new BookCompletion("Robert Martin", BookAutocompleteIndex.AUTHOR, 3)), authors);
+    }
+
+    // positive path
+    @Test
+    public void whenPrefixStartsInsideText_thenComplete() {
+        // arrange
+        bookAutocompleteIndex.index(book(9780000000001L, "The Great Gatsby", "F. Scott", "Fitzgerald"));
+
+        // act
+        List<BookCompletion> byWord = bookAutocompleteIndex.complete("gats", 10);
+        List<BookCompletion> byLastName = bookAutocompleteIndex.complete("fitz", 10);
+        List<BookCompletion> byAccentFreePrefix = bookAutocompleteIndex.complete("GREAT g", 10);
+
+        // assert
+        assertEquals("The Great Gatsby", byWord.get(0).text());
+        assertEquals("F. Scott Fitzgerald", byLastName.get(0).text());
+        assertEquals("The Great Gatsby", byAccentFreePrefix.get(0).text());
+    }
+
+    // positive path
+    @Test
+    public void whenMoreMatchesThanTopK_thenKeepTheHeaviest() {
+        // arrange
+        long isbn = 9780000000000L;
+        for (int copies = 1; copies <= 5; copies++) {
+            for (int copy = 0; copy < copies; copy++) {
+                bookAutocompleteIndex.index(book(++isbn, "Dune " + copies, "Frank", "Herbert"));
+            }
+        }
+
+        // act
+        List<BookCompletion> result = bookAutocompleteIndex.complete("dune", 10);
+
+        // assert
+        assertEquals(List.of("Dune 5", "Dune 4", "Dune 3"), result.stream().map(BookCompletion::text).toList());
+    }
+
+    // negative path
+    @Test
+    public void whenCopiesDeleted_thenCompletionLosesWeightAndDropsOut() {
+        // arrange
+        bookAutocompleteIndex.index(book(9780000000001L, "Dune", "Frank", "Herbert"));
+        bookAutocompleteIndex.index(book(9780000000002L, "Dune", "Frank", "Herbert"));
+        bookAutocompleteIndex.index(book(9780000000003L, "Dune Messiah", "Frank", "Herbert"));
+
+        // act
+        bookAutocompleteIndex.remove(9780000000001L);
+        List<BookCompletion> afterFirstDelete = bookAutocompleteIndex.complete("dune", 10);
+        bookAutocompleteIndex.remove(9780000000002L);
+        List<BookCompletion> afterSecondDelete = bookAutocompleteIndex.complete("dune", 10);
+
+        // assert
+        assertEquals(List.of(new BookCompletion("Dune", BookAutocompleteIndex.TITLE, 1),
+                new BookCompletion("Dune Messiah", BookAutocompleteIndex.TITLE, 1)), afterFirstDelete);
+        assertEquals(List.of(new BookCompletion("Dune Messiah", BookAutocompleteIndex.TITLE, 1)), afterSecondDelete);
+    }
+
+    // positive path
+    @Test
+    public void whenPrefixLongerThanTrieDepth_thenOnlyReturnRealMatches() {
+        // arrange
+        bookAutocompleteIndex.index(book(9780000000001L, "Domain-Driven Design: Tackling Complexity", "Eric", "Evans"));
+        bookAutocompleteIndex.index(book(9780000000002L, "Domain-Driven Design: Tackling Complications", "Eric", "Evans"));
+
+        // act
+        List<BookCompletion> result = bookAutocompleteIndex.complete("domain driven design tackling complex", 10);
+
+        // assert
+        assertEquals(List.of("Domain-Driven Design: Tackling Complexity"),
+                result.stream().map(BookCompletion::text).toList());
+    }
+
+    // positive path
+    @Test
+    public void whenManyBooksRebuilt_thenCompleteFromEveryPage() {
+        // arrange
+        Random random = new Random(42);
+        String[] words = {"clean", "code", "design", "patterns", "domain", "driven", "harry", "potter", "dune",
+                "great", "gatsby", "secret", "history", "garden", "night", "river", "stone", "winter", "empire", "war"};
+        List<Book> books = new ArrayList<>();
+        for (int i = 1; i <= 20_000; i++) {
+            Book book = book(9780000000000L + i, words[random.nextInt(words.length)] + " "
+                    + words[random.nextInt(words.length)] + " " + i, "Author", "Number " + random.nextInt(2_000));
+            book.setId(i);
+            books.add(book);
+        }
+        when(bookRepository.findAllByIdGreaterThanOrderByIdAsc(anyInt(), any())).thenAnswer(invocation -> {
+            int afterId = invocation.getArgument(0);
+            Limit limit = invocation.getArgument(1);
+            return books.subList(Math.min(afterId, books.size()), Math.min(afterId + limit.max(), books.size()));
+        });
+        bookAutocompleteIndex.rebuild();
+
+        // act
+        List<BookCompletion> gatsby = bookAutocompleteIndex.complete("gats", 10);
+        List<BookCompletion> lastPage = bookAutocompleteIndex.complete("20000", 10);
+
+        // assert
+        assertEquals(3, gatsby.size());
+        assertTrue(gatsby.stream().allMatch(completion -> completion.text().contains("gatsby")));
+        assertEquals(1, lastPage.size());
+    }
+
+    // negative path
+    @Test
+    public void whenWrittenWhileRebuilding_thenServeOldTrieAndKeepWrites() {
+        // arrange, the page is read before an edit, an insert and a delete commit and indexed after them
+        bookAutocompleteIndex.index(book(9780000000001L, "Clean Code", "Robert", "Martin"));
+        bookAutocompleteIndex.index(book(9780000000002L, "Dune", "Frank", "Herbert"));
+        List<List<BookCompletion>> duringRebuild = new ArrayList<>();
+        when(bookRepository.findAllByIdGreaterThanOrderByIdAsc(anyInt(), any())).thenAnswer(invocation -> {
+            Book cleanCode = book(9780000000001L, "Clean Code", "Robert", "Martin");
+            cleanCode.setId(1);
+            Book dune = book(9780000000002L, "Dune", "Frank", "Herbert");
+            dune.setId(2);
+            List<Book> stalePage = List.of(cleanCode, dune);
+            duringRebuild.add(bookAutocompleteIndex.complete("clean", 10));
+            bookAutocompleteIndex.index(book(9780000000001L, "Clean Architecture", "Robert", "Martin"));
+            bookAutocompleteIndex.index(book(9780000000003L, "Children of Dune", "Frank", "Herbert"));
+            bookAutocompleteIndex.remove(9780000000002L);
+            return stalePage;
+        });
+
+        // act
+        bookAutocompleteIndex.rebuild();
+
+        // assert
+        assertEquals(List.of(new BookCompletion("Clean Code", BookAutocompleteIndex.TITLE, 1)), duringRebuild.get(0));
+        assertEquals(List.of("Clean Architecture"),
+                bookAutocompleteIndex.complete("clean", 10).stream().map(BookCompletion::text).toList());
+        assertEquals(List.of("Children of Dune"),
+                bookAutocompleteIndex.complete("dune", 10).stream().map(BookCompletion::text).toList());
+    }
+
+    private Book book(long isbn, String title, String firstName, String lastName) {
+        return new Book(new ISBN(isbn), new CatalogIdentifier(CATALOG_ID), title, "Collection", "1st",
+                "Publisher", "Synopsis", "English", Status.AVAILABLE, new Author(firstName, lastName));
+    }
+}
@@ -0,0 +1,150 @@
+package com.library.catalog.businesslayer.search;
+
+import com.library.catalog.datalayer.books.BookRepository;
+import com.library.catalog.datalayer.books.BookStatusRow;
+import com.library.catalog.datalayer.books.Status;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookAvailabilityIndexUnitTest {
+
+    private final BookRepository bookRepository = mock(BookRepository.class);
+
+    private final BookAvailabilityIndex bookAvailabilityIndex = new BookAvailabilityIndex(bookRepository);
+
+    // positive path
+    @Test
+    public void whenStatusChanges_thenReturnLatestStatus() {
+        // arrange
+        bookAvailabilityIndex.update(9780132350884L, Status.AVAILABLE);
+        bookAvailabilityIndex.update(1234567890L, Status.DAMAGED);
+
+        // act
+        bookAvailabilityIndex.update(9780132350884L, Status.BORROWED);
+
+        // assert
+        assertEquals(Status.BORROWED, bookAvailabilityIndex.status(9780132350884L));
+        assertEquals(Status.DAMAGED, bookAvailabilityIndex.status(1234567890L));
+        assertEquals(2, bookAvailabilityIndex.size());
+    }
+
+    // negative path
+    @Test
+    public void whenIsbnUnknownOrOutOfRange_thenReturnNull() {
+        // arrange
+        bookAvailabilityIndex.update(9780132350884L, Status.AVAILABLE);
+
+        // act
+        Status[] statuses = new Status[4];
+        bookAvailabilityIndex.statuses(new long[]{9780132350884L, 9789390183520L, 0L, -1L}, statuses);
+
+        // assert
+        assertArrayEquals(new Status[]{Status.AVAILABLE, null, null, null}, statuses);
+    }
+
+    // positive path
+    @Test
+    public void whenBooksRemovedAtRandom_thenMatchHashMap() {
+        // arrange, enough books to resize several times and long probe runs for the deletes to shift back
+        Random random = new Random(42);
+        Map<Long, Status> expected = new HashMap<>();
+        List<Long> isbns = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            long isbn = 9780000000000L + random.nextInt(1_000_000);
+            Status status = Status.values()[random.nextInt(Status.values().length)];
+            bookAvailabilityIndex.update(isbn, status);
+            expected.put(isbn, status);
+            isbns.add(isbn);
+        }
+
+        // act
+        for (int i = 0; i < 30_000; i++) {
+            long isbn = isbns.get(random.nextInt(isbns.size()));
+            bookAvailabilityIndex.remove(isbn);
+            expected.remove(isbn);
+        }
+
+        // assert
+        assertEquals(expected.size(), bookAvailabilityIndex.size());
+        for (Long isbn : isbns) {
+            assertEquals(expected.get(isbn), bookAvailabilityIndex.status(isbn));
+        }
+    }
+
+    // positive path
+    @Test
+    public void whenRebuilt_thenIndexEveryPage() {
+        // arrange
+        List<BookStatusRow> firstPage = new ArrayList<>();
+        for (int i = 1; i <= 5000; i++) {
+            firstPage.add(new BookStatusRow(i, 9780000000000L + i, Status.AVAILABLE));
+        }
+        when(bookRepository.findStatusRowsByIdGreaterThan(eq(0), any(Limit.class))).thenReturn(firstPage);
+        when(bookRepository.findStatusRowsByIdGreaterThan(eq(5000), any(Limit.class)))
+                .thenReturn(List.of(new BookStatusRow(5001, 1234567890L, Status.LOST)));
+
+        // act
+        bookAvailabilityIndex.rebuild();
+
+        // assert
+        assertEquals(5001, bookAvailabilityIndex.size());
+        assertEquals(Status.AVAILABLE, bookAvailabilityIndex.status(9780000000001L));
+        assertEquals(Status.LOST, bookAvailabilityIndex.status(1234567890L));
+    }
+
+    // negative path
+    @Test
+    public void whenWrittenAfterPageWasRead_thenRebuildKeepsWrite() {
+        // arrange, the page is read before a borrow and a delete commit and indexed after them
+        when(bookRepository.findStatusRowsByIdGreaterThan(eq(0), any(Limit.class))).thenAnswer(invocation -> {
+            List<BookStatusRow> stalePage = List.of(
+                    new BookStatusRow(1, 9780132350884L, Status.AVAILABLE),
+                    new BookStatusRow(2, 1234567890L, Status.AVAILABLE));
+            bookAvailabilityIndex.update(9780132350884L, Status.BORROWED);
+            bookAvailabilityIndex.remove(1234567890L);
+            return stalePage;
+        });
+
+        // act
+        bookAvailabilityIndex.rebuild();
+
+        // assert
+        assertEquals(Status.BORROWED, bookAvailabilityIndex.status(9780132350884L));
+        assertNull(bookAvailabilityIndex.status(1234567890L));
+        assertEquals(1, bookAvailabilityIndex.size());
+    }
+
+    // positive path
+    @Test
+    public void whenHundredThousandBooks_thenFitInTwoMegabytes() {
+        // arrange
+        long[] isbns = new long[5000];
+        for (int i = 0; i < isbns.length; i++) {
+            isbns[i] = 9780000000000L + i * 13L;
+        }
+        Status[] statuses = new Status[isbns.length];
+
+        // act
+        for (int i = 0; i < 100_000; i++) {
+            bookAvailabilityIndex.update(9780000000000L + i * 7L, Status.AVAILABLE);
+        }
+        bookAvailabilityIndex.statuses(isbns, statuses);
+
+        // assert
+        assertTrue(bookAvailabilityIndex.capacity() * Long.BYTES <= 2 * 1024 * 1024);
+        assertEquals(Status.AVAILABLE, statuses[7]);
+        assertNull(statuses[1]);
+    }
+}
@@ -0,0 +1,140 @@
+package com.library.catalog.businesslayer.search;
+
+import com.library.catalog.datalayer.books.Author;
+import com.library.catalog.datalayer.books.Book;
+import com.library.catalog.datalayer.books.BookRepository;
+import com.library.catalog.datalayer.books.ISBN;
+import com.library.catalog.datalayer.books.Status;
+import com.library.catalog.datalayer.catalog.CatalogIdentifier;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookSearchIndexUnitTest {
+
+    private static final String CATALOG_ID = "d846a5a7-2e1c-4c79-809c-4f3f471e826d";
+    private static final String OTHER_CATALOG_ID = "51aea50b-12ad-4a43-84c0-9af2f632929e";
+
+    private final BookRepository bookRepository = mock(BookRepository.class);
+
+    private final BookSearchIndex bookSearchIndex = new BookSearchIndex(bookRepository);
+
+    // positive path
+    @Test
+    public void whenTermInTitleAndInSynopsis_thenRankTitleMatchFirst() {
+        // arrange
+        bookSearchIndex.index(book(9780000000001L, CATALOG_ID, "Gardens of the Moon", "A story about the sea."));
+        bookSearchIndex.index(book(9780000000002L, CATALOG_ID, "The Sea", "A book about gardens."));
+
+        // act
+        List<Long> result = bookSearchIndex.search("sea", null, 10);
+
+        // assert
+        assertEquals(List.of(9780000000002L, 9780000000001L), result);
+    }
+
+    // positive path
+    @Test
+    public void whenQueryDiffersInCaseAndAccents_thenStillMatch() {
+        // arrange
+        bookSearchIndex.index(book(9780000000001L, CATALOG_ID, "Élan Vital", "Henri Bergson's essay."));
+
+        // act
+        List<Long> result = bookSearchIndex.search("ELAN bergson", null, 10);
+
+        // assert
+        assertEquals(List.of(9780000000001L), result);
+    }
+
+    // positive path
+    @Test
+    public void whenBookReindexed_thenOldTermsNoLongerMatch() {
+        // arrange
+        bookSearchIndex.index(book(9780000000001L, CATALOG_ID, "Old Title", "Nothing here."));
+
+        // act
+        bookSearchIndex.index(book(9780000000001L, CATALOG_ID, "New Title", "Nothing here."));
+
+        // assert
+        assertEquals(List.of(), bookSearchIndex.search("old", null, 10));
+        assertEquals(List.of(9780000000001L), bookSearchIndex.search("new", null, 10));
+    }
+
+    // positive path
+    @Test
+    public void whenCatalogAndLimitGiven_thenReturnOnlyThoseMatches() {
+        // arrange
+        for (long i = 1; i <= 5; i++) {
+            bookSearchIndex.index(book(9780000000000L + i, CATALOG_ID, "Clean Code " + i, "Patterns."));
+        }
+        bookSearchIndex.index(book(9780000000010L, OTHER_CATALOG_ID, "Clean Architecture", "Patterns."));
+
+        // act
+        List<Long> result = bookSearchIndex.search("clean", CATALOG_ID, 3);
+
+        // assert
+        assertEquals(3, result.size());
+        assertFalse(result.contains(9780000000010L));
+    }
+
+    // negative path
+    @Test
+    public void whenBookRemoved_thenNoLongerFound() {
+        // arrange
+        bookSearchIndex.index(book(9780000000001L, CATALOG_ID, "Dune", "Desert planet."));
+
+        // act
+        bookSearchIndex.remove(9780000000001L);
+
+        // assert
+        assertEquals(List.of(), bookSearchIndex.search("dune", null, 10));
+    }
+
+    // positive path
+    @Test
+    public void whenRebuilt_thenIndexEveryPage() {
+        // arrange
+        Book first = book(9780000000001L, CATALOG_ID, "Dune", "Desert planet.");
+        first.setId(1);
+        when(bookRepository.findAllByIdGreaterThanOrderByIdAsc(anyInt(), any())).thenReturn(List.of(first));
+
+        // act
+        bookSearchIndex.rebuild();
+
+        // assert
+        assertEquals(List.of(9780000000001L), bookSearchIndex.search("desert", null, 10));
+    }
+
+    // negative path
+    @Test
+    public void whenWrittenAfterPageWasRead_thenRebuildKeepsWrite() {
+        // arrange, the page is read before an update and a delete commit and indexed after them
+        Book stale = book(9780000000001L, CATALOG_ID, "Dune", "Desert planet.");
+        stale.setId(1);
+        Book deleted = book(9780000000002L, CATALOG_ID, "Dune Messiah", "Desert planet again.");
+        deleted.setId(2);
+        when(bookRepository.findAllByIdGreaterThanOrderByIdAsc(anyInt(), any())).thenAnswer(invocation -> {
+            bookSearchIndex.index(book(9780000000001L, CATALOG_ID, "Dune", "Arrakis."));
+            bookSearchIndex.remove(9780000000002L);
+            return List.of(stale, deleted);
+        });
+
+        // act
+        bookSearchIndex.rebuild();
+
+        // assert
+        assertEquals(List.of(9780000000001L), bookSearchIndex.search("arrakis", null, 10));
+        assertEquals(List.of(), bookSearchIndex.search("desert", null, 10));
+    }
+
+    private Book book(long isbn, String catalogId, String title, String synopsis) {
+        return new Book(new ISBN(isbn), new CatalogIdentifier(catalogId), title, "Collection", "1st",
+                "Publisher", synopsis, "English", Status.AVAILABLE, new Author("Val", "Chase"));
+    }
+}
@@ -0,0 +1,143 @@
+package com.library.catalog.datalayer;
+
+import com.library.catalog.businesslayer.catalogbooks.CatalogSizeCounter;
+import com.library.catalog.datalayer.books.Author;
+import com.library.catalog.datalayer.catalog.CatalogSizeDeltaRepository;
+import com.library.catalog.presentationlayer.books.BookRequestModel;
+import com.library.catalog.presentationlayer.catalog.CatalogRequestModel;
+import com.library.catalog.presentationlayer.catalog.CatalogResponseModel;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.test.annotation.DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD;
+
+// The API run against catalog ids stored as UUIDs, the JSON must look the same as with string ids
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+@ActiveProfiles({"h2", "binary-ids"})
+@DirtiesContext(classMode = AFTER_EACH_TEST_METHOD)
+class BinaryIdentifierIntegrationTest {
+
+    private final String BASE_URI_CATALOG = "api/v1/catalogs";
+    private final String FOUND_CATALOG_ID = "d846a5a7-2e1c-4c79-809c-4f3f471e826d";
+    private final int FOUND_CATALOG_SIZE = 4;
+
+    @Autowired
+    private CatalogSizeCounter catalogSizeCounter;
+
+    @Autowired
+    private CatalogSizeDeltaRepository catalogSizeDeltaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    // positive test case
+    @Test
+    public void whenBinaryIds_thenStoreCatalogIdsAsUuid() {
+        // act
+        String catalogsType = jdbcTemplate.queryForObject("select data_type from information_schema.columns "
+                + "where table_name = 'CATALOGS' and column_name = 'CATALOG_ID'", String.class);
+        String booksType = jdbcTemplate.queryForObject("select data_type from information_schema.columns "
+                + "where table_name = 'BOOKS' and column_name = 'CATALOG_ID'", String.class);
+
+        // assert
+        assertEquals("UUID", catalogsType);
+        assertEquals("UUID", booksType);
+    }
+
+    // positive test case
+    @Test
+    public void whenGetCatalogExists_thenReturnCatalogIdAsString() {
+        // act & assert
+        webTestClient.get()
+                .uri(BASE_URI_CATALOG + "/" + FOUND_CATALOG_ID)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.catalogId").isEqualTo(FOUND_CATALOG_ID)
+                .jsonPath("$.size").isEqualTo(FOUND_CATALOG_SIZE);
+    }
+
+    // positive test case
+    @Test
+    public void whenCatalogCreated_thenFindItByItsId() {
+        // arrange
+        CatalogResponseModel created = webTestClient.post()
+                .uri(BASE_URI_CATALOG)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(new CatalogRequestModel("Kidz", 0))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(CatalogResponseModel.class)
+                .returnResult().getResponseBody();
+
+        // act & assert
+        assertNotNull(created);
+        assertEquals(created.getCatalogId(), UUID.fromString(created.getCatalogId()).toString());
+        webTestClient.get()
+                .uri(BASE_URI_CATALOG + "/" + created.getCatalogId())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.catalogId").isEqualTo(created.getCatalogId());
+    }
+
+    // positive test case
+    @Test
+    public void whenBookAddedAndSizesMerged_thenCountBookInCatalog() {
+        // arrange
+        BookRequestModel bookRequestModel = new BookRequestModel(1234567890123L, "New Book",
+                "New Collection", "1st edition", "Neji Publications",
+                "Val Chase's magnum opus", "English", "AVAILABLE", new Author("Val", "Chase"));
+        webTestClient.post()
+                .uri(BASE_URI_CATALOG + "/" + FOUND_CATALOG_ID + "/books")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(bookRequestModel)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.catalogId").isEqualTo(FOUND_CATALOG_ID);
+
+        // act
+        catalogSizeCounter.merge();
+
+        // assert
+        assertEquals(0, catalogSizeDeltaRepository.count());
+        webTestClient.get()
+                .uri(BASE_URI_CATALOG + "/" + FOUND_CATALOG_ID)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.size").isEqualTo(FOUND_CATALOG_SIZE + 1);
+    }
+
+    // negative test case
+    @Test
+    public void whenCatalogIdNotAUuid_thenReturnNotFound() {
+        // act & assert
+        webTestClient.get()
+                .uri(BASE_URI_CATALOG + "/not-a-uuid")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Unknown catalogId provided: not-a-uuid");
+    }
+}
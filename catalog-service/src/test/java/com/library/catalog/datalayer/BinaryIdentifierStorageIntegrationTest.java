@@ -0,0 +1,126 @@
+package com.library.catalog.datalayer;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Fills two file backed H2 databases migrated like the service with the same catalogs, then converts one of them with
+// the binary-ids migration and compares the space the database and the catalog id index take
+class BinaryIdentifierStorageIntegrationTest {
+
+    private static final int CATALOGS = 100_000;
+
+    @TempDir
+    private Path directory;
+
+    // positive path
+    @Test
+    public void whenIdsMigratedToBinary_thenKeepEveryIdInLessSpace() throws SQLException, IOException {
+        // arrange
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < CATALOGS; i++) {
+            ids.add(UUID.randomUUID().toString());
+        }
+        Path strings = directory.resolve("strings");
+        Path binary = directory.resolve("binary");
+        migrate(strings, "classpath:db/migration");
+        migrate(binary, "classpath:db/migration");
+        insertCatalogs(strings, ids);
+        insertCatalogs(binary, ids);
+
+        // act, the conversion runs on the rows already there as it would on a live database
+        migrate(binary, "classpath:db/migration", "classpath:db/binary-identifiers/h2");
+
+        // assert
+        try (Connection connection = connect(binary)) {
+            assertEquals("UUID", columnType(connection, "CATALOGS"));
+            assertEquals("UUID", columnType(connection, "BOOKS"));
+            assertEquals("UUID", columnType(connection, "CATALOG_SIZE_DELTAS"));
+            for (int i = 0; i < ids.size(); i += 997) {
+                assertEquals(i + 1, findId(connection, UUID.fromString(ids.get(i))));
+            }
+        }
+
+        long stringBytes = compactedSize(strings);
+        long binaryBytes = compactedSize(binary);
+        long stringIndexBytes = stringBytes - sizeWithoutIdIndex(strings);
+        long binaryIndexBytes = binaryBytes - sizeWithoutIdIndex(binary);
+
+        assertTrue(binaryBytes < stringBytes, binaryBytes + " >= " + stringBytes);
+        assertTrue(binaryIndexBytes < stringIndexBytes, binaryIndexBytes + " >= " + stringIndexBytes);
+    }
+
+    private static Connection connect(Path database) throws SQLException {
+        return DriverManager.getConnection("jdbc:h2:file:" + database, "sa", "");
+    }
+
+    private static void migrate(Path database, String... locations) {
+        Flyway.configure().dataSource("jdbc:h2:file:" + database, "sa", "").locations(locations).load().migrate();
+    }
+
+    private static void insertCatalogs(Path database, List<String> ids) throws SQLException {
+        try (Connection connection = connect(database);
+             PreparedStatement insert = connection.prepareStatement(
+                     "insert into catalogs(catalog_id, type, size) values (?, 'Kids', 0)")) {
+            for (int i = 0; i < ids.size(); i++) {
+                insert.setString(1, ids.get(i));
+                insert.addBatch();
+                if (i % 1000 == 999) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private static int findId(Connection connection, UUID catalogId) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement("select id from catalogs where catalog_id = ?")) {
+            select.setObject(1, catalogId);
+            try (ResultSet resultSet = select.executeQuery()) {
+                assertTrue(resultSet.next());
+                return resultSet.getInt(1);
+            }
+        }
+    }
+
+    private static String columnType(Connection connection, String table) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement("select data_type from information_schema.columns "
+                + "where table_name = ? and column_name = 'CATALOG_ID'")) {
+            select.setString(1, table);
+            try (ResultSet resultSet = select.executeQuery()) {
+                assertTrue(resultSet.next());
+                return resultSet.getString(1);
+            }
+        }
+    }
+
+    // H2 keeps old page versions in the file until it is compacted, and its DISK_SPACE_USED leaves out the secondary
+    // indexes, so the file is compacted and measured instead
+    private static long compactedSize(Path database) throws SQLException, IOException {
+        try (Connection connection = connect(database)) {
+            connection.createStatement().execute("shutdown compact");
+        }
+        return Files.size(Path.of(database + ".mv.db"));
+    }
+
+    private static long sizeWithoutIdIndex(Path database) throws SQLException, IOException {
+        try (Connection connection = connect(database)) {
+            connection.createStatement().execute("drop index catalogs_catalog_id on catalogs");
+        }
+        return compactedSize(database);
+    }
+}
@@ -0,0 +1,92 @@
+package com.library.catalog.datalayer;
+
+import com.library.catalog.datalayer.books.BookRepository;
+import com.library.catalog.datalayer.catalog.CatalogRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs H2's EXPLAIN on the SQL the repository methods actually send, against the schema the migrations create
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.library.catalog.datalayer.QueryPlanIntegrationTest$LastStatement")
+class QueryPlanIntegrationTest {
+
+    private static final String CATALOG_ID = "d846a5a7-2e1c-4c79-809c-4f3f471e826d";
+    private static final Long ISBN = 9789390183524L;
+
+    @Autowired
+    private CatalogRepository catalogRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // positive test case
+    @Test
+    public void whenFindCatalogByCatalogId_thenUseCatalogIdIndexes() {
+        // act
+        catalogRepository.findByCatalogIdentifier_CatalogId(CATALOG_ID);
+        String plan = explain(CATALOG_ID);
+
+        // assert, the pending size is summed by a subquery on the deltas
+        assertTrue(plan.contains("PUBLIC.CATALOGS_CATALOG_ID: CATALOG_ID ="), plan);
+        assertTrue(plan.contains("PUBLIC.CATALOG_SIZE_DELTAS_CATALOG_ID: CATALOG_ID ="), plan);
+    }
+
+    // positive test case
+    @Test
+    public void whenPageThroughCatalogBooks_thenUseCatalogIdAndIdIndex() {
+        // act
+        bookRepository.findAllByCatalogIdentifier_CatalogIdAndIdGreaterThanOrderByIdAsc(CATALOG_ID, 0, Limit.of(20));
+        String plan = explain(CATALOG_ID, 0, 20);
+
+        // assert
+        assertTrue(plan.contains("PUBLIC.BOOKS_CATALOG_ID_ID: CATALOG_ID ="), plan);
+        assertTrue(plan.contains("AND ID > "), plan);
+    }
+
+    // positive test case
+    @Test
+    public void whenFindBookInCatalog_thenUseAnIndex() {
+        // act
+        bookRepository.findByCatalogIdentifier_CatalogIdAndIsbn_Isbn(CATALOG_ID, ISBN);
+        String plan = explain(CATALOG_ID, ISBN);
+
+        // assert
+        assertFalse(plan.contains("tableScan"), plan);
+    }
+
+    // negative test case
+    @Test
+    public void whenCatalogIdDuplicated_thenRejectInsert() {
+        // arrange
+        jdbcTemplate.update("insert into catalogs(catalog_id, type, size) values (?, 'Kids', 0)", CATALOG_ID);
+
+        // act & assert
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "insert into catalogs(catalog_id, type, size) values (?, 'Adults', 0)", CATALOG_ID));
+    }
+
+    private String explain(Object... parameters) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + LastStatement.sql, String.class, parameters);
+    }
+
+    public static class LastStatement implements StatementInspector {
+
+        private static volatile String sql;
+
+        @Override
+        public String inspect(String sql) {
+            LastStatement.sql = sql;
+            return sql;
+        }
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import java.util.List;
 
 import static com.library.catalog.datalayer.books.Status.AVAILABLE;
+import static com.library.catalog.datalayer.books.Status.BORROWED;
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
@@ -175,4 +176,48 @@ class BookRepositoryIntegrationTest {
         }
     }
 
-}
\ No newline at end of file
+    // positive path
+    @Test
+    public void whenBooksExist_thenReturnBooksByISBNs() {
+
+        // arrange
+        Book book1 = new Book(new ISBN(9783161484100L), new CatalogIdentifier("d846a5a7-2e1c-4c79-809c-4f3f471e826d"),
+                "The Da Vinci Code", "", "1", "Doubleday", "x",
+                "English", AVAILABLE, new Author("Dan", "Brown"));
+        bookRepository.save(book1);
+        Book book2 = new Book(new ISBN(1234567890123L),new CatalogIdentifier("d846a5a7-2e1c-4c79-809c-4f3f471e826d"), "New Book",
+                "New Collection", "1st edition", "Neji Publications",
+                "Val Chase's magnum opus", "English", AVAILABLE, new Author("Val", "Chase"));
+        bookRepository.save(book2);
+
+        // act
+        List<Book> savedBooks = bookRepository.findAllByIsbn_IsbnIn(
+                List.of(book1.getIsbn().getIsbn(), book2.getIsbn().getIsbn(), 978316148410L));
+
+        // assert
+        assertNotNull(savedBooks);
+        assertEquals(2, savedBooks.size());
+        assertTrue(savedBooks.stream().anyMatch(book -> book.getIsbn().getIsbn().equals(book1.getIsbn().getIsbn())));
+        assertTrue(savedBooks.stream().anyMatch(book -> book.getIsbn().getIsbn().equals(book2.getIsbn().getIsbn())));
+    }
+
+    // positive path
+    @Test
+    public void whenBookInExpectedStatus_thenUpdateStatus() {
+        // arrange
+        Book book1 = new Book(new ISBN(9783161484100L), new CatalogIdentifier("d846a5a7-2e1c-4c79-809c-4f3f471e826d"),
+                "The Da Vinci Code", "", "1", "Doubleday", "x",
+                "English", AVAILABLE, new Author("Dan", "Brown"));
+        bookRepository.save(book1);
+
+        // act
+        int firstUpdate = bookRepository.updateStatusByIsbnAndStatus(9783161484100L, AVAILABLE, BORROWED);
+        int secondUpdate = bookRepository.updateStatusByIsbnAndStatus(9783161484100L, AVAILABLE, BORROWED);
+
+        // assert
+        assertEquals(1, firstUpdate);
+        assertEquals(0, secondUpdate);
+        assertEquals(BORROWED, bookRepository.findByIsbn_Isbn(9783161484100L).getStatus());
+    }
+
+}
@@ -0,0 +1,188 @@
+package com.library.catalog.presentationlayer;
+
+import com.library.catalog.datalayer.books.Author;
+import com.library.catalog.datalayer.books.Status;
+import com.library.catalog.presentationlayer.books.BookAvailabilityRequestModel;
+import com.library.catalog.presentationlayer.books.BookRequestModel;
+import com.library.catalog.presentationlayer.books.BookStatusTransitionRequestModel;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.test.annotation.DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD;
+
+// Fails when an endpoint runs more SQL statements than its budget. A budget only goes up with a reason, a
+// request that reads the same row twice or loads rows one at a time shows up here first.
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+@ActiveProfiles("h2")
+// the size merge runs on its own schedule and would be counted against whichever request it overlaps
+@TestPropertySource(properties = {"spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.catalog.size-merge-interval=PT1H"})
+@DirtiesContext(classMode = AFTER_EACH_TEST_METHOD)
+class SqlStatementBudgetIntegrationTest {
+
+    private final String BASE_URI_BOOK = "api/v1/books/";
+    private final String BASE_URI_CATALOG = "api/v1/catalogs/";
+    private final String FOUND_CATALOG_ID = "d846a5a7-2e1c-4c79-809c-4f3f471e826d";
+    private final Long FOUND_BOOK_ISBN13 = 9789390183524L;
+    private final Long AVAILABLE_BOOK_ISBN = 9780132350884L;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void clearStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    // positive path
+    @Test
+    public void whenGetBook_thenStayWithinStatementBudget() {
+
+        // act
+        webTestClient.get()
+                .uri(BASE_URI_BOOK + FOUND_BOOK_ISBN13)
+                .exchange()
+                .expectStatus().isOk();
+
+        // assert
+        assertStatementBudget(1);
+    }
+
+    // positive path
+    @Test
+    public void whenGetBookInCatalog_thenStayWithinStatementBudget() {
+
+        // act
+        webTestClient.get()
+                .uri(BASE_URI_CATALOG + FOUND_CATALOG_ID + "/books/" + FOUND_BOOK_ISBN13)
+                .exchange()
+                .expectStatus().isOk();
+
+        // assert
+        assertStatementBudget(2);
+    }
+
+    // positive path
+    @Test
+    public void whenGetBooksInCatalog_thenStayWithinStatementBudget() {
+
+        // act
+        webTestClient.get()
+                .uri(BASE_URI_CATALOG + FOUND_CATALOG_ID + "/books")
+                .exchange()
+                .expectStatus().isOk();
+
+        // assert
+        assertStatementBudget(2);
+    }
+
+    // positive path
+    @Test
+    public void whenUpdateBookInCatalog_thenStayWithinStatementBudget() {
+
+        // arrange
+        BookRequestModel bookRequestModel = new BookRequestModel(FOUND_BOOK_ISBN13, "New Book",
+                "The magnum opus trilogy", "1st edition", "Neji Publications",
+                "Val Chase's magnum opus", "English", "AVAILABLE", new Author("Val", "Chase"));
+
+        // act
+        webTestClient.put()
+                .uri(BASE_URI_CATALOG + FOUND_CATALOG_ID + "/books/" + FOUND_BOOK_ISBN13)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(bookRequestModel)
+                .exchange()
+                .expectStatus().isOk();
+
+        // assert
+        assertStatementBudget(3);
+    }
+
+    // positive path
+    @Test
+    public void whenDeleteBookInCatalog_thenStayWithinStatementBudget() {
+
+        // act
+        webTestClient.delete()
+                .uri(BASE_URI_CATALOG + FOUND_CATALOG_ID + "/books/" + FOUND_BOOK_ISBN13)
+                .exchange()
+                .expectStatus().isNoContent();
+
+        // assert
+        assertStatementBudget(4);
+    }
+
+    // positive path
+    @Test
+    public void whenTransitionBooks_thenStayWithinStatementBudget() {
+
+        // arrange
+        BookStatusTransitionRequestModel bookStatusTransitionRequestModel = new BookStatusTransitionRequestModel(
+                List.of(AVAILABLE_BOOK_ISBN), Status.AVAILABLE, Status.BORROWED);
+
+        // act
+        webTestClient.post()
+                .uri(BASE_URI_BOOK + "status-transitions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(bookStatusTransitionRequestModel)
+                .exchange()
+                .expectStatus().isOk();
+
+        // assert
+        assertStatementBudget(2);
+    }
+
+    // positive path
+    @Test
+    public void whenSearchBooks_thenStayWithinStatementBudget() {
+
+        // act
+        webTestClient.get()
+                .uri(BASE_URI_BOOK + "search?q=design patterns")
+                .exchange()
+                .expectStatus().isOk();
+
+        // assert
+        assertStatementBudget(1);
+    }
+
+    // positive path
+    @Test
+    public void whenGetAvailability_thenRunNoStatements() {
+
+        // act
+        webTestClient.post()
+                .uri(BASE_URI_BOOK + "availability")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new BookAvailabilityRequestModel(new long[]{AVAILABLE_BOOK_ISBN}))
+                .exchange()
+                .expectStatus().isOk();
+
+        // assert
+        assertStatementBudget(0);
+    }
+
+    private void assertStatementBudget(long budget) {
+        assertTrue(statistics.getPrepareStatementCount() <= budget,
+                "ran " + statistics.getPrepareStatementCount() + " SQL statements, the budget is " + budget);
+    }
+}
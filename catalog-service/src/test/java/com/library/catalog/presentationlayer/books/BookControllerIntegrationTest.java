@@ -1,7 +1,9 @@
 package com.library.catalog.presentationlayer.books;
 
+import com.library.catalog.datalayer.books.Author;
 import com.library.catalog.datalayer.books.BookRepository;
 import com.library.catalog.datalayer.books.Status;
+import com.library.catalog.utils.IdempotencyFilter;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -10,6 +12,10 @@ import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
+import java.util.List;
+
+import static com.library.catalog.datalayer.books.Status.AVAILABLE;
+import static com.library.catalog.datalayer.books.Status.BORROWED;
 import static com.library.catalog.datalayer.books.Status.DAMAGED;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
@@ -39,6 +45,8 @@ class BookControllerIntegrationTest {
     private final String FOUND_BOOK_AUTHOR_LNAME = "Fitzgerald";
     private final Long NOT_FOUND_BOOK_ISBN = 9789390183520L;
     private final Long INVALID_BOOK_ISBN = 978939018352L;
+    private final Long AVAILABLE_BOOK_ISBN = 9780132350884L;
+    private final Long BORROWED_BOOK_ISBN = 9780201633610L;
 
     @Autowired
     private BookRepository bookRepository;
@@ -133,6 +141,53 @@ class BookControllerIntegrationTest {
                 .jsonPath("$.message").isEqualTo("ISBN must be 10 or 13 digits long.");
     }
 
+    // positive test case
+    @Test
+    public void whenGetBooksExist_thenReturnOnlyKnownBooks() {
+
+        // arrange
+        BookBatchRequestModel bookBatchRequestModel = new BookBatchRequestModel(
+                List.of(FOUND_BOOK_ISBN13, FOUND_BOOK_ISBN10, NOT_FOUND_BOOK_ISBN, FOUND_BOOK_ISBN13));
+
+        // act & assert
+        webTestClient.post()
+                .uri(BASE_URI_BOOK + "batch-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(bookBatchRequestModel)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBodyList(BookResponseModel.class)
+                .value((books) -> {
+                    assertNotNull(books);
+                    assertEquals(2, books.size());
+                    assertTrue(books.stream().anyMatch(book -> book.getIsbn().equals(FOUND_BOOK_ISBN13)));
+                    assertTrue(books.stream().anyMatch(book -> book.getIsbn().equals(FOUND_BOOK_ISBN10)));
+                });
+    }
+
+    // negative test case
+    @Test
+    public void whenGetBooksWithInvalidISBN_thenThrowException() {
+
+        // arrange
+        BookBatchRequestModel bookBatchRequestModel = new BookBatchRequestModel(
+                List.of(FOUND_BOOK_ISBN13, INVALID_BOOK_ISBN));
+
+        // act & assert
+        webTestClient.post()
+                .uri(BASE_URI_BOOK + "batch-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(bookBatchRequestModel)
+                .exchange()
+                .expectStatus().is4xxClientError()
+                .expectBody()
+                .jsonPath("$.httpStatus").isEqualTo("UNPROCESSABLE_ENTITY")
+                .jsonPath("$.message").isEqualTo("ISBN must be 10 or 13 digits long.");
+    }
+
     // positive test case
     @Test
     public void whenValidBook_thenPatchBook13() {
@@ -230,4 +285,342 @@ class BookControllerIntegrationTest {
         assertEquals(sizeDB, bookRepository.count());
     }
 
-}
\ No newline at end of file
+    // positive test case
+    @Test
+    public void whenBooksAvailable_thenTransitionToBorrowed() {
+
+        // arrange
+        BookStatusTransitionRequestModel bookStatusTransitionRequestModel = new BookStatusTransitionRequestModel(
+                List.of(AVAILABLE_BOOK_ISBN), AVAILABLE, BORROWED);
+
+        // act & assert
+        webTestClient.post()
+                .uri(BASE_URI_BOOK + "status-transitions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(bookStatusTransitionRequestModel)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody(BookStatusTransitionResponseModel.class)
+                .value((response) -> {
+                    assertNotNull(response);
+                    assertEquals(1, response.getTransitioned().size());
+                    assertEquals(AVAILABLE_BOOK_ISBN, response.getTransitioned().get(0).getIsbn());
+                    assertEquals(BORROWED, response.getTransitioned().get(0).getStatus());
+                    assertTrue(response.getRejected().isEmpty());
+                    assertTrue(response.getNotFound().isEmpty());
+                });
+
+        assertEquals(BORROWED, bookRepository.findByIsbn_Isbn(AVAILABLE_BOOK_ISBN).getStatus());
+    }
+
+    // positive test case
+    @Test
+    public void whenTransitionRetriedWithSameIdempotencyKey_thenReplayFirstResult() {
+
+        // arrange
+        BookStatusTransitionRequestModel bookStatusTransitionRequestModel = new BookStatusTransitionRequestModel(
+                List.of(AVAILABLE_BOOK_ISBN), AVAILABLE, BORROWED);
+
+        // act & assert
+        // without the key the retry would report the book as rejected, it is already borrowed
+        for (int i = 0; i < 2; i++) {
+            webTestClient.post()
+                    .uri(BASE_URI_BOOK + "status-transitions")
+                    .header(IdempotencyFilter.HEADER, "5f0c6c1e-5a8c-4a47-9f4b-0d7b1b6b8d11")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .bodyValue(bookStatusTransitionRequestModel)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                    .expectBody(BookStatusTransitionResponseModel.class)
+                    .value((response) -> {
+                        assertEquals(1, response.getTransitioned().size());
+                        assertEquals(AVAILABLE_BOOK_ISBN, response.getTransitioned().get(0).getIsbn());
+                        assertTrue(response.getRejected().isEmpty());
+                    });
+        }
+
+        assertEquals(BORROWED, bookRepository.findByIsbn_Isbn(AVAILABLE_BOOK_ISBN).getStatus());
+    }
+
+    // negative test case
+    @Test
+    public void whenBooksNotInExpectedStatus_thenReportRejectedAndNotFound() {
+
+        // arrange
+        BookStatusTransitionRequestModel bookStatusTransitionRequestModel = new BookStatusTransitionRequestModel(
+                List.of(AVAILABLE_BOOK_ISBN, BORROWED_BOOK_ISBN, NOT_FOUND_BOOK_ISBN), AVAILABLE, BORROWED);
+
+        // act & assert
+        webTestClient.post()
+                .uri(BASE_URI_BOOK + "status-transitions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(bookStatusTransitionRequestModel)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(BookStatusTransitionResponseModel.class)
+                .value((response) -> {
+                    assertNotNull(response);
+                    assertEquals(1, response.getTransitioned().size());
+                    assertEquals(AVAILABLE_BOOK_ISBN, response.getTransitioned().get(0).getIsbn());
+                    assertEquals(1, response.getRejected().size());
+                    assertEquals(BORROWED_BOOK_ISBN, response.getRejected().get(0).getIsbn());
+                    assertEquals(List.of(NOT_FOUND_BOOK_ISBN), response.getNotFound());
+                });
+    }
+
+    // negative test case
+    @Test
+    public void whenTransitionToSameStatus_thenThrowException() {
+
+        // arrange
+        BookStatusTransitionRequestModel bookStatusTransitionRequestModel = new BookStatusTransitionRequestModel(
+                List.of(AVAILABLE_BOOK_ISBN), AVAILABLE, AVAILABLE);
+
+        // act & assert
+        webTestClient.post()
+                .uri(BASE_URI_BOOK + "status-transitions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(bookStatusTransitionRequestModel)
+                .exchange()
+                .expectStatus().is4xxClientError()
+                .expectBody()
+                .jsonPath("$.httpStatus").isEqualTo("UNPROCESSABLE_ENTITY")
+                .jsonPath("$.message").isEqualTo("A status transition needs two different statuses.");
+    }
+
+    // positive test case
+    @Test
+    public void whenSearchBooks_thenReturnBestMatchesFirst() {
+
+        // act & assert
+        webTestClient.get()
+                .uri(BASE_URI_BOOK + "search?q=design patterns")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBodyList(BookResponseModel.class)
+                .value((books) -> {
+                    assertFalse(books.isEmpty());
+                    assertEquals(BORROWED_BOOK_ISBN, books.get(0).getIsbn());
+                    assertTrue(books.stream().noneMatch(book -> book.getIsbn().equals(FOUND_BOOK_ISBN13)));
+                });
+    }
+
+    // positive test case
+    @Test
+    public void whenSearchBooksInCatalog_thenOnlyReturnBooksOfThatCatalog() {
+
+        // act & assert
+        webTestClient.get()
+                .uri(BASE_URI_BOOK + "search?q=harry potter philosopher&catalogId=" + FOUND_CATALOG_ID)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(BookResponseModel.class)
+                .hasSize(0);
+
+        webTestClient.get()
+                .uri(BASE_URI_BOOK + "search?q=harry potter philosopher")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(BookResponseModel.class)
+                .value((books) -> assertEquals("Harry Potter and the Philosopher's Stone", books.get(0).getTitle()));
+    }
+
+    // positive test case
+    @Test
+    public void whenBookAddedAndDeletedInCatalog_thenSearchFollows() {
+
+        // arrange
+        BookRequestModel bookRequestModel = new BookRequestModel(9780000000017L, "Voyage à Zanzibar",
+                "Travel", "1st edition", "Neji Publications", "A long trip along the coast.", "French",
+                "AVAILABLE", new Author("Val", "Chase"));
+
+        // act
+        webTestClient.post()
+                .uri("api/v1/catalogs/" + FOUND_CATALOG_ID + "/books")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(bookRequestModel)
+                .exchange()
+                .expectStatus().isCreated();
+
+        // assert
+        webTestClient.get()
+                .uri(BASE_URI_BOOK + "search?q=voyage zanzibar")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(BookResponseModel.class)
+                .value((books) -> assertEquals(List.of(9780000000017L),
+                        books.stream().map(BookResponseModel::getIsbn).toList()));
+
+        webTestClient.delete()
+                .uri("api/v1/catalogs/" + FOUND_CATALOG_ID + "/books/9780000000017")
+                .exchange()
+                .expectStatus().isNoContent();
+
+        webTestClient.get()
+                .uri(BASE_URI_BOOK + "search?q=zanzibar")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(BookResponseModel.class)
+                .hasSize(0);
+    }
+
+    // positive test case
+    @Test
+    public void whenAutocompletePrefix_thenReturnTitlesAndAuthors() {
+
+        // act & assert
+        webTestClient.get()
+                .uri(BASE_URI_BOOK + "autocomplete?prefix=gats")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBodyList(BookCompletionResponseModel.class)
+                .value((completions) -> {
+                    assertEquals(1, completions.size());
+                    assertEquals(FOUND_BOOK_TITLE, completions.get(0).getText());
+                    assertEquals("TITLE", completions.get(0).getType());
+                    assertEquals(2, completions.get(0).getBooks());
+                });
+
+        webTestClient.get()
+                .uri(BASE_URI_BOOK + "autocomplete?prefix=fitzg&size=1")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(BookCompletionResponseModel.class)
+                .value((completions) -> {
+                    assertEquals(1, completions.size());
+                    assertEquals("AUTHOR", completions.get(0).getType());
+                });
+    }
+
+    // positive test case
+    @Test
+    public void whenBookAddedInCatalog_thenAutocompleteOffersIt() {
+
+        // arrange
+        BookRequestModel bookRequestModel = new BookRequestModel(9780000000017L, "Zanzibar Tides",
+                "Travel", "1st edition", "Neji Publications", "A long trip along the coast.", "English",
+                "AVAILABLE", new Author("Val", "Chase"));
+
+        // act
+        webTestClient.post()
+                .uri("api/v1/catalogs/" + FOUND_CATALOG_ID + "/books")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(bookRequestModel)
+                .exchange()
+                .expectStatus().isCreated();
+
+        // assert
+        webTestClient.get()
+                .uri(BASE_URI_BOOK + "autocomplete?prefix=zanz")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(BookCompletionResponseModel.class)
+                .value((completions) -> assertEquals("Zanzibar Tides", completions.get(0).getText()));
+    }
+
+    // positive test case
+    @Test
+    public void whenAvailabilityRequested_thenReturnStatusesInRequestOrder() {
+
+        // arrange
+        BookAvailabilityRequestModel bookAvailabilityRequestModel = new BookAvailabilityRequestModel(
+                new long[]{FOUND_BOOK_ISBN13, NOT_FOUND_BOOK_ISBN, AVAILABLE_BOOK_ISBN, BORROWED_BOOK_ISBN});
+
+        // act & assert
+        webTestClient.post()
+                .uri(BASE_URI_BOOK + "availability")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(bookAvailabilityRequestModel)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody(BookAvailabilityResponseModel.class)
+                .value((response) -> {
+                    assertArrayEquals(bookAvailabilityRequestModel.getIsbns(), response.getIsbns());
+                    assertArrayEquals(new Status[]{DAMAGED, null, AVAILABLE, BORROWED}, response.getStatuses());
+                });
+    }
+
+    // positive test case
+    @Test
+    public void whenBooksTransitionedAndPatched_thenAvailabilityFollows() {
+
+        // arrange
+        BookStatusTransitionRequestModel bookStatusTransitionRequestModel = new BookStatusTransitionRequestModel(
+                List.of(AVAILABLE_BOOK_ISBN), AVAILABLE, BORROWED);
+        BookRequestModel bookRequestModel = new BookRequestModel(null, null, null, null, null, null, null,
+                "AVAILABLE", null);
+
+        // act
+        webTestClient.post()
+                .uri(BASE_URI_BOOK + "status-transitions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(bookStatusTransitionRequestModel)
+                .exchange()
+                .expectStatus().isOk();
+        webTestClient.patch()
+                .uri(BASE_URI_BOOK + FOUND_BOOK_ISBN13)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(bookRequestModel)
+                .exchange()
+                .expectStatus().isOk();
+
+        // assert
+        webTestClient.post()
+                .uri(BASE_URI_BOOK + "availability")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new BookAvailabilityRequestModel(new long[]{AVAILABLE_BOOK_ISBN, FOUND_BOOK_ISBN13}))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(BookAvailabilityResponseModel.class)
+                .value((response) -> assertArrayEquals(new Status[]{BORROWED, AVAILABLE}, response.getStatuses()));
+    }
+
+    // negative test case
+    @Test
+    public void whenTooManyIsbnsForAvailability_thenThrowException() {
+
+        // arrange
+        BookAvailabilityRequestModel bookAvailabilityRequestModel = new BookAvailabilityRequestModel(new long[10001]);
+
+        // act & assert
+        webTestClient.post()
+                .uri(BASE_URI_BOOK + "availability")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(bookAvailabilityRequestModel)
+                .exchange()
+                .expectStatus().is4xxClientError()
+                .expectBody()
+                .jsonPath("$.httpStatus").isEqualTo("UNPROCESSABLE_ENTITY")
+                .jsonPath("$.message").isEqualTo("At most 10000 ISBNs can be requested at once.");
+    }
+
+    // negative test case
+    @Test
+    public void whenSearchHasOnlyStopWords_thenReturnEmptyList() {
+
+        // act & assert
+        webTestClient.get()
+                .uri(BASE_URI_BOOK + "search?q=the of and")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(BookResponseModel.class)
+                .hasSize(0);
+    }
+
+}
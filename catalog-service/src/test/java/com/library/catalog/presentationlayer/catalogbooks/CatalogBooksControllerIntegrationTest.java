@@ -10,10 +10,13 @@ import com.library.catalog.presentationlayer.books.BookRequestModel;
 import com.library.catalog.presentationlayer.books.BookResponseModel;
 import com.library.catalog.presentationlayer.catalog.CatalogRequestModel;
 import com.library.catalog.presentationlayer.catalog.CatalogResponseModel;
+import com.library.catalog.utils.CursorPage;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.reactive.server.WebTestClient;
@@ -295,6 +298,51 @@ class CatalogBooksControllerIntegrationTest {
                 });
     }
 
+    // positive path
+    @Test
+    public void whenGetBooksPageByPage_thenFollowCursorThroughWholeCatalog() {
+
+        // arrange
+        long sizeCatalog = bookRepository.findAllByCatalogIdentifier_CatalogId(FOUND_CATALOG_ID).size();
+        List<Long> isbns = new ArrayList<>();
+        String cursor = null;
+
+        // act
+        do {
+            String uri = BASE_URI_CATALOG + "/" + FOUND_CATALOG_ID + "/books?size=1" + (cursor == null ? "" : "&cursor=" + cursor);
+            EntityExchangeResult<List<BookResponseModel>> result = webTestClient.get()
+                    .uri(uri)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBodyList(BookResponseModel.class)
+                    .returnResult();
+
+            assertTrue(result.getResponseBody().size() <= 1);
+            result.getResponseBody().forEach(book -> isbns.add(book.getIsbn()));
+            cursor = result.getResponseHeaders().getFirst(CursorPage.NEXT_CURSOR_HEADER);
+        } while (cursor != null);
+
+        // assert
+        assertEquals(sizeCatalog, isbns.size());
+        assertEquals(sizeCatalog, isbns.stream().distinct().count());
+    }
+
+    // negative path
+    @Test
+    public void whenGetBooksWithInvalidCursor_thenReturnUnprocessableEntity() {
+
+        // act & assert
+        webTestClient.get()
+                .uri(BASE_URI_CATALOG + "/" + FOUND_CATALOG_ID + "/books?cursor=not-a-cursor")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().is4xxClientError()
+                .expectBody()
+                .jsonPath("$.httpStatus").isEqualTo("UNPROCESSABLE_ENTITY")
+                .jsonPath("$.message").isEqualTo("Invalid cursor: not-a-cursor");
+    }
+
     // negative path
     // empty database, no books, empty list returned
     @Test
@@ -361,6 +409,95 @@ class CatalogBooksControllerIntegrationTest {
                 });
     }
 
+    // positive test case
+    @Test
+    public void whenGetBookWithMatchingETag_thenReturnNotModified() {
+
+        // arrange
+        String uri = BASE_URI_CATALOG + "/" + FOUND_CATALOG_ID + "/books/" + FOUND_BOOK_ISBN13;
+        String etag = webTestClient.get()
+                .uri(uri)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .returnResult(BookResponseModel.class)
+                .getResponseHeaders().getETag();
+
+        // act & assert
+        webTestClient.get()
+                .uri(uri)
+                .accept(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    // positive test case
+    @Test
+    public void whenBookUpdated_thenETagChanges() {
+
+        // arrange
+        String uri = BASE_URI_CATALOG + "/" + FOUND_CATALOG_ID + "/books/" + FOUND_BOOK_ISBN13;
+        String etag = webTestClient.get()
+                .uri(uri)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(BookResponseModel.class)
+                .getResponseHeaders().getETag();
+
+        BookRequestModel bookRequestModel = new BookRequestModel(FOUND_BOOK_ISBN13, "New Book",
+                "The magnum opus trilogy", "1st edition", "Neji Publications",
+                "Val Chase's magnum opus", "English", "AVAILABLE", new Author("Val", "Chase"));
+
+        webTestClient.put()
+                .uri(uri)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(bookRequestModel)
+                .exchange()
+                .expectStatus().isOk();
+
+        // act & assert
+        String updatedEtag = webTestClient.get()
+                .uri(uri)
+                .accept(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(BookResponseModel.class)
+                .getResponseHeaders().getETag();
+
+        assertNotNull(updatedEtag);
+        assertNotEquals(etag, updatedEtag);
+    }
+
+    // positive test case
+    @Test
+    public void whenGetBooksWithMatchingETag_thenReturnNotModified() {
+
+        // arrange
+        String uri = BASE_URI_CATALOG + "/" + FOUND_CATALOG_ID + "/books";
+        String etag = webTestClient.get()
+                .uri(uri)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .returnResult(BookResponseModel.class)
+                .getResponseHeaders().getETag();
+
+        // act & assert
+        webTestClient.get()
+                .uri(uri)
+                .accept(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
     // positive test case
     @Test
     public void whenGetBookExists_thenReturnBookByISBN10() {
@@ -7,6 +7,7 @@ import com.library.catalog.presentationlayer.books.BookRequestModel;
 import com.library.catalog.presentationlayer.books.BookResponseModel;
 import com.library.catalog.presentationlayer.catalog.CatalogRequestModel;
 import com.library.catalog.presentationlayer.catalog.CatalogResponseModel;
+import com.library.catalog.utils.CursorPage;
 import com.library.catalog.utils.exceptions.DuplicateISBNException;
 import com.library.catalog.utils.exceptions.InvalidISBNException;
 import com.library.catalog.utils.exceptions.NotFoundException;
@@ -122,10 +123,10 @@ class CatalogBooksControllerUnitTest {
         // arrange
         CatalogResponseModel catalogResponseModel = buildCatalogResponseModel();
 
-        when(catalogBooksService.getAllCatalogs()).thenReturn(Collections.singletonList(catalogResponseModel));
+        when(catalogBooksService.getAllCatalogs(null, null)).thenReturn(new CursorPage<>(Collections.singletonList(catalogResponseModel), null));
 
         // act
-        ResponseEntity<List<CatalogResponseModel>> responseEntity = catalogBooksController.getAllCatalogs();
+        ResponseEntity<List<CatalogResponseModel>> responseEntity = catalogBooksController.getAllCatalogs(null, null);
 
         // assert
         assertNotNull(responseEntity);
@@ -133,23 +134,23 @@ class CatalogBooksControllerUnitTest {
         assertFalse(responseEntity.getBody().isEmpty());
         assertEquals(1, responseEntity.getBody().size());
         assertEquals(catalogResponseModel, responseEntity.getBody().get(0));
-        verify(catalogBooksService, times(1)).getAllCatalogs();
+        verify(catalogBooksService, times(1)).getAllCatalogs(null, null);
     }
 
     // negative test case
     @Test
     public void whenNoCatalogExists_thenReturnEmptyList() {
         // arrange
-        when(catalogBooksService.getAllCatalogs()).thenReturn(Collections.emptyList());
+        when(catalogBooksService.getAllCatalogs(null, null)).thenReturn(new CursorPage<>(Collections.emptyList(), null));
 
         //act
-        ResponseEntity<List<CatalogResponseModel>> responseEntity = catalogBooksController.getAllCatalogs();
+        ResponseEntity<List<CatalogResponseModel>> responseEntity = catalogBooksController.getAllCatalogs(null, null);
 
         // assert
         assertNotNull(responseEntity);
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
         assertTrue(responseEntity.getBody().isEmpty());
-        verify(catalogBooksService, times(1)).getAllCatalogs();
+        verify(catalogBooksService, times(1)).getAllCatalogs(null, null);
     }
 
     // positive test case
@@ -287,12 +288,12 @@ class CatalogBooksControllerUnitTest {
         // arrange
         BookResponseModel bookResponseModel = buildBookResponseModel();
 
-        when(catalogBooksService.getAllBooksInCatalog(FOUND_CATALOG_ID)).thenReturn(Collections
-                .singletonList(bookResponseModel));
+        when(catalogBooksService.getAllBooksInCatalog(FOUND_CATALOG_ID, null, null)).thenReturn(new CursorPage<>(Collections
+                .singletonList(bookResponseModel), null));
 
         // act
         ResponseEntity<List<BookResponseModel>> responseEntity = catalogBooksController
-                .getAllBooks(FOUND_CATALOG_ID);
+                .getAllBooks(FOUND_CATALOG_ID, null, null);
 
         // assert
         assertNotNull(responseEntity);
@@ -300,24 +301,24 @@ class CatalogBooksControllerUnitTest {
         assertFalse(responseEntity.getBody().isEmpty());
         assertEquals(1, responseEntity.getBody().size());
         assertEquals(bookResponseModel, responseEntity.getBody().get(0));
-        verify(catalogBooksService, times(1)).getAllBooksInCatalog(FOUND_CATALOG_ID);
+        verify(catalogBooksService, times(1)).getAllBooksInCatalog(FOUND_CATALOG_ID, null, null);
     }
 
     // negative test case
     @Test
     public void whenNoBookExists_thenReturnEmptyList() {
         // arrange
-        when(catalogBooksService.getAllBooksInCatalog(FOUND_CATALOG_ID)).thenReturn(Collections.emptyList());
+        when(catalogBooksService.getAllBooksInCatalog(FOUND_CATALOG_ID, null, null)).thenReturn(new CursorPage<>(Collections.emptyList(), null));
 
         //act
         ResponseEntity<List<BookResponseModel>> responseEntity = catalogBooksController
-                .getAllBooks(FOUND_CATALOG_ID);
+                .getAllBooks(FOUND_CATALOG_ID, null, null);
 
         // assert
         assertNotNull(responseEntity);
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
         assertTrue(responseEntity.getBody().isEmpty());
-        verify(catalogBooksService, times(1)).getAllBooksInCatalog(FOUND_CATALOG_ID);
+        verify(catalogBooksService, times(1)).getAllBooksInCatalog(FOUND_CATALOG_ID, null, null);
     }
 
     // positive test case
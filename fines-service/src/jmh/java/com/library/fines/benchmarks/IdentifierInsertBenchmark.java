@@ -0,0 +1,58 @@
+package com.library.fines.benchmarks;
+
+import com.library.fines.utils.IdentifierGenerator;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Fines recorded one after another with random and with time-ordered fine ids, into a file backed H2 database migrated
+// like the service. fines_fine_id is a unique index on the id alone, so time-ordered ids always land on its last page
+// while random ids spread over the whole index as it grows.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class IdentifierInsertBenchmark {
+
+    @Param({"RANDOM", "TIME_ORDERED"})
+    private IdentifierGenerator generator;
+
+    private Path directory;
+    private Connection connection;
+    private PreparedStatement insertFine;
+
+    @Setup
+    public void setUp() throws IOException, SQLException {
+        directory = Files.createTempDirectory("identifier-inserts");
+        String url = "jdbc:h2:file:" + directory.resolve("fines-db");
+        Flyway.configure().dataSource(url, "sa", "").load().migrate();
+        connection = DriverManager.getConnection(url, "sa", "");
+        insertFine = connection.prepareStatement(
+                "insert into fines(fine_id, amount, reason, is_paid) values (?, 10.00, 'Overdue', 'false')");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException, SQLException {
+        connection.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public int insertFine() throws SQLException {
+        insertFine.setString(1, generator.next());
+        return insertFine.executeUpdate();
+    }
+}
@@ -1,11 +1,35 @@
 package com.library.fines;
 
+import com.library.fines.utils.IdentifierGenerator;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class FinesServiceApplication {
 
+	// the in-memory database outlives a context, so under h2 it is rebuilt from the migrations on every start
+	@Bean
+	@Profile("h2")
+	FlywayMigrationStrategy cleanMigrateStrategy() {
+		return flyway -> {
+			flyway.clean();
+			flyway.migrate();
+		};
+	}
+
+	// the generator the identifier classes take new ids from
+	@Bean
+	IdentifierGenerator identifierGenerator(@Value("${app.identifiers.generator:time-ordered}") IdentifierGenerator generator) {
+		IdentifierGenerator.use(generator);
+		return generator;
+	}
+
 	public static void main(String[] args) {
 		SpringApplication.run(FinesServiceApplication.class, args);
 	}
@@ -3,16 +3,19 @@ package com.library.fines.businesslayer;
 
 import com.library.fines.presentationlayer.FineRequestModel;
 import com.library.fines.presentationlayer.FineResponseModel;
+import com.library.fines.utils.CursorPage;
 
 import java.util.List;
 
 public interface FineService {
-    List<FineResponseModel> getAllFines();
+    CursorPage<FineResponseModel> getAllFines(String cursor, Integer size);
 
     FineResponseModel getFine(String fineId);
 
     FineResponseModel addFine(FineRequestModel fineRequestModel);
 
+    List<FineResponseModel> addFines(List<FineRequestModel> fineRequestModels);
+
     FineResponseModel updateFine(FineRequestModel fineRequestModel, String fineId);
 
     void deleteFine(String fineId);
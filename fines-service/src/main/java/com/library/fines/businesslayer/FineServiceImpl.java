@@ -7,9 +7,15 @@ import com.library.fines.datamapperlayer.FineRequestMapper;
 import com.library.fines.datamapperlayer.FineResponseMapper;
 import com.library.fines.presentationlayer.FineRequestModel;
 import com.library.fines.presentationlayer.FineResponseModel;
+import com.library.fines.utils.CursorPage;
+import com.library.fines.utils.Pagination;
 import com.library.fines.utils.exceptions.InvalidAmountException;
+import com.library.fines.utils.exceptions.InvalidBatchException;
 import com.library.fines.utils.exceptions.NotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -20,16 +26,23 @@ public class FineServiceImpl implements FineService{
     private final FineRepository fineRepository;
     private final FineResponseMapper fineResponseMapper;
     private final FineRequestMapper fineRequestMapper;
+    private final int maxBatchSize;
+    private final Pagination pagination;
 
-    public FineServiceImpl(FineRepository fineRepository, FineResponseMapper fineResponseMapper, FineRequestMapper fineRequestMapper) {
+    public FineServiceImpl(FineRepository fineRepository, FineResponseMapper fineResponseMapper, FineRequestMapper fineRequestMapper,
+                           @Value("${app.fines.max-batch-size:500}") int maxBatchSize, Pagination pagination) {
         this.fineRepository = fineRepository;
         this.fineResponseMapper = fineResponseMapper;
         this.fineRequestMapper = fineRequestMapper;
+        this.maxBatchSize = maxBatchSize;
+        this.pagination = pagination;
     }
 
     @Override
-    public List<FineResponseModel> getAllFines() {
-        return fineResponseMapper.entityListToResponseModelList(fineRepository.findAll());
+    public CursorPage<FineResponseModel> getAllFines(String cursor, Integer size) {
+        int pageSize = pagination.pageSize(size);
+        List<Fine> fines = fineRepository.findAllByIdGreaterThanOrderByIdAsc(CursorPage.decodeId(cursor), Limit.of(pageSize + 1));
+        return CursorPage.of(fines, pageSize, Fine::getId, fineResponseMapper::entityListToResponseModelList);
     }
 
     @Override
@@ -49,6 +62,25 @@ public class FineServiceImpl implements FineService{
         return fineResponseMapper.entityToResponseModel(fineRepository.save(fine));
     }
 
+    // All fines are created in one transaction, and the response keeps the order of the request.
+    @Override
+    @Transactional
+    public List<FineResponseModel> addFines(List<FineRequestModel> fineRequestModels) {
+        if (fineRequestModels == null || fineRequestModels.isEmpty())
+            throw new InvalidBatchException("At least one fine must be provided");
+        if (fineRequestModels.size() > maxBatchSize)
+            throw new InvalidBatchException("A batch can hold at most " + maxBatchSize + " fines");
+        for (FineRequestModel fineRequestModel : fineRequestModels) {
+            if (fineRequestModel.getAmount() == null || fineRequestModel.getAmount().compareTo(new BigDecimal("0.00")) < 0)
+                throw new InvalidAmountException("The fine must have a positive value");
+        }
+
+        List<Fine> fines = fineRequestModels.stream()
+                .map(fineRequestModel -> fineRequestMapper.requestModelToEntity(fineRequestModel, new FineIdentifier()))
+                .toList();
+        return fineResponseMapper.entityListToResponseModelList(fineRepository.saveAll(fines));
+    }
+
     @Override
     public FineResponseModel updateFine(FineRequestModel fineRequestModel, String fineId) {
         Fine existingFine = fineRepository.findByFineIdentifier_FineId(fineId);
@@ -58,6 +90,7 @@ public class FineServiceImpl implements FineService{
             throw new InvalidAmountException("The fine must have a positive value");
         Fine updatedFine = fineRequestMapper.requestModelToEntity(fineRequestModel, existingFine.getFineIdentifier());
         updatedFine.setId(existingFine.getId());
+        updatedFine.setVersion(existingFine.getVersion());
         return fineResponseMapper.entityToResponseModel(fineRepository.save(updatedFine));
     }
 
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 
@@ -22,6 +23,11 @@ public class Fine {
     private String reason;
     private Boolean isPaid;
 
+    // rows loaded by the data scripts start at version 0
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
     public Fine(@NotNull BigDecimal amount, @NotNull String reason, @NotNull Boolean isPaid) {
         this.fineIdentifier = new FineIdentifier();
         this.amount = amount;
@@ -1,11 +1,10 @@
 package com.library.fines.datalayer;
 
+import com.library.fines.utils.IdentifierGenerator;
 import jakarta.persistence.Embeddable;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
-import java.util.UUID;
-
 @Embeddable
 @Getter
 @AllArgsConstructor
@@ -14,6 +13,6 @@ public class FineIdentifier {
     private String fineId;
 
     public FineIdentifier() {
-        this.fineId = UUID.randomUUID().toString();
+        this.fineId = IdentifierGenerator.nextId();
     }
 }
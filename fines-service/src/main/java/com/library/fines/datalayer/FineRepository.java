@@ -1,8 +1,14 @@
 package com.library.fines.datalayer;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
+
 public interface FineRepository extends JpaRepository<Fine, Integer> {
 
     Fine findByFineIdentifier_FineId(String fineId);
+
+    // keyset page, the rows after the given id in id order
+    List<Fine> findAllByIdGreaterThanOrderByIdAsc(Integer id, Limit limit);
 }
@@ -10,6 +10,7 @@ import org.mapstruct.Mapping;
 public interface FineRequestMapper {
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
 //    @Mapping(target = "fineId", source = "fineIdentifier")
 //    @Mapping(expression = "java(patronIdentifier)", target = "patronIdentifier")
     Fine requestModelToEntity(FineRequestModel fineRequestModel,
@@ -2,16 +2,18 @@ package com.library.fines.datamapperlayer;
 
 import com.library.fines.datalayer.Fine;
 import com.library.fines.presentationlayer.FineResponseModel;
+import com.library.fines.utils.ETags;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
 import java.util.List;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", imports = ETags.class)
 public interface FineResponseMapper {
 
     @Mapping(expression = "java(fine.getFineIdentifier() != null ? fine.getFineIdentifier().getFineId() : null)",
             target = "fineId")
+    @Mapping(expression = "java(ETags.of(fine.getId(), fine.getVersion()))", target = "etag")
 //    @Mapping(expression = "java(patron.getPatronIdentifier().getPatronId())", target = "patronId")
     FineResponseModel entityToResponseModel(Fine fine);
 
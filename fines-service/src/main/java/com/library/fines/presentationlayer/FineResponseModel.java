@@ -1,8 +1,10 @@
 package com.library.fines.presentationlayer;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
@@ -18,4 +20,9 @@ public class FineResponseModel {
     private String reason;
     private Boolean isPaid;
 //    private String patronId;
+
+    // sent as the ETag header, not in the body
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private String etag;
 }
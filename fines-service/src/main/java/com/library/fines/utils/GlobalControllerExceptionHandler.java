@@ -1,6 +1,8 @@
 package com.library.fines.utils;
 
 import com.library.fines.utils.exceptions.InvalidAmountException;
+import com.library.fines.utils.exceptions.InvalidBatchException;
+import com.library.fines.utils.exceptions.InvalidCursorException;
 import com.library.fines.utils.exceptions.NotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -29,6 +31,18 @@ public class GlobalControllerExceptionHandler {
         return createHttpErrorInfo(UNPROCESSABLE_ENTITY, request, ex);
     }
 
+    @ResponseStatus(UNPROCESSABLE_ENTITY)
+    @ExceptionHandler(InvalidBatchException.class)
+    public HttpErrorInfo handleInvalidBatchException(WebRequest request, Exception ex) {
+        return createHttpErrorInfo(UNPROCESSABLE_ENTITY, request, ex);
+    }
+
+    @ResponseStatus(UNPROCESSABLE_ENTITY)
+    @ExceptionHandler(InvalidCursorException.class)
+    public HttpErrorInfo handleInvalidCursorException(WebRequest request, Exception ex) {
+        return createHttpErrorInfo(UNPROCESSABLE_ENTITY, request, ex);
+    }
+
     private HttpErrorInfo createHttpErrorInfo(HttpStatus httpStatus, WebRequest request, Exception ex) {
         final String path = request.getDescription(false);
         // final String path = request.getPath().pathWithinApplication().value();
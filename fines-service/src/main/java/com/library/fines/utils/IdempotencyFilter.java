@@ -0,0 +1,232 @@
+package com.library.fines.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.fines.datalayer.idempotency.IdempotencyRecord;
+import com.library.fines.datalayer.idempotency.IdempotencyRecordRepository;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+
+// Makes writes sent with an Idempotency-Key safe to retry. The first request claims the key through the unique
+// index, a 2xx response is stored against it and replayed for any later request with the same key. A key reused
+// for a different request is rejected with 422, a key whose first request is still running with 409. The write
+// and its stored response commit in one transaction, so a first request that never stored a response, e.g. because
+// the service stopped while handling it, left no write behind either. It holds the key for app.idempotency.lease,
+// after that the same request may take the key over and run again. A first request still running by then finds
+// its claim gone when it stores its response and rolls back, so only one of them writes.
+@Component
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final Set<String> METHODS = Set.of("POST", "PUT", "PATCH");
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+    private final Duration lease;
+
+    public IdempotencyFilter(IdempotencyRecordRepository idempotencyRecordRepository,
+                             PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                             @Value("${app.idempotency.lease:PT1M}") Duration lease) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.transactionManager = transactionManager;
+        this.objectMapper = objectMapper;
+        this.lease = lease;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !METHODS.contains(request.getMethod()) || request.getHeader(HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = request.getHeader(HEADER);
+        byte[] body = StreamUtils.copyToByteArray(request.getInputStream());
+        String requestHash = hash(request, body);
+
+        // a takeover replaces the claim's time, so the time tells this request whether it still holds the key
+        Instant claimedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        try {
+            idempotencyRecordRepository.saveAndFlush(new IdempotencyRecord(key, requestHash, claimedAt));
+        } catch (DataIntegrityViolationException ex) {
+            if (!claimAbandoned(key, requestHash, claimedAt)) {
+                replay(key, requestHash, request, response);
+                return;
+            }
+        }
+
+        // the services' transactions join this one, nothing they write commits before the response is stored
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        TransactionStatus transaction = transactionManager.getTransaction(TransactionDefinition.withDefaults());
+        try {
+            filterChain.doFilter(new CachedBodyRequest(request, body), cachingResponse);
+        } catch (IOException | ServletException | RuntimeException ex) {
+            transactionManager.rollback(transaction);
+            idempotencyRecordRepository.release(key, claimedAt);
+            throw ex;
+        }
+
+        // only a success is worth replaying, anything else releases the key so the client can retry
+        if (!HttpStatus.valueOf(cachingResponse.getStatus()).is2xxSuccessful()) {
+            transactionManager.rollback(transaction);
+            idempotencyRecordRepository.release(key, claimedAt);
+            cachingResponse.copyBodyToResponse();
+            return;
+        }
+
+        try {
+            int stored = idempotencyRecordRepository.storeResponse(key, claimedAt, cachingResponse.getStatus(),
+                    cachingResponse.getContentType(), cachingResponse.getHeader(HttpHeaders.ETAG),
+                    cachingResponse.getContentAsByteArray());
+            if (stored == 0) {
+                transactionManager.rollback(transaction);
+                log.debug("Idempotency key: {} was taken over while its first request ran, rolled back", key);
+                response.reset();
+                writeError(HttpStatus.CONFLICT, request, response,
+                        "A request with idempotency key " + key + " is still in progress");
+                return;
+            }
+            transactionManager.commit(transaction);
+        } catch (RuntimeException ex) {
+            if (!transaction.isCompleted()) {
+                transactionManager.rollback(transaction);
+            }
+            idempotencyRecordRepository.release(key, claimedAt);
+            // the version checks of managed entities only run when the commit flushes them
+            if (ex instanceof OptimisticLockingFailureException) {
+                response.reset();
+                writeError(HttpStatus.CONFLICT, request, response, ex.getMessage());
+                return;
+            }
+            throw ex;
+        }
+        cachingResponse.copyBodyToResponse();
+    }
+
+    private boolean claimAbandoned(String key, String requestHash, Instant claimedAt) {
+        if (idempotencyRecordRepository.claimAbandoned(key, requestHash, claimedAt.minus(lease), claimedAt) == 0) {
+            return false;
+        }
+        log.debug("Taking over abandoned idempotency key: {}", key);
+        return true;
+    }
+
+    private void replay(String key, String requestHash, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        IdempotencyRecord record = idempotencyRecordRepository.findByIdempotencyKey(key).orElse(null);
+        if (record != null && !record.getRequestHash().equals(requestHash)) {
+            writeError(HttpStatus.UNPROCESSABLE_ENTITY, request, response,
+                    "Idempotency key " + key + " was already used for a different request");
+            return;
+        }
+        if (record == null || record.getStatusCode() == null) {
+            writeError(HttpStatus.CONFLICT, request, response,
+                    "A request with idempotency key " + key + " is still in progress");
+            return;
+        }
+
+        log.debug("Replaying stored response for idempotency key: {}", key);
+        response.setStatus(record.getStatusCode());
+        if (record.getContentType() != null) {
+            response.setContentType(record.getContentType());
+        }
+        if (record.getEtag() != null) {
+            response.setHeader(HttpHeaders.ETAG, record.getEtag());
+        }
+        response.getOutputStream().write(record.getBody());
+    }
+
+    private void writeError(HttpStatus httpStatus, HttpServletRequest request, HttpServletResponse response,
+                            String message) throws IOException {
+        log.debug("Returning HTTP status: {} for path: {}, message: {}", httpStatus, request.getRequestURI(), message);
+        response.setStatus(httpStatus.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new HttpErrorInfo(httpStatus, "uri=" + request.getRequestURI(), message));
+    }
+
+    private static String hash(HttpServletRequest request, byte[] body) {
+        String target = request.getMethod() + " " + request.getRequestURI()
+                + (request.getQueryString() == null ? "" : "?" + request.getQueryString()) + "\n";
+        byte[] targetBytes = target.getBytes(StandardCharsets.UTF_8);
+        byte[] all = new byte[targetBytes.length + body.length];
+        System.arraycopy(targetBytes, 0, all, 0, targetBytes.length);
+        System.arraycopy(body, 0, all, targetBytes.length, body.length);
+        return DigestUtils.md5DigestAsHex(all);
+    }
+
+    // the body has already been read to hash it, so it is served again from memory
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.library.fines.utils;
+
+import com.library.fines.datalayer.idempotency.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+// Drops stored idempotent responses once they are older than the ttl, a retry after that runs the write again.
+@Component
+@Slf4j
+public class IdempotencyRecordPurger {
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final Duration ttl;
+
+    public IdempotencyRecordPurger(IdempotencyRecordRepository idempotencyRecordRepository,
+                                   @Value("${app.idempotency.ttl:24h}") Duration ttl) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.ttl = ttl;
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval:PT10M}")
+    public void purgeExpired() {
+        int purged = idempotencyRecordRepository.deleteAllCreatedBefore(Instant.now().minus(ttl));
+        if (purged > 0) {
+            log.debug("Purged {} expired idempotency keys", purged);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.library.fines.utils;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Where the identifier classes take new ids from, chosen on startup with app.identifiers.generator.
+// TIME_ORDERED follows the UUID version 7 layout: the first 48 bits are the creation time in milliseconds, so new ids
+// land at the right end of the id indexes instead of on a random page each, and the random bits come from
+// ThreadLocalRandom, which never blocks or contends like the SecureRandom behind UUID.randomUUID(). The ids are
+// lookup keys, not secrets, but RANDOM keeps the unpredictable version 4 ids. Both are lowercase 36 character UUIDs.
+public enum IdentifierGenerator {
+
+    TIME_ORDERED {
+        @Override
+        public String next() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long mostSigBits = System.currentTimeMillis() << 16 | VERSION_7 | random.nextInt(1 << 12);
+            long leastSigBits = random.nextLong() & ~VARIANT_MASK | VARIANT_IETF;
+            return new UUID(mostSigBits, leastSigBits).toString();
+        }
+    },
+
+    RANDOM {
+        @Override
+        public String next() {
+            return UUID.randomUUID().toString();
+        }
+    };
+
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_MASK = 0xC000000000000000L;
+    private static final long VARIANT_IETF = 0x8000000000000000L;
+
+    private static volatile IdentifierGenerator current = TIME_ORDERED;
+
+    public abstract String next();
+
+    public static String nextId() {
+        return current.next();
+    }
+
+    public static void use(IdentifierGenerator generator) {
+        current = generator;
+    }
+}
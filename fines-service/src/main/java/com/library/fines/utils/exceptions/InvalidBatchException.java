@@ -0,0 +1,12 @@
+package com.library.fines.utils.exceptions;
+
+public class InvalidBatchException extends RuntimeException{
+
+    public InvalidBatchException() {}
+
+    public InvalidBatchException(String message) { super(message); }
+
+    public InvalidBatchException(Throwable cause) { super(cause); }
+
+    public InvalidBatchException(String message, Throwable cause) { super(message, cause); }
+}
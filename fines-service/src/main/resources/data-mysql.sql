@@ -1,4 +1,6 @@
-INSERT INTO fines (fine_id, amount, reason, is_paid) VALUES
+-- run on every start of the docker profile: a row whose unique key is already there is skipped, not inserted twice
+
+INSERT IGNORE INTO fines (fine_id, amount, reason, is_paid) VALUES
                                                          ('ef23ab6e-d614-47b9-95d0-d66167ae5081', 0.50, 'Late return', 'true'),
                                                          ('549ac9a5-076c-4954-b735-38426ba365c0', 5.75, 'Late return', 'false'),
                                                          ('5a059803-2f79-4e15-84bd-cfbffc048053', 1.25, 'Late return', 'true'),
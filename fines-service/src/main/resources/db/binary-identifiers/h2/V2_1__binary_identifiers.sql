@@ -0,0 +1,2 @@
+-- fine ids as 16 byte UUIDs, H2 parses the existing strings and rebuilds the index on them
+alter table fines alter column fine_id set data type uuid;
@@ -0,0 +1,6 @@
+-- fine ids as 16 byte UUIDs. The strings are packed in place, the column is widened first so the packed bytes fit
+-- next to the strings not converted yet. An id that is not a UUID is left as it was, fails the last step and the
+-- migration with it, so no id is silently lost.
+alter table fines modify fine_id VARBINARY(36);
+update fines set fine_id = coalesce(unhex(replace(fine_id, '-', '')), fine_id) where length(fine_id) = 36;
+alter table fines modify fine_id BINARY(16);
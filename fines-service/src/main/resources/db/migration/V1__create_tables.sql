@@ -0,0 +1,23 @@
+-- the schema as schema-mysql.sql created it, databases set up from that script are baselined at this version
+
+create table fines (
+    id INTEGER NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    fine_id VARCHAR(36),
+    amount DECIMAL(19,2),
+    reason VARCHAR(50),
+    is_paid VARCHAR(36),
+    version BIGINT NOT NULL DEFAULT 0
+    );
+
+create table idempotency_keys (
+    id INTEGER NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    idempotency_key VARCHAR(255) NOT NULL UNIQUE,
+    request_hash VARCHAR(32),
+    status_code INTEGER,
+    content_type VARCHAR(255),
+    etag VARCHAR(255),
+    body LONGBLOB,
+    created_at TIMESTAMP(6)
+    );
+
+create index idempotency_keys_created_at on idempotency_keys (created_at);
@@ -0,0 +1,2 @@
+-- every fine lookup filters on its public id, unique so a duplicate id fails the insert
+create unique index fines_fine_id on fines (fine_id);
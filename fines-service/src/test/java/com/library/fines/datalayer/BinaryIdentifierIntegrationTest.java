@@ -0,0 +1,100 @@
+package com.library.fines.datalayer;
+
+import com.library.fines.presentationlayer.FineRequestModel;
+import com.library.fines.presentationlayer.FineResponseModel;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.test.annotation.DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD;
+
+// The API run against fine ids stored as UUIDs, the JSON must look the same as with string ids
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+@ActiveProfiles({"h2", "binary-ids"})
+@DirtiesContext(classMode = AFTER_EACH_TEST_METHOD)
+class BinaryIdentifierIntegrationTest {
+
+    private final String BASE_URI_FINES = "api/v1/fines";
+    private final String FOUND_FINE_ID = "ef23ab6e-d614-47b9-95d0-d66167ae5081";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    // positive test case
+    @Test
+    public void whenBinaryIds_thenStoreFineIdsAsUuid() {
+        // act
+        String type = jdbcTemplate.queryForObject("select data_type from information_schema.columns "
+                + "where table_name = 'FINES' and column_name = 'FINE_ID'", String.class);
+
+        // assert
+        assertEquals("UUID", type);
+    }
+
+    // positive test case
+    @Test
+    public void whenGetFineExists_thenReturnFineIdAsString() {
+        // act & assert
+        webTestClient.get()
+                .uri(BASE_URI_FINES + "/" + FOUND_FINE_ID)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.fineId").isEqualTo(FOUND_FINE_ID)
+                .jsonPath("$.reason").isEqualTo("Late return");
+    }
+
+    // positive test case
+    @Test
+    public void whenFineCreated_thenFindItByItsId() {
+        // arrange
+        FineRequestModel fineRequestModel = new FineRequestModel(new BigDecimal("0.50"), "Late return", false);
+        FineResponseModel created = webTestClient.post()
+                .uri(BASE_URI_FINES)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(fineRequestModel)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(FineResponseModel.class)
+                .returnResult().getResponseBody();
+
+        // act & assert
+        assertNotNull(created);
+        assertEquals(created.getFineId(), UUID.fromString(created.getFineId()).toString());
+        webTestClient.get()
+                .uri(BASE_URI_FINES + "/" + created.getFineId())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.fineId").isEqualTo(created.getFineId());
+    }
+
+    // negative test case
+    @Test
+    public void whenFineIdNotAUuid_thenReturnNotFound() {
+        // act & assert
+        webTestClient.get()
+                .uri(BASE_URI_FINES + "/not-a-uuid")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Unknown fineId: not-a-uuid");
+    }
+}
@@ -0,0 +1,78 @@
+package com.library.fines.datalayer;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs H2's EXPLAIN on the SQL the repository methods actually send, against the schema the migrations create
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.library.fines.datalayer.QueryPlanIntegrationTest$LastStatement")
+class QueryPlanIntegrationTest {
+
+    private static final String FINE_ID = "ef23ab6e-d614-47b9-95d0-d66167ae5081";
+
+    @Autowired
+    private FineRepository fineRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // positive test case
+    @Test
+    public void whenFindByFineId_thenUseFineIdIndex() {
+        // act
+        fineRepository.findByFineIdentifier_FineId(FINE_ID);
+        String plan = explain(FINE_ID);
+
+        // assert
+        assertTrue(plan.contains("PUBLIC.FINES_FINE_ID: FINE_ID ="), plan);
+    }
+
+    // positive test case
+    @Test
+    public void whenPageThroughFines_thenUsePrimaryKey() {
+        // act
+        fineRepository.findAllByIdGreaterThanOrderByIdAsc(0, Limit.of(20));
+        String plan = explain(0, 20);
+
+        // assert
+        assertTrue(plan.contains("PUBLIC.PRIMARY_KEY_"), plan);
+        assertFalse(plan.contains("tableScan"), plan);
+    }
+
+    // negative test case
+    @Test
+    public void whenFineIdDuplicated_thenRejectInsert() {
+        // arrange
+        jdbcTemplate.update("insert into fines(fine_id, amount, reason, is_paid) values (?, 0.50, 'Late return', 'true')",
+                FINE_ID);
+
+        // act & assert
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "insert into fines(fine_id, amount, reason, is_paid) values (?, 0.75, 'Late return', 'false')",
+                FINE_ID));
+    }
+
+    private String explain(Object... parameters) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + LastStatement.sql, String.class, parameters);
+    }
+
+    public static class LastStatement implements StatementInspector {
+
+        private static volatile String sql;
+
+        @Override
+        public String inspect(String sql) {
+            LastStatement.sql = sql;
+            return sql;
+        }
+    }
+}
@@ -1,17 +1,33 @@
 package com.library.fines.presentationlayer;
 
+import com.library.fines.businesslayer.FineService;
+import com.library.fines.datalayer.Fine;
 import com.library.fines.datalayer.FineRepository;
+import com.library.fines.datalayer.idempotency.IdempotencyRecord;
+import com.library.fines.datalayer.idempotency.IdempotencyRecordRepository;
+import com.library.fines.utils.CursorPage;
+import com.library.fines.utils.IdempotencyFilter;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
 import static org.springframework.test.annotation.DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD;
 
@@ -30,6 +46,12 @@ class FineControllerIntegrationTest {
     @Autowired
     private FineRepository fineRepository;
 
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @SpyBean
+    private FineService fineService;
+
     @Autowired
     private WebTestClient webTestClient;
 
@@ -76,6 +98,53 @@ class FineControllerIntegrationTest {
                 });
     }
 
+    // positive path
+    @Test
+    public void whenGetFinesPageByPage_thenFollowCursorThroughAllFines() {
+
+        // arrange
+        fineRepository.saveAll(List.of(
+                new Fine(new BigDecimal("0.25"), "Overdue books", false),
+                new Fine(new BigDecimal("0.75"), "Overdue books", false)));
+        long sizeDB = fineRepository.count();
+        List<String> fineIds = new ArrayList<>();
+        String cursor = null;
+
+        // act
+        do {
+            EntityExchangeResult<List<FineResponseModel>> result = webTestClient.get()
+                    .uri(BASE_URI_FINES + "?size=2" + (cursor == null ? "" : "&cursor=" + cursor))
+                    .accept(MediaType.APPLICATION_JSON)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBodyList(FineResponseModel.class)
+                    .returnResult();
+
+            assertTrue(result.getResponseBody().size() <= 2);
+            result.getResponseBody().forEach(fine -> fineIds.add(fine.getFineId()));
+            cursor = result.getResponseHeaders().getFirst(CursorPage.NEXT_CURSOR_HEADER);
+        } while (cursor != null);
+
+        // assert
+        assertEquals(sizeDB, fineIds.size());
+        assertEquals(sizeDB, fineIds.stream().distinct().count());
+    }
+
+    // negative path
+    @Test
+    public void whenGetFinesWithInvalidCursor_thenReturnUnprocessableEntity() {
+
+        // act & assert
+        webTestClient.get()
+                .uri(BASE_URI_FINES + "?cursor=not-a-cursor")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().is4xxClientError()
+                .expectBody()
+                .jsonPath("$.httpStatus").isEqualTo("UNPROCESSABLE_ENTITY")
+                .jsonPath("$.message").isEqualTo("Invalid cursor: not-a-cursor");
+    }
+
     // positive test case
     @Test
     public void whenGetFineExists_thenReturnFineByFineId() {
@@ -97,6 +166,30 @@ class FineControllerIntegrationTest {
                 });
     }
 
+    // positive test case
+    @Test
+    public void whenGetFineWithMatchingETag_thenReturnNotModified() {
+
+        // arrange
+        String etag = webTestClient.get()
+                .uri(BASE_URI_FINES + "/" + FOUND_FINE_ID)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .returnResult(FineResponseModel.class)
+                .getResponseHeaders().getETag();
+
+        // act & assert
+        webTestClient.get()
+                .uri(BASE_URI_FINES + "/" + FOUND_FINE_ID)
+                .accept(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
     // negative test case
     @Test
     public void whenGetFineDoesNotExist_thenReturnNotFound() {
@@ -160,6 +253,184 @@ class FineControllerIntegrationTest {
                 .jsonPath("$.message").isEqualTo("The fine must have a positive value");
     }
 
+    // positive path
+    @Test
+    public void whenFinePostedTwiceWithSameIdempotencyKey_thenCreateOneFine() {
+
+        // arrange
+        long sizeDB = fineRepository.count();
+        FineRequestModel fineRequestModel = new FineRequestModel(new BigDecimal("0.50"), "Late return", false);
+        List<String> fineIds = new ArrayList<>();
+
+        // act
+        for (int i = 0; i < 2; i++) {
+            webTestClient.post()
+                    .uri(BASE_URI_FINES)
+                    .header(IdempotencyFilter.HEADER, "5f0c6c1e-5a8c-4a47-9f4b-0d7b1b6b8d11")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .bodyValue(fineRequestModel)
+                    .exchange()
+                    .expectStatus().isCreated()
+                    .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                    .expectBody(FineResponseModel.class)
+                    .value((fineResponseModel) -> fineIds.add(fineResponseModel.getFineId()));
+        }
+
+        // assert
+        assertEquals(sizeDB + 1, fineRepository.count());
+        assertEquals(fineIds.get(0), fineIds.get(1));
+    }
+
+    // negative test case
+    @Test
+    public void whenFirstRequestStillInProgress_thenReturnConflict() {
+
+        // arrange
+        long sizeDB = fineRepository.count();
+        FineRequestModel fineRequestModel = new FineRequestModel(new BigDecimal("0.50"), "Late return", false);
+        leaveRequestUncommitted(postFineWithIdempotencyKey(fineRequestModel), Instant.now());
+
+        // act & assert
+        postWithIdempotencyKey(fineRequestModel)
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.httpStatus").isEqualTo("CONFLICT");
+
+        assertEquals(sizeDB, fineRepository.count());
+    }
+
+    // positive path
+    @Test
+    public void whenFirstRequestAbandonedPastLease_thenTakeOverKey() {
+
+        // arrange
+        long sizeDB = fineRepository.count();
+        FineRequestModel fineRequestModel = new FineRequestModel(new BigDecimal("0.50"), "Late return", false);
+        leaveRequestUncommitted(postFineWithIdempotencyKey(fineRequestModel), Instant.now().minus(Duration.ofMinutes(2)));
+
+        // act
+        postWithIdempotencyKey(fineRequestModel).expectStatus().isCreated();
+
+        // assert
+        assertEquals(sizeDB + 1, fineRepository.count());
+        assertNotNull(idempotencyRecordRepository.findByIdempotencyKey("5f0c6c1e-5a8c-4a47-9f4b-0d7b1b6b8d11")
+                .orElseThrow().getStatusCode());
+    }
+
+    // negative test case
+    @Test
+    public void whenKeyTakenOverWhileFirstRequestRuns_thenRollBackFirstRequest() {
+
+        // arrange, another request takes the key over between the fine's insert and the stored response
+        long sizeDB = fineRepository.count();
+        FineRequestModel fineRequestModel = new FineRequestModel(new BigDecimal("0.50"), "Late return", false);
+        doAnswer(invocation -> {
+            Object fine = invocation.callRealMethod();
+            CompletableFuture.runAsync(() -> {
+                IdempotencyRecord record = idempotencyRecordRepository
+                        .findByIdempotencyKey("5f0c6c1e-5a8c-4a47-9f4b-0d7b1b6b8d11").orElseThrow();
+                record.setCreatedAt(record.getCreatedAt().plusSeconds(61));
+                idempotencyRecordRepository.save(record);
+            }).join();
+            return fine;
+        }).when(fineService).addFine(any(FineRequestModel.class));
+
+        // act & assert
+        postWithIdempotencyKey(fineRequestModel)
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.httpStatus").isEqualTo("CONFLICT");
+
+        assertEquals(sizeDB, fineRepository.count());
+        assertNull(idempotencyRecordRepository.findByIdempotencyKey("5f0c6c1e-5a8c-4a47-9f4b-0d7b1b6b8d11")
+                .orElseThrow().getStatusCode());
+    }
+
+    // negative test case
+    @Test
+    public void whenIdempotencyKeyReusedForOtherFine_thenReturnUnprocessableEntity() {
+
+        // arrange
+        long sizeDB = fineRepository.count();
+        webTestClient.post()
+                .uri(BASE_URI_FINES)
+                .header(IdempotencyFilter.HEADER, "5f0c6c1e-5a8c-4a47-9f4b-0d7b1b6b8d11")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new FineRequestModel(new BigDecimal("0.50"), "Late return", false))
+                .exchange()
+                .expectStatus().isCreated();
+
+        // act & assert
+        webTestClient.post()
+                .uri(BASE_URI_FINES)
+                .header(IdempotencyFilter.HEADER, "5f0c6c1e-5a8c-4a47-9f4b-0d7b1b6b8d11")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(new FineRequestModel(new BigDecimal("0.75"), "Late return", false))
+                .exchange()
+                .expectStatus().isEqualTo(422)
+                .expectBody()
+                .jsonPath("$.httpStatus").isEqualTo("UNPROCESSABLE_ENTITY");
+
+        assertEquals(sizeDB + 1, fineRepository.count());
+    }
+
+    // positive path
+    @Test
+    public void whenValidFines_thenCreateFinesInOneBatch() {
+
+        // arrange
+        long sizeDB = fineRepository.count();
+        FineBatchRequestModel fineBatchRequestModel = new FineBatchRequestModel(List.of(
+                new FineRequestModel(new BigDecimal("0.25"), "Overdue books", false),
+                new FineRequestModel(new BigDecimal("0.75"), "Overdue books", false)));
+
+        // act & assert
+        webTestClient.post()
+                .uri(BASE_URI_FINES + "/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(fineBatchRequestModel)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBodyList(FineResponseModel.class)
+                .value((fineResponseModels) -> {
+                    assertEquals(2, fineResponseModels.size());
+                    assertNotNull(fineResponseModels.get(0).getFineId());
+                    assertEquals(new BigDecimal("0.25"), fineResponseModels.get(0).getAmount());
+                    assertEquals(new BigDecimal("0.75"), fineResponseModels.get(1).getAmount());
+                });
+
+        assertEquals(sizeDB + 2, fineRepository.count());
+    }
+
+    // negative test case
+    @Test
+    public void whenBatchHasInvalidFine_thenCreateNothing() {
+
+        // arrange
+        long sizeDB = fineRepository.count();
+        FineBatchRequestModel fineBatchRequestModel = new FineBatchRequestModel(List.of(
+                new FineRequestModel(new BigDecimal("0.25"), "Overdue books", false),
+                new FineRequestModel(new BigDecimal("-0.01"), "Overdue books", false)));
+
+        // act & assert
+        webTestClient.post()
+                .uri(BASE_URI_FINES + "/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(fineBatchRequestModel)
+                .exchange()
+                .expectStatus().is4xxClientError()
+                .expectBody()
+                .jsonPath("$.httpStatus").isEqualTo("UNPROCESSABLE_ENTITY")
+                .jsonPath("$.message").isEqualTo("The fine must have a positive value");
+
+        assertEquals(sizeDB, fineRepository.count());
+    }
+
     // positive test case
     @Test
     public void whenValidFine_thenUpdateFine() {
@@ -256,4 +527,33 @@ class FineControllerIntegrationTest {
                 .jsonPath("$.message").isEqualTo("Unknown fineId: " + NOT_FOUND_FINE_ID);
     }
 
-}
\ No newline at end of file
+    private WebTestClient.ResponseSpec postWithIdempotencyKey(FineRequestModel fineRequestModel) {
+        return webTestClient.post()
+                .uri(BASE_URI_FINES)
+                .header(IdempotencyFilter.HEADER, "5f0c6c1e-5a8c-4a47-9f4b-0d7b1b6b8d11")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(fineRequestModel)
+                .exchange();
+    }
+
+    private String postFineWithIdempotencyKey(FineRequestModel fineRequestModel) {
+        return postWithIdempotencyKey(fineRequestModel)
+                .expectStatus().isCreated()
+                .expectBody(FineResponseModel.class)
+                .returnResult()
+                .getResponseBody()
+                .getFineId();
+    }
+
+    // as if the first request had stopped before its transaction committed, which takes its fine with it
+    private void leaveRequestUncommitted(String fineId, Instant createdAt) {
+        fineRepository.delete(fineRepository.findByFineIdentifier_FineId(fineId));
+        IdempotencyRecord record = idempotencyRecordRepository
+                .findByIdempotencyKey("5f0c6c1e-5a8c-4a47-9f4b-0d7b1b6b8d11").orElseThrow();
+        record.setStatusCode(null);
+        record.setBody(null);
+        record.setCreatedAt(createdAt);
+        idempotencyRecordRepository.save(record);
+    }
+}
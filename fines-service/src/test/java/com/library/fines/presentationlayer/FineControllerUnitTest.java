@@ -1,6 +1,7 @@
 package com.library.fines.presentationlayer;
 
 import com.library.fines.businesslayer.FineService;
+import com.library.fines.utils.CursorPage;
 import com.library.fines.utils.exceptions.InvalidAmountException;
 import com.library.fines.utils.exceptions.NotFoundException;
 import org.junit.jupiter.api.Test;
@@ -63,10 +64,10 @@ class FineControllerUnitTest {
         // arrange
         FineResponseModel fineResponseModel = buildFineResponseModel();
 
-        when(fineService.getAllFines()).thenReturn(Collections.singletonList(fineResponseModel));
+        when(fineService.getAllFines(null, null)).thenReturn(new CursorPage<>(Collections.singletonList(fineResponseModel), null));
 
         // act
-        ResponseEntity<List<FineResponseModel>> responseEntity = fineController.getAllFines();
+        ResponseEntity<List<FineResponseModel>> responseEntity = fineController.getAllFines(null, null);
 
         // assert
         assertNotNull(responseEntity);
@@ -74,23 +75,23 @@ class FineControllerUnitTest {
         assertFalse(responseEntity.getBody().isEmpty());
         assertEquals(1, responseEntity.getBody().size());
         assertEquals(fineResponseModel, responseEntity.getBody().get(0));
-        verify(fineService, times(1)).getAllFines();
+        verify(fineService, times(1)).getAllFines(null, null);
     }
 
     // negative test case
     @Test
     public void whenNoFineExists_thenReturnEmptyList() {
         // arrange
-        when(fineService.getAllFines()).thenReturn(Collections.emptyList());
+        when(fineService.getAllFines(null, null)).thenReturn(new CursorPage<>(Collections.emptyList(), null));
 
         //act
-        ResponseEntity<List<FineResponseModel>> responseEntity = fineController.getAllFines();
+        ResponseEntity<List<FineResponseModel>> responseEntity = fineController.getAllFines(null, null);
 
         // assert
         assertNotNull(responseEntity);
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
         assertTrue(responseEntity.getBody().isEmpty());
-        verify(fineService, times(1)).getAllFines();
+        verify(fineService, times(1)).getAllFines(null, null);
     }
 
     // positive test case
@@ -0,0 +1,96 @@
+package com.library.fines.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdentifierGeneratorUnitTest {
+
+    // positive path
+    @Test
+    public void whenTimeOrdered_thenVersion7IdsSortByCreation() throws InterruptedException {
+        // arrange
+        List<String> ids = new ArrayList<>();
+
+        // act
+        for (int i = 0; i < 5; i++) {
+            ids.add(IdentifierGenerator.TIME_ORDERED.next());
+            Thread.sleep(2);
+        }
+
+        // assert
+        for (String id : ids) {
+            UUID uuid = UUID.fromString(id);
+            assertEquals(7, uuid.version());
+            assertEquals(2, uuid.variant());
+            assertEquals(uuid.toString(), id);
+        }
+        assertEquals(ids.stream().sorted().toList(), ids);
+        long millis = UUID.fromString(ids.get(0)).getMostSignificantBits() >>> 16;
+        assertTrue(Math.abs(System.currentTimeMillis() - millis) < 60_000);
+    }
+
+    // positive path
+    @Test
+    public void whenRandom_thenVersion4Ids() {
+        // act
+        UUID uuid = UUID.fromString(IdentifierGenerator.RANDOM.next());
+
+        // assert
+        assertEquals(4, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    // positive path
+    @Test
+    public void whenGeneratorChosen_thenNextIdUsesIt() {
+        try {
+            // act
+            IdentifierGenerator.use(IdentifierGenerator.RANDOM);
+            String random = IdentifierGenerator.nextId();
+            IdentifierGenerator.use(IdentifierGenerator.TIME_ORDERED);
+            String timeOrdered = IdentifierGenerator.nextId();
+
+            // assert
+            assertEquals(4, UUID.fromString(random).version());
+            assertEquals(7, UUID.fromString(timeOrdered).version());
+        }
+        finally {
+            IdentifierGenerator.use(IdentifierGenerator.TIME_ORDERED);
+        }
+    }
+
+    // positive path
+    @Test
+    public void whenManyThreadsGenerateInTheSameMillisecond_thenNoDuplicates() throws Exception {
+        // arrange
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // act
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    ids.add(IdentifierGenerator.TIME_ORDERED.next());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // assert
+        assertEquals(8 * 50_000, ids.size());
+    }
+}
@@ -0,0 +1,66 @@
+package com.library.loans.benchmarks;
+
+import com.library.loans.utils.IdentifierGenerator;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+// Loans created one after another with random and with time-ordered loan ids, into an embedded mongod of the version
+// the tests use. The collection has the loan_id index the Loan document declares, so time-ordered ids fill its last
+// page and move on while random ids split pages all over it. The documents carry the fields a new loan is created with.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class IdentifierInsertBenchmark {
+
+    private static final String PATRON_ID = "c3540a89-cb47-4c96-888e-ff96708db4d8";
+
+    @Param({"RANDOM", "TIME_ORDERED"})
+    private IdentifierGenerator generator;
+
+    private TransitionWalker.ReachedState<RunningMongodProcess> mongod;
+    private MongoClient mongoClient;
+    private MongoCollection<Document> loans;
+    private Date borrowedDate;
+    private Date dueDate;
+
+    @Setup
+    public void setUp() {
+        mongod = Mongod.instance().start(Version.Main.V5_0);
+        ServerAddress address = mongod.current().getServerAddress();
+        mongoClient = MongoClients.create("mongodb://" + address.getHost() + ":" + address.getPort());
+        loans = mongoClient.getDatabase("loans-db").getCollection("loans");
+        loans.createIndex(Indexes.ascending("loanIdentifier.loanId"), new IndexOptions().name("loan_id").unique(true));
+        borrowedDate = Date.from(LocalDate.now().atStartOfDay(ZoneOffset.UTC).toInstant());
+        dueDate = Date.from(LocalDate.now().plusDays(21).atStartOfDay(ZoneOffset.UTC).toInstant());
+    }
+
+    @TearDown
+    public void tearDown() {
+        mongoClient.close();
+        mongod.close();
+    }
+
+    @Benchmark
+    public Object insertLoan() {
+        return loans.insertOne(new Document("loanIdentifier", new Document("loanId", generator.next()))
+                .append("patronModel", new Document("patronId", PATRON_ID))
+                .append("status", "ACTIVE")
+                .append("borrowedDate", borrowedDate)
+                .append("dueDate", dueDate));
+    }
+}
@@ -1,25 +1,46 @@
 package com.library.loans;
 
-import org.apache.hc.client5.http.classic.HttpClient;
-import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import com.library.loans.datalayer.LoanIdBinaryConverter;
+import com.library.loans.datalayer.LoanIdentifier;
+import com.library.loans.domainclientlayer.ConditionalGetInterceptor;
+import com.library.loans.domainclientlayer.DownstreamHttpClientFactory;
+import com.library.loans.utils.IdentifierGenerator;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.client.RestTemplate;
 
 @SpringBootApplication
+@EnableScheduling
 public class LoansServiceApplication {
 
 	@Bean
-	RestTemplate restTemplate() {
-		RestTemplate restTemplate = new RestTemplate();
-		HttpClient httpClient = HttpClientBuilder.create().build();
-		HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
-		restTemplate.setRequestFactory(requestFactory);
+	RestTemplate restTemplate(DownstreamHttpClientFactory downstreamHttpClientFactory,
+							  ConditionalGetInterceptor conditionalGetInterceptor) {
+		RestTemplate restTemplate = new RestTemplate(downstreamHttpClientFactory.createRoutingRequestFactory("catalog-service", "fines-service", "patrons-service"));
+		restTemplate.getInterceptors().add(conditionalGetInterceptor);
 		return restTemplate;
 	}
 
+	// the loan ids stored as 16 byte UUIDs, used by the blocking and the reactive templates alike
+	@Bean
+	@Profile("binary-ids")
+	MongoCustomConversions binaryIdConversions() {
+		return MongoCustomConversions.create(adapter -> adapter.configurePropertyConversions(registrar ->
+				registrar.registerConverter(LoanIdentifier.class, "loanId", new LoanIdBinaryConverter())));
+	}
+
+	// the generator the identifier classes take new ids from
+	@Bean
+	IdentifierGenerator identifierGenerator(@Value("${app.identifiers.generator:time-ordered}") IdentifierGenerator generator) {
+		IdentifierGenerator.use(generator);
+		return generator;
+	}
+
 	public static void main(String[] args) {
 		SpringApplication.run(LoansServiceApplication.class, args);
 	}
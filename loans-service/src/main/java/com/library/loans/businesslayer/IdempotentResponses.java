@@ -0,0 +1,32 @@
+package com.library.loans.businesslayer;
+
+import com.library.loans.datalayer.IdempotencyRecord;
+import com.library.loans.presentationlayer.LoanResponseModel;
+import com.library.loans.utils.exceptions.IdempotencyKeyReusedException;
+import com.library.loans.utils.exceptions.RequestInProgressException;
+
+// What a loan request gets back when its Idempotency-Key was seen before.
+final class IdempotentResponses {
+
+    private IdempotentResponses() {
+    }
+
+    // keys are scoped to the patron, the same key sent for another patron is a different request
+    static String recordId(String patronId, String idempotencyKey) {
+        return patronId + ":" + idempotencyKey;
+    }
+
+    // a record without a response is either still being processed, was just given up after a failure, or was
+    // abandoned less than a lease ago, all of them can be retried
+    static LoanResponseModel replay(IdempotencyRecord record, String idempotencyKey, String requestHash) {
+        if (record != null && !record.getRequestHash().equals(requestHash)) {
+            throw new IdempotencyKeyReusedException("Idempotency-Key " + idempotencyKey
+                    + " was already used for a different request");
+        }
+        if (record == null || record.getResponse() == null) {
+            throw new RequestInProgressException("A request with Idempotency-Key " + idempotencyKey
+                    + " is still in progress");
+        }
+        return record.getResponse();
+    }
+}
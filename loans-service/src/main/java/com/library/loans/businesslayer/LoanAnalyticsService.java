@@ -0,0 +1,20 @@
+package com.library.loans.businesslayer;
+
+import com.library.loans.presentationlayer.BookCheckoutsResponseModel;
+import com.library.loans.presentationlayer.DailyCheckoutsResponseModel;
+import com.library.loans.presentationlayer.LoanDurationResponseModel;
+import com.library.loans.presentationlayer.OverdueRateResponseModel;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface LoanAnalyticsService {
+
+    List<DailyCheckoutsResponseModel> getCheckoutsPerDay(LocalDate from, LocalDate to);
+
+    OverdueRateResponseModel getOverdueRate(LocalDate from, LocalDate to);
+
+    LoanDurationResponseModel getAverageLoanDuration(LocalDate from, LocalDate to);
+
+    List<BookCheckoutsResponseModel> getMostBorrowedBooks(LocalDate from, LocalDate to, Integer limit);
+}
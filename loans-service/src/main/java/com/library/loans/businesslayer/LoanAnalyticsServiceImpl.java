@@ -0,0 +1,175 @@
+package com.library.loans.businesslayer;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.library.loans.datalayer.LoanDayCounts;
+import com.library.loans.datalayer.LoanRepository;
+import com.library.loans.presentationlayer.BookCheckoutsResponseModel;
+import com.library.loans.presentationlayer.DailyCheckoutsResponseModel;
+import com.library.loans.presentationlayer.LoanDurationResponseModel;
+import com.library.loans.presentationlayer.OverdueRateResponseModel;
+import com.library.loans.utils.exceptions.InvalidDateRangeException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToLongFunction;
+
+// Circulation figures are computed by aggregation pipelines in Mongo and cached per day. A day before today
+// is closed: new checkouts, returns and due dates no longer land in it, so its bucket is kept for long. It can still
+// change when a loan is deleted or its books are swapped, so it is recomputed after closedBucketTtl. Today and later
+// days are open and only cached for a short time.
+@Service
+public class LoanAnalyticsServiceImpl implements LoanAnalyticsService {
+
+    private static final int DEFAULT_RANGE_DAYS = 30;
+    private static final int DEFAULT_TOP_BOOKS = 10;
+
+    private final LoanRepository loanRepository;
+    private final int maxRangeDays;
+    private final int maxTopBooks;
+    private final Cache<LocalDate, DailyLoanStats> buckets;
+
+    public LoanAnalyticsServiceImpl(LoanRepository loanRepository, MeterRegistry meterRegistry,
+                                    @Value("${app.analytics.cache.max-size:3660}") long maxSize,
+                                    @Value("${app.analytics.cache.open-bucket-ttl:1m}") Duration openBucketTtl,
+                                    @Value("${app.analytics.cache.closed-bucket-ttl:1h}") Duration closedBucketTtl,
+                                    @Value("${app.analytics.max-range-days:366}") int maxRangeDays,
+                                    @Value("${app.analytics.max-top-books:100}") int maxTopBooks) {
+        this.loanRepository = loanRepository;
+        this.maxRangeDays = maxRangeDays;
+        this.maxTopBooks = maxTopBooks;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<LocalDate, DailyLoanStats>() {
+                    @Override
+                    public long expireAfterCreate(LocalDate day, DailyLoanStats stats, long currentTime) {
+                        return stats.closed() ? closedBucketTtl.toNanos() : openBucketTtl.toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(LocalDate day, DailyLoanStats stats, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(day, stats, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(LocalDate day, DailyLoanStats stats, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "loans.analytics");
+    }
+
+    @Override
+    public List<DailyCheckoutsResponseModel> getCheckoutsPerDay(LocalDate from, LocalDate to) {
+        return dailyStats(from, to).stream()
+                .map(day -> new DailyCheckoutsResponseModel(day.date(), day.checkouts()))
+                .toList();
+    }
+
+    @Override
+    public OverdueRateResponseModel getOverdueRate(LocalDate from, LocalDate to) {
+        List<DailyLoanStats> days = dailyStats(from, to);
+        long due = sum(days, DailyLoanStats::due);
+        long overdue = sum(days, DailyLoanStats::overdue);
+        return new OverdueRateResponseModel(days.get(0).date(), days.get(days.size() - 1).date(),
+                due, overdue, due == 0 ? 0 : (double) overdue / due);
+    }
+
+    @Override
+    public LoanDurationResponseModel getAverageLoanDuration(LocalDate from, LocalDate to) {
+        List<DailyLoanStats> days = dailyStats(from, to);
+        long returned = sum(days, DailyLoanStats::returned);
+        long loanDays = sum(days, DailyLoanStats::loanDays);
+        return new LoanDurationResponseModel(days.get(0).date(), days.get(days.size() - 1).date(),
+                returned, returned == 0 ? 0 : (double) loanDays / returned);
+    }
+
+    @Override
+    public List<BookCheckoutsResponseModel> getMostBorrowedBooks(LocalDate from, LocalDate to, Integer limit) {
+        int topBooks = limit == null ? DEFAULT_TOP_BOOKS : Math.max(1, Math.min(limit, maxTopBooks));
+
+        Map<Long, Long> checkouts = new HashMap<>();
+        for (DailyLoanStats day : dailyStats(from, to)) {
+            day.bookCheckouts().forEach((isbn, count) -> checkouts.merge(isbn, count, Long::sum));
+        }
+        return checkouts.entrySet().stream()
+                .sorted(Map.Entry.<Long, Long>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(topBooks)
+                .map(entry -> new BookCheckoutsResponseModel(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    private List<DailyLoanStats> dailyStats(LocalDate from, LocalDate to) {
+        LocalDate today = LocalDate.now();
+        LocalDate end = to == null ? today : to;
+        LocalDate start = from == null ? end.minusDays(DEFAULT_RANGE_DAYS - 1) : from;
+        if (start.isAfter(end)) {
+            throw new InvalidDateRangeException("Invalid date range: " + start + " is after " + end);
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= maxRangeDays) {
+            throw new InvalidDateRangeException("Invalid date range: more than " + maxRangeDays + " days");
+        }
+
+        List<LocalDate> days = start.datesUntil(end.plusDays(1)).toList();
+        Map<LocalDate, DailyLoanStats> stats = buckets.getAll(days, missingDays -> aggregate(missingDays, today));
+        return days.stream().map(stats::get).toList();
+    }
+
+    // one run of each pipeline over the span of the missing days, cached days inside the span are refreshed with them
+    private Map<LocalDate, DailyLoanStats> aggregate(Set<? extends LocalDate> missingDays, LocalDate today) {
+        LocalDate from = Collections.min(missingDays);
+        LocalDate to = Collections.max(missingDays);
+
+        Map<LocalDate, LoanDayCounts> checkouts = byDate(loanRepository.countCheckoutsPerDay(from, to));
+        Map<LocalDate, LoanDayCounts> dueLoans = byDate(loanRepository.countDueLoansPerDay(from, to, today));
+        Map<LocalDate, LoanDayCounts> returns = byDate(loanRepository.countReturnsPerDay(from, to));
+        Map<LocalDate, Map<Long, Long>> bookCheckouts = new HashMap<>();
+        for (LoanDayCounts row : loanRepository.countBookCheckoutsPerDay(from, to)) {
+            bookCheckouts.computeIfAbsent(row.getDate(), day -> new HashMap<>()).put(row.getIsbn(), row.getCheckouts());
+        }
+
+        LoanDayCounts none = new LoanDayCounts();
+        Map<LocalDate, DailyLoanStats> stats = new HashMap<>();
+        from.datesUntil(to.plusDays(1)).forEach(day -> stats.put(day, new DailyLoanStats(
+                day,
+                day.isBefore(today),
+                checkouts.getOrDefault(day, none).getCheckouts(),
+                dueLoans.getOrDefault(day, none).getDue(),
+                dueLoans.getOrDefault(day, none).getOverdue(),
+                returns.getOrDefault(day, none).getReturned(),
+                returns.getOrDefault(day, none).getLoanDays(),
+                Map.copyOf(bookCheckouts.getOrDefault(day, Map.of())))));
+        return stats;
+    }
+
+    private Map<LocalDate, LoanDayCounts> byDate(List<LoanDayCounts> rows) {
+        Map<LocalDate, LoanDayCounts> byDate = new HashMap<>();
+        rows.forEach(row -> byDate.put(row.getDate(), row));
+        return byDate;
+    }
+
+    private long sum(List<DailyLoanStats> days, ToLongFunction<DailyLoanStats> counter) {
+        return days.stream().mapToLong(counter).sum();
+    }
+
+    private record DailyLoanStats(LocalDate date, boolean closed, long checkouts, long due, long overdue,
+                                  long returned, long loanDays, Map<Long, Long> bookCheckouts) {
+    }
+}
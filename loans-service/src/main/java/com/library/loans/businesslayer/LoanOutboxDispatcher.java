@@ -0,0 +1,151 @@
+package com.library.loans.businesslayer;
+
+import com.library.loans.datalayer.BookStatusChange;
+import com.library.loans.datalayer.LoanRepository;
+import com.library.loans.datalayer.PendingStatusChange;
+import com.library.loans.domainclientlayer.catalogs.BookStatusTransitionResultModel;
+import com.library.loans.domainclientlayer.catalogs.CatalogServiceClient;
+import com.library.loans.utils.exceptions.InvalidISBNException;
+import com.library.loans.utils.exceptions.NotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Delivers the catalog status changes that loans keep in their outbox. A round takes the oldest pending changes over
+// all loans and sends only the first one of each ISBN, so changes to the same book reach the catalog in the order
+// they were made. Each change is sent with its id as the Idempotency-Key. A change whose result was lost is sent
+// again under the same key and the catalog replays the first result, so a book another loan has borrowed since is
+// not released. A change the catalog refuses for good is dropped so it does not hold up the rest, I/O errors and 5xx
+// keep every change and back off.
+@Component
+@ConditionalOnProperty(prefix = "app.outbox", name = "enabled", matchIfMissing = true)
+@Slf4j
+public class LoanOutboxDispatcher {
+
+    private static final Set<Integer> RETRYABLE_CLIENT_ERRORS = Set.of(408, 409, 429);
+
+    private final LoanRepository loanRepository;
+    private final CatalogServiceClient catalogServiceClient;
+    private final int batchSize;
+    private final Duration retryInterval;
+    private final Duration maxRetryInterval;
+    private final Counter deliveredCounter;
+    private final Counter failedCounter;
+    private final Counter discardedCounter;
+
+    private int consecutiveFailures;
+    private Instant nextAttempt = Instant.MIN;
+
+    public LoanOutboxDispatcher(LoanRepository loanRepository, CatalogServiceClient catalogServiceClient,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.outbox.batch-size:100}") int batchSize,
+                                @Value("${app.outbox.retry-interval:1s}") Duration retryInterval,
+                                @Value("${app.outbox.max-retry-interval:1m}") Duration maxRetryInterval) {
+        this.loanRepository = loanRepository;
+        this.catalogServiceClient = catalogServiceClient;
+        this.batchSize = batchSize;
+        this.retryInterval = retryInterval;
+        this.maxRetryInterval = maxRetryInterval;
+        this.deliveredCounter = Counter.builder("loans.outbox.delivered")
+                .description("Books moved by the status changes delivered to catalog-service")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("loans.outbox.failed")
+                .description("Failed deliveries of book status changes to catalog-service")
+                .register(meterRegistry);
+        this.discardedCounter = Counter.builder("loans.outbox.discarded")
+                .description("Book status changes dropped because catalog-service refused them for good")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.dispatch-interval:PT1S}")
+    public void dispatch() {
+        if (Instant.now().isBefore(nextAttempt)) {
+            return;
+        }
+
+        List<PendingStatusChange> changes = loanRepository.findOldestPendingStatusChanges(batchSize);
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        Set<Long> isbnsInRound = new HashSet<>();
+        Map<String, List<String>> deliveredChangeIdsByLoanId = new HashMap<>();
+        boolean failed = false;
+        for (PendingStatusChange pending : changes) {
+            BookStatusChange change = pending.getChange();
+            if (!isbnsInRound.add(change.getIsbn())) {
+                continue;
+            }
+            try {
+                deliver(change);
+            }
+            catch (RuntimeException ex) {
+                if (!isPermanent(ex)) {
+                    failed = true;
+                    backOff(ex);
+                    break;
+                }
+                // sending it again gets the same answer, and while it is pending no later change of its book goes out
+                discardedCounter.increment();
+                log.error("Catalog-service refused the status change {} of book with ISBN: {}, dropping it",
+                        change.getId(), change.getIsbn(), ex);
+            }
+            deliveredChangeIdsByLoanId.computeIfAbsent(pending.getLoanId(), key -> new ArrayList<>())
+                    .add(change.getId());
+        }
+        if (!failed) {
+            consecutiveFailures = 0;
+        }
+
+        deliveredChangeIdsByLoanId.forEach(loanRepository::removePendingStatusChanges);
+    }
+
+    private void backOff(RuntimeException ex) {
+        failedCounter.increment();
+        consecutiveFailures++;
+        long backoff = Math.min(maxRetryInterval.toMillis(),
+                retryInterval.toMillis() << Math.min(consecutiveFailures - 1, 16));
+        nextAttempt = Instant.now().plusMillis(backoff);
+        log.warn("Could not deliver book status changes, retrying in {} ms", backoff, ex);
+    }
+
+    // a 4xx other than a timeout, a conflict or a rate limit will not change on a retry
+    private static boolean isPermanent(RuntimeException ex) {
+        if (ex instanceof NotFoundException || ex instanceof InvalidISBNException) {
+            return true;
+        }
+        return ex instanceof HttpClientErrorException clientError
+                && !RETRYABLE_CLIENT_ERRORS.contains(clientError.getStatusCode().value());
+    }
+
+    private void deliver(BookStatusChange change) {
+        BookStatusTransitionResultModel result = catalogServiceClient.transitionBooks(List.of(change.getIsbn()),
+                change.getFrom(), change.getTo(), change.getId());
+        if (result == null) {
+            return;
+        }
+        deliveredCounter.increment(result.getTransitioned().size());
+
+        // a book that is no longer in the expected state was changed by someone else, so there is nothing to retry
+        if (!result.getRejected().isEmpty()) {
+            log.info("Book with ISBN: {} was not {} and stayed as it is", change.getIsbn(), change.getFrom());
+        }
+        if (!result.getNotFound().isEmpty()) {
+            log.warn("Book with ISBN: {} no longer exists in the catalog", change.getIsbn());
+        }
+    }
+}
@@ -2,16 +2,19 @@ package com.library.loans.businesslayer;
 
 import com.library.loans.presentationlayer.LoanRequestModel;
 import com.library.loans.presentationlayer.LoanResponseModel;
+import com.library.loans.utils.CursorPage;
 
 import java.util.List;
 
 public interface LoanService {
-    List<LoanResponseModel> getAllLoansForPatron(String patronId);
+    CursorPage<LoanResponseModel> getAllLoansForPatron(String patronId, String cursor, Integer size);
 
     LoanResponseModel getLoanForPatron(String patronId, String loanId);
 
     LoanResponseModel addLoanForPatron(String patronId, LoanRequestModel loanRequestModel);
 
+    LoanResponseModel addLoanForPatron(String patronId, LoanRequestModel loanRequestModel, String idempotencyKey);
+
     LoanResponseModel updateLoanForPatron(String patronId, LoanRequestModel loanRequestModel, String loanId);
 
     void deleteLoanForPatron(String patronId, String loanId);
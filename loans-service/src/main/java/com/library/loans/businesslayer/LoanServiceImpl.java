@@ -1,5 +1,8 @@
 package com.library.loans.businesslayer;
 
+import com.library.loans.datalayer.BookStatusChange;
+import com.library.loans.datalayer.IdempotencyRecord;
+import com.library.loans.datalayer.IdempotencyRecordRepository;
 import com.library.loans.datalayer.Loan;
 import com.library.loans.datalayer.LoanIdentifier;
 import com.library.loans.datalayer.LoanRepository;
@@ -7,49 +10,76 @@ import com.library.loans.datalayer.LoanStatus;
 import com.library.loans.datamapperlayer.LoanRequestMapper;
 import com.library.loans.datamapperlayer.LoanResponseMapper;
 import com.library.loans.domainclientlayer.catalogs.BookModel;
+import com.library.loans.domainclientlayer.catalogs.BookStatusTransitionResultModel;
 import com.library.loans.domainclientlayer.catalogs.CatalogServiceClient;
 import com.library.loans.domainclientlayer.catalogs.Status;
 import com.library.loans.domainclientlayer.fines.FineModel;
 import com.library.loans.domainclientlayer.fines.FineServiceClient;
+import com.library.loans.domainclientlayer.patrons.PatronModel;
 import com.library.loans.domainclientlayer.patrons.PatronServiceClient;
 import com.library.loans.presentationlayer.LoanRequestModel;
 import com.library.loans.presentationlayer.LoanResponseModel;
+import com.library.loans.utils.CursorPage;
+import com.library.loans.utils.IdempotencyKeys;
+import com.library.loans.utils.Pagination;
 import com.library.loans.utils.exceptions.NotFoundException;
 import com.library.loans.utils.exceptions.UnavailableBookException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
 
 @Service
+@ConditionalOnWebApplication(type = SERVLET)
+@Slf4j
 public class LoanServiceImpl implements LoanService{
 
     private final LoanRepository loanRepository;
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
     private final PatronServiceClient patronServiceClient;
     private final CatalogServiceClient catalogServiceClient;
     private final FineServiceClient fineServiceClient;
     private final LoanResponseMapper loanResponseMapper;
     private final LoanRequestMapper loanRequestMapper;
+    private final Pagination pagination;
+    private final Duration idempotencyLease;
 
-    public LoanServiceImpl(LoanRepository loanRepository, PatronServiceClient patronServiceClient, CatalogServiceClient catalogServiceClient, FineServiceClient fineServiceClient, LoanResponseMapper loanResponseMapper, LoanRequestMapper loanRequestMapper) {
+    public LoanServiceImpl(LoanRepository loanRepository, IdempotencyRecordRepository idempotencyRecordRepository, PatronServiceClient patronServiceClient, CatalogServiceClient catalogServiceClient, FineServiceClient fineServiceClient, LoanResponseMapper loanResponseMapper, LoanRequestMapper loanRequestMapper, Pagination pagination,
+                           @Value("${app.idempotency.lease:PT1M}") Duration idempotencyLease) {
         this.loanRepository = loanRepository;
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
         this.patronServiceClient = patronServiceClient;
         this.catalogServiceClient = catalogServiceClient;
         this.fineServiceClient = fineServiceClient;
         this.loanResponseMapper = loanResponseMapper;
         this.loanRequestMapper = loanRequestMapper;
+        this.pagination = pagination;
+        this.idempotencyLease = idempotencyLease;
     }
 
     @Override
-    public List<LoanResponseModel> getAllLoansForPatron(String patronId) {
+    public CursorPage<LoanResponseModel> getAllLoansForPatron(String patronId, String cursor, Integer size) {
         if (patronServiceClient.getPatronByPatronId(patronId) == null) {
             throw new NotFoundException("Invalid patronId: " + patronId);
         }
-        return loanResponseMapper.entityListToResponseModelList(
-                loanRepository.findLoansByPatronModel_PatronId(patronId));
+        int pageSize = pagination.pageSize(size);
+        List<Loan> loans = loanRepository.findLoansByPatronModel_PatronIdAfter(patronId,
+                CursorPage.decodeObjectId(cursor), PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(loans, pageSize, Loan::getId, loanResponseMapper::entityListToResponseModelList);
     }
 
     @Override
@@ -68,45 +98,48 @@ public class LoanServiceImpl implements LoanService{
 
     @Override
     public LoanResponseModel addLoanForPatron(String patronId, LoanRequestModel loanRequestModel) {
-        if (patronServiceClient.getPatronByPatronId(patronId) == null) {
-            throw new NotFoundException("Invalid patronId: " + patronId);
-        }
+        return createLoan(patronId, loanRequestModel, null);
+    }
 
-        List<BookModel> bookModelList = new ArrayList<>();
-        loanRequestModel.getBookISBN().forEach(isbn -> {
-            BookModel bookObject = catalogServiceClient.getBookByIsbn(isbn);
+    @Override
+    public LoanResponseModel addLoanForPatron(String patronId, LoanRequestModel loanRequestModel, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return addLoanForPatron(patronId, loanRequestModel);
+        }
 
-            if (bookObject == null) {
-                throw new NotFoundException("Invalid ISBN: " + isbn);
+        String recordId = IdempotentResponses.recordId(patronId, idempotencyKey);
+        String requestHash = IdempotencyKeys.hash(patronId, loanRequestModel);
+        IdempotencyRecord record;
+        try {
+            record = idempotencyRecordRepository.insert(IdempotencyRecord.builder()
+                    .id(recordId)
+                    .requestHash(requestHash)
+                    .createdAt(Instant.now().truncatedTo(ChronoUnit.MILLIS))
+                    .build());
+        }
+        catch (DuplicateKeyException ex) {
+            record = claimAbandoned(recordId, requestHash);
+            if (record == null) {
+                return IdempotentResponses.replay(idempotencyRecordRepository.findById(recordId).orElse(null),
+                        idempotencyKey, requestHash);
             }
-
-            switch (bookObject.getStatus()) {
-                case BORROWED:
-                    throw new UnavailableBookException("Book with ISBN: " + isbn + " is already borrowed");
-                case LOST:
-                    throw new UnavailableBookException("Book with ISBN: " + isbn + " is lost");
-                case DAMAGED:
-                    throw new UnavailableBookException("Book with ISBN: " + isbn + " is damaged");
+            // the abandoned request may have created its loan before it stopped
+            Loan loan = loanRepository.findLoanByIdempotencyKey(recordId);
+            if (loan != null) {
+                return storeResponse(record, loanResponseMapper.entityToResponseModel(loan));
             }
+        }
 
-            BookModel updatedBook = catalogServiceClient.patchBookByIsbn(isbn, BookModel.builder()
-                    .status(Status.BORROWED)
-                    .build());
-            bookModelList.add(updatedBook);
-        });
-
-        Loan loan = loanRequestMapper.requestModelToEntity(loanRequestModel,
-                new LoanIdentifier(),
-                patronServiceClient.getPatronByPatronId(patronId),
-                fineServiceClient.postFine(FineModel.builder()
-                                .amount(BigDecimal.valueOf(0.00))
-                                .reason(null)
-                                .isPaid(null)
-                                .build()),
-                bookModelList);
-        loan.setBorrowedDate(LocalDate.now());
-        loan.setDueDate(LocalDate.now().plusDays(21));
-        return loanResponseMapper.entityToResponseModel(loanRepository.save(loan));
+        LoanResponseModel response;
+        try {
+            response = createLoan(patronId, loanRequestModel, recordId);
+        }
+        catch (RuntimeException ex) {
+            // no loan was created, a retry with the same key starts over
+            idempotencyRecordRepository.releaseClaim(recordId, record.getCreatedAt());
+            throw ex;
+        }
+        return storeResponse(record, response);
     }
 
     @Override
@@ -119,73 +152,63 @@ public class LoanServiceImpl implements LoanService{
             throw new NotFoundException("Invalid loanId: " + loanId);
         }
 
-        List<BookModel> bookModelList = new ArrayList<>();
+        List<Long> previousIsbns = new ArrayList<>();
+        List<Long> newIsbns = new ArrayList<>();
         loanRequestModel.getBookISBN().forEach(isbn -> {
-            BookModel book = catalogServiceClient.getBookByIsbn(isbn);
-
-            if (book == null) {
-                throw new NotFoundException("Invalid ISBN: " + isbn);
+            boolean inPreviousLoan = loan.getBooks().stream()
+                    .anyMatch(bookModel -> bookModel.getIsbn().equals(isbn));
+            if (inPreviousLoan) {
+                previousIsbns.add(isbn);
             }
-
-            boolean inPreviousLoan = false;
-            for (BookModel bookModel : loan.getBooks()) {
-                if (bookModel.getIsbn().equals(isbn)) {
-                    inPreviousLoan = true;
-                    break;
-                }
+            else {
+                newIsbns.add(isbn);
             }
+        });
 
-            if (!inPreviousLoan) {
-                switch (book.getStatus()) {
-                    case BORROWED:
-                        throw new UnavailableBookException("Book with ISBN: " + isbn + " is already borrowed");
-                    case LOST:
-                        throw new UnavailableBookException("Book with ISBN: " + isbn + " is lost");
-                    case DAMAGED:
-                        throw new UnavailableBookException("Book with ISBN: " + isbn + " is damaged");
-                }
-                BookModel updatedBook = catalogServiceClient.patchBookByIsbn(isbn, BookModel.builder()
-                        .status(Status.BORROWED)
-                        .build());
-                bookModelList.add(updatedBook);
-            }
+        Map<Long, BookModel> booksByIsbn = new HashMap<>();
+        if (!previousIsbns.isEmpty()) {
+            booksByIsbn.putAll(getBooksByIsbn(previousIsbns));
+        }
+        booksByIsbn.putAll(reserveBooks(newIsbns));
 
-            if (inPreviousLoan) {
-                BookModel oldBook = catalogServiceClient.getBookByIsbn(isbn);
-                bookModelList.add(oldBook);
-            }
-        });
+        // the books reserved above are released again if the update does not go through, e.g. on a 409
+        try {
+            List<BookModel> bookModelList = new ArrayList<>();
+            loanRequestModel.getBookISBN().forEach(isbn -> bookModelList.add(booksByIsbn.get(isbn)));
 
-        Loan updatedLoan = loanRequestMapper.requestModelToEntity(loanRequestModel,
-                loan.getLoanIdentifier(), loan.getPatronModel(),
-                loan.getFineModel(), bookModelList);
-        updatedLoan.setId(loan.getId());
-        updatedLoan.setBorrowedDate(loan.getBorrowedDate());
-        updatedLoan.setDueDate(loan.getDueDate());
-
-        LoanStatus previousStatus = loan.getStatus();
-        if (previousStatus != LoanStatus.RETURNED && loanRequestModel.getStatus() == LoanStatus.RETURNED) {
-            updatedLoan.getBooks().forEach(book -> {
-                Long isbn = book.getIsbn();
-                book.setStatus(Status.AVAILABLE);
-                catalogServiceClient.patchBookByIsbn(isbn, BookModel.builder()
-                        .status(Status.AVAILABLE)
-                        .build());
-            });
-            if (loan.getReturnedDate() == null) {
-                updatedLoan.setReturnedDate(LocalDate.now());
-            }
-            long days = ChronoUnit.DAYS.between(loan.getDueDate(), updatedLoan.getReturnedDate());
-            int numBooks = updatedLoan.getBooks().size();
-            if (days > 0) {
-                FineModel lateFine = fineServiceClient.getFineByFineId(loan.getFineModel().getFineId());
-                lateFine.setAmount(BigDecimal.valueOf(0.25 * days * numBooks));
-                lateFine.setReason("Late return");
-                lateFine.setIsPaid(false);
-                fineServiceClient.putFine(lateFine, loan.getFineModel().getFineId());
+            Loan updatedLoan = loanRequestMapper.requestModelToEntity(loanRequestModel,
+                    loan.getLoanIdentifier(), loan.getPatronModel(),
+                    loan.getFineModel(), bookModelList);
+            updatedLoan.setId(loan.getId());
+            updatedLoan.setVersion(loan.getVersion());
+            updatedLoan.setBorrowedDate(loan.getBorrowedDate());
+            updatedLoan.setDueDate(loan.getDueDate());
+            updatedLoan.setIdempotencyKey(loan.getIdempotencyKey());
+            updatedLoan.setPendingStatusChanges(pendingStatusChanges(loan));
+            releaseRemovedBooks(loan, updatedLoan, loanRequestModel.getBookISBN());
+
+            LoanStatus previousStatus = loan.getStatus();
+            if (previousStatus != LoanStatus.RETURNED && loanRequestModel.getStatus() == LoanStatus.RETURNED) {
+                updatedLoan.getBooks().forEach(book -> book.setStatus(Status.AVAILABLE));
+                // the catalog is updated by the outbox dispatcher once the loan is saved
+                loanRequestModel.getBookISBN().forEach(isbn -> updatedLoan.getPendingStatusChanges()
+                        .add(BookStatusChange.of(isbn, Status.BORROWED, Status.AVAILABLE)));
+                if (loan.getReturnedDate() == null) {
+                    updatedLoan.setReturnedDate(LocalDate.now());
+                }
+                long days = ChronoUnit.DAYS.between(loan.getDueDate(), updatedLoan.getReturnedDate());
+                int numBooks = updatedLoan.getBooks().size();
+                if (days > 0) {
+                    updatedLoan.setFineModel(chargeLateFine(loan.getLoanIdentifier().getLoanId(), loan.getFineModel(),
+                            BigDecimal.valueOf(0.25 * days * numBooks)));
+                }
             }
+            return loanResponseMapper.entityToResponseModel(loanRepository.save(updatedLoan));
+        }
+        catch (RuntimeException ex) {
+            releaseBooks(newIsbns);
+            throw ex;
         }
-        return loanResponseMapper.entityToResponseModel(loanRepository.save(updatedLoan));
     }
 
     @Override
@@ -199,4 +222,164 @@ public class LoanServiceImpl implements LoanService{
         }
         loanRepository.delete(loan);
     }
+
+    private LoanResponseModel createLoan(String patronId, LoanRequestModel loanRequestModel, String idempotencyKey) {
+        PatronModel patronModel = patronServiceClient.getPatronByPatronId(patronId);
+        if (patronModel == null) {
+            throw new NotFoundException("Invalid patronId: " + patronId);
+        }
+
+        Map<Long, BookModel> reservedBooks = reserveBooks(loanRequestModel.getBookISBN());
+        List<BookModel> bookModelList = new ArrayList<>();
+        loanRequestModel.getBookISBN().forEach(isbn -> bookModelList.add(reservedBooks.get(isbn)));
+
+        try {
+            // no fine up front, one is only created when the loan is returned late
+            Loan loan = loanRequestMapper.requestModelToEntity(loanRequestModel,
+                    new LoanIdentifier(),
+                    patronModel,
+                    null,
+                    bookModelList);
+            loan.setBorrowedDate(LocalDate.now());
+            loan.setDueDate(LocalDate.now().plusDays(21));
+            loan.setIdempotencyKey(idempotencyKey);
+            return loanResponseMapper.entityToResponseModel(loanRepository.save(loan));
+        }
+        catch (RuntimeException ex) {
+            releaseBooks(loanRequestModel.getBookISBN());
+            throw ex;
+        }
+    }
+
+    // A key whose request never stored a response is held for the lease, after that the same request takes it over.
+    // Mongo keeps milliseconds, so the claim is taken at that precision and releaseClaim can match it.
+    private IdempotencyRecord claimAbandoned(String recordId, String requestHash) {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        if (idempotencyRecordRepository.claimAbandoned(recordId, requestHash, now.minus(idempotencyLease), now) == 0) {
+            return null;
+        }
+        log.debug("Taking over abandoned idempotency key: {}", recordId);
+        return idempotencyRecordRepository.findById(recordId).orElse(null);
+    }
+
+    // The loan exists at this point, so a failed save only costs the replay, a retry after the lease finds the loan
+    // by its key and stores the response then.
+    private LoanResponseModel storeResponse(IdempotencyRecord record, LoanResponseModel response) {
+        record.setResponse(response);
+        try {
+            idempotencyRecordRepository.save(record);
+        }
+        catch (RuntimeException ex) {
+            log.warn("Could not store the response for idempotency key: {}", record.getId(), ex);
+        }
+        return response;
+    }
+
+    private List<BookStatusChange> pendingStatusChanges(Loan loan) {
+        return loan.getPendingStatusChanges() == null ? new ArrayList<>() : new ArrayList<>(loan.getPendingStatusChanges());
+    }
+
+    // Books taken off a loan that still holds them go back through the outbox, so they are only released once the
+    // update is saved.
+    private void releaseRemovedBooks(Loan loan, Loan updatedLoan, List<Long> isbns) {
+        if (loan.getStatus() == LoanStatus.RETURNED) {
+            return;
+        }
+        loan.getBooks().stream()
+                .map(BookModel::getIsbn)
+                .filter(isbn -> !isbns.contains(isbn))
+                .forEach(isbn -> updatedLoan.getPendingStatusChanges()
+                        .add(BookStatusChange.of(isbn, Status.BORROWED, Status.AVAILABLE)));
+    }
+
+    // Loans created before fines became lazy still carry a zero-amount fine, which is updated in place. The key comes
+    // from the loan and the amount, so charging the same fine again, e.g. when the save is retried after a 409, replays
+    // the fine instead of creating another one.
+    private FineModel chargeLateFine(String loanId, FineModel fineModel, BigDecimal amount) {
+        String idempotencyKey = IdempotencyKeys.derive("late-fine", loanId, fineModel == null ? null : fineModel.getFineId(),
+                amount.stripTrailingZeros().toPlainString());
+        if (fineModel == null || fineModel.getFineId() == null) {
+            return fineServiceClient.postFine(FineModel.builder()
+                    .amount(amount)
+                    .reason("Late return")
+                    .isPaid(false)
+                    .build(), idempotencyKey);
+        }
+        FineModel lateFine = fineServiceClient.getFineByFineId(fineModel.getFineId());
+        lateFine.setAmount(amount);
+        lateFine.setReason("Late return");
+        lateFine.setIsPaid(false);
+        return fineServiceClient.putFine(lateFine, fineModel.getFineId(), idempotencyKey);
+    }
+
+    // Looks up every book of the loan in a single call and fails on the first unknown ISBN.
+    private Map<Long, BookModel> getBooksByIsbn(List<Long> isbns) {
+        Map<Long, BookModel> booksByIsbn = new HashMap<>();
+        catalogServiceClient.getBooksByIsbns(isbns).forEach(book -> booksByIsbn.put(book.getIsbn(), book));
+
+        for (Long isbn : isbns) {
+            if (!booksByIsbn.containsKey(isbn)) {
+                throw new NotFoundException("Invalid ISBN: " + isbn);
+            }
+        }
+        return booksByIsbn;
+    }
+
+    private RuntimeException unavailableBook(BookModel book) {
+        switch (book.getStatus()) {
+            case BORROWED:
+                return new UnavailableBookException("Book with ISBN: " + book.getIsbn() + " is already borrowed");
+            case LOST:
+                return new UnavailableBookException("Book with ISBN: " + book.getIsbn() + " is lost");
+            case DAMAGED:
+                return new UnavailableBookException("Book with ISBN: " + book.getIsbn() + " is damaged");
+            default:
+                return new UnavailableBookException("Book with ISBN: " + book.getIsbn() + " could not be borrowed");
+        }
+    }
+
+    // Moves every book from AVAILABLE to BORROWED in one conditional call to catalog-service. The catalog only
+    // flips books that are still available, so if any book is rejected the ones that did flip are released.
+    private Map<Long, BookModel> reserveBooks(List<Long> isbns) {
+        Map<Long, BookModel> reservedBooks = new HashMap<>();
+        if (isbns.isEmpty()) {
+            return reservedBooks;
+        }
+
+        BookStatusTransitionResultModel result = catalogServiceClient.transitionBooks(isbns,
+                Status.AVAILABLE, Status.BORROWED);
+        // without a body there is no telling which books flipped, and releasing them all could free another loan's
+        if (result == null) {
+            throw new UnavailableBookException("Books with ISBNs: " + isbns + " could not be borrowed");
+        }
+        result.getTransitioned().forEach(book -> reservedBooks.put(book.getIsbn(), book));
+        if (result.getRejected().isEmpty() && result.getNotFound().isEmpty()) {
+            return reservedBooks;
+        }
+
+        releaseBooks(new ArrayList<>(reservedBooks.keySet()));
+        Map<Long, BookModel> rejectedBooks = new HashMap<>();
+        result.getRejected().forEach(book -> rejectedBooks.put(book.getIsbn(), book));
+        for (Long isbn : isbns) {
+            if (result.getNotFound().contains(isbn)) {
+                throw new NotFoundException("Invalid ISBN: " + isbn);
+            }
+            if (rejectedBooks.containsKey(isbn)) {
+                throw unavailableBook(rejectedBooks.get(isbn));
+            }
+        }
+        throw new UnavailableBookException("Books with ISBNs: " + isbns + " could not be borrowed");
+    }
+
+    private void releaseBooks(List<Long> isbns) {
+        if (isbns.isEmpty()) {
+            return;
+        }
+        try {
+            catalogServiceClient.transitionBooks(isbns, Status.BORROWED, Status.AVAILABLE);
+        }
+        catch (RuntimeException ex) {
+            log.warn("Could not release books with ISBNs: {}", isbns, ex);
+        }
+    }
 }
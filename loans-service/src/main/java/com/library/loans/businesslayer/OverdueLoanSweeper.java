@@ -0,0 +1,229 @@
+package com.library.loans.businesslayer;
+
+import com.library.loans.datalayer.Loan;
+import com.library.loans.datalayer.LoanStatus;
+import com.library.loans.datalayer.OverdueFineBatch;
+import com.library.loans.datalayer.SweepCheckpoint;
+import com.library.loans.domainclientlayer.fines.FineModel;
+import com.library.loans.domainclientlayer.fines.FineServiceClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+// Marks active loans past their due date as EXPIRED and assesses their fines. Loans are streamed in due date order,
+// which the status_due_date index serves without a sort, and handled in chunks. Each chunk is first claimed with a
+// conditional bulk write that expires the loans still active and tags the ones to fine with a batch id. Only the
+// claimed loans are then fined, in one batch call to fines-service, and the fines are recorded against the tag.
+// Expired loans drop out of the query, so a sweep that stops halfway picks up at the first unclaimed loan. Batches
+// claimed but not recorded yet are finished every few minutes. Their fines are sent with the batch id as the
+// Idempotency-Key, so fines-service replays the fines it already created instead of fining the loans twice.
+@Component
+@ConditionalOnProperty(prefix = "app.overdue-sweep", name = "enabled", matchIfMissing = true)
+@Slf4j
+public class OverdueLoanSweeper {
+
+    static final String CHECKPOINT_NAME = "overdue-loans";
+    static final String FINE_BATCH = "overdueFineBatch";
+
+    private final MongoTemplate mongoTemplate;
+    private final FineServiceClient fineServiceClient;
+    private final int chunkSize;
+    private final Counter expiredCounter;
+    private final Counter finedCounter;
+    private final Timer sweepTimer;
+
+    public OverdueLoanSweeper(MongoTemplate mongoTemplate, FineServiceClient fineServiceClient, MeterRegistry meterRegistry,
+                              @Value("${app.overdue-sweep.chunk-size:500}") int chunkSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.fineServiceClient = fineServiceClient;
+        this.chunkSize = chunkSize;
+        this.expiredCounter = Counter.builder("loans.overdue.sweep.expired")
+                .description("Loans marked as expired by the overdue sweep")
+                .register(meterRegistry);
+        this.finedCounter = Counter.builder("loans.overdue.sweep.fined")
+                .description("Fines assessed by the overdue sweep")
+                .register(meterRegistry);
+        this.sweepTimer = Timer.builder("loans.overdue.sweep.duration")
+                .description("Duration of overdue sweeps")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.overdue-sweep.cron:0 0 2 * * *}")
+    public void sweep() {
+        sweepTimer.record(() -> sweep(LocalDate.now()));
+    }
+
+    public void sweep(LocalDate today) {
+        SweepCheckpoint checkpoint = mongoTemplate.findById(CHECKPOINT_NAME, SweepCheckpoint.class);
+        if (checkpoint == null || !today.equals(checkpoint.getSweepDate())) {
+            checkpoint = SweepCheckpoint.builder()
+                    .name(CHECKPOINT_NAME)
+                    .sweepDate(today)
+                    .build();
+        }
+        if (checkpoint.isCompleted()) {
+            return;
+        }
+
+        fineClaimedBatches();
+
+        Query query = new Query(where("status").is(LoanStatus.ACTIVE).and("dueDate").lt(today))
+                .with(Sort.by("dueDate"))
+                .cursorBatchSize(chunkSize);
+        // only what the claim needs
+        query.fields().include("_id", "fineModel");
+
+        List<Loan> chunk = new ArrayList<>(chunkSize);
+        try (Stream<Loan> loans = mongoTemplate.stream(query, Loan.class)) {
+            Iterator<Loan> iterator = loans.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == chunkSize) {
+                    expireChunk(chunk, today);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            expireChunk(chunk, today);
+        }
+
+        checkpoint.setCompleted(true);
+        saveCheckpoint(checkpoint);
+        log.info("Overdue sweep for {} finished", today);
+    }
+
+    // batches an earlier run claimed but stopped before recording their fines, retried well within the day
+    // fines-service keeps the response to a batch
+    @Scheduled(fixedDelayString = "${app.overdue-sweep.retry-interval:PT5M}")
+    public void fineClaimedBatches() {
+        mongoTemplate.findDistinct(new Query(where(FINE_BATCH).exists(true)), FINE_BATCH, Loan.class, String.class)
+                .forEach(batch -> {
+                    try {
+                        fineBatch(batch);
+                    }
+                    catch (RuntimeException ex) {
+                        log.warn("Could not fine overdue batch {}, retrying later", batch, ex);
+                    }
+                });
+    }
+
+    private void expireChunk(List<Loan> chunk, LocalDate today) {
+        // the sweep date is part of the batch id, the fines are worked out from it when the batch is fined
+        String batch = today + ":" + chunk.get(0).getId();
+
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Loan.class);
+        for (Loan loan : chunk) {
+            Update update = new Update()
+                    .set("status", LoanStatus.EXPIRED)
+                    .inc("version", 1);
+            // loans that still carry a fine from before fines became lazy get it updated when they are returned
+            if (loan.getFineModel() == null) {
+                update.set(FINE_BATCH, batch);
+            }
+            // a loan returned while the sweep was running keeps its new status and is not fined
+            bulkOperations.updateOne(new Query(where("_id").is(loan.getId()).and("status").is(LoanStatus.ACTIVE)), update);
+        }
+        expiredCounter.increment(bulkOperations.execute().getModifiedCount());
+
+        fineBatch(batch);
+    }
+
+    private void fineBatch(String batch) {
+        OverdueFineBatch fineBatch = mongoTemplate.findById(batch, OverdueFineBatch.class);
+        if (fineBatch == null) {
+            fineBatch = prepareFineBatch(batch);
+            if (fineBatch == null) {
+                return;
+            }
+        }
+
+        List<FineModel> fines = fineServiceClient.postFines(fineBatch.getFines(), batch);
+        List<String> loanIds = fineBatch.getLoanIds();
+        if (fines.size() != loanIds.size()) {
+            throw new IllegalStateException("Expected " + loanIds.size() + " fines but got " + fines.size());
+        }
+
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Loan.class);
+        for (int i = 0; i < loanIds.size(); i++) {
+            bulkOperations.updateOne(new Query(where("_id").is(loanIds.get(i)).and(FINE_BATCH).is(batch)),
+                    new Update()
+                            .set("fineModel", fines.get(i))
+                            .unset(FINE_BATCH)
+                            .inc("version", 1));
+        }
+        int recorded = bulkOperations.execute().getModifiedCount();
+        if (recorded != fines.size()) {
+            // a loan saved in between, e.g. returned, dropped the tag and was fined by its return instead
+            log.warn("Recorded {} of the {} fines of overdue batch {}", recorded, fines.size(), batch);
+        }
+        finedCounter.increment(recorded);
+        mongoTemplate.remove(fineBatch);
+    }
+
+    // Works out the fines of a batch once and keeps them, a loan saved after this does not change what is sent.
+    private OverdueFineBatch prepareFineBatch(String batch) {
+        Query claimed = new Query(where(FINE_BATCH).is(batch)).with(Sort.by("_id"));
+        claimed.fields().include("_id", "dueDate", "books.isbn");
+        List<Loan> loansToFine = mongoTemplate.find(claimed, Loan.class);
+        if (loansToFine.isEmpty()) {
+            return null;
+        }
+
+        LocalDate sweepDate = LocalDate.parse(batch.substring(0, batch.indexOf(':')));
+        OverdueFineBatch fineBatch = OverdueFineBatch.builder()
+                .id(batch)
+                .loanIds(loansToFine.stream().map(Loan::getId).toList())
+                .fines(loansToFine.stream()
+                        .map(loan -> FineModel.builder()
+                                .amount(lateFee(loan, sweepDate))
+                                .reason("Overdue books")
+                                .isPaid(false)
+                                .build())
+                        .toList())
+                .createdAt(Instant.now())
+                .build();
+        try {
+            mongoTemplate.insert(fineBatch);
+            return fineBatch;
+        }
+        catch (DuplicateKeyException ex) {
+            // another instance prepared it first
+            return mongoTemplate.findById(batch, OverdueFineBatch.class);
+        }
+    }
+
+    private BigDecimal lateFee(Loan loan, LocalDate today) {
+        long days = ChronoUnit.DAYS.between(loan.getDueDate(), today);
+        int numBooks = loan.getBooks() == null ? 0 : loan.getBooks().size();
+        return BigDecimal.valueOf(0.25 * days * numBooks);
+    }
+
+    private void saveCheckpoint(SweepCheckpoint checkpoint) {
+        checkpoint.setUpdatedAt(Instant.now());
+        mongoTemplate.save(checkpoint);
+    }
+}
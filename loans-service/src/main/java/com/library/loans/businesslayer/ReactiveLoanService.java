@@ -0,0 +1,20 @@
+package com.library.loans.businesslayer;
+
+import com.library.loans.presentationlayer.LoanRequestModel;
+import com.library.loans.presentationlayer.LoanResponseModel;
+import com.library.loans.utils.CursorPage;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveLoanService {
+    Mono<CursorPage<LoanResponseModel>> getAllLoansForPatron(String patronId, String cursor, Integer size);
+
+    Mono<LoanResponseModel> getLoanForPatron(String patronId, String loanId);
+
+    Mono<LoanResponseModel> addLoanForPatron(String patronId, LoanRequestModel loanRequestModel);
+
+    Mono<LoanResponseModel> addLoanForPatron(String patronId, LoanRequestModel loanRequestModel, String idempotencyKey);
+
+    Mono<LoanResponseModel> updateLoanForPatron(String patronId, LoanRequestModel loanRequestModel, String loanId);
+
+    Mono<Void> deleteLoanForPatron(String patronId, String loanId);
+}
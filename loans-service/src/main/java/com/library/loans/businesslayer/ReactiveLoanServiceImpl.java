@@ -0,0 +1,378 @@
+package com.library.loans.businesslayer;
+
+import com.library.loans.datalayer.BookStatusChange;
+import com.library.loans.datalayer.IdempotencyRecord;
+import com.library.loans.datalayer.Loan;
+import com.library.loans.datalayer.LoanIdentifier;
+import com.library.loans.datalayer.LoanStatus;
+import com.library.loans.datalayer.ReactiveIdempotencyRecordRepository;
+import com.library.loans.datalayer.ReactiveLoanRepository;
+import com.library.loans.datamapperlayer.LoanRequestMapper;
+import com.library.loans.datamapperlayer.LoanResponseMapper;
+import com.library.loans.domainclientlayer.catalogs.BookModel;
+import com.library.loans.domainclientlayer.catalogs.BookStatusTransitionResultModel;
+import com.library.loans.domainclientlayer.catalogs.ReactiveCatalogServiceClient;
+import com.library.loans.domainclientlayer.catalogs.Status;
+import com.library.loans.domainclientlayer.fines.FineModel;
+import com.library.loans.domainclientlayer.fines.ReactiveFineServiceClient;
+import com.library.loans.domainclientlayer.patrons.PatronModel;
+import com.library.loans.domainclientlayer.patrons.ReactivePatronServiceClient;
+import com.library.loans.presentationlayer.LoanRequestModel;
+import com.library.loans.presentationlayer.LoanResponseModel;
+import com.library.loans.utils.CursorPage;
+import com.library.loans.utils.IdempotencyKeys;
+import com.library.loans.utils.Pagination;
+import com.library.loans.utils.exceptions.NotFoundException;
+import com.library.loans.utils.exceptions.UnavailableBookException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.REACTIVE;
+
+// Same loan rules as LoanServiceImpl, composed as non-blocking pipelines for the reactive web stack.
+@Service
+@ConditionalOnWebApplication(type = REACTIVE)
+@Slf4j
+public class ReactiveLoanServiceImpl implements ReactiveLoanService {
+
+    private final ReactiveLoanRepository loanRepository;
+    private final ReactiveIdempotencyRecordRepository idempotencyRecordRepository;
+    private final ReactivePatronServiceClient patronServiceClient;
+    private final ReactiveCatalogServiceClient catalogServiceClient;
+    private final ReactiveFineServiceClient fineServiceClient;
+    private final LoanResponseMapper loanResponseMapper;
+    private final LoanRequestMapper loanRequestMapper;
+    private final Pagination pagination;
+    private final Duration idempotencyLease;
+
+    public ReactiveLoanServiceImpl(ReactiveLoanRepository loanRepository,
+                                   ReactiveIdempotencyRecordRepository idempotencyRecordRepository,
+                                   ReactivePatronServiceClient patronServiceClient,
+                                   ReactiveCatalogServiceClient catalogServiceClient, ReactiveFineServiceClient fineServiceClient,
+                                   LoanResponseMapper loanResponseMapper, LoanRequestMapper loanRequestMapper, Pagination pagination,
+                                   @Value("${app.idempotency.lease:PT1M}") Duration idempotencyLease) {
+        this.loanRepository = loanRepository;
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.patronServiceClient = patronServiceClient;
+        this.catalogServiceClient = catalogServiceClient;
+        this.fineServiceClient = fineServiceClient;
+        this.loanResponseMapper = loanResponseMapper;
+        this.loanRequestMapper = loanRequestMapper;
+        this.pagination = pagination;
+        this.idempotencyLease = idempotencyLease;
+    }
+
+    @Override
+    public Mono<CursorPage<LoanResponseModel>> getAllLoansForPatron(String patronId, String cursor, Integer size) {
+        int pageSize = pagination.pageSize(size);
+        return getPatron(patronId)
+                .then(Mono.fromCallable(() -> CursorPage.decodeObjectId(cursor)))
+                .flatMap(after -> loanRepository.findLoansByPatronModel_PatronIdAfter(patronId, after,
+                        PageRequest.of(0, pageSize + 1)).collectList())
+                .map(loans -> CursorPage.of(loans, pageSize, Loan::getId, loanResponseMapper::entityListToResponseModelList));
+    }
+
+    @Override
+    public Mono<LoanResponseModel> getLoanForPatron(String patronId, String loanId) {
+        return getPatron(patronId)
+                .flatMap(patronModel -> getLoan(loanId))
+                .map(loanResponseMapper::entityToResponseModel);
+    }
+
+    @Override
+    public Mono<LoanResponseModel> addLoanForPatron(String patronId, LoanRequestModel loanRequestModel) {
+        return createLoan(patronId, loanRequestModel, null);
+    }
+
+    @Override
+    public Mono<LoanResponseModel> addLoanForPatron(String patronId, LoanRequestModel loanRequestModel, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return addLoanForPatron(patronId, loanRequestModel);
+        }
+
+        String recordId = IdempotentResponses.recordId(patronId, idempotencyKey);
+        String requestHash = IdempotencyKeys.hash(patronId, loanRequestModel);
+        return idempotencyRecordRepository.insert(IdempotencyRecord.builder()
+                        .id(recordId)
+                        .requestHash(requestHash)
+                        .createdAt(Instant.now().truncatedTo(ChronoUnit.MILLIS))
+                        .build())
+                .map(Optional::of)
+                .onErrorResume(DuplicateKeyException.class, ex -> Mono.just(Optional.empty()))
+                .flatMap(inserted -> inserted
+                        .map(record -> createAndStoreLoan(patronId, loanRequestModel, record))
+                        .orElseGet(() -> claimAbandoned(recordId, requestHash)
+                                // the abandoned request may have created its loan before it stopped
+                                .flatMap(record -> loanRepository.findLoanByIdempotencyKey(recordId)
+                                        .flatMap(loan -> storeResponse(record, loanResponseMapper.entityToResponseModel(loan)))
+                                        .switchIfEmpty(Mono.defer(() -> createAndStoreLoan(patronId, loanRequestModel, record))))
+                                .switchIfEmpty(Mono.defer(() -> idempotencyRecordRepository.findById(recordId)
+                                        .map(Optional::of)
+                                        .defaultIfEmpty(Optional.empty())
+                                        .map(record -> IdempotentResponses.replay(record.orElse(null), idempotencyKey,
+                                                requestHash))))));
+    }
+
+    @Override
+    public Mono<LoanResponseModel> updateLoanForPatron(String patronId, LoanRequestModel loanRequestModel, String loanId) {
+        List<Long> isbns = loanRequestModel.getBookISBN();
+
+        return getPatron(patronId)
+                .flatMap(patronModel -> getLoan(loanId))
+                .flatMap(loan -> {
+                    List<Long> previousIsbns = new ArrayList<>();
+                    List<Long> newIsbns = new ArrayList<>();
+                    isbns.forEach(isbn -> {
+                        boolean inPreviousLoan = loan.getBooks().stream()
+                                .anyMatch(bookModel -> bookModel.getIsbn().equals(isbn));
+                        if (inPreviousLoan) {
+                            previousIsbns.add(isbn);
+                        }
+                        else {
+                            newIsbns.add(isbn);
+                        }
+                    });
+
+                    return getBooksByIsbn(previousIsbns)
+                            .flatMap(previousBooks -> reserveBooks(newIsbns).map(reservedBooks -> {
+                                Map<Long, BookModel> booksByIsbn = new HashMap<>(previousBooks);
+                                booksByIsbn.putAll(reservedBooks);
+                                return booksByIsbn;
+                            }))
+                            .flatMap(booksByIsbn -> {
+                                Loan updatedLoan = loanRequestMapper.requestModelToEntity(loanRequestModel,
+                                        loan.getLoanIdentifier(), loan.getPatronModel(),
+                                        loan.getFineModel(), inRequestOrder(isbns, booksByIsbn));
+                                updatedLoan.setId(loan.getId());
+                                updatedLoan.setVersion(loan.getVersion());
+                                updatedLoan.setBorrowedDate(loan.getBorrowedDate());
+                                updatedLoan.setDueDate(loan.getDueDate());
+                                updatedLoan.setIdempotencyKey(loan.getIdempotencyKey());
+                                updatedLoan.setPendingStatusChanges(loan.getPendingStatusChanges() == null
+                                        ? new ArrayList<>() : new ArrayList<>(loan.getPendingStatusChanges()));
+                                releaseRemovedBooks(loan, updatedLoan, isbns);
+                                return returnBooks(loan, updatedLoan, loanRequestModel)
+                                        .flatMap(loanRepository::save)
+                                        .onErrorResume(ex -> releaseBooks(newIsbns).then(Mono.error(ex)));
+                            });
+                })
+                .map(loanResponseMapper::entityToResponseModel);
+    }
+
+    @Override
+    public Mono<Void> deleteLoanForPatron(String patronId, String loanId) {
+        return getPatron(patronId)
+                .flatMap(patronModel -> getLoan(loanId))
+                .flatMap(loanRepository::delete);
+    }
+
+    private Mono<PatronModel> getPatron(String patronId) {
+        return patronServiceClient.getPatronByPatronId(patronId)
+                .switchIfEmpty(Mono.error(new NotFoundException("Invalid patronId: " + patronId)));
+    }
+
+    private Mono<Loan> getLoan(String loanId) {
+        return loanRepository.findLoanByLoanIdentifier_LoanId(loanId)
+                .switchIfEmpty(Mono.error(new NotFoundException("Invalid loanId: " + loanId)));
+    }
+
+    private Mono<LoanResponseModel> createLoan(String patronId, LoanRequestModel loanRequestModel, String idempotencyKey) {
+        List<Long> isbns = loanRequestModel.getBookISBN();
+
+        return getPatron(patronId).flatMap(patronModel -> reserveBooks(isbns)
+                .flatMap(reservedBooks -> {
+                    // no fine up front, one is only created when the loan is returned late
+                    Loan loan = loanRequestMapper.requestModelToEntity(loanRequestModel,
+                            new LoanIdentifier(), patronModel, null, inRequestOrder(isbns, reservedBooks));
+                    loan.setBorrowedDate(LocalDate.now());
+                    loan.setDueDate(LocalDate.now().plusDays(21));
+                    loan.setIdempotencyKey(idempotencyKey);
+                    return loanRepository.save(loan)
+                            .onErrorResume(ex -> releaseBooks(isbns).then(Mono.error(ex)));
+                }))
+                .map(loanResponseMapper::entityToResponseModel);
+    }
+
+    private Mono<LoanResponseModel> createAndStoreLoan(String patronId, LoanRequestModel loanRequestModel,
+                                                       IdempotencyRecord record) {
+        return createLoan(patronId, loanRequestModel, record.getId())
+                // no loan was created, a retry with the same key starts over
+                .onErrorResume(ex -> idempotencyRecordRepository.releaseClaim(record.getId(), record.getCreatedAt())
+                        .then(Mono.error(ex)))
+                .flatMap(response -> storeResponse(record, response));
+    }
+
+    // Same lease as LoanServiceImpl.claimAbandoned, empty while the key is held.
+    private Mono<IdempotencyRecord> claimAbandoned(String recordId, String requestHash) {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        return idempotencyRecordRepository.claimAbandoned(recordId, requestHash, now.minus(idempotencyLease), now)
+                .filter(claimed -> claimed > 0)
+                .flatMap(claimed -> idempotencyRecordRepository.findById(recordId))
+                .doOnNext(record -> log.debug("Taking over abandoned idempotency key: {}", recordId));
+    }
+
+    // The loan exists at this point, so a failed save only costs the replay.
+    private Mono<LoanResponseModel> storeResponse(IdempotencyRecord record, LoanResponseModel response) {
+        record.setResponse(response);
+        return idempotencyRecordRepository.save(record)
+                .thenReturn(response)
+                .onErrorResume(ex -> {
+                    log.warn("Could not store the response for idempotency key: {}", record.getId(), ex);
+                    return Mono.just(response);
+                });
+    }
+
+    private Mono<Loan> returnBooks(Loan loan, Loan updatedLoan, LoanRequestModel loanRequestModel) {
+        if (loan.getStatus() == LoanStatus.RETURNED || loanRequestModel.getStatus() != LoanStatus.RETURNED) {
+            return Mono.just(updatedLoan);
+        }
+
+        updatedLoan.getBooks().forEach(book -> book.setStatus(Status.AVAILABLE));
+        // the catalog is updated by the outbox dispatcher once the loan is saved
+        loanRequestModel.getBookISBN().forEach(isbn -> updatedLoan.getPendingStatusChanges()
+                .add(BookStatusChange.of(isbn, Status.BORROWED, Status.AVAILABLE)));
+        if (loan.getReturnedDate() == null) {
+            updatedLoan.setReturnedDate(LocalDate.now());
+        }
+        long days = ChronoUnit.DAYS.between(loan.getDueDate(), updatedLoan.getReturnedDate());
+        int numBooks = updatedLoan.getBooks().size();
+
+        if (days <= 0) {
+            return Mono.just(updatedLoan);
+        }
+        return chargeLateFine(loan.getLoanIdentifier().getLoanId(), loan.getFineModel(), BigDecimal.valueOf(0.25 * days * numBooks))
+                .map(fineModel -> {
+                    updatedLoan.setFineModel(fineModel);
+                    return updatedLoan;
+                });
+    }
+
+    // Same as LoanServiceImpl.releaseRemovedBooks.
+    private void releaseRemovedBooks(Loan loan, Loan updatedLoan, List<Long> isbns) {
+        if (loan.getStatus() == LoanStatus.RETURNED) {
+            return;
+        }
+        loan.getBooks().stream()
+                .map(BookModel::getIsbn)
+                .filter(isbn -> !isbns.contains(isbn))
+                .forEach(isbn -> updatedLoan.getPendingStatusChanges()
+                        .add(BookStatusChange.of(isbn, Status.BORROWED, Status.AVAILABLE)));
+    }
+
+    // Loans created before fines became lazy still carry a zero-amount fine, which is updated in place. The key comes
+    // from the loan and the amount, so charging the same fine again, e.g. when the save is retried after a 409, replays
+    // the fine instead of creating another one.
+    private Mono<FineModel> chargeLateFine(String loanId, FineModel fineModel, BigDecimal amount) {
+        String idempotencyKey = IdempotencyKeys.derive("late-fine", loanId, fineModel == null ? null : fineModel.getFineId(),
+                amount.stripTrailingZeros().toPlainString());
+        if (fineModel == null || fineModel.getFineId() == null) {
+            return fineServiceClient.postFine(FineModel.builder()
+                    .amount(amount)
+                    .reason("Late return")
+                    .isPaid(false)
+                    .build(), idempotencyKey);
+        }
+        return fineServiceClient.getFineByFineId(fineModel.getFineId())
+                .flatMap(fine -> {
+                    fine.setAmount(amount);
+                    fine.setReason("Late return");
+                    fine.setIsPaid(false);
+                    return fineServiceClient.putFine(fine, fineModel.getFineId(), idempotencyKey);
+                });
+    }
+
+    // Looks up every book in a single call and fails on the first unknown ISBN.
+    private Mono<Map<Long, BookModel>> getBooksByIsbn(List<Long> isbns) {
+        if (isbns.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return catalogServiceClient.getBooksByIsbns(isbns).flatMap(books -> {
+            Map<Long, BookModel> booksByIsbn = new HashMap<>();
+            books.forEach(book -> booksByIsbn.put(book.getIsbn(), book));
+            for (Long isbn : isbns) {
+                if (!booksByIsbn.containsKey(isbn)) {
+                    return Mono.error(new NotFoundException("Invalid ISBN: " + isbn));
+                }
+            }
+            return Mono.just(booksByIsbn);
+        });
+    }
+
+    // Same compare-and-set reservation as LoanServiceImpl.reserveBooks.
+    private Mono<Map<Long, BookModel>> reserveBooks(List<Long> isbns) {
+        if (isbns.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        Mono<BookStatusTransitionResultModel> transition = catalogServiceClient.transitionBooks(isbns,
+                        Status.AVAILABLE, Status.BORROWED)
+                .switchIfEmpty(Mono.error(() -> new UnavailableBookException(
+                        "Books with ISBNs: " + isbns + " could not be borrowed")));
+        return transition.flatMap(result -> {
+            Map<Long, BookModel> reservedBooks = new HashMap<>();
+            result.getTransitioned().forEach(book -> reservedBooks.put(book.getIsbn(), book));
+            if (result.getRejected().isEmpty() && result.getNotFound().isEmpty()) {
+                return Mono.just(reservedBooks);
+            }
+
+            Map<Long, BookModel> rejectedBooks = new HashMap<>();
+            result.getRejected().forEach(book -> rejectedBooks.put(book.getIsbn(), book));
+            RuntimeException failure = new UnavailableBookException("Books with ISBNs: " + isbns + " could not be borrowed");
+            for (Long isbn : isbns) {
+                if (result.getNotFound().contains(isbn)) {
+                    failure = new NotFoundException("Invalid ISBN: " + isbn);
+                    break;
+                }
+                if (rejectedBooks.containsKey(isbn)) {
+                    failure = unavailableBook(rejectedBooks.get(isbn));
+                    break;
+                }
+            }
+            return releaseBooks(new ArrayList<>(reservedBooks.keySet())).then(Mono.error(failure));
+        });
+    }
+
+    private Mono<Void> releaseBooks(List<Long> isbns) {
+        if (isbns.isEmpty()) {
+            return Mono.empty();
+        }
+        return catalogServiceClient.transitionBooks(isbns, Status.BORROWED, Status.AVAILABLE)
+                .doOnError(ex -> log.warn("Could not release books with ISBNs: {}", isbns, ex))
+                .onErrorResume(ex -> Mono.empty())
+                .then();
+    }
+
+    private RuntimeException unavailableBook(BookModel book) {
+        switch (book.getStatus()) {
+            case BORROWED:
+                return new UnavailableBookException("Book with ISBN: " + book.getIsbn() + " is already borrowed");
+            case LOST:
+                return new UnavailableBookException("Book with ISBN: " + book.getIsbn() + " is lost");
+            case DAMAGED:
+                return new UnavailableBookException("Book with ISBN: " + book.getIsbn() + " is damaged");
+            default:
+                return new UnavailableBookException("Book with ISBN: " + book.getIsbn() + " could not be borrowed");
+        }
+    }
+
+    private List<BookModel> inRequestOrder(List<Long> isbns, Map<Long, BookModel> booksByIsbn) {
+        List<BookModel> bookModelList = new ArrayList<>();
+        isbns.forEach(isbn -> bookModelList.add(booksByIsbn.get(isbn)));
+        return bookModelList;
+    }
+}
@@ -0,0 +1,28 @@
+package com.library.loans.datalayer;
+
+import com.library.loans.domainclientlayer.catalogs.Status;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// A catalog status change that is saved with its loan and delivered to catalog-service later
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookStatusChange {
+
+    private String id;
+    private Long isbn;
+    private Status from;
+    private Status to;
+    private Instant createdAt;
+
+    public static BookStatusChange of(Long isbn, Status from, Status to) {
+        return new BookStatusChange(UUID.randomUUID().toString(), isbn, from, to, Instant.now());
+    }
+}
@@ -1,10 +1,9 @@
 package com.library.loans.datalayer;
 
+import com.library.loans.utils.IdentifierGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
-import java.util.UUID;
-
 @Getter
 @AllArgsConstructor
 public class CatalogIdentifier {
@@ -12,6 +11,6 @@ public class CatalogIdentifier {
     private String catalogId;
 
     public CatalogIdentifier() {
-        this.catalogId = UUID.randomUUID().toString();
+        this.catalogId = IdentifierGenerator.nextId();
     }
 }
@@ -1,10 +1,9 @@
 package com.library.loans.datalayer;
 
+import com.library.loans.utils.IdentifierGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
-import java.util.UUID;
-
 @Getter
 @AllArgsConstructor
 public class FineIdentifier {
@@ -12,6 +11,6 @@ public class FineIdentifier {
     private String fineId;
 
     public FineIdentifier() {
-        this.fineId = UUID.randomUUID().toString();
+        this.fineId = IdentifierGenerator.nextId();
     }
 }
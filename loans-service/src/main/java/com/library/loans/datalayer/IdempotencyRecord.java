@@ -0,0 +1,30 @@
+package com.library.loans.datalayer;
+
+import com.library.loans.presentationlayer.LoanResponseModel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+// The response given to a loan request sent with an Idempotency-Key. The record is inserted before the loan is
+// created, so a concurrent duplicate finds it without a response, and Mongo drops it a day after it was created.
+@Data
+@Builder
+@Document(collection = "idempotency_keys")
+@AllArgsConstructor
+@NoArgsConstructor
+public class IdempotencyRecord {
+
+    @Id
+    private String id;
+    private String requestHash;
+    private LoanResponseModel response;
+
+    @Indexed(name = "created_at_ttl", expireAfter = "24h")
+    private Instant createdAt;
+}
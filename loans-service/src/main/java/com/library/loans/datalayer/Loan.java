@@ -8,15 +8,35 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 @Data
 @Builder
 @Document(collection = "loans")
+@CompoundIndexes({
+        // the lookups by loan id filter on the id inside loanIdentifier, which an index on the subdocument can't serve
+        @CompoundIndex(name = "loan_id", def = "{ 'loanIdentifier.loanId': 1 }", unique = true),
+        // a patron's loans in _id order, the keyset the list endpoint pages on
+        @CompoundIndex(name = "patron_id", def = "{ 'patronModel.patronId': 1, '_id': 1 }"),
+        // the overdue sweep, equality on status then a range on the due date
+        @CompoundIndex(name = "status_due_date", def = "{ 'status': 1, 'dueDate': 1 }"),
+        // sparse, only the loans the sweep has claimed but not fined yet carry a batch
+        @CompoundIndex(name = "overdue_fine_batch", def = "{ 'overdueFineBatch': 1 }", sparse = true),
+        // sparse, only loans created with an Idempotency-Key carry one
+        @CompoundIndex(name = "idempotency_key", def = "{ 'idempotencyKey': 1 }", unique = true, sparse = true),
+        // the outbox dispatcher's scan for loans with pending changes
+        @CompoundIndex(name = "pending_status_changes_created_at", def = "{ 'pendingStatusChanges.createdAt': 1 }"),
+        // the analytics pipelines' date range matches, due dates go through status_due_date
+        @CompoundIndex(name = "borrowed_date", def = "{ 'borrowedDate': 1 }"),
+        @CompoundIndex(name = "returned_date", def = "{ 'returnedDate': 1 }")
+})
 @AllArgsConstructor
 @NoArgsConstructor
 public class Loan {
@@ -24,7 +44,6 @@ public class Loan {
     @Id
     private String id;
 
-    @Indexed(unique = true)
     private LoanIdentifier loanIdentifier;
     private PatronModel patronModel;
     private List<BookModel> books;
@@ -33,4 +52,18 @@ public class Loan {
     private LocalDate borrowedDate;
     private LocalDate dueDate;
     private LocalDate returnedDate;
+
+    // set by the overdue sweep between expiring the loan and recording its fine
+    private String overdueFineBatch;
+
+    // the idempotency record the loan was created under, written with the loan so a retry that takes over an
+    // abandoned key finds the loan instead of creating a second one
+    private String idempotencyKey;
+
+    // outbox of catalog status changes, written in the same document so they can't be lost
+    @Builder.Default
+    private List<BookStatusChange> pendingStatusChanges = new ArrayList<>();
+
+    @Version
+    private Long version;
 }
@@ -0,0 +1,24 @@
+package com.library.loans.datalayer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// one row of an analytics pipeline, a day bucket (and book for the per-book counts) with the counters the pipeline computes
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class LoanDayCounts {
+
+    private LocalDate date;
+    private Long isbn;
+    private long checkouts;
+    private long due;
+    private long overdue;
+    private long returned;
+    private long loanDays;
+}
@@ -0,0 +1,56 @@
+package com.library.loans.datalayer;
+
+import org.bson.BsonBinarySubType;
+import org.bson.types.Binary;
+import org.springframework.data.mongodb.core.convert.MongoConversionContext;
+import org.springframework.data.mongodb.core.convert.MongoValueConverter;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+// Stores a loan id as a 16 byte BSON UUID instead of a 36 character string, registered under the binary-ids profile.
+// An id that is not a UUID is still stored as a string and reads take either form. Queries on the id go through the
+// same conversion and only find a UUID stored as binary, so BinaryLoanIdMigration converts the stored ids before
+// the service takes requests.
+public class LoanIdBinaryConverter implements MongoValueConverter<String, Object> {
+
+    @Override
+    public String read(Object value, MongoConversionContext context) {
+        return fromStored(value);
+    }
+
+    @Override
+    public Object write(String value, MongoConversionContext context) {
+        return toStored(value);
+    }
+
+    public static Object toStored(String loanId) {
+        UUID uuid;
+        try {
+            uuid = UUID.fromString(loanId);
+        }
+        catch (IllegalArgumentException e) {
+            return loanId;
+        }
+
+        // fromString also takes short groups and upper case, which would not read back as the same string
+        if (!uuid.toString().equals(loanId)) {
+            return loanId;
+        }
+
+        ByteBuffer bytes = ByteBuffer.allocate(16);
+        bytes.putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits());
+        return new Binary(BsonBinarySubType.UUID_STANDARD, bytes.array());
+    }
+
+    public static String fromStored(Object stored) {
+        if (stored instanceof Binary binary) {
+            ByteBuffer bytes = ByteBuffer.wrap(binary.getData());
+            return new UUID(bytes.getLong(), bytes.getLong()).toString();
+        }
+        if (stored instanceof UUID uuid) {
+            return uuid.toString();
+        }
+        return stored.toString();
+    }
+}
@@ -1,10 +1,9 @@
 package com.library.loans.datalayer;
 
+import com.library.loans.utils.IdentifierGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
-import java.util.UUID;
-
 @Getter
 @AllArgsConstructor
 public class LoanIdentifier {
@@ -12,6 +11,6 @@ public class LoanIdentifier {
     private String loanId;
 
     public LoanIdentifier() {
-        this.loanId = UUID.randomUUID().toString();
+        this.loanId = IdentifierGenerator.nextId();
     }
 }
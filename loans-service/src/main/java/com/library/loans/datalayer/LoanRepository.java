@@ -1,11 +1,85 @@
 package com.library.loans.datalayer;
 
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Aggregation;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
 
 public interface LoanRepository extends MongoRepository<Loan, String> {
 
+    // list views only need the fine id, and never the outbox
+    String LIST_VIEW_FIELDS = "{ 'pendingStatusChanges': 0, 'fineModel.amount': 0, 'fineModel.reason': 0, 'fineModel.isPaid': 0 }";
+
     Loan findLoanByLoanIdentifier_LoanId(String loanId);
+
+    Loan findLoanByIdempotencyKey(String idempotencyKey);
+
+    @Query(value = "{ 'patronModel.patronId': ?0 }", fields = LIST_VIEW_FIELDS)
     List<Loan> findLoansByPatronModel_PatronId(String patronId);
+
+    // keyset page, the patron's loans after the given _id in _id order
+    @Query(value = "{ 'patronModel.patronId': ?0, '_id': { '$gt': ?1 } }", fields = LIST_VIEW_FIELDS, sort = "{ '_id': 1 }")
+    List<Loan> findLoansByPatronModel_PatronIdAfter(String patronId, ObjectId after, Pageable pageable);
+
+    // the oldest pending changes over every loan, paged by change so the page holds every change older than its last,
+    // the match on the date type reads only the loans that hold a change from pending_status_changes_created_at
+    @Aggregation(pipeline = {
+            "{ '$match': { 'pendingStatusChanges.createdAt': { '$type': 'date' } } }",
+            "{ '$unwind': '$pendingStatusChanges' }",
+            "{ '$sort': { 'pendingStatusChanges.createdAt': 1, '_id': 1 } }",
+            "{ '$limit': ?0 }",
+            "{ '$project': { '_id': 0, 'loanId': '$_id', 'change': '$pendingStatusChanges' } }"
+    })
+    List<PendingStatusChange> findOldestPendingStatusChanges(int limit);
+
+    // bumps the version so a concurrent save of a stale copy fails instead of restoring delivered changes
+    @Query("{ '_id': ?0 }")
+    @Update("{ '$pull': { 'pendingStatusChanges': { 'id': { '$in': ?1 } } }, '$inc': { 'version': 1 } }")
+    void removePendingStatusChanges(String id, Collection<String> statusChangeIds);
+
+    // analytics, each pipeline returns one row per day bucket with only the counters it computes
+
+    @Aggregation(pipeline = {
+            "{ '$match': { 'borrowedDate': { '$gte': ?0, '$lte': ?1 } } }",
+            "{ '$group': { '_id': '$borrowedDate', 'checkouts': { '$sum': 1 } } }",
+            "{ '$project': { '_id': 0, 'date': '$_id', 'checkouts': 1 } }"
+    })
+    List<LoanDayCounts> countCheckoutsPerDay(LocalDate from, LocalDate to);
+
+    @Aggregation(pipeline = {
+            "{ '$match': { 'borrowedDate': { '$gte': ?0, '$lte': ?1 } } }",
+            "{ '$unwind': '$books' }",
+            "{ '$group': { '_id': { 'date': '$borrowedDate', 'isbn': '$books.isbn' }, 'checkouts': { '$sum': 1 } } }",
+            "{ '$project': { '_id': 0, 'date': '$_id.date', 'isbn': '$_id.isbn', 'checkouts': 1 } }"
+    })
+    List<LoanDayCounts> countBookCheckoutsPerDay(LocalDate from, LocalDate to);
+
+    // every status is listed so the due date range can use the status_due_date index,
+    // a loan that is still out counts as overdue once its due date is before today
+    @Aggregation(pipeline = {
+            "{ '$match': { 'status': { '$in': ?2 }, 'dueDate': { '$gte': ?0, '$lte': ?1 } } }",
+            "{ '$group': { '_id': '$dueDate', 'due': { '$sum': 1 }, "
+                    + "'overdue': { '$sum': { '$cond': [ { '$gt': [ { '$ifNull': [ '$returnedDate', ?3 ] }, '$dueDate' ] }, 1, 0 ] } } } }",
+            "{ '$project': { '_id': 0, 'date': '$_id', 'due': 1, 'overdue': 1 } }"
+    })
+    List<LoanDayCounts> countDueLoansPerDay(LocalDate from, LocalDate to, Collection<LoanStatus> statuses, LocalDate today);
+
+    default List<LoanDayCounts> countDueLoansPerDay(LocalDate from, LocalDate to, LocalDate today) {
+        return countDueLoansPerDay(from, to, EnumSet.allOf(LoanStatus.class), today);
+    }
+
+    @Aggregation(pipeline = {
+            "{ '$match': { 'returnedDate': { '$gte': ?0, '$lte': ?1 } } }",
+            "{ '$group': { '_id': '$returnedDate', 'returned': { '$sum': 1 }, "
+                    + "'loanDays': { '$sum': { '$toLong': { '$round': [ { '$divide': [ { '$subtract': [ '$returnedDate', '$borrowedDate' ] }, 86400000 ] }, 0 ] } } } } }",
+            "{ '$project': { '_id': 0, 'date': '$_id', 'returned': 1, 'loanDays': 1 } }"
+    })
+    List<LoanDayCounts> countReturnsPerDay(LocalDate from, LocalDate to);
 }
@@ -0,0 +1,32 @@
+package com.library.loans.datalayer;
+
+import com.library.loans.domainclientlayer.fines.FineModel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+
+// The fines the overdue sweep asks for on behalf of one batch, in the order of its loans. Kept until the fines are
+// recorded on the loans, so a batch that is fined again sends fines-service the very same request under the same key.
+@Data
+@Builder
+@Document(collection = "overdue_fine_batches")
+@AllArgsConstructor
+@NoArgsConstructor
+public class OverdueFineBatch {
+
+    @Id
+    private String id;
+    private List<String> loanIds;
+    private List<FineModel> fines;
+
+    // a batch left behind after its fines were recorded is no longer needed
+    @Indexed(name = "created_at_ttl", expireAfter = "7d")
+    private Instant createdAt;
+}
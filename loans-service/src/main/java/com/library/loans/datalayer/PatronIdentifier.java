@@ -1,10 +1,9 @@
 package com.library.loans.datalayer;
 
+import com.library.loans.utils.IdentifierGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
-import java.util.UUID;
-
 @Getter
 @AllArgsConstructor
 public class PatronIdentifier {
@@ -12,6 +11,6 @@ public class PatronIdentifier {
     private String patronId;
 
     public PatronIdentifier() {
-        this.patronId = UUID.randomUUID().toString();
+        this.patronId = IdentifierGenerator.nextId();
     }
 }
@@ -0,0 +1,17 @@
+package com.library.loans.datalayer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// one row of the outbox page, a pending status change with the loan that holds it
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PendingStatusChange {
+
+    private String loanId;
+    private BookStatusChange change;
+}
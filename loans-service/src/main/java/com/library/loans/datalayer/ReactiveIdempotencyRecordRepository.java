@@ -0,0 +1,20 @@
+package com.library.loans.datalayer;
+
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.data.mongodb.repository.Update;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+public interface ReactiveIdempotencyRecordRepository extends ReactiveMongoRepository<IdempotencyRecord, String> {
+
+    // restarts the lease of a record whose request never stored a response, only for the same request
+    @Query("{ '_id': ?0, 'requestHash': ?1, 'response': null, 'createdAt': { '$lt': ?2 } }")
+    @Update("{ '$set': { 'createdAt': ?3 } }")
+    Mono<Long> claimAbandoned(String id, String requestHash, Instant staleBefore, Instant now);
+
+    // deletes a record only while it still carries the claim of the request releasing it, not a takeover's
+    @Query(value = "{ '_id': ?0, 'response': null, 'createdAt': ?1 }", delete = true)
+    Mono<Long> releaseClaim(String id, Instant claimedAt);
+}
@@ -0,0 +1,21 @@
+package com.library.loans.datalayer;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveLoanRepository extends ReactiveMongoRepository<Loan, String> {
+
+    Mono<Loan> findLoanByLoanIdentifier_LoanId(String loanId);
+
+    Mono<Loan> findLoanByIdempotencyKey(String idempotencyKey);
+
+    @Query(value = "{ 'patronModel.patronId': ?0 }", fields = LoanRepository.LIST_VIEW_FIELDS)
+    Flux<Loan> findLoansByPatronModel_PatronId(String patronId);
+
+    @Query(value = "{ 'patronModel.patronId': ?0, '_id': { '$gt': ?1 } }", fields = LoanRepository.LIST_VIEW_FIELDS, sort = "{ '_id': 1 }")
+    Flux<Loan> findLoansByPatronModel_PatronIdAfter(String patronId, ObjectId after, Pageable pageable);
+}
@@ -0,0 +1,26 @@
+package com.library.loans.datalayer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+// Whether the sweep of a given day has finished, so another run on the same day does nothing
+@Data
+@Builder
+@Document(collection = "sweep_checkpoints")
+@AllArgsConstructor
+@NoArgsConstructor
+public class SweepCheckpoint {
+
+    @Id
+    private String name;
+    private LocalDate sweepDate;
+    private boolean completed;
+    private Instant updatedAt;
+}
@@ -19,6 +19,10 @@ public interface LoanRequestMapper {
     @Mapping(target = "returnedDate", ignore = true)
     @Mapping(target = "books", source = "bookModel")
     @Mapping(target = "dueDate", ignore = true)
+    @Mapping(target = "pendingStatusChanges", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "overdueFineBatch", ignore = true)
+    @Mapping(target = "idempotencyKey", ignore = true)
 //    @Mapping(target = "loanId", source = "loanId")
 //    @Mapping(expression = "java(patronIdentifier)", target = "patronIdentifier")
     Loan requestModelToEntity(LoanRequestModel requestModel, LoanIdentifier loanIdentifier,
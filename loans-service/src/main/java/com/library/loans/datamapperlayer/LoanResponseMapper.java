@@ -2,12 +2,13 @@ package com.library.loans.datamapperlayer;
 
 import com.library.loans.datalayer.Loan;
 import com.library.loans.presentationlayer.LoanResponseModel;
+import com.library.loans.utils.ETags;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
 import java.util.List;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", imports = ETags.class)
 public interface LoanResponseMapper {
 
     @Mapping(expression = "java(loan.getLoanIdentifier().getLoanId())", target = "loanId")
@@ -17,6 +18,7 @@ public interface LoanResponseMapper {
 //    @Mapping(expression = "java(loan.getBookModel())", target = "books")
     @Mapping(expression = "java(loan.getFineModel() != null ? loan.getFineModel().getFineId() : null)",
             target = "fineId")
+    @Mapping(expression = "java(ETags.of(loan.getId(), loan.getVersion()))", target = "etag")
     LoanResponseModel entityToResponseModel(Loan loan);
 
     List<LoanResponseModel> entityListToResponseModelList(List<Loan> books);
@@ -0,0 +1,164 @@
+package com.library.loans.domainclientlayer;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.library.loans.utils.exceptions.NotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// Bounded TTL cache in front of a downstream lookup. A 404 is remembered for a shorter time than a found value.
+public class DownstreamCache<K, V> {
+
+    private final Cache<K, CachedResponse<V>> cache;
+
+    DownstreamCache(String name, long maxSize, Duration ttl, Duration negativeTtl, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<K, CachedResponse<V>>() {
+                    @Override
+                    public long expireAfterCreate(K key, CachedResponse<V> response, long currentTime) {
+                        return response.notFoundMessage() == null ? ttl.toNanos() : negativeTtl.toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(K key, CachedResponse<V> response, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(key, response, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(K key, CachedResponse<V> response, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+    }
+
+    public V get(K key, Function<K, V> loader) {
+        CachedResponse<V> response = cache.get(key, k -> {
+            try {
+                V value = loader.apply(k);
+                return value == null ? null : new CachedResponse<>(value, null);
+            }
+            catch (NotFoundException ex) {
+                return new CachedResponse<>(null, ex.getMessage());
+            }
+        });
+        if (response == null) {
+            return null;
+        }
+        if (response.notFoundMessage() != null) {
+            throw new NotFoundException(response.notFoundMessage());
+        }
+        return response.value();
+    }
+
+    // Non-blocking variant of get, the loader is only subscribed to on a miss.
+    public Mono<V> getMono(K key, Function<K, Mono<V>> loader) {
+        return Mono.defer(() -> {
+            CachedResponse<V> response = cache.getIfPresent(key);
+            if (response != null) {
+                return response.notFoundMessage() == null
+                        ? Mono.just(response.value())
+                        : Mono.error(new NotFoundException(response.notFoundMessage()));
+            }
+            return loader.apply(key)
+                    .doOnNext(value -> cache.put(key, new CachedResponse<>(value, null)))
+                    .doOnError(NotFoundException.class,
+                            ex -> cache.put(key, new CachedResponse<>(null, ex.getMessage())));
+        });
+    }
+
+    // Loads the missing keys with one call, keys the loader does not return are cached as not found.
+    public Map<K, V> getAll(Collection<K> keys, Function<Collection<K>, Map<K, V>> loader,
+                            Function<K, String> notFoundMessage) {
+        Map<K, CachedResponse<V>> responses = cache.getAll(keys, missingKeys -> {
+            Map<K, V> values = loader.apply(new ArrayList<>(missingKeys));
+            Map<K, CachedResponse<V>> loaded = new HashMap<>();
+            for (K key : missingKeys) {
+                V value = values.get(key);
+                loaded.put(key, value == null
+                        ? new CachedResponse<>(null, notFoundMessage.apply(key))
+                        : new CachedResponse<>(value, null));
+            }
+            return loaded;
+        });
+
+        Map<K, V> found = new HashMap<>();
+        responses.forEach((key, response) -> {
+            if (response.notFoundMessage() == null) {
+                found.put(key, response.value());
+            }
+        });
+        return found;
+    }
+
+    // Non-blocking variant of getAll.
+    public Mono<Map<K, V>> getAllMono(Collection<K> keys, Function<Collection<K>, Mono<Map<K, V>>> loader,
+                                      Function<K, String> notFoundMessage) {
+        return Mono.defer(() -> {
+            Map<K, CachedResponse<V>> present = cache.getAllPresent(keys);
+            List<K> missingKeys = keys.stream()
+                    .distinct()
+                    .filter(key -> !present.containsKey(key))
+                    .toList();
+
+            Mono<Map<K, CachedResponse<V>>> responses = missingKeys.isEmpty()
+                    ? Mono.just(present)
+                    : loader.apply(missingKeys).map(values -> {
+                        Map<K, CachedResponse<V>> merged = new HashMap<>(present);
+                        for (K key : missingKeys) {
+                            V value = values.get(key);
+                            CachedResponse<V> response = value == null
+                                    ? new CachedResponse<>(null, notFoundMessage.apply(key))
+                                    : new CachedResponse<>(value, null);
+                            cache.put(key, response);
+                            merged.put(key, response);
+                        }
+                        return merged;
+                    });
+
+            return responses.map(merged -> {
+                Map<K, V> found = new HashMap<>();
+                merged.forEach((key, response) -> {
+                    if (response.notFoundMessage() == null) {
+                        found.put(key, response.value());
+                    }
+                });
+                return found;
+            });
+        });
+    }
+
+    public void put(K key, V value) {
+        if (value == null) {
+            cache.invalidate(key);
+            return;
+        }
+        cache.put(key, new CachedResponse<>(value, null));
+    }
+
+    public void invalidate(K key) {
+        cache.invalidate(key);
+    }
+
+    public void invalidateAll(Collection<K> keys) {
+        cache.invalidateAll(keys);
+    }
+
+    private record CachedResponse<V>(V value, String notFoundMessage) {
+    }
+}
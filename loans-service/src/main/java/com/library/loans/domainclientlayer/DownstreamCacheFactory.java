@@ -0,0 +1,36 @@
+package com.library.loans.domainclientlayer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class DownstreamCacheFactory {
+
+    private final MeterRegistry meterRegistry;
+    private final long maxSize;
+    private final Duration ttl;
+    private final Duration negativeTtl;
+    private final Map<String, DownstreamCache<?, ?>> caches = new ConcurrentHashMap<>();
+
+    public DownstreamCacheFactory(MeterRegistry meterRegistry,
+                                  @Value("${app.clients.cache.max-size:10000}") long maxSize,
+                                  @Value("${app.clients.cache.ttl:30s}") Duration ttl,
+                                  @Value("${app.clients.cache.negative-ttl:5s}") Duration negativeTtl) {
+        this.meterRegistry = meterRegistry;
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.negativeTtl = negativeTtl;
+    }
+
+    // clients that talk to the same downstream share one cache per name
+    @SuppressWarnings("unchecked")
+    public <K, V> DownstreamCache<K, V> create(String name) {
+        return (DownstreamCache<K, V>) caches.computeIfAbsent(name,
+                key -> new DownstreamCache<>(key, maxSize, ttl, negativeTtl, meterRegistry));
+    }
+}
@@ -0,0 +1,78 @@
+package com.library.loans.domainclientlayer;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.REACTIVE;
+
+// Builds one Reactor Netty connection pool per downstream service for the reactive clients, from the same
+// app.http-client.<downstream>.* settings as DownstreamHttpClientFactory. Reactor Netty has no keep-alive to fall
+// back on, so an idle connection is closed after keep-alive and the evictor looks for those every idle-eviction.
+@Component
+@ConditionalOnWebApplication(type = REACTIVE)
+public class DownstreamConnectorFactory implements DisposableBean {
+
+    private static final String PREFIX = "app.http-client.";
+
+    private final Environment environment;
+    private final List<ConnectionProvider> connectionProviders = new ArrayList<>();
+
+    public DownstreamConnectorFactory(Environment environment) {
+        this.environment = environment;
+    }
+
+    public ClientHttpConnector create(String downstream) {
+        Duration connectTimeout = setting(downstream, "connect-timeout", Duration.class, Duration.ofSeconds(2));
+        Duration responseTimeout = setting(downstream, "response-timeout", Duration.class, Duration.ofSeconds(10));
+        int maxConnections = setting(downstream, "max-connections", Integer.class, 50);
+        Duration leaseTimeout = setting(downstream, "lease-timeout", Duration.class, Duration.ofSeconds(2));
+        Duration keepAlive = setting(downstream, "keep-alive", Duration.class, Duration.ofSeconds(30));
+        Duration timeToLive = setting(downstream, "time-to-live", Duration.class, Duration.ofMinutes(5));
+        Duration idleEviction = setting(downstream, "idle-eviction", Duration.class, Duration.ofSeconds(30));
+
+        // the reactor.netty.connection.provider.* meters, tagged with the downstream as the pool name, reach the
+        // actuator through the global registry Boot binds its registry to
+        ConnectionProvider connectionProvider = ConnectionProvider.builder(downstream)
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(leaseTimeout)
+                .maxIdleTime(keepAlive)
+                .maxLifeTime(timeToLive)
+                .evictInBackground(idleEviction)
+                .metrics(true)
+                .build();
+        connectionProviders.add(connectionProvider);
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(responseTimeout);
+        // upgrades to HTTP/2 where the downstream supports it, like the JDK client of the RestTemplate
+        if (setting(downstream, "http2", Boolean.class, false)) {
+            httpClient = httpClient.protocol(HttpProtocol.HTTP11, HttpProtocol.H2C);
+        }
+        return new ReactorClientHttpConnector(httpClient);
+    }
+
+    @Override
+    public void destroy() {
+        for (ConnectionProvider connectionProvider : connectionProviders) {
+            connectionProvider.dispose();
+        }
+    }
+
+    private <T> T setting(String downstream, String key, Class<T> type, T defaultValue) {
+        return environment.getProperty(PREFIX + downstream + "." + key, type,
+                environment.getProperty(PREFIX + "defaults." + key, type, defaultValue));
+    }
+}
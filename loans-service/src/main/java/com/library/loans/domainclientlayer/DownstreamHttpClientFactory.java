@@ -0,0 +1,123 @@
+package com.library.loans.domainclientlayer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Builds one connection pool per downstream service. Settings are read from
+// app.http-client.<downstream>.* and fall back to app.http-client.defaults.*
+@Slf4j
+@Component
+public class DownstreamHttpClientFactory implements DisposableBean {
+
+    private static final String PREFIX = "app.http-client.";
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final List<CloseableHttpClient> httpClients = new ArrayList<>();
+
+    public DownstreamHttpClientFactory(Environment environment, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public ClientHttpRequestFactory createRoutingRequestFactory(String... downstreams) {
+        Map<String, ClientHttpRequestFactory> requestFactories = new HashMap<>();
+        for (String downstream : downstreams) {
+            String host = environment.getProperty("app." + downstream + ".host");
+            String port = environment.getProperty("app." + downstream + ".port");
+            if (host == null || port == null) {
+                continue;
+            }
+            requestFactories.put(host + ":" + port, create(downstream));
+        }
+        return new RoutingClientHttpRequestFactory(requestFactories, create("default"));
+    }
+
+    public ClientHttpRequestFactory create(String downstream) {
+        Duration connectTimeout = setting(downstream, "connect-timeout", Duration.class, Duration.ofSeconds(2));
+        Duration responseTimeout = setting(downstream, "response-timeout", Duration.class, Duration.ofSeconds(10));
+
+        // the JDK client multiplexes requests over a single HTTP/2 connection, so there is no pool to size
+        if (setting(downstream, "http2", Boolean.class, false)) {
+            JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .connectTimeout(connectTimeout)
+                    .build());
+            requestFactory.setReadTimeout(responseTimeout);
+            return requestFactory;
+        }
+
+        int maxConnections = setting(downstream, "max-connections", Integer.class, 50);
+        Duration leaseTimeout = setting(downstream, "lease-timeout", Duration.class, Duration.ofSeconds(2));
+        // how long an idle connection is kept for reuse when the response does not say, how long a connection is used
+        // at all before it is replaced, and how long it may sit idle in the pool before the evictor closes it
+        Duration keepAlive = setting(downstream, "keep-alive", Duration.class, Duration.ofSeconds(30));
+        Duration timeToLive = setting(downstream, "time-to-live", Duration.class, Duration.ofMinutes(5));
+        Duration idleEviction = setting(downstream, "idle-eviction", Duration.class, Duration.ofSeconds(30));
+
+        InstrumentedConnectionManager connectionManager = new InstrumentedConnectionManager(downstream, meterRegistry);
+        connectionManager.setMaxTotal(maxConnections);
+        // every downstream is a single route, so it may use the whole pool
+        connectionManager.setDefaultMaxPerRoute(maxConnections);
+        connectionManager.setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(connectTimeout))
+                .setSocketTimeout(Timeout.of(responseTimeout))
+                .setTimeToLive(TimeValue.of(timeToLive))
+                .build());
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, downstream).bindTo(meterRegistry);
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(leaseTimeout))
+                        .setResponseTimeout(Timeout.of(responseTimeout))
+                        // used when the response has no Keep-Alive header
+                        .setDefaultKeepAlive(keepAlive.toMillis(), TimeUnit.MILLISECONDS)
+                        .build())
+                .setKeepAliveStrategy(DefaultConnectionKeepAliveStrategy.INSTANCE)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleEviction))
+                .build();
+        httpClients.add(httpClient);
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    @Override
+    public void destroy() {
+        for (CloseableHttpClient httpClient : httpClients) {
+            try {
+                httpClient.close();
+            } catch (IOException e) {
+                log.warn("Could not close http client: {}", e.getMessage());
+            }
+        }
+    }
+
+    private <T> T setting(String downstream, String key, Class<T> type, T defaultValue) {
+        return environment.getProperty(PREFIX + downstream + "." + key, type,
+                environment.getProperty(PREFIX + "defaults." + key, type, defaultValue));
+    }
+}
@@ -0,0 +1,13 @@
+package com.library.loans.domainclientlayer.catalogs;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class BookBatchRequestModel {
+
+    List<Long> isbns;
+}
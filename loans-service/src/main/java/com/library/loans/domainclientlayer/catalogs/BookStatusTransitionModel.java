@@ -0,0 +1,15 @@
+package com.library.loans.domainclientlayer.catalogs;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class BookStatusTransitionModel {
+
+    List<Long> isbns;
+    Status from;
+    Status to;
+}
@@ -0,0 +1,17 @@
+package com.library.loans.domainclientlayer.catalogs;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Data
+@Builder
+public class BookStatusTransitionResultModel {
+
+    List<BookModel> transitioned;
+    List<BookModel> rejected;
+    List<Long> notFound;
+}
@@ -1,7 +1,10 @@
 package com.library.loans.domainclientlayer.catalogs;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.loans.domainclientlayer.DownstreamCache;
+import com.library.loans.domainclientlayer.DownstreamCacheFactory;
 import com.library.loans.utils.HttpErrorInfo;
+import com.library.loans.utils.IdempotencyKeys;
 import com.library.loans.utils.exceptions.DuplicateISBNException;
 import com.library.loans.utils.exceptions.InUseException;
 import com.library.loans.utils.exceptions.InvalidISBNException;
@@ -13,6 +16,12 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
@@ -23,18 +32,25 @@ public class CatalogServiceClient {
     
     private final RestTemplate restTemplate;
     private final ObjectMapper mapper;
+    private final DownstreamCache<Long, BookModel> bookCache;
     private final String BOOK_SERVICE_BASE_URL;
 
     private CatalogServiceClient(RestTemplate restTemplate, ObjectMapper mapper,
+                                   DownstreamCacheFactory downstreamCacheFactory,
                                    @Value("${app.catalog-service.host}") String catalogServiceHost,
                                    @Value("${app.catalog-service.port}") String catalogServicePort) {
         this.restTemplate = restTemplate;
         this.mapper = mapper;
+        this.bookCache = downstreamCacheFactory.create("books");
 
         BOOK_SERVICE_BASE_URL  = "http://" + catalogServiceHost + ":" + catalogServicePort + "/api/v1/books";
     }
 
     public BookModel getBookByIsbn(Long isbn) {
+        return bookCache.get(isbn, this::fetchBookByIsbn);
+    }
+
+    private BookModel fetchBookByIsbn(Long isbn) {
         try {
             String url = BOOK_SERVICE_BASE_URL + "/" + isbn;
 
@@ -45,11 +61,72 @@ public class CatalogServiceClient {
         }
     }
 
+    public List<BookModel> getBooksByIsbns(List<Long> isbns) {
+        Map<Long, BookModel> books = bookCache.getAll(isbns, this::fetchBooksByIsbns,
+                isbn -> "Unknown ISBN provided: " + isbn);
+        return isbns.stream()
+                .distinct()
+                .filter(books::containsKey)
+                .map(books::get)
+                .toList();
+    }
+
+    private Map<Long, BookModel> fetchBooksByIsbns(Collection<Long> isbns) {
+        try {
+            String url = BOOK_SERVICE_BASE_URL + "/batch-get";
+
+            BookModel[] bookModels = restTemplate.postForObject(url, BookBatchRequestModel.builder()
+                    .isbns(new ArrayList<>(isbns))
+                    .build(), BookModel[].class);
+            Map<Long, BookModel> books = new HashMap<>();
+            if (bookModels != null) {
+                Arrays.stream(bookModels).forEach(book -> books.put(book.getIsbn(), book));
+            }
+            return books;
+        }
+        catch (HttpClientErrorException ex) {
+            throw handleHttpClientException(ex);
+        }
+    }
+
     public BookModel patchBookByIsbn(Long isbn, BookModel bookModel) {
         try {
             String url = BOOK_SERVICE_BASE_URL + "/" + isbn;
 
-            return restTemplate.patchForObject(url, bookModel, BookModel.class);
+            BookModel updatedBook = restTemplate.patchForObject(url, bookModel, BookModel.class);
+            bookCache.put(isbn, updatedBook);
+            return updatedBook;
+        }
+        catch (HttpClientErrorException ex) {
+            throw handleHttpClientException(ex);
+        }
+    }
+
+    public BookStatusTransitionResultModel transitionBooks(List<Long> isbns, Status from, Status to) {
+        return transitionBooks(isbns, from, to, null);
+    }
+
+    // Sent again with the same key, e.g. by the outbox after a lost response, the catalog replays the first result.
+    public BookStatusTransitionResultModel transitionBooks(List<Long> isbns, Status from, Status to,
+                                                           String idempotencyKey) {
+        try {
+            String url = BOOK_SERVICE_BASE_URL + "/status-transitions";
+
+            BookStatusTransitionModel transition = BookStatusTransitionModel.builder()
+                    .isbns(isbns)
+                    .from(from)
+                    .to(to)
+                    .build();
+            BookStatusTransitionResultModel result = restTemplate.postForObject(url, idempotencyKey == null
+                    ? transition
+                    : IdempotencyKeys.request(idempotencyKey, transition), BookStatusTransitionResultModel.class);
+            if (result == null) {
+                bookCache.invalidateAll(isbns);
+                return null;
+            }
+            result.getTransitioned().forEach(book -> bookCache.put(book.getIsbn(), book));
+            result.getRejected().forEach(book -> bookCache.put(book.getIsbn(), book));
+            return result;
         }
         catch (HttpClientErrorException ex) {
             throw handleHttpClientException(ex);
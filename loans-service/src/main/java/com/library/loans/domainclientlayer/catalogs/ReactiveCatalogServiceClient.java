@@ -0,0 +1,115 @@
+package com.library.loans.domainclientlayer.catalogs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.loans.domainclientlayer.DownstreamCache;
+import com.library.loans.domainclientlayer.DownstreamCacheFactory;
+import com.library.loans.domainclientlayer.DownstreamConnectorFactory;
+import com.library.loans.utils.HttpErrorInfo;
+import com.library.loans.utils.exceptions.InvalidISBNException;
+import com.library.loans.utils.exceptions.NotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.REACTIVE;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
+
+@Component
+@ConditionalOnWebApplication(type = REACTIVE)
+@Slf4j
+public class ReactiveCatalogServiceClient {
+
+    private final WebClient webClient;
+    private final ObjectMapper mapper;
+    private final DownstreamCache<Long, BookModel> bookCache;
+
+    private ReactiveCatalogServiceClient(WebClient.Builder webClientBuilder, ObjectMapper mapper,
+                                         DownstreamCacheFactory downstreamCacheFactory,
+                                         DownstreamConnectorFactory downstreamConnectorFactory,
+                                         @Value("${app.catalog-service.host}") String catalogServiceHost,
+                                         @Value("${app.catalog-service.port}") String catalogServicePort) {
+        this.mapper = mapper;
+        this.bookCache = downstreamCacheFactory.create("books");
+
+        webClient = webClientBuilder
+                .clientConnector(downstreamConnectorFactory.create("catalog-service"))
+                .baseUrl("http://" + catalogServiceHost + ":" + catalogServicePort + "/api/v1/books")
+                .build();
+    }
+
+    public Mono<List<BookModel>> getBooksByIsbns(List<Long> isbns) {
+        return bookCache.getAllMono(isbns, this::fetchBooksByIsbns, isbn -> "Unknown ISBN provided: " + isbn)
+                .map(books -> isbns.stream()
+                        .distinct()
+                        .filter(books::containsKey)
+                        .map(books::get)
+                        .toList());
+    }
+
+    private Mono<Map<Long, BookModel>> fetchBooksByIsbns(Collection<Long> isbns) {
+        return webClient.post()
+                .uri("/batch-get")
+                .bodyValue(BookBatchRequestModel.builder()
+                        .isbns(new ArrayList<>(isbns))
+                        .build())
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, this::handleErrorResponse)
+                .bodyToFlux(BookModel.class)
+                .collect(Collectors.toMap(BookModel::getIsbn, Function.identity(), (first, second) -> first));
+    }
+
+    public Mono<BookStatusTransitionResultModel> transitionBooks(List<Long> isbns, Status from, Status to) {
+        return webClient.post()
+                .uri("/status-transitions")
+                .bodyValue(BookStatusTransitionModel.builder()
+                        .isbns(isbns)
+                        .from(from)
+                        .to(to)
+                        .build())
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, this::handleErrorResponse)
+                .bodyToMono(BookStatusTransitionResultModel.class)
+                .doOnNext(result -> {
+                    result.getTransitioned().forEach(book -> bookCache.put(book.getIsbn(), book));
+                    result.getRejected().forEach(book -> bookCache.put(book.getIsbn(), book));
+                });
+    }
+
+    private Mono<? extends Throwable> handleErrorResponse(ClientResponse response) {
+
+        //include all possible responses from the client
+        if (response.statusCode() == NOT_FOUND) {
+            return response.bodyToMono(String.class).defaultIfEmpty("")
+                    .map(body -> new NotFoundException(getErrorMessage(body)));
+        }
+        if (response.statusCode() == UNPROCESSABLE_ENTITY) {
+            return response.bodyToMono(String.class).defaultIfEmpty("")
+                    .map(body -> new InvalidISBNException(getErrorMessage(body)));
+        }
+        log.warn("Got an unexpected HTTP error: {}, will rethrow it", response.statusCode());
+        return response.createException();
+    }
+
+    private String getErrorMessage(String body) {
+        try {
+            return mapper.readValue(body, HttpErrorInfo.class).getMessage();
+        }
+        catch (IOException ioex) {
+            return ioex.getMessage();
+        }
+    }
+}
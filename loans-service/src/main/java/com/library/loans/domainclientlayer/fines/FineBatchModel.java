@@ -0,0 +1,17 @@
+package com.library.loans.domainclientlayer.fines;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class FineBatchModel {
+
+    private List<FineModel> fines;
+}
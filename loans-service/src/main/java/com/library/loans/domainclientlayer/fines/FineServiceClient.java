@@ -1,7 +1,10 @@
 package com.library.loans.domainclientlayer.fines;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.loans.domainclientlayer.DownstreamCache;
+import com.library.loans.domainclientlayer.DownstreamCacheFactory;
 import com.library.loans.utils.HttpErrorInfo;
+import com.library.loans.utils.IdempotencyKeys;
 import com.library.loans.utils.exceptions.InvalidAmountException;
 import com.library.loans.utils.exceptions.NotFoundException;
 import lombok.extern.slf4j.Slf4j;
@@ -11,6 +14,8 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
@@ -21,18 +26,25 @@ public class FineServiceClient {
 
     private final RestTemplate restTemplate;
     private final ObjectMapper mapper;
+    private final DownstreamCache<String, FineModel> fineCache;
     private final String FINE_SERVICE_BASE_URL;
 
     private FineServiceClient(RestTemplate restTemplate, ObjectMapper mapper,
+                              DownstreamCacheFactory downstreamCacheFactory,
                               @Value("${app.fines-service.host}") String fineServiceHost,
                               @Value("${app.fines-service.port}") String fineServicePort) {
         this.restTemplate = restTemplate;
         this.mapper = mapper;
+        this.fineCache = downstreamCacheFactory.create("fines");
 
         FINE_SERVICE_BASE_URL  = "http://" + fineServiceHost + ":" + fineServicePort + "/api/v1/fines";
     }
 
     public FineModel getFineByFineId(String fineId) {
+        return fineCache.get(fineId, this::fetchFineByFineId);
+    }
+
+    private FineModel fetchFineByFineId(String fineId) {
         try {
             String url = FINE_SERVICE_BASE_URL + "/" + fineId;
 
@@ -43,20 +55,47 @@ public class FineServiceClient {
         }
     }
 
-    public FineModel postFine(FineModel fineModel) {
+    public FineModel postFine(FineModel fineModel, String idempotencyKey) {
+        try {
+            FineModel createdFine = restTemplate.postForObject(FINE_SERVICE_BASE_URL,
+                    IdempotencyKeys.request(idempotencyKey, fineModel), FineModel.class);
+            if (createdFine != null) {
+                fineCache.put(createdFine.getFineId(), createdFine);
+            }
+            return createdFine;
+        }
+        catch (HttpClientErrorException ex) {
+            throw handleHttpClientException(ex);
+        }
+    }
+
+    // Creates all fines in one call, the result keeps the order of the request. Sent again with the same key and
+    // fines, fines-service replays the fines it created the first time.
+    public List<FineModel> postFines(List<FineModel> fineModels, String idempotencyKey) {
         try {
-            return restTemplate.postForObject(FINE_SERVICE_BASE_URL, fineModel, FineModel.class);
+            String url = FINE_SERVICE_BASE_URL + "/batch";
+
+            FineModel[] createdFines = restTemplate.postForObject(url, IdempotencyKeys.request(idempotencyKey,
+                    FineBatchModel.builder()
+                            .fines(fineModels)
+                            .build()), FineModel[].class);
+            if (createdFines == null) {
+                return List.of();
+            }
+            Arrays.stream(createdFines).forEach(createdFine -> fineCache.put(createdFine.getFineId(), createdFine));
+            return Arrays.asList(createdFines);
         }
         catch (HttpClientErrorException ex) {
             throw handleHttpClientException(ex);
         }
     }
 
-    public FineModel putFine(FineModel fineModel, String fineId) {
+    public FineModel putFine(FineModel fineModel, String fineId, String idempotencyKey) {
         try {
             String url = FINE_SERVICE_BASE_URL + "/" + fineId;
 
-            restTemplate.put(url, fineModel, FineModel.class);
+            restTemplate.put(url, IdempotencyKeys.request(idempotencyKey, fineModel));
+            fineCache.invalidate(fineId);
 
             return getFineByFineId(fineId);
         }
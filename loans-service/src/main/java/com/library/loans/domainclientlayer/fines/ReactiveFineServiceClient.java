@@ -0,0 +1,106 @@
+package com.library.loans.domainclientlayer.fines;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.loans.domainclientlayer.DownstreamCache;
+import com.library.loans.domainclientlayer.DownstreamCacheFactory;
+import com.library.loans.domainclientlayer.DownstreamConnectorFactory;
+import com.library.loans.utils.HttpErrorInfo;
+import com.library.loans.utils.IdempotencyKeys;
+import com.library.loans.utils.exceptions.InvalidAmountException;
+import com.library.loans.utils.exceptions.NotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.REACTIVE;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
+
+@Component
+@ConditionalOnWebApplication(type = REACTIVE)
+@Slf4j
+public class ReactiveFineServiceClient {
+
+    private final WebClient webClient;
+    private final ObjectMapper mapper;
+    private final DownstreamCache<String, FineModel> fineCache;
+
+    private ReactiveFineServiceClient(WebClient.Builder webClientBuilder, ObjectMapper mapper,
+                                      DownstreamCacheFactory downstreamCacheFactory,
+                                      DownstreamConnectorFactory downstreamConnectorFactory,
+                                      @Value("${app.fines-service.host}") String fineServiceHost,
+                                      @Value("${app.fines-service.port}") String fineServicePort) {
+        this.mapper = mapper;
+        this.fineCache = downstreamCacheFactory.create("fines");
+
+        webClient = webClientBuilder
+                .clientConnector(downstreamConnectorFactory.create("fines-service"))
+                .baseUrl("http://" + fineServiceHost + ":" + fineServicePort + "/api/v1/fines")
+                .build();
+    }
+
+    public Mono<FineModel> getFineByFineId(String fineId) {
+        return fineCache.getMono(fineId, this::fetchFineByFineId);
+    }
+
+    private Mono<FineModel> fetchFineByFineId(String fineId) {
+        return webClient.get()
+                .uri("/{fineId}", fineId)
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, this::handleErrorResponse)
+                .bodyToMono(FineModel.class);
+    }
+
+    public Mono<FineModel> postFine(FineModel fineModel, String idempotencyKey) {
+        return webClient.post()
+                .header(IdempotencyKeys.HEADER, idempotencyKey)
+                .bodyValue(fineModel)
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, this::handleErrorResponse)
+                .bodyToMono(FineModel.class)
+                .doOnNext(createdFine -> fineCache.put(createdFine.getFineId(), createdFine));
+    }
+
+    public Mono<FineModel> putFine(FineModel fineModel, String fineId, String idempotencyKey) {
+        return webClient.put()
+                .uri("/{fineId}", fineId)
+                .header(IdempotencyKeys.HEADER, idempotencyKey)
+                .bodyValue(fineModel)
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, this::handleErrorResponse)
+                .toBodilessEntity()
+                .doOnSuccess(response -> fineCache.invalidate(fineId))
+                .then(getFineByFineId(fineId));
+    }
+
+    private Mono<? extends Throwable> handleErrorResponse(ClientResponse response) {
+
+        //include all possible responses from the client
+        if (response.statusCode() == NOT_FOUND) {
+            return response.bodyToMono(String.class).defaultIfEmpty("")
+                    .map(body -> new NotFoundException(getErrorMessage(body)));
+        }
+        if (response.statusCode() == UNPROCESSABLE_ENTITY) {
+            return response.bodyToMono(String.class).defaultIfEmpty("")
+                    .map(body -> new InvalidAmountException(getErrorMessage(body)));
+        }
+        log.warn("Got an unexpected HTTP error: {}, will rethrow it", response.statusCode());
+        return response.createException();
+    }
+
+    private String getErrorMessage(String body) {
+        try {
+            return mapper.readValue(body, HttpErrorInfo.class).getMessage();
+        }
+        catch (IOException ioex) {
+            return ioex.getMessage();
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.library.loans.domainclientlayer.patrons;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.loans.domainclientlayer.DownstreamCache;
+import com.library.loans.domainclientlayer.DownstreamCacheFactory;
 import com.library.loans.utils.HttpErrorInfo;
 import com.library.loans.utils.exceptions.InvalidEmailException;
 import com.library.loans.utils.exceptions.NotFoundException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
@@ -12,27 +15,36 @@ import org.springframework.web.client.RestTemplate;
 
 import java.io.IOException;
 
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
 
 @Component
+@ConditionalOnWebApplication(type = SERVLET)
 @Slf4j
 public class PatronServiceClient {
 
     private final RestTemplate restTemplate;
     private final ObjectMapper mapper;
+    private final DownstreamCache<String, PatronModel> patronCache;
     private final String PATRON_SERVICE_BASE_URL;
 
     private PatronServiceClient(RestTemplate restTemplate, ObjectMapper mapper,
+                                DownstreamCacheFactory downstreamCacheFactory,
                                 @Value("${app.patrons-service.host}") String patronsServiceHost,
                                 @Value("${app.patrons-service.port}") String patronsServicePort) {
         this.restTemplate = restTemplate;
         this.mapper = mapper;
+        this.patronCache = downstreamCacheFactory.create("patrons");
 
         PATRON_SERVICE_BASE_URL  = "http://" + patronsServiceHost + ":" + patronsServicePort + "/api/v1/patrons";
     }
 
     public PatronModel getPatronByPatronId(String patronId) {
+        return patronCache.get(patronId, this::fetchPatronByPatronId);
+    }
+
+    private PatronModel fetchPatronByPatronId(String patronId) {
         try {
             String url = PATRON_SERVICE_BASE_URL + "/" + patronId;
 
@@ -0,0 +1,83 @@
+package com.library.loans.domainclientlayer.patrons;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.loans.domainclientlayer.DownstreamCache;
+import com.library.loans.domainclientlayer.DownstreamCacheFactory;
+import com.library.loans.domainclientlayer.DownstreamConnectorFactory;
+import com.library.loans.utils.HttpErrorInfo;
+import com.library.loans.utils.exceptions.InvalidEmailException;
+import com.library.loans.utils.exceptions.NotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.REACTIVE;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
+
+@Component
+@ConditionalOnWebApplication(type = REACTIVE)
+@Slf4j
+public class ReactivePatronServiceClient {
+
+    private final WebClient webClient;
+    private final ObjectMapper mapper;
+    private final DownstreamCache<String, PatronModel> patronCache;
+
+    private ReactivePatronServiceClient(WebClient.Builder webClientBuilder, ObjectMapper mapper,
+                                        DownstreamCacheFactory downstreamCacheFactory,
+                                        DownstreamConnectorFactory downstreamConnectorFactory,
+                                        @Value("${app.patrons-service.host}") String patronsServiceHost,
+                                        @Value("${app.patrons-service.port}") String patronsServicePort) {
+        this.mapper = mapper;
+        this.patronCache = downstreamCacheFactory.create("patrons");
+
+        webClient = webClientBuilder
+                .clientConnector(downstreamConnectorFactory.create("patrons-service"))
+                .baseUrl("http://" + patronsServiceHost + ":" + patronsServicePort + "/api/v1/patrons")
+                .build();
+    }
+
+    public Mono<PatronModel> getPatronByPatronId(String patronId) {
+        return patronCache.getMono(patronId, this::fetchPatronByPatronId);
+    }
+
+    private Mono<PatronModel> fetchPatronByPatronId(String patronId) {
+        return webClient.get()
+                .uri("/{patronId}", patronId)
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, this::handleErrorResponse)
+                .bodyToMono(PatronModel.class);
+    }
+
+    private Mono<? extends Throwable> handleErrorResponse(ClientResponse response) {
+
+        //include all possible responses from the client
+        if (response.statusCode() == NOT_FOUND) {
+            return response.bodyToMono(String.class).defaultIfEmpty("")
+                    .map(body -> new NotFoundException(getErrorMessage(body)));
+        }
+        if (response.statusCode() == UNPROCESSABLE_ENTITY) {
+            return response.bodyToMono(String.class).defaultIfEmpty("")
+                    .map(body -> new InvalidEmailException(getErrorMessage(body)));
+        }
+        log.warn("Got an unexpected HTTP error: {}, will rethrow it", response.statusCode());
+        return response.createException();
+    }
+
+    private String getErrorMessage(String body) {
+        try {
+            return mapper.readValue(body, HttpErrorInfo.class).getMessage();
+        }
+        catch (IOException ioex) {
+            return ioex.getMessage();
+        }
+    }
+}
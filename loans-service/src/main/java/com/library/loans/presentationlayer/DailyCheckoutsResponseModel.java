@@ -0,0 +1,16 @@
+package com.library.loans.presentationlayer;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DailyCheckoutsResponseModel {
+
+    private LocalDate date;
+    private long checkouts;
+}
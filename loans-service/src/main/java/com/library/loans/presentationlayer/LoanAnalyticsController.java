@@ -0,0 +1,53 @@
+package com.library.loans.presentationlayer;
+
+import com.library.loans.businesslayer.LoanAnalyticsService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
+import static org.springframework.format.annotation.DateTimeFormat.ISO.DATE;
+
+@RestController
+@ConditionalOnWebApplication(type = SERVLET)
+@RequestMapping("api/v1/loans/analytics")
+public class LoanAnalyticsController {
+
+    private final LoanAnalyticsService loanAnalyticsService;
+
+    public LoanAnalyticsController(LoanAnalyticsService loanAnalyticsService) {
+        this.loanAnalyticsService = loanAnalyticsService;
+    }
+
+    @GetMapping(value = "checkouts", produces = "application/json")
+    public ResponseEntity<List<DailyCheckoutsResponseModel>> getCheckoutsPerDay(@RequestParam(required = false) @DateTimeFormat(iso = DATE) LocalDate from,
+                                                                                @RequestParam(required = false) @DateTimeFormat(iso = DATE) LocalDate to) {
+        return ResponseEntity.ok().body(loanAnalyticsService.getCheckoutsPerDay(from, to));
+    }
+
+    @GetMapping(value = "overdue-rate", produces = "application/json")
+    public ResponseEntity<OverdueRateResponseModel> getOverdueRate(@RequestParam(required = false) @DateTimeFormat(iso = DATE) LocalDate from,
+                                                                   @RequestParam(required = false) @DateTimeFormat(iso = DATE) LocalDate to) {
+        return ResponseEntity.ok().body(loanAnalyticsService.getOverdueRate(from, to));
+    }
+
+    @GetMapping(value = "loan-duration", produces = "application/json")
+    public ResponseEntity<LoanDurationResponseModel> getAverageLoanDuration(@RequestParam(required = false) @DateTimeFormat(iso = DATE) LocalDate from,
+                                                                            @RequestParam(required = false) @DateTimeFormat(iso = DATE) LocalDate to) {
+        return ResponseEntity.ok().body(loanAnalyticsService.getAverageLoanDuration(from, to));
+    }
+
+    @GetMapping(value = "top-books", produces = "application/json")
+    public ResponseEntity<List<BookCheckoutsResponseModel>> getMostBorrowedBooks(@RequestParam(required = false) @DateTimeFormat(iso = DATE) LocalDate from,
+                                                                                 @RequestParam(required = false) @DateTimeFormat(iso = DATE) LocalDate to,
+                                                                                 @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok().body(loanAnalyticsService.getMostBorrowedBooks(from, to, limit));
+    }
+}
@@ -1,9 +1,11 @@
 package com.library.loans.presentationlayer;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.library.loans.datalayer.LoanStatus;
 import com.library.loans.domainclientlayer.catalogs.BookModel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
@@ -24,4 +26,9 @@ public class LoanResponseModel {
     private LocalDate dueDate;
     private LocalDate returnedDate;
     private List<BookModel> books;
+
+    // sent as the ETag header, not in the body
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private String etag;
 }
@@ -1,13 +1,19 @@
 package com.library.loans.presentationlayer;
 
 import com.library.loans.businesslayer.LoanService;
+import com.library.loans.utils.ETags;
+import com.library.loans.utils.IdempotencyKeys;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
+
 @RestController
+@ConditionalOnWebApplication(type = SERVLET)
 @RequestMapping("api/v1/patrons/{patronId}/loans")
 public class PatronLoansController {
 
@@ -18,18 +24,22 @@ public class PatronLoansController {
     }
 
     @GetMapping(produces = "application/json")
-    public ResponseEntity<List<LoanResponseModel>> getAllLoansForPatron(@PathVariable String patronId) {
-        return ResponseEntity.ok().body(loanService.getAllLoansForPatron(patronId));
+    public ResponseEntity<List<LoanResponseModel>> getAllLoansForPatron(@PathVariable String patronId,
+                                                                        @RequestParam(required = false) String cursor,
+                                                                        @RequestParam(required = false) Integer size) {
+        return loanService.getAllLoansForPatron(patronId, cursor, size).toResponseEntity(LoanResponseModel::getEtag);
     }
 
     @GetMapping(value = "{loanId}", produces = "application/json")
     public ResponseEntity<LoanResponseModel> getLoanForPatron(@PathVariable String patronId, @PathVariable String loanId) {
-        return ResponseEntity.ok().body(loanService.getLoanForPatron(patronId, loanId));
+        LoanResponseModel loan = loanService.getLoanForPatron(patronId, loanId);
+        return ETags.ok(loan.getEtag()).body(loan);
     }
 
     @PostMapping(consumes = "application/json", produces = "application/json")
-    public ResponseEntity<LoanResponseModel> addLoanForPatron(@PathVariable String patronId, @RequestBody LoanRequestModel loanRequestModel) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(loanService.addLoanForPatron(patronId, loanRequestModel));
+    public ResponseEntity<LoanResponseModel> addLoanForPatron(@PathVariable String patronId, @RequestBody LoanRequestModel loanRequestModel,
+                                                              @RequestHeader(value = IdempotencyKeys.HEADER, required = false) String idempotencyKey) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(loanService.addLoanForPatron(patronId, loanRequestModel, idempotencyKey));
     }
 
     @PutMapping(consumes = "application/json", value = "{loanId}", produces = "application/json")
@@ -0,0 +1,63 @@
+package com.library.loans.presentationlayer;
+
+import com.library.loans.businesslayer.LoanAnalyticsService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.REACTIVE;
+import static org.springframework.format.annotation.DateTimeFormat.ISO.DATE;
+
+// the analytics are mostly served from cached day buckets, a miss runs the pipelines off the event loop
+@RestController
+@ConditionalOnWebApplication(type = REACTIVE)
+@RequestMapping("api/v1/loans/analytics")
+public class ReactiveLoanAnalyticsController {
+
+    private final LoanAnalyticsService loanAnalyticsService;
+
+    public ReactiveLoanAnalyticsController(LoanAnalyticsService loanAnalyticsService) {
+        this.loanAnalyticsService = loanAnalyticsService;
+    }
+
+    @GetMapping(value = "checkouts", produces = "application/json")
+    public Mono<ResponseEntity<List<DailyCheckoutsResponseModel>>> getCheckoutsPerDay(@RequestParam(required = false) @DateTimeFormat(iso = DATE) LocalDate from,
+                                                                                      @RequestParam(required = false) @DateTimeFormat(iso = DATE) LocalDate to) {
+        return ok(() -> loanAnalyticsService.getCheckoutsPerDay(from, to));
+    }
+
+    @GetMapping(value = "overdue-rate", produces = "application/json")
+    public Mono<ResponseEntity<OverdueRateResponseModel>> getOverdueRate(@RequestParam(required = false) @DateTimeFormat(iso = DATE) LocalDate from,
+                                                                         @RequestParam(required = false) @DateTimeFormat(iso = DATE) LocalDate to) {
+        return ok(() -> loanAnalyticsService.getOverdueRate(from, to));
+    }
+
+    @GetMapping(value = "loan-duration", produces = "application/json")
+    public Mono<ResponseEntity<LoanDurationResponseModel>> getAverageLoanDuration(@RequestParam(required = false) @DateTimeFormat(iso = DATE) LocalDate from,
+                                                                                  @RequestParam(required = false) @DateTimeFormat(iso = DATE) LocalDate to) {
+        return ok(() -> loanAnalyticsService.getAverageLoanDuration(from, to));
+    }
+
+    @GetMapping(value = "top-books", produces = "application/json")
+    public Mono<ResponseEntity<List<BookCheckoutsResponseModel>>> getMostBorrowedBooks(@RequestParam(required = false) @DateTimeFormat(iso = DATE) LocalDate from,
+                                                                                       @RequestParam(required = false) @DateTimeFormat(iso = DATE) LocalDate to,
+                                                                                       @RequestParam(required = false) Integer limit) {
+        return ok(() -> loanAnalyticsService.getMostBorrowedBooks(from, to, limit));
+    }
+
+    private <T> Mono<ResponseEntity<T>> ok(Callable<T> analytics) {
+        return Mono.fromCallable(analytics)
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(body -> ResponseEntity.ok().body(body));
+    }
+}
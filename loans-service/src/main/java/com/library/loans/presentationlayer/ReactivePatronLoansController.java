@@ -0,0 +1,60 @@
+package com.library.loans.presentationlayer;
+
+import com.library.loans.businesslayer.ReactiveLoanService;
+import com.library.loans.utils.ETags;
+import com.library.loans.utils.IdempotencyKeys;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.REACTIVE;
+
+@RestController
+@ConditionalOnWebApplication(type = REACTIVE)
+@RequestMapping("api/v1/patrons/{patronId}/loans")
+public class ReactivePatronLoansController {
+
+    private final ReactiveLoanService loanService;
+
+    public ReactivePatronLoansController(ReactiveLoanService loanService) {
+        this.loanService = loanService;
+    }
+
+    @GetMapping(produces = "application/json")
+    public Mono<ResponseEntity<List<LoanResponseModel>>> getAllLoansForPatron(@PathVariable String patronId,
+                                                                              @RequestParam(required = false) String cursor,
+                                                                              @RequestParam(required = false) Integer size) {
+        return loanService.getAllLoansForPatron(patronId, cursor, size)
+                .map(page -> page.toResponseEntity(LoanResponseModel::getEtag));
+    }
+
+    @GetMapping(value = "{loanId}", produces = "application/json")
+    public Mono<ResponseEntity<LoanResponseModel>> getLoanForPatron(@PathVariable String patronId, @PathVariable String loanId) {
+        return loanService.getLoanForPatron(patronId, loanId)
+                .map(loan -> ETags.ok(loan.getEtag()).body(loan));
+    }
+
+    @PostMapping(consumes = "application/json", produces = "application/json")
+    public Mono<ResponseEntity<LoanResponseModel>> addLoanForPatron(@PathVariable String patronId, @RequestBody LoanRequestModel loanRequestModel,
+                                                                    @RequestHeader(value = IdempotencyKeys.HEADER, required = false) String idempotencyKey) {
+        return loanService.addLoanForPatron(patronId, loanRequestModel, idempotencyKey)
+                .map(loan -> ResponseEntity.status(HttpStatus.CREATED).body(loan));
+    }
+
+    @PutMapping(consumes = "application/json", value = "{loanId}", produces = "application/json")
+    public Mono<ResponseEntity<LoanResponseModel>> updateLoanForPatron(@PathVariable String patronId, @RequestBody LoanRequestModel loanRequestModel,
+                                                                     @PathVariable String loanId) {
+        return loanService.updateLoanForPatron(patronId, loanRequestModel, loanId)
+                .map(loan -> ResponseEntity.ok().body(loan));
+    }
+
+    @DeleteMapping("{loanId}")
+    public Mono<ResponseEntity<Void>> deleteLoanForPatron(@PathVariable String patronId, @PathVariable String loanId) {
+        return loanService.deleteLoanForPatron(patronId, loanId)
+                .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+}
@@ -0,0 +1,94 @@
+package com.library.loans.utils;
+
+import com.library.loans.datalayer.Loan;
+import com.library.loans.datalayer.LoanIdBinaryConverter;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonType;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.Binary;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Under binary-ids, rewrites the loan ids still stored as strings to 16 byte UUIDs, in _id order one page at a time
+// with a bulk write per page. Ids that are not UUIDs stay strings and are stepped over, so a run always ends and
+// running it again only picks up what is left.
+@Slf4j
+@Component
+@Profile("binary-ids")
+public class BinaryLoanIdMigration implements SmartInitializingSingleton {
+
+    private static final String LOAN_ID = "loanIdentifier.loanId";
+
+    private final ObjectProvider<MongoTemplate> mongoTemplate;
+    private final int pageSize;
+
+    public BinaryLoanIdMigration(ObjectProvider<MongoTemplate> mongoTemplate,
+                                 @Value("${app.binary-ids.migration-page-size:1000}") int pageSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.pageSize = pageSize;
+    }
+
+    // Runs while the context starts, before the web server and the schedulers. The id queries write the id as a UUID
+    // and would miss a loan still stored as a string.
+    @Override
+    public void afterSingletonsInstantiated() {
+        migrate();
+    }
+
+    public void migrate() {
+        MongoTemplate template = mongoTemplate.getIfAvailable();
+        if (template == null) {
+            return;
+        }
+
+        MongoCollection<Document> loans = template.getCollection(template.getCollectionName(Loan.class));
+        ObjectId lastId = null;
+        int converted = 0;
+        List<Document> page;
+        do {
+            Bson filter = Filters.type(LOAN_ID, BsonType.STRING);
+            if (lastId != null) {
+                filter = Filters.and(Filters.gt("_id", lastId), filter);
+            }
+            page = loans.find(filter)
+                    .projection(Projections.include(LOAN_ID))
+                    .sort(Sorts.ascending("_id"))
+                    .limit(pageSize)
+                    .into(new ArrayList<>());
+
+            List<UpdateOneModel<Document>> updates = new ArrayList<>();
+            for (Document loan : page) {
+                Object stored = LoanIdBinaryConverter.toStored(loan.get("loanIdentifier", Document.class)
+                        .getString("loanId"));
+                if (stored instanceof Binary) {
+                    updates.add(new UpdateOneModel<>(Filters.eq("_id", loan.get("_id")), Updates.set(LOAN_ID, stored)));
+                }
+            }
+            if (!updates.isEmpty()) {
+                converted += loans.bulkWrite(updates).getModifiedCount();
+            }
+            if (!page.isEmpty()) {
+                lastId = page.get(page.size() - 1).getObjectId("_id");
+            }
+        } while (page.size() == pageSize);
+
+        if (converted > 0) {
+            log.info("Converted {} loan ids to binary UUIDs", converted);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.library.loans.utils;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+// Keys for writes sent downstream. Nothing resends a request at the HTTP level, a caller that sends a write again
+// builds a new request, so the key comes from what the caller is sending, e.g. an outbox change or a fine batch.
+// Sent again with the same key and body, catalog-service and fines-service replay their first response instead of
+// applying the write twice.
+public final class IdempotencyKeys {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private IdempotencyKeys() {
+    }
+
+    // the same parts always give the same key
+    public static String derive(Object... parts) {
+        return UUID.nameUUIDFromBytes(join(parts).getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    public static <T> HttpEntity<T> request(String idempotencyKey, T body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HEADER, idempotencyKey);
+        return new HttpEntity<>(body, headers);
+    }
+
+    // a key may only be replayed for the request it was first used with
+    public static String hash(Object... parts) {
+        return DigestUtils.md5DigestAsHex(join(parts).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String join(Object... parts) {
+        StringBuilder value = new StringBuilder();
+        for (Object part : parts) {
+            value.append(part).append('\n');
+        }
+        return value.toString();
+    }
+}
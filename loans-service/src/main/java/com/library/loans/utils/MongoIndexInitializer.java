@@ -0,0 +1,44 @@
+package com.library.loans.utils;
+
+import com.library.loans.datalayer.IdempotencyRecord;
+import com.library.loans.datalayer.Loan;
+import com.library.loans.datalayer.OverdueFineBatch;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// creates the indexes declared on the documents whether or not auto-index-creation is on,
+// before the command line runners load any data
+@Slf4j
+@Component
+public class MongoIndexInitializer {
+
+    private final ObjectProvider<MongoTemplate> mongoTemplate;
+
+    public MongoIndexInitializer(ObjectProvider<MongoTemplate> mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void createIndexes() {
+        MongoTemplate template = mongoTemplate.getIfAvailable();
+        if (template == null) {
+            return;
+        }
+
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(template.getConverter().getMappingContext());
+        for (Class<?> documentClass : List.of(Loan.class, IdempotencyRecord.class, OverdueFineBatch.class)) {
+            IndexOperations indexOperations = template.indexOps(documentClass);
+            resolver.resolveIndexFor(documentClass).forEach(index -> log.debug("Ensured index {} on {}",
+                    indexOperations.ensureIndex(index), template.getCollectionName(documentClass)));
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.library.loans.utils.exceptions;
+
+public class IdempotencyKeyReusedException extends RuntimeException{
+
+    public IdempotencyKeyReusedException() {}
+
+    public IdempotencyKeyReusedException(String message) { super(message); }
+
+    public IdempotencyKeyReusedException(Throwable cause) { super(cause); }
+
+    public IdempotencyKeyReusedException(String message, Throwable cause) { super(message, cause); }
+}
@@ -0,0 +1,12 @@
+package com.library.loans.utils.exceptions;
+
+public class InvalidCursorException extends RuntimeException{
+
+    public InvalidCursorException() {}
+
+    public InvalidCursorException(String message) { super(message); }
+
+    public InvalidCursorException(Throwable cause) { super(cause); }
+
+    public InvalidCursorException(String message, Throwable cause) { super(message, cause); }
+}
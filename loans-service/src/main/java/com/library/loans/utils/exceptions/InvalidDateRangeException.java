@@ -0,0 +1,12 @@
+package com.library.loans.utils.exceptions;
+
+public class InvalidDateRangeException extends RuntimeException{
+
+    public InvalidDateRangeException() {}
+
+    public InvalidDateRangeException(String message) { super(message); }
+
+    public InvalidDateRangeException(Throwable cause) { super(cause); }
+
+    public InvalidDateRangeException(String message, Throwable cause) { super(message, cause); }
+}
@@ -0,0 +1,12 @@
+package com.library.loans.utils.exceptions;
+
+public class RequestInProgressException extends RuntimeException{
+
+    public RequestInProgressException() {}
+
+    public RequestInProgressException(String message) { super(message); }
+
+    public RequestInProgressException(Throwable cause) { super(cause); }
+
+    public RequestInProgressException(String message, Throwable cause) { super(message, cause); }
+}
@@ -0,0 +1,178 @@
+package com.library.loans.businesslayer;
+
+import com.library.loans.datalayer.LoanDayCounts;
+import com.library.loans.datalayer.LoanRepository;
+import com.library.loans.presentationlayer.BookCheckoutsResponseModel;
+import com.library.loans.utils.exceptions.InvalidDateRangeException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class LoanAnalyticsServiceUnitTest {
+
+    private final LoanRepository loanRepository = mock(LoanRepository.class);
+
+    private final LoanAnalyticsService loanAnalyticsService = new LoanAnalyticsServiceImpl(loanRepository,
+            new SimpleMeterRegistry(), 1000, Duration.ZERO, Duration.ofHours(1), 366, 100);
+
+    private final LocalDate today = LocalDate.now();
+
+    // positive path
+    @Test
+    public void whenClosedDaysRequestedTwice_thenAggregateOnlyOnce() {
+        //arrange
+        LocalDate from = today.minusDays(10);
+        LocalDate to = today.minusDays(8);
+
+        //define mock behaviors
+        when(loanRepository.countCheckoutsPerDay(from, to)).thenReturn(List.of(
+                LoanDayCounts.builder().date(from).checkouts(3).build(),
+                LoanDayCounts.builder().date(to).checkouts(1).build()));
+
+        //act
+        var first = loanAnalyticsService.getCheckoutsPerDay(from, to);
+        var second = loanAnalyticsService.getCheckoutsPerDay(from, to);
+
+        //assert
+        assertEquals(3, first.size());
+        assertEquals(3, first.get(0).getCheckouts());
+        assertEquals(0, first.get(1).getCheckouts());
+        assertEquals(1, first.get(2).getCheckouts());
+        assertEquals(first, second);
+        verify(loanRepository, times(1)).countCheckoutsPerDay(from, to);
+    }
+
+    // positive path
+    @Test
+    public void whenClosedBucketTtlPassed_thenRecomputeClosedDays() {
+        //arrange, a loan deleted after the first request no longer counts once the buckets expire
+        LoanAnalyticsService expiringService = new LoanAnalyticsServiceImpl(loanRepository,
+                new SimpleMeterRegistry(), 1000, Duration.ZERO, Duration.ZERO, 366, 100);
+        LocalDate day = today.minusDays(10);
+
+        //define mock behaviors
+        when(loanRepository.countCheckoutsPerDay(day, day))
+                .thenReturn(List.of(LoanDayCounts.builder().date(day).checkouts(2).build()))
+                .thenReturn(List.of(LoanDayCounts.builder().date(day).checkouts(1).build()));
+
+        //act
+        var first = expiringService.getCheckoutsPerDay(day, day);
+        var second = expiringService.getCheckoutsPerDay(day, day);
+
+        //assert
+        assertEquals(2, first.get(0).getCheckouts());
+        assertEquals(1, second.get(0).getCheckouts());
+        verify(loanRepository, times(2)).countCheckoutsPerDay(day, day);
+    }
+
+    // positive path
+    @Test
+    public void whenRangeIncludesToday_thenOnlyRecomputeOpenDays() {
+        //arrange
+        LocalDate from = today.minusDays(2);
+
+        //act
+        loanAnalyticsService.getCheckoutsPerDay(from, today);
+        loanAnalyticsService.getCheckoutsPerDay(from, today);
+
+        //assert
+        verify(loanRepository, times(1)).countCheckoutsPerDay(from, today);
+        verify(loanRepository, times(1)).countCheckoutsPerDay(today, today);
+    }
+
+    // positive path
+    @Test
+    public void whenLoansDueInRange_thenComputeOverdueRate() {
+        //arrange
+        LocalDate from = today.minusDays(5);
+        LocalDate to = today.minusDays(1);
+
+        //define mock behaviors
+        when(loanRepository.countDueLoansPerDay(from, to, today)).thenReturn(List.of(
+                LoanDayCounts.builder().date(from).due(3).overdue(1).build(),
+                LoanDayCounts.builder().date(to).due(1).overdue(1).build()));
+
+        //act
+        var overdueRate = loanAnalyticsService.getOverdueRate(from, to);
+
+        //assert
+        assertEquals(from, overdueRate.getFrom());
+        assertEquals(to, overdueRate.getTo());
+        assertEquals(4, overdueRate.getDueLoans());
+        assertEquals(2, overdueRate.getOverdueLoans());
+        assertEquals(0.5, overdueRate.getOverdueRate());
+    }
+
+    // positive path
+    @Test
+    public void whenLoansReturnedInRange_thenComputeAverageLoanDuration() {
+        //arrange
+        LocalDate from = today.minusDays(5);
+        LocalDate to = today.minusDays(1);
+
+        //define mock behaviors
+        when(loanRepository.countReturnsPerDay(from, to)).thenReturn(List.of(
+                LoanDayCounts.builder().date(from).returned(2).loanDays(30).build(),
+                LoanDayCounts.builder().date(to).returned(1).loanDays(12).build()));
+
+        //act
+        var loanDuration = loanAnalyticsService.getAverageLoanDuration(from, to);
+
+        //assert
+        assertEquals(3, loanDuration.getReturnedLoans());
+        assertEquals(14.0, loanDuration.getAverageDays());
+    }
+
+    // positive path
+    @Test
+    public void whenBooksBorrowedOnSeveralDays_thenMergeMostBorrowedBooks() {
+        //arrange
+        LocalDate from = today.minusDays(5);
+        LocalDate to = today.minusDays(1);
+
+        //define mock behaviors
+        when(loanRepository.countBookCheckoutsPerDay(from, to)).thenReturn(List.of(
+                LoanDayCounts.builder().date(from).isbn(9780395193952L).checkouts(2).build(),
+                LoanDayCounts.builder().date(from).isbn(9780132350882L).checkouts(1).build(),
+                LoanDayCounts.builder().date(to).isbn(9780132350882L).checkouts(2).build(),
+                LoanDayCounts.builder().date(to).isbn(9780201633610L).checkouts(1).build()));
+
+        //act
+        var books = loanAnalyticsService.getMostBorrowedBooks(from, to, 2);
+
+        //assert
+        assertEquals(List.of(
+                new BookCheckoutsResponseModel(9780132350882L, 3),
+                new BookCheckoutsResponseModel(9780395193952L, 2)), books);
+    }
+
+    // negative path
+    @Test
+    public void whenFromIsAfterTo_thenThrowInvalidDateRange() {
+        //act
+        InvalidDateRangeException exception = assertThrows(InvalidDateRangeException.class,
+                () -> loanAnalyticsService.getCheckoutsPerDay(today, today.minusDays(1)));
+
+        //assert
+        assertEquals("Invalid date range: " + today + " is after " + today.minusDays(1), exception.getMessage());
+        verify(loanRepository, never()).countCheckoutsPerDay(any(), any());
+    }
+
+    // negative path
+    @Test
+    public void whenRangeIsTooLong_thenThrowInvalidDateRange() {
+        //act
+        InvalidDateRangeException exception = assertThrows(InvalidDateRangeException.class,
+                () -> loanAnalyticsService.getOverdueRate(today.minusDays(366), today));
+
+        //assert
+        assertEquals("Invalid date range: more than 366 days", exception.getMessage());
+    }
+}
@@ -0,0 +1,183 @@
+package com.library.loans.businesslayer;
+
+import com.library.loans.datalayer.BookStatusChange;
+import com.library.loans.datalayer.LoanRepository;
+import com.library.loans.datalayer.PendingStatusChange;
+import com.library.loans.domainclientlayer.catalogs.BookModel;
+import com.library.loans.domainclientlayer.catalogs.BookStatusTransitionResultModel;
+import com.library.loans.domainclientlayer.catalogs.CatalogServiceClient;
+import com.library.loans.domainclientlayer.catalogs.Status;
+import com.library.loans.utils.exceptions.InvalidISBNException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class LoanOutboxDispatcherUnitTest {
+
+    private final LoanRepository loanRepository = mock(LoanRepository.class);
+
+    private final CatalogServiceClient catalogServiceClient = mock(CatalogServiceClient.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final LoanOutboxDispatcher dispatcher = new LoanOutboxDispatcher(loanRepository, catalogServiceClient,
+            meterRegistry, 100, Duration.ofMinutes(1), Duration.ofMinutes(5));
+
+    private final BookStatusTransitionResultModel emptyResult = BookStatusTransitionResultModel.builder()
+            .transitioned(List.of())
+            .rejected(List.of())
+            .notFound(List.of())
+            .build();
+
+    private PendingStatusChange pending(String loanId, BookStatusChange change) {
+        return new PendingStatusChange(loanId, change);
+    }
+
+    private BookStatusChange change(String id, Long isbn, Status from, Status to, Instant createdAt) {
+        return new BookStatusChange(id, isbn, from, to, createdAt);
+    }
+
+    // positive path
+    @Test
+    public void whenChangesPending_thenDeliverEachUnderItsIdAndRemoveThem() {
+        //arrange
+        Instant now = Instant.now();
+        var changes = List.of(
+                pending("loan1", change("c1", 9789390183522L, Status.BORROWED, Status.AVAILABLE, now)),
+                pending("loan1", change("c2", 9780132350882L, Status.BORROWED, Status.AVAILABLE, now)),
+                pending("loan2", change("c3", 9780201633610L, Status.BORROWED, Status.AVAILABLE, now.plusMillis(1))));
+
+        //define mock behaviors
+        when(loanRepository.findOldestPendingStatusChanges(anyInt())).thenReturn(changes);
+        when(catalogServiceClient.transitionBooks(anyList(), any(Status.class), any(Status.class), anyString())).thenReturn(emptyResult);
+
+        //act
+        dispatcher.dispatch();
+
+        //assert
+        verify(catalogServiceClient, times(1)).transitionBooks(List.of(9789390183522L), Status.BORROWED, Status.AVAILABLE, "c1");
+        verify(catalogServiceClient, times(1)).transitionBooks(List.of(9780132350882L), Status.BORROWED, Status.AVAILABLE, "c2");
+        verify(catalogServiceClient, times(1)).transitionBooks(List.of(9780201633610L), Status.BORROWED, Status.AVAILABLE, "c3");
+        verify(loanRepository, times(1)).removePendingStatusChanges("loan1", List.of("c1", "c2"));
+        verify(loanRepository, times(1)).removePendingStatusChanges("loan2", List.of("c3"));
+    }
+
+    // positive path
+    @Test
+    public void whenSameIsbnChangedTwice_thenOnlyDeliverOldestChange() {
+        //arrange
+        Instant now = Instant.now();
+        var changes = List.of(
+                pending("loan1", change("c1", 9789390183522L, Status.BORROWED, Status.AVAILABLE, now)),
+                pending("loan2", change("c2", 9789390183522L, Status.AVAILABLE, Status.BORROWED, now.plusMillis(1))));
+
+        //define mock behaviors
+        when(loanRepository.findOldestPendingStatusChanges(anyInt())).thenReturn(changes);
+        when(catalogServiceClient.transitionBooks(anyList(), any(Status.class), any(Status.class), anyString())).thenReturn(emptyResult);
+
+        //act
+        dispatcher.dispatch();
+
+        //assert
+        verify(catalogServiceClient, times(1)).transitionBooks(List.of(9789390183522L), Status.BORROWED, Status.AVAILABLE, "c1");
+        verify(catalogServiceClient, never()).transitionBooks(anyList(), eq(Status.AVAILABLE), eq(Status.BORROWED), anyString());
+        verify(loanRepository, times(1)).removePendingStatusChanges("loan1", List.of("c1"));
+        verify(loanRepository, never()).removePendingStatusChanges(eq("loan2"), anyCollection());
+    }
+
+    // negative path
+    @Test
+    public void whenChangeRejectedOrBookGone_thenOnlyCountTransitionedBooks() {
+        //arrange
+        Instant now = Instant.now();
+        var changes = List.of(
+                pending("loan1", change("c1", 9789390183522L, Status.BORROWED, Status.AVAILABLE, now)),
+                pending("loan1", change("c2", 9780132350882L, Status.BORROWED, Status.AVAILABLE, now.plusMillis(1))),
+                pending("loan1", change("c3", 9780201633610L, Status.BORROWED, Status.AVAILABLE, now.plusMillis(2))));
+
+        //define mock behaviors
+        when(loanRepository.findOldestPendingStatusChanges(anyInt())).thenReturn(changes);
+        when(catalogServiceClient.transitionBooks(anyList(), any(Status.class), any(Status.class), eq("c1")))
+                .thenReturn(BookStatusTransitionResultModel.builder()
+                        .transitioned(List.of(BookModel.builder().isbn(9789390183522L).status(Status.AVAILABLE).build()))
+                        .rejected(List.of())
+                        .notFound(List.of())
+                        .build());
+        when(catalogServiceClient.transitionBooks(anyList(), any(Status.class), any(Status.class), eq("c2")))
+                .thenReturn(BookStatusTransitionResultModel.builder()
+                        .transitioned(List.of())
+                        .rejected(List.of(BookModel.builder().isbn(9780132350882L).status(Status.LOST).build()))
+                        .notFound(List.of())
+                        .build());
+        when(catalogServiceClient.transitionBooks(anyList(), any(Status.class), any(Status.class), eq("c3")))
+                .thenReturn(BookStatusTransitionResultModel.builder()
+                        .transitioned(List.of())
+                        .rejected(List.of())
+                        .notFound(List.of(9780201633610L))
+                        .build());
+
+        //act
+        dispatcher.dispatch();
+
+        //assert
+        assertEquals(1, meterRegistry.get("loans.outbox.delivered").counter().count());
+        verify(loanRepository, times(1)).removePendingStatusChanges("loan1", List.of("c1", "c2", "c3"));
+    }
+
+    // negative path
+    @Test
+    public void whenCatalogUnreachable_thenKeepChangesAndBackOff() {
+        //arrange
+        var changes = List.of(
+                pending("loan1", change("c1", 9789390183522L, Status.BORROWED, Status.AVAILABLE, Instant.now())));
+
+        //define mock behaviors
+        when(loanRepository.findOldestPendingStatusChanges(anyInt())).thenReturn(changes);
+        when(catalogServiceClient.transitionBooks(anyList(), any(Status.class), any(Status.class), anyString()))
+                .thenThrow(new ResourceAccessException("Connection refused"));
+
+        //act
+        dispatcher.dispatch();
+        dispatcher.dispatch();
+
+        //assert
+        verify(loanRepository, times(1)).findOldestPendingStatusChanges(anyInt());
+        verify(loanRepository, never()).removePendingStatusChanges(anyString(), anyCollection());
+    }
+
+    // negative path
+    @Test
+    public void whenCatalogRefusesChange_thenDropItAndDeliverTheRest() {
+        //arrange
+        Instant now = Instant.now();
+        var changes = List.of(
+                pending("loan1", change("c1", 9789390183522L, Status.BORROWED, Status.AVAILABLE, now)),
+                pending("loan2", change("c2", 9780132350882L, Status.BORROWED, Status.AVAILABLE, now.plusMillis(1))));
+
+        //define mock behaviors
+        when(loanRepository.findOldestPendingStatusChanges(anyInt())).thenReturn(changes);
+        when(catalogServiceClient.transitionBooks(anyList(), any(Status.class), any(Status.class), eq("c1")))
+                .thenThrow(new InvalidISBNException("Invalid ISBN provided: 9789390183522"));
+        when(catalogServiceClient.transitionBooks(anyList(), any(Status.class), any(Status.class), eq("c2")))
+                .thenReturn(emptyResult);
+
+        //act
+        dispatcher.dispatch();
+        dispatcher.dispatch();
+
+        //assert
+        verify(catalogServiceClient, times(2)).transitionBooks(List.of(9780132350882L), Status.BORROWED, Status.AVAILABLE, "c2");
+        verify(loanRepository, times(2)).removePendingStatusChanges("loan1", List.of("c1"));
+        verify(loanRepository, times(2)).removePendingStatusChanges("loan2", List.of("c2"));
+        assertEquals(2, meterRegistry.get("loans.outbox.discarded").counter().count());
+        assertEquals(0, meterRegistry.get("loans.outbox.failed").counter().count());
+    }
+}
@@ -1,5 +1,7 @@
 package com.library.loans.businesslayer;
 
+import com.library.loans.datalayer.IdempotencyRecord;
+import com.library.loans.datalayer.IdempotencyRecordRepository;
 import com.library.loans.datalayer.Loan;
 import com.library.loans.datalayer.LoanIdentifier;
 import com.library.loans.datalayer.LoanRepository;
@@ -7,6 +9,7 @@ import com.library.loans.datalayer.LoanStatus;
 import com.library.loans.datamapperlayer.LoanResponseMapper;
 import com.library.loans.domainclientlayer.catalogs.Author;
 import com.library.loans.domainclientlayer.catalogs.BookModel;
+import com.library.loans.domainclientlayer.catalogs.BookStatusTransitionResultModel;
 import com.library.loans.domainclientlayer.catalogs.CatalogServiceClient;
 import com.library.loans.domainclientlayer.catalogs.Status;
 import com.library.loans.domainclientlayer.fines.FineModel;
@@ -15,24 +18,40 @@ import com.library.loans.domainclientlayer.patrons.PatronModel;
 import com.library.loans.domainclientlayer.patrons.PatronServiceClient;
 import com.library.loans.presentationlayer.LoanRequestModel;
 import com.library.loans.presentationlayer.LoanResponseModel;
+import com.library.loans.utils.CursorPage;
+import com.library.loans.utils.IdempotencyKeys;
+import com.library.loans.utils.exceptions.IdempotencyKeyReusedException;
+import com.library.loans.utils.exceptions.InvalidCursorException;
 import com.library.loans.utils.exceptions.NotFoundException;
 import com.library.loans.utils.exceptions.UnavailableBookException;
+import org.bson.types.ObjectId;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @SpringBootTest
@@ -55,11 +74,53 @@ class LoanServiceUnitTest {
     @MockBean
     LoanRepository loanRepository;
 
+    @MockBean
+    IdempotencyRecordRepository idempotencyRecordRepository;
+
     @SpyBean
     LoanResponseMapper loanResponseMapper;
 
     private final String NOT_FOUND_PATRON_ID = "e5913a79-9b1e-4516-9ffd-06578e7af260";
 
+    // answers status transitions the way catalog-service does for the given books
+    private void mockBookTransitions(BookModel... catalogBooks) {
+        when(catalogServiceClient.transitionBooks(anyList(), any(Status.class), any(Status.class))).thenAnswer(invocation -> {
+            List<Long> isbns = invocation.getArgument(0);
+            Status from = invocation.getArgument(1);
+            Status to = invocation.getArgument(2);
+            List<BookModel> transitioned = new ArrayList<>();
+            List<BookModel> rejected = new ArrayList<>();
+            List<Long> notFound = new ArrayList<>();
+            for (Long isbn : isbns) {
+                BookModel book = Arrays.stream(catalogBooks)
+                        .filter(catalogBook -> catalogBook.getIsbn().equals(isbn))
+                        .findFirst()
+                        .orElse(null);
+                if (book == null) {
+                    notFound.add(isbn);
+                }
+                else if (book.getStatus() == from) {
+                    transitioned.add(BookModel.builder()
+                            .isbn(book.getIsbn())
+                            .catalogId(book.getCatalogId())
+                            .title(book.getTitle())
+                            .collection(book.getCollection())
+                            .status(to)
+                            .author(book.getAuthor())
+                            .build());
+                }
+                else {
+                    rejected.add(book);
+                }
+            }
+            return BookStatusTransitionResultModel.builder()
+                    .transitioned(transitioned)
+                    .rejected(rejected)
+                    .notFound(notFound)
+                    .build();
+        });
+    }
+
     // positive path
     @Test
     public void whenValidPatronId_thenProcessGetAll() {
@@ -153,8 +214,8 @@ class LoanServiceUnitTest {
         //define mock behaviors
         when(patronServiceClient.getPatronByPatronId(patronModel.getPatronId())).thenReturn(patronModel);
         when(fineServiceClient.getFineByFineId(fineModel.getFineId())).thenReturn(fineModel);
-        when(catalogServiceClient.getBookByIsbn(bookModel1.getIsbn())).thenReturn(bookModel1);
-        when(catalogServiceClient.getBookByIsbn(bookModel2.getIsbn())).thenReturn(bookModel2);
+        when(catalogServiceClient.getBooksByIsbns(anyList())).thenReturn(List.of(bookModel1, bookModel2));
+        mockBookTransitions(bookModel1, bookModel2);
         when(catalogServiceClient.patchBookByIsbn(bookModelUpdate1.getIsbn(), bookModelUpdate1))
                 .thenReturn(bookModelUpdate1);
         when(catalogServiceClient.patchBookByIsbn(bookModelUpdate2.getIsbn(), bookModelUpdate2))
@@ -162,7 +223,7 @@ class LoanServiceUnitTest {
         when(loanRepository.save(any(Loan.class))).thenReturn(loan1, updatedLoan);
 
         //act
-        List<LoanResponseModel> loanResponseModels = loanService.getAllLoansForPatron("e5913a79-9b1e-4516-9ffd-06578e7af261");
+        List<LoanResponseModel> loanResponseModels = loanService.getAllLoansForPatron("e5913a79-9b1e-4516-9ffd-06578e7af261", null, null).getItems();
 
         //assert
         assertNotNull(loanResponseModels);
@@ -268,18 +329,67 @@ class LoanServiceUnitTest {
         //define mock behaviors
         when(patronServiceClient.getPatronByPatronId(patronModel.getPatronId())).thenReturn(patronModel);
         when(fineServiceClient.getFineByFineId(fineModel.getFineId())).thenReturn(fineModel);
-        when(catalogServiceClient.getBookByIsbn(bookModel1.getIsbn())).thenReturn(bookModel1);
-        when(catalogServiceClient.getBookByIsbn(bookModel2.getIsbn())).thenReturn(bookModel2);
+        when(catalogServiceClient.getBooksByIsbns(anyList())).thenReturn(List.of(bookModel1, bookModel2));
+        mockBookTransitions(bookModel1, bookModel2);
         when(catalogServiceClient.patchBookByIsbn(bookModelUpdate1.getIsbn(), bookModelUpdate1))
                 .thenReturn(bookModelUpdate1);
         when(catalogServiceClient.patchBookByIsbn(bookModelUpdate2.getIsbn(), bookModelUpdate2))
                 .thenReturn(bookModelUpdate2);
         when(loanRepository.save(any(Loan.class))).thenReturn(loan1, updatedLoan);
-        when(loanRepository.findLoansByPatronModel_PatronId(NOT_FOUND_PATRON_ID)).thenReturn(null);
 
         //act and assert
-        assertThrows(NotFoundException.class, () -> loanService.getAllLoansForPatron(NOT_FOUND_PATRON_ID));
+        assertThrows(NotFoundException.class, () -> loanService.getAllLoansForPatron(NOT_FOUND_PATRON_ID, null, null));
         verify(patronServiceClient, times(1)).getPatronByPatronId(NOT_FOUND_PATRON_ID);
+        verify(loanRepository, never()).findLoansByPatronModel_PatronIdAfter(anyString(), any(), any());
+    }
+
+    // positive path
+    @Test
+    public void whenMoreLoansThanPageSize_thenReturnPageAndNextCursor() {
+        //arrange
+        var patronModel = PatronModel.builder()
+                .patronId("e5913a79-9b1e-4516-9ffd-06578e7af261")
+                .build();
+        List<Loan> loans = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            loans.add(Loan.builder()
+                    .id(new ObjectId().toHexString())
+                    .loanIdentifier(new LoanIdentifier())
+                    .patronModel(patronModel)
+                    .books(List.of())
+                    .status(LoanStatus.ACTIVE)
+                    .build());
+        }
+        ObjectId after = new ObjectId();
+
+        //define mock behaviors
+        when(patronServiceClient.getPatronByPatronId(patronModel.getPatronId())).thenReturn(patronModel);
+        when(loanRepository.findLoansByPatronModel_PatronIdAfter(eq(patronModel.getPatronId()), eq(after), any(Pageable.class)))
+                .thenReturn(loans);
+
+        //act
+        CursorPage<LoanResponseModel> page = loanService.getAllLoansForPatron(patronModel.getPatronId(),
+                CursorPage.encode(after.toHexString()), 2);
+
+        //assert
+        assertEquals(2, page.getItems().size());
+        assertEquals(loans.get(1).getLoanIdentifier().getLoanId(), page.getItems().get(1).getLoanId());
+        assertEquals(loans.get(1).getId(), CursorPage.decodeObjectId(page.getNextCursor()).toHexString());
+        verify(loanRepository, times(1)).findLoansByPatronModel_PatronIdAfter(patronModel.getPatronId(), after,
+                PageRequest.of(0, 3));
+    }
+
+    // negative path
+    @Test
+    public void whenCursorIsNotAnObjectId_thenThrowInvalidCursor() {
+        //define mock behaviors
+        when(patronServiceClient.getPatronByPatronId("e5913a79-9b1e-4516-9ffd-06578e7af261"))
+                .thenReturn(PatronModel.builder().patronId("e5913a79-9b1e-4516-9ffd-06578e7af261").build());
+
+        //act and assert
+        assertThrows(InvalidCursorException.class, () -> loanService.getAllLoansForPatron(
+                "e5913a79-9b1e-4516-9ffd-06578e7af261", CursorPage.encode("42"), null));
+        verify(loanRepository, never()).findLoansByPatronModel_PatronIdAfter(anyString(), any(), any());
     }
 
     // positive path
@@ -375,8 +485,8 @@ class LoanServiceUnitTest {
         //define mock behaviors
         when(patronServiceClient.getPatronByPatronId(patronModel.getPatronId())).thenReturn(patronModel);
         when(fineServiceClient.getFineByFineId(fineModel.getFineId())).thenReturn(fineModel);
-        when(catalogServiceClient.getBookByIsbn(bookModel1.getIsbn())).thenReturn(bookModel1);
-        when(catalogServiceClient.getBookByIsbn(bookModel2.getIsbn())).thenReturn(bookModel2);
+        when(catalogServiceClient.getBooksByIsbns(anyList())).thenReturn(List.of(bookModel1, bookModel2));
+        mockBookTransitions(bookModel1, bookModel2);
         when(catalogServiceClient.patchBookByIsbn(bookModelUpdate1.getIsbn(), bookModelUpdate1))
                 .thenReturn(bookModelUpdate1);
         when(catalogServiceClient.patchBookByIsbn(bookModelUpdate2.getIsbn(), bookModelUpdate2))
@@ -490,8 +600,8 @@ class LoanServiceUnitTest {
         //define mock behaviors
         when(patronServiceClient.getPatronByPatronId(patronModel.getPatronId())).thenReturn(patronModel);
         when(fineServiceClient.getFineByFineId(fineModel.getFineId())).thenReturn(fineModel);
-        when(catalogServiceClient.getBookByIsbn(bookModel1.getIsbn())).thenReturn(bookModel1);
-        when(catalogServiceClient.getBookByIsbn(bookModel2.getIsbn())).thenReturn(bookModel2);
+        when(catalogServiceClient.getBooksByIsbns(anyList())).thenReturn(List.of(bookModel1, bookModel2));
+        mockBookTransitions(bookModel1, bookModel2);
         when(catalogServiceClient.patchBookByIsbn(bookModelUpdate1.getIsbn(), bookModelUpdate1))
                 .thenReturn(bookModelUpdate1);
         when(catalogServiceClient.patchBookByIsbn(bookModelUpdate2.getIsbn(), bookModelUpdate2))
@@ -598,8 +708,8 @@ class LoanServiceUnitTest {
         //define mock behaviors
         when(patronServiceClient.getPatronByPatronId(patronModel.getPatronId())).thenReturn(patronModel);
         when(fineServiceClient.getFineByFineId(fineModel.getFineId())).thenReturn(fineModel);
-        when(catalogServiceClient.getBookByIsbn(bookModel1.getIsbn())).thenReturn(bookModel1);
-        when(catalogServiceClient.getBookByIsbn(bookModel2.getIsbn())).thenReturn(bookModel2);
+        when(catalogServiceClient.getBooksByIsbns(anyList())).thenReturn(List.of(bookModel1, bookModel2));
+        mockBookTransitions(bookModel1, bookModel2);
         when(catalogServiceClient.patchBookByIsbn(bookModelUpdate1.getIsbn(), bookModelUpdate1))
                 .thenReturn(bookModelUpdate1);
         when(catalogServiceClient.patchBookByIsbn(bookModelUpdate2.getIsbn(), bookModelUpdate2))
@@ -714,8 +824,8 @@ class LoanServiceUnitTest {
         //define mock behaviors
         when(patronServiceClient.getPatronByPatronId(patronModel.getPatronId())).thenReturn(patronModel);
         when(fineServiceClient.getFineByFineId(fineModel.getFineId())).thenReturn(fineModel);
-        when(catalogServiceClient.getBookByIsbn(bookModel1.getIsbn())).thenReturn(bookModel1);
-        when(catalogServiceClient.getBookByIsbn(bookModel2.getIsbn())).thenReturn(bookModel2);
+        when(catalogServiceClient.getBooksByIsbns(anyList())).thenReturn(List.of(bookModel1, bookModel2));
+        mockBookTransitions(bookModel1, bookModel2);
         when(catalogServiceClient.patchBookByIsbn(bookModelUpdate1.getIsbn(), bookModelUpdate1)).thenReturn(bookModelUpdate1);
         when(catalogServiceClient.patchBookByIsbn(bookModelUpdate2.getIsbn(), bookModelUpdate2)).thenReturn(bookModelUpdate2);
         when(loanRepository.save(any(Loan.class))).thenReturn(loan1, updatedLoan);
@@ -728,6 +838,7 @@ class LoanServiceUnitTest {
         assertNotNull(loanResponseModel);
         assertNotNull(loanResponseModel.getLoanId());
         verify(loanResponseMapper, times(1)).entityToResponseModel(updatedLoan);
+        verify(fineServiceClient, never()).postFine(any(FineModel.class), anyString());
     }
 
     // negative path
@@ -832,8 +943,8 @@ class LoanServiceUnitTest {
         //define mock behaviors
         when(patronServiceClient.getPatronByPatronId(patronModel.getPatronId())).thenReturn(patronModel);
         when(fineServiceClient.getFineByFineId(fineModel.getFineId())).thenReturn(fineModel);
-        when(catalogServiceClient.getBookByIsbn(bookModel1.getIsbn())).thenReturn(bookModel1);
-        when(catalogServiceClient.getBookByIsbn(bookModel2.getIsbn())).thenReturn(bookModel2);
+        when(catalogServiceClient.getBooksByIsbns(anyList())).thenReturn(List.of(bookModel1, bookModel2));
+        mockBookTransitions(bookModel1, bookModel2);
         when(catalogServiceClient.patchBookByIsbn(bookModelUpdate1.getIsbn(), bookModelUpdate1)).thenReturn(bookModelUpdate1);
         when(catalogServiceClient.patchBookByIsbn(bookModelUpdate2.getIsbn(), bookModelUpdate2)).thenReturn(bookModelUpdate2);
         when(loanRepository.save(any(Loan.class))).thenReturn(loan1, updatedLoan);
@@ -908,7 +1019,8 @@ class LoanServiceUnitTest {
         //define mock behaviors
         when(patronServiceClient.getPatronByPatronId(patronModel.getPatronId())).thenReturn(patronModel);
         when(fineServiceClient.getFineByFineId(fineModel.getFineId())).thenReturn(fineModel);
-        when(catalogServiceClient.getBookByIsbn(bookModel1.getIsbn())).thenReturn(bookModel1);
+        when(catalogServiceClient.getBooksByIsbns(anyList())).thenReturn(List.of(bookModel1));
+        mockBookTransitions(bookModel1);
         when(loanRepository.save(any(Loan.class))).thenReturn(loan1, updatedLoan);
 
         //act and assert
@@ -980,7 +1092,8 @@ class LoanServiceUnitTest {
         //define mock behaviors
         when(patronServiceClient.getPatronByPatronId(patronModel.getPatronId())).thenReturn(patronModel);
         when(fineServiceClient.getFineByFineId(fineModel.getFineId())).thenReturn(fineModel);
-        when(catalogServiceClient.getBookByIsbn(bookModel1.getIsbn())).thenReturn(bookModel1);
+        when(catalogServiceClient.getBooksByIsbns(anyList())).thenReturn(List.of(bookModel1));
+        mockBookTransitions(bookModel1);
         when(loanRepository.save(any(Loan.class))).thenReturn(loan1, updatedLoan);
 
         //act and assert
@@ -1052,7 +1165,8 @@ class LoanServiceUnitTest {
         //define mock behaviors
         when(patronServiceClient.getPatronByPatronId(patronModel.getPatronId())).thenReturn(patronModel);
         when(fineServiceClient.getFineByFineId(fineModel.getFineId())).thenReturn(fineModel);
-        when(catalogServiceClient.getBookByIsbn(bookModel1.getIsbn())).thenReturn(bookModel1);
+        when(catalogServiceClient.getBooksByIsbns(anyList())).thenReturn(List.of(bookModel1));
+        mockBookTransitions(bookModel1);
         when(loanRepository.save(any(Loan.class))).thenReturn(loan1, updatedLoan);
 
         //act and assert
@@ -1060,6 +1174,322 @@ class LoanServiceUnitTest {
         verify(patronServiceClient, times(1)).getPatronByPatronId(patronModel.getPatronId());
     }
 
+    // negative path
+    @Test
+    public void whenOneBookUnavailablePOST_thenReleaseReservedBooks() {
+        //arrange
+        var bookModel1 = BookModel.builder()
+                .isbn(9789390183522L)
+                .catalogId("d846a5a7-2e1c-4c79-809c-4f3f471e826d")
+                .title("The Great Gatsby")
+                .collection("F. Scott Fitzgerald")
+                .status(Status.AVAILABLE)
+                .author(Author.builder()
+                        .firstName("Robert")
+                        .lastName("Martin")
+                        .build())
+                .build();
+
+        var bookModel2 = BookModel.builder()
+                .isbn(9780132350882L)
+                .catalogId("d846a5a7-2e1c-4c79-809c-4f3f471e826d")
+                .title("Clean Code: A Handbook of Agile Software Craftsmanship")
+                .collection("Software Development")
+                .status(Status.LOST)
+                .author(Author.builder()
+                        .firstName("Robert")
+                        .lastName("Martin")
+                        .build())
+                .build();
+
+        List<Long> bookISBNList = new ArrayList<>();
+        bookISBNList.add(0, bookModel1.getIsbn());
+        bookISBNList.add(1, bookModel2.getIsbn());
+
+        var patronModel = PatronModel.builder()
+                .patronId("e5913a79-9b1e-4516-9ffd-06578e7af261")
+                .firstName("Vilma")
+                .lastName("Chawner")
+                .build();
+
+        var loanRequestModel = LoanRequestModel.builder()
+                .status(LoanStatus.ACTIVE)
+                .bookISBN(bookISBNList)
+                .build();
+
+        //define mock behaviors
+        when(patronServiceClient.getPatronByPatronId(patronModel.getPatronId())).thenReturn(patronModel);
+        mockBookTransitions(bookModel1, bookModel2);
+
+        //act and assert
+        assertThrows(UnavailableBookException.class, () -> loanService.addLoanForPatron(patronModel.getPatronId(), loanRequestModel));
+        verify(catalogServiceClient, times(1)).transitionBooks(bookISBNList, Status.AVAILABLE, Status.BORROWED);
+        verify(catalogServiceClient, times(1)).transitionBooks(List.of(bookModel1.getIsbn()), Status.BORROWED, Status.AVAILABLE);
+        verify(catalogServiceClient, never()).patchBookByIsbn(any(Long.class), any(BookModel.class));
+        verify(loanRepository, never()).save(any(Loan.class));
+    }
+
+    // negative path
+    @Test
+    public void whenUnknownBookPOST_thenThrowNotFound() {
+        //arrange
+        var bookModel1 = BookModel.builder()
+                .isbn(9789390183522L)
+                .catalogId("d846a5a7-2e1c-4c79-809c-4f3f471e826d")
+                .title("The Great Gatsby")
+                .collection("F. Scott Fitzgerald")
+                .status(Status.AVAILABLE)
+                .author(Author.builder()
+                        .firstName("Robert")
+                        .lastName("Martin")
+                        .build())
+                .build();
+
+        var bookModel2 = BookModel.builder()
+                .isbn(9780132350882L)
+                .catalogId("d846a5a7-2e1c-4c79-809c-4f3f471e826d")
+                .title("Clean Code: A Handbook of Agile Software Craftsmanship")
+                .collection("Software Development")
+                .status(Status.LOST)
+                .author(Author.builder()
+                        .firstName("Robert")
+                        .lastName("Martin")
+                        .build())
+                .build();
+
+        List<Long> bookISBNList = new ArrayList<>();
+        bookISBNList.add(0, bookModel1.getIsbn());
+        bookISBNList.add(1, bookModel2.getIsbn());
+
+        var patronModel = PatronModel.builder()
+                .patronId("e5913a79-9b1e-4516-9ffd-06578e7af261")
+                .firstName("Vilma")
+                .lastName("Chawner")
+                .build();
+
+        var loanRequestModel = LoanRequestModel.builder()
+                .status(LoanStatus.ACTIVE)
+                .bookISBN(bookISBNList)
+                .build();
+
+        //define mock behaviors
+        when(patronServiceClient.getPatronByPatronId(patronModel.getPatronId())).thenReturn(patronModel);
+        mockBookTransitions(bookModel1);
+
+        //act and assert
+        assertThrows(NotFoundException.class, () -> loanService.addLoanForPatron(patronModel.getPatronId(), loanRequestModel));
+        verify(catalogServiceClient, times(1)).transitionBooks(bookISBNList, Status.AVAILABLE, Status.BORROWED);
+        verify(catalogServiceClient, times(1)).transitionBooks(List.of(bookModel1.getIsbn()), Status.BORROWED, Status.AVAILABLE);
+        verify(catalogServiceClient, never()).patchBookByIsbn(any(Long.class), any(BookModel.class));
+        verify(loanRepository, never()).save(any(Loan.class));
+    }
+
+    // positive path
+    @Test
+    public void whenNewIdempotencyKey_thenCreateLoanAndStoreResponse() {
+        //arrange
+        var bookModel = BookModel.builder()
+                .isbn(9789390183522L)
+                .catalogId("d846a5a7-2e1c-4c79-809c-4f3f471e826d")
+                .title("The Great Gatsby")
+                .status(Status.AVAILABLE)
+                .build();
+
+        var patronModel = PatronModel.builder()
+                .patronId("e5913a79-9b1e-4516-9ffd-06578e7af261")
+                .firstName("Vilma")
+                .lastName("Chawner")
+                .build();
+
+        var loanRequestModel = LoanRequestModel.builder()
+                .status(LoanStatus.ACTIVE)
+                .bookISBN(List.of(bookModel.getIsbn()))
+                .build();
+
+        //define mock behaviors
+        when(patronServiceClient.getPatronByPatronId(patronModel.getPatronId())).thenReturn(patronModel);
+        mockBookTransitions(bookModel);
+        when(idempotencyRecordRepository.insert(any(IdempotencyRecord.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(loanRepository.save(any(Loan.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        //act
+        LoanResponseModel loanResponseModel = loanService.addLoanForPatron(patronModel.getPatronId(), loanRequestModel,
+                "5f0c6c1e-5a8c-4a47-9f4b-0d7b1b6b8d11");
+
+        //assert
+        ArgumentCaptor<IdempotencyRecord> record = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(idempotencyRecordRepository, times(1)).save(record.capture());
+        assertEquals(patronModel.getPatronId() + ":5f0c6c1e-5a8c-4a47-9f4b-0d7b1b6b8d11", record.getValue().getId());
+        assertEquals(loanResponseModel, record.getValue().getResponse());
+        verify(loanRepository, times(1)).save(any(Loan.class));
+    }
+
+    // positive path
+    @Test
+    public void whenIdempotencyKeySentAgain_thenReplayStoredLoan() {
+        //arrange
+        String patronId = "e5913a79-9b1e-4516-9ffd-06578e7af261";
+        var loanRequestModel = LoanRequestModel.builder()
+                .status(LoanStatus.ACTIVE)
+                .bookISBN(List.of(9789390183522L))
+                .build();
+        var storedResponse = new LoanResponseModel();
+        storedResponse.setLoanId("a2b1e3f4-0c1d-4e5f-8a9b-1c2d3e4f5a6b");
+
+        //define mock behaviors
+        when(idempotencyRecordRepository.insert(any(IdempotencyRecord.class))).thenThrow(new DuplicateKeyException("E11000"));
+        when(idempotencyRecordRepository.findById(patronId + ":5f0c6c1e-5a8c-4a47-9f4b-0d7b1b6b8d11"))
+                .thenReturn(Optional.of(IdempotencyRecord.builder()
+                        .requestHash(IdempotencyKeys.hash(patronId, loanRequestModel))
+                        .response(storedResponse)
+                        .build()));
+
+        //act
+        LoanResponseModel loanResponseModel = loanService.addLoanForPatron(patronId, loanRequestModel,
+                "5f0c6c1e-5a8c-4a47-9f4b-0d7b1b6b8d11");
+
+        //assert
+        assertEquals(storedResponse, loanResponseModel);
+        verify(catalogServiceClient, never()).transitionBooks(anyList(), any(Status.class), any(Status.class));
+        verify(loanRepository, never()).save(any(Loan.class));
+    }
+
+    // positive path
+    @Test
+    public void whenAbandonedKeyTakenOverAfterLoanWasCreated_thenStoreThatLoan() {
+        //arrange
+        String patronId = "e5913a79-9b1e-4516-9ffd-06578e7af261";
+        String recordId = patronId + ":5f0c6c1e-5a8c-4a47-9f4b-0d7b1b6b8d11";
+        var loanRequestModel = LoanRequestModel.builder()
+                .status(LoanStatus.ACTIVE)
+                .bookISBN(List.of(9789390183522L))
+                .build();
+        var abandonedRecord = IdempotencyRecord.builder()
+                .id(recordId)
+                .requestHash(IdempotencyKeys.hash(patronId, loanRequestModel))
+                .build();
+        var createdLoan = Loan.builder()
+                .loanIdentifier(new LoanIdentifier())
+                .books(List.of(BookModel.builder().isbn(9789390183522L).status(Status.BORROWED).build()))
+                .status(LoanStatus.ACTIVE)
+                .idempotencyKey(recordId)
+                .build();
+
+        //define mock behaviors
+        when(idempotencyRecordRepository.insert(any(IdempotencyRecord.class))).thenThrow(new DuplicateKeyException("E11000"));
+        when(idempotencyRecordRepository.claimAbandoned(eq(recordId), eq(abandonedRecord.getRequestHash()),
+                any(Instant.class), any(Instant.class))).thenReturn(1L);
+        when(idempotencyRecordRepository.findById(recordId)).thenReturn(Optional.of(abandonedRecord));
+        when(loanRepository.findLoanByIdempotencyKey(recordId)).thenReturn(createdLoan);
+
+        //act
+        LoanResponseModel loanResponseModel = loanService.addLoanForPatron(patronId, loanRequestModel,
+                "5f0c6c1e-5a8c-4a47-9f4b-0d7b1b6b8d11");
+
+        //assert
+        assertEquals(createdLoan.getLoanIdentifier().getLoanId(), loanResponseModel.getLoanId());
+        assertEquals(loanResponseModel, abandonedRecord.getResponse());
+        verify(idempotencyRecordRepository, times(1)).save(abandonedRecord);
+        verify(catalogServiceClient, never()).transitionBooks(anyList(), any(Status.class), any(Status.class));
+        verify(loanRepository, never()).save(any(Loan.class));
+    }
+
+    // negative path
+    @Test
+    public void whenStoringResponseFails_thenStillReturnCreatedLoan() {
+        //arrange
+        var bookModel = BookModel.builder()
+                .isbn(9789390183522L)
+                .catalogId("d846a5a7-2e1c-4c79-809c-4f3f471e826d")
+                .title("The Great Gatsby")
+                .status(Status.AVAILABLE)
+                .build();
+
+        var patronModel = PatronModel.builder()
+                .patronId("e5913a79-9b1e-4516-9ffd-06578e7af261")
+                .firstName("Vilma")
+                .lastName("Chawner")
+                .build();
+
+        var loanRequestModel = LoanRequestModel.builder()
+                .status(LoanStatus.ACTIVE)
+                .bookISBN(List.of(bookModel.getIsbn()))
+                .build();
+
+        //define mock behaviors
+        when(patronServiceClient.getPatronByPatronId(patronModel.getPatronId())).thenReturn(patronModel);
+        mockBookTransitions(bookModel);
+        when(idempotencyRecordRepository.insert(any(IdempotencyRecord.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(idempotencyRecordRepository.save(any(IdempotencyRecord.class))).thenThrow(new DataAccessResourceFailureException("Connection reset"));
+        when(loanRepository.save(any(Loan.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        //act
+        LoanResponseModel loanResponseModel = loanService.addLoanForPatron(patronModel.getPatronId(), loanRequestModel,
+                "5f0c6c1e-5a8c-4a47-9f4b-0d7b1b6b8d11");
+
+        //assert
+        assertNotNull(loanResponseModel.getLoanId());
+        // the loan carries its key, so a retry after the lease finds it instead of creating another
+        ArgumentCaptor<Loan> savedLoan = ArgumentCaptor.forClass(Loan.class);
+        verify(loanRepository, times(1)).save(savedLoan.capture());
+        assertEquals(patronModel.getPatronId() + ":5f0c6c1e-5a8c-4a47-9f4b-0d7b1b6b8d11", savedLoan.getValue().getIdempotencyKey());
+        verify(idempotencyRecordRepository, never()).releaseClaim(anyString(), any(Instant.class));
+        verify(catalogServiceClient, never()).transitionBooks(anyList(), eq(Status.BORROWED), eq(Status.AVAILABLE));
+    }
+
+    // negative path
+    @Test
+    public void whenLoanNotCreated_thenReleaseOnlyThisRequestsClaim() {
+        //arrange
+        String patronId = "e5913a79-9b1e-4516-9ffd-06578e7af261";
+        var loanRequestModel = LoanRequestModel.builder()
+                .status(LoanStatus.ACTIVE)
+                .bookISBN(List.of(9789390183522L))
+                .build();
+
+        //define mock behaviors
+        when(idempotencyRecordRepository.insert(any(IdempotencyRecord.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(patronServiceClient.getPatronByPatronId(patronId)).thenReturn(null);
+
+        //act
+        assertThrows(NotFoundException.class, () -> loanService.addLoanForPatron(patronId, loanRequestModel,
+                "5f0c6c1e-5a8c-4a47-9f4b-0d7b1b6b8d11"));
+
+        //assert, a request that took the key over after the lease carries a later claim and keeps its record
+        ArgumentCaptor<IdempotencyRecord> insertedRecord = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(idempotencyRecordRepository, times(1)).insert(insertedRecord.capture());
+        verify(idempotencyRecordRepository, times(1)).releaseClaim(patronId + ":5f0c6c1e-5a8c-4a47-9f4b-0d7b1b6b8d11",
+                insertedRecord.getValue().getCreatedAt());
+        verify(idempotencyRecordRepository, never()).deleteById(anyString());
+    }
+
+    // negative path
+    @Test
+    public void whenIdempotencyKeyReusedForOtherRequest_thenThrowException() {
+        //arrange
+        String patronId = "e5913a79-9b1e-4516-9ffd-06578e7af261";
+        var loanRequestModel = LoanRequestModel.builder()
+                .status(LoanStatus.ACTIVE)
+                .bookISBN(List.of(9789390183522L))
+                .build();
+
+        //define mock behaviors
+        when(idempotencyRecordRepository.insert(any(IdempotencyRecord.class))).thenThrow(new DuplicateKeyException("E11000"));
+        when(idempotencyRecordRepository.findById(patronId + ":5f0c6c1e-5a8c-4a47-9f4b-0d7b1b6b8d11"))
+                .thenReturn(Optional.of(IdempotencyRecord.builder()
+                        .requestHash(IdempotencyKeys.hash(patronId, LoanRequestModel.builder()
+                                .status(LoanStatus.ACTIVE)
+                                .bookISBN(List.of(9780132350882L))
+                                .build()))
+                        .response(new LoanResponseModel())
+                        .build()));
+
+        //act and assert
+        assertThrows(IdempotencyKeyReusedException.class, () -> loanService.addLoanForPatron(patronId, loanRequestModel,
+                "5f0c6c1e-5a8c-4a47-9f4b-0d7b1b6b8d11"));
+        verify(loanRepository, never()).save(any(Loan.class));
+    }
+
     // positive path
     @Test
     public void whenValidPatronId_Loan_thenUpdateLoan() {
@@ -1162,8 +1592,8 @@ class LoanServiceUnitTest {
         //define mock behaviors
         when(patronServiceClient.getPatronByPatronId(patronModel.getPatronId())).thenReturn(patronModel);
         when(fineServiceClient.getFineByFineId(fineModel.getFineId())).thenReturn(fineModel);
-        when(catalogServiceClient.getBookByIsbn(bookModel1.getIsbn())).thenReturn(bookModel1);
-        when(catalogServiceClient.getBookByIsbn(bookModel2.getIsbn())).thenReturn(bookModel2);
+        when(catalogServiceClient.getBooksByIsbns(anyList())).thenReturn(List.of(bookModel1, bookModel2));
+        mockBookTransitions(bookModel1, bookModel2);
         when(catalogServiceClient.patchBookByIsbn(bookModelUpdate1.getIsbn(), bookModelUpdate1)).thenReturn(bookModelUpdate1);
         when(catalogServiceClient.patchBookByIsbn(bookModelUpdate2.getIsbn(), bookModelUpdate2)).thenReturn(bookModelUpdate2);
         when(loanRepository.save(any(Loan.class))).thenReturn(loan1, updatedLoan);
@@ -1257,8 +1687,8 @@ class LoanServiceUnitTest {
         //define mock behaviors
         when(patronServiceClient.getPatronByPatronId(patronModel.getPatronId())).thenReturn(patronModel);
         when(fineServiceClient.getFineByFineId(fineModel.getFineId())).thenReturn(fineModel);
-        when(catalogServiceClient.getBookByIsbn(bookModel1.getIsbn())).thenReturn(bookModel1);
-        when(catalogServiceClient.getBookByIsbn(bookModel2.getIsbn())).thenReturn(bookModel2);
+        when(catalogServiceClient.getBooksByIsbns(anyList())).thenReturn(List.of(bookModel1, bookModel2));
+        mockBookTransitions(bookModel1, bookModel2);
         when(catalogServiceClient.patchBookByIsbn(bookModelUpdate1.getIsbn(), bookModelUpdate1)).thenReturn(bookModelUpdate1);
         when(loanRepository.save(any(Loan.class))).thenReturn(loan1, loan1);
         when(loanRepository.findLoanByLoanIdentifier_LoanId(loan1.getLoanIdentifier().getLoanId())).thenReturn(loan1);
@@ -1346,8 +1776,8 @@ class LoanServiceUnitTest {
         //define mock behaviors
         when(patronServiceClient.getPatronByPatronId(patronModel.getPatronId())).thenReturn(patronModel);
         when(fineServiceClient.getFineByFineId(fineModel.getFineId())).thenReturn(fineModel);
-        when(catalogServiceClient.getBookByIsbn(bookModel1.getIsbn())).thenReturn(bookModel1);
-        when(catalogServiceClient.getBookByIsbn(bookModel2.getIsbn())).thenReturn(bookModel2);
+        when(catalogServiceClient.getBooksByIsbns(anyList())).thenReturn(List.of(bookModel1, bookModel2));
+        mockBookTransitions(bookModel1, bookModel2);
         when(catalogServiceClient.patchBookByIsbn(bookModelUpdate1.getIsbn(), bookModelUpdate1)).thenReturn(bookModelUpdate1);
         when(loanRepository.save(any(Loan.class))).thenReturn(loan1, loan1);
         when(loanRepository.findLoanByLoanIdentifier_LoanId(loan1.getLoanIdentifier().getLoanId())).thenReturn(loan1);
@@ -1435,8 +1865,8 @@ class LoanServiceUnitTest {
         //define mock behaviors
         when(patronServiceClient.getPatronByPatronId(patronModel.getPatronId())).thenReturn(patronModel);
         when(fineServiceClient.getFineByFineId(fineModel.getFineId())).thenReturn(fineModel);
-        when(catalogServiceClient.getBookByIsbn(bookModel1.getIsbn())).thenReturn(bookModel1);
-        when(catalogServiceClient.getBookByIsbn(bookModel2.getIsbn())).thenReturn(bookModel2);
+        when(catalogServiceClient.getBooksByIsbns(anyList())).thenReturn(List.of(bookModel1, bookModel2));
+        mockBookTransitions(bookModel1, bookModel2);
         when(catalogServiceClient.patchBookByIsbn(bookModelUpdate1.getIsbn(), bookModelUpdate1)).thenReturn(bookModelUpdate1);
         when(loanRepository.save(any(Loan.class))).thenReturn(loan1, loan1);
         when(loanRepository.findLoanByLoanIdentifier_LoanId(loan1.getLoanIdentifier().getLoanId())).thenReturn(loan1);
@@ -1548,13 +1978,13 @@ class LoanServiceUnitTest {
         //define mock behaviors
         when(patronServiceClient.getPatronByPatronId(patronModel.getPatronId())).thenReturn(patronModel);
         when(fineServiceClient.getFineByFineId(fineModel.getFineId())).thenReturn(fineModel);
-        when(catalogServiceClient.getBookByIsbn(bookModel1.getIsbn())).thenReturn(bookModel1);
-        when(catalogServiceClient.getBookByIsbn(bookModel2.getIsbn())).thenReturn(bookModel2);
+        when(catalogServiceClient.getBooksByIsbns(anyList())).thenReturn(List.of(bookModel1, bookModel2));
+        mockBookTransitions(bookModel1, bookModel2);
         when(catalogServiceClient.patchBookByIsbn(bookModelUpdate1.getIsbn(), bookModelUpdate1)).thenReturn(bookModelUpdate1);
         when(catalogServiceClient.patchBookByIsbn(bookModelUpdate2.getIsbn(), bookModelUpdate2)).thenReturn(bookModelUpdate2);
         when(loanRepository.save(any(Loan.class))).thenReturn(loan1, updatedLoan);
         when(loanRepository.findLoanByLoanIdentifier_LoanId(loan1.getLoanIdentifier().getLoanId())).thenReturn(loan1);
-        when(fineServiceClient.putFine(loan1.getFineModel(), loan1.getFineModel().getFineId())).thenReturn(loan1.getFineModel());
+        when(fineServiceClient.putFine(eq(loan1.getFineModel()), eq(loan1.getFineModel().getFineId()), anyString())).thenReturn(loan1.getFineModel());
 
         //act
         LoanResponseModel loanResponseModel = loanService.updateLoanForPatron("e5913a79-9b1e-4516-9ffd-06578e7af261",
@@ -1564,7 +1994,254 @@ class LoanServiceUnitTest {
         assertNotNull(loanResponseModel);
         assertNotNull(loanResponseModel.getLoanId());
         verify(loanResponseMapper, times(1)).entityToResponseModel(updatedLoan);
-        verify(fineServiceClient, times(1)).putFine(loan1.getFineModel(), loan1.getFineModel().getFineId());
+        verify(fineServiceClient, times(1)).putFine(eq(loan1.getFineModel()), eq(loan1.getFineModel().getFineId()), anyString());
+    }
+
+    // negative path
+    @Test
+    public void whenLoanWithoutFineReturnedLate_thenCreateFine() {
+        //arrange
+        var bookModel1 = BookModel.builder()
+                .isbn(9789390183522L)
+                .catalogId("d846a5a7-2e1c-4c79-809c-4f3f471e826d")
+                .title("The Great Gatsby")
+                .collection("F. Scott Fitzgerald")
+                .status(Status.BORROWED)
+                .build();
+
+        var patronModel = PatronModel.builder()
+                .patronId("e5913a79-9b1e-4516-9ffd-06578e7af261")
+                .firstName("Vilma")
+                .lastName("Chawner")
+                .build();
+
+        var lateFine = FineModel.builder()
+                .fineId("ef23ab6e-d614-47b9-95d0-d66167ae5080")
+                .amount(new BigDecimal("0.50"))
+                .reason("Late return")
+                .isPaid(false)
+                .build();
+
+        var loanRequestModel = LoanRequestModel.builder()
+                .status(LoanStatus.RETURNED)
+                .bookISBN(List.of(bookModel1.getIsbn()))
+                .build();
+
+        var loan1 = Loan.builder()
+                .loanIdentifier(new LoanIdentifier())
+                .patronModel(patronModel)
+                .books(new ArrayList<>(List.of(bookModel1)))
+                .status(LoanStatus.ACTIVE)
+                .borrowedDate(LocalDate.now().minusDays(23))
+                .dueDate(LocalDate.now().minusDays(2))
+                .build();
+
+        //define mock behaviors
+        when(patronServiceClient.getPatronByPatronId(patronModel.getPatronId())).thenReturn(patronModel);
+        when(loanRepository.findLoanByLoanIdentifier_LoanId(loan1.getLoanIdentifier().getLoanId())).thenReturn(loan1);
+        when(catalogServiceClient.getBooksByIsbns(anyList())).thenReturn(List.of(bookModel1));
+        mockBookTransitions(bookModel1);
+        when(fineServiceClient.postFine(any(FineModel.class), anyString())).thenReturn(lateFine);
+        when(loanRepository.save(any(Loan.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        //act
+        LoanResponseModel loanResponseModel = loanService.updateLoanForPatron(patronModel.getPatronId(),
+                loanRequestModel, loan1.getLoanIdentifier().getLoanId());
+
+        //assert
+        assertEquals(lateFine.getFineId(), loanResponseModel.getFineId());
+        verify(fineServiceClient, times(1)).postFine(argThat(fine ->
+                fine.getAmount().compareTo(new BigDecimal("0.50")) == 0 && !fine.getIsPaid()), anyString());
+        verify(fineServiceClient, never()).putFine(any(FineModel.class), anyString(), anyString());
+    }
+
+    // positive path
+    @Test
+    public void whenLoanReturned_thenQueueCatalogReleaseWithLoan() {
+        //arrange
+        var bookModel1 = BookModel.builder()
+                .isbn(9789390183522L)
+                .catalogId("d846a5a7-2e1c-4c79-809c-4f3f471e826d")
+                .title("The Great Gatsby")
+                .collection("F. Scott Fitzgerald")
+                .status(Status.BORROWED)
+                .build();
+
+        var patronModel = PatronModel.builder()
+                .patronId("e5913a79-9b1e-4516-9ffd-06578e7af261")
+                .firstName("Vilma")
+                .lastName("Chawner")
+                .build();
+
+        var loanRequestModel = LoanRequestModel.builder()
+                .status(LoanStatus.RETURNED)
+                .bookISBN(List.of(bookModel1.getIsbn()))
+                .build();
+
+        var loan1 = Loan.builder()
+                .id("6614a2b1c2a4c54e1b7f9d11")
+                .loanIdentifier(new LoanIdentifier())
+                .patronModel(patronModel)
+                .books(new ArrayList<>(List.of(bookModel1)))
+                .status(LoanStatus.ACTIVE)
+                .borrowedDate(LocalDate.now())
+                .dueDate(LocalDate.now().plusDays(21))
+                .version(3L)
+                .build();
+
+        //define mock behaviors
+        when(patronServiceClient.getPatronByPatronId(patronModel.getPatronId())).thenReturn(patronModel);
+        when(loanRepository.findLoanByLoanIdentifier_LoanId(loan1.getLoanIdentifier().getLoanId())).thenReturn(loan1);
+        when(catalogServiceClient.getBooksByIsbns(anyList())).thenReturn(List.of(bookModel1));
+        when(loanRepository.save(any(Loan.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        //act
+        loanService.updateLoanForPatron(patronModel.getPatronId(), loanRequestModel, loan1.getLoanIdentifier().getLoanId());
+
+        //assert
+        verify(loanRepository, times(1)).save(argThat(loan -> loan.getVersion() == 3L
+                && loan.getPendingStatusChanges().size() == 1
+                && loan.getPendingStatusChanges().get(0).getIsbn().equals(bookModel1.getIsbn())
+                && loan.getPendingStatusChanges().get(0).getFrom() == Status.BORROWED
+                && loan.getPendingStatusChanges().get(0).getTo() == Status.AVAILABLE));
+        verify(catalogServiceClient, never()).transitionBooks(anyList(), any(Status.class), any(Status.class));
+    }
+
+    // negative path
+    @Test
+    public void whenUpdateConflicts_thenReleaseAddedBooks() {
+        //arrange
+        var bookModel1 = BookModel.builder()
+                .isbn(9789390183522L)
+                .catalogId("d846a5a7-2e1c-4c79-809c-4f3f471e826d")
+                .title("The Great Gatsby")
+                .collection("F. Scott Fitzgerald")
+                .status(Status.BORROWED)
+                .build();
+
+        var bookModel2 = BookModel.builder()
+                .isbn(9780132350882L)
+                .catalogId("d846a5a7-2e1c-4c79-809c-4f3f471e826d")
+                .title("Clean Code: A Handbook of Agile Software Craftsmanship")
+                .collection("Software Development")
+                .status(Status.AVAILABLE)
+                .build();
+
+        var patronModel = PatronModel.builder()
+                .patronId("e5913a79-9b1e-4516-9ffd-06578e7af261")
+                .firstName("Vilma")
+                .lastName("Chawner")
+                .build();
+
+        var loanRequestModel = LoanRequestModel.builder()
+                .status(LoanStatus.ACTIVE)
+                .bookISBN(List.of(bookModel1.getIsbn(), bookModel2.getIsbn()))
+                .build();
+
+        var loan1 = Loan.builder()
+                .loanIdentifier(new LoanIdentifier())
+                .patronModel(patronModel)
+                .books(new ArrayList<>(List.of(bookModel1)))
+                .status(LoanStatus.ACTIVE)
+                .borrowedDate(LocalDate.now())
+                .dueDate(LocalDate.now().plusDays(21))
+                .version(3L)
+                .build();
+
+        //define mock behaviors
+        when(patronServiceClient.getPatronByPatronId(patronModel.getPatronId())).thenReturn(patronModel);
+        when(loanRepository.findLoanByLoanIdentifier_LoanId(loan1.getLoanIdentifier().getLoanId())).thenReturn(loan1);
+        when(catalogServiceClient.getBooksByIsbns(anyList())).thenReturn(List.of(bookModel1));
+        mockBookTransitions(bookModel1, bookModel2);
+        when(loanRepository.save(any(Loan.class))).thenThrow(new OptimisticLockingFailureException("stale loan"));
+
+        //act and assert
+        assertThrows(OptimisticLockingFailureException.class, () -> loanService.updateLoanForPatron(
+                patronModel.getPatronId(), loanRequestModel, loan1.getLoanIdentifier().getLoanId()));
+        verify(catalogServiceClient, times(1)).transitionBooks(List.of(bookModel2.getIsbn()), Status.AVAILABLE, Status.BORROWED);
+        verify(catalogServiceClient, times(1)).transitionBooks(List.of(bookModel2.getIsbn()), Status.BORROWED, Status.AVAILABLE);
+    }
+
+    // positive path
+    @Test
+    public void whenBookRemovedFromLoan_thenQueueItsRelease() {
+        //arrange
+        var bookModel1 = BookModel.builder()
+                .isbn(9789390183522L)
+                .catalogId("d846a5a7-2e1c-4c79-809c-4f3f471e826d")
+                .title("The Great Gatsby")
+                .collection("F. Scott Fitzgerald")
+                .status(Status.BORROWED)
+                .build();
+
+        var bookModel2 = BookModel.builder()
+                .isbn(9780132350882L)
+                .catalogId("d846a5a7-2e1c-4c79-809c-4f3f471e826d")
+                .title("Clean Code: A Handbook of Agile Software Craftsmanship")
+                .collection("Software Development")
+                .status(Status.BORROWED)
+                .build();
+
+        var patronModel = PatronModel.builder()
+                .patronId("e5913a79-9b1e-4516-9ffd-06578e7af261")
+                .firstName("Vilma")
+                .lastName("Chawner")
+                .build();
+
+        var loanRequestModel = LoanRequestModel.builder()
+                .status(LoanStatus.ACTIVE)
+                .bookISBN(List.of(bookModel1.getIsbn()))
+                .build();
+
+        var loan1 = Loan.builder()
+                .loanIdentifier(new LoanIdentifier())
+                .patronModel(patronModel)
+                .books(new ArrayList<>(List.of(bookModel1, bookModel2)))
+                .status(LoanStatus.ACTIVE)
+                .borrowedDate(LocalDate.now())
+                .dueDate(LocalDate.now().plusDays(21))
+                .build();
+
+        //define mock behaviors
+        when(patronServiceClient.getPatronByPatronId(patronModel.getPatronId())).thenReturn(patronModel);
+        when(loanRepository.findLoanByLoanIdentifier_LoanId(loan1.getLoanIdentifier().getLoanId())).thenReturn(loan1);
+        when(catalogServiceClient.getBooksByIsbns(anyList())).thenReturn(List.of(bookModel1));
+        when(loanRepository.save(any(Loan.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        //act
+        loanService.updateLoanForPatron(patronModel.getPatronId(), loanRequestModel, loan1.getLoanIdentifier().getLoanId());
+
+        //assert
+        verify(loanRepository, times(1)).save(argThat(loan -> loan.getPendingStatusChanges().size() == 1
+                && loan.getPendingStatusChanges().get(0).getIsbn().equals(bookModel2.getIsbn())
+                && loan.getPendingStatusChanges().get(0).getFrom() == Status.BORROWED
+                && loan.getPendingStatusChanges().get(0).getTo() == Status.AVAILABLE));
+        verify(catalogServiceClient, never()).transitionBooks(anyList(), any(Status.class), any(Status.class));
+    }
+
+    // negative path
+    @Test
+    public void whenTransitionReturnsNoBody_thenThrowUnavailable() {
+        //arrange
+        var patronModel = PatronModel.builder()
+                .patronId("e5913a79-9b1e-4516-9ffd-06578e7af261")
+                .firstName("Vilma")
+                .lastName("Chawner")
+                .build();
+
+        var loanRequestModel = LoanRequestModel.builder()
+                .status(LoanStatus.ACTIVE)
+                .bookISBN(List.of(9789390183522L))
+                .build();
+
+        //define mock behaviors
+        when(patronServiceClient.getPatronByPatronId(patronModel.getPatronId())).thenReturn(patronModel);
+        when(catalogServiceClient.transitionBooks(anyList(), any(Status.class), any(Status.class))).thenReturn(null);
+
+        //act and assert
+        assertThrows(UnavailableBookException.class, () -> loanService.addLoanForPatron(patronModel.getPatronId(), loanRequestModel));
+        verify(catalogServiceClient, never()).transitionBooks(anyList(), eq(Status.BORROWED), eq(Status.AVAILABLE));
+        verify(loanRepository, never()).save(any(Loan.class));
     }
 
     // negative path
@@ -1669,8 +2346,8 @@ class LoanServiceUnitTest {
         //define mock behaviors
         when(patronServiceClient.getPatronByPatronId(patronModel.getPatronId())).thenReturn(patronModel);
         when(fineServiceClient.getFineByFineId(fineModel.getFineId())).thenReturn(fineModel);
-        when(catalogServiceClient.getBookByIsbn(bookModel1.getIsbn())).thenReturn(bookModel1);
-        when(catalogServiceClient.getBookByIsbn(bookModel2.getIsbn())).thenReturn(bookModel2);
+        when(catalogServiceClient.getBooksByIsbns(anyList())).thenReturn(List.of(bookModel1, bookModel2));
+        mockBookTransitions(bookModel1, bookModel2);
         when(catalogServiceClient.patchBookByIsbn(bookModelUpdate1.getIsbn(), bookModelUpdate1)).thenReturn(bookModelUpdate1);
         when(catalogServiceClient.patchBookByIsbn(bookModelUpdate2.getIsbn(), bookModelUpdate2)).thenReturn(bookModelUpdate2);
         when(loanRepository.save(any(Loan.class))).thenReturn(loan1, updatedLoan);
@@ -1783,8 +2460,8 @@ class LoanServiceUnitTest {
         //define mock behaviors
         when(patronServiceClient.getPatronByPatronId(patronModel.getPatronId())).thenReturn(patronModel);
         when(fineServiceClient.getFineByFineId(fineModel.getFineId())).thenReturn(fineModel);
-        when(catalogServiceClient.getBookByIsbn(bookModel1.getIsbn())).thenReturn(bookModel1);
-        when(catalogServiceClient.getBookByIsbn(bookModel2.getIsbn())).thenReturn(bookModel2);
+        when(catalogServiceClient.getBooksByIsbns(anyList())).thenReturn(List.of(bookModel1, bookModel2));
+        mockBookTransitions(bookModel1, bookModel2);
         when(catalogServiceClient.patchBookByIsbn(bookModelUpdate1.getIsbn(), bookModelUpdate1)).thenReturn(bookModelUpdate1);
         when(catalogServiceClient.patchBookByIsbn(bookModelUpdate2.getIsbn(), bookModelUpdate2)).thenReturn(bookModelUpdate2);
         when(loanRepository.save(any(Loan.class))).thenReturn(loan1, updatedLoan);
@@ -1894,8 +2571,8 @@ class LoanServiceUnitTest {
         //define mock behaviors
         when(patronServiceClient.getPatronByPatronId(patronModel.getPatronId())).thenReturn(patronModel);
         when(fineServiceClient.getFineByFineId(fineModel.getFineId())).thenReturn(fineModel);
-        when(catalogServiceClient.getBookByIsbn(bookModel1.getIsbn())).thenReturn(bookModel1);
-        when(catalogServiceClient.getBookByIsbn(bookModel2.getIsbn())).thenReturn(bookModel2);
+        when(catalogServiceClient.getBooksByIsbns(anyList())).thenReturn(List.of(bookModel1, bookModel2));
+        mockBookTransitions(bookModel1, bookModel2);
         when(catalogServiceClient.patchBookByIsbn(bookModelUpdate1.getIsbn(), bookModelUpdate1)).thenReturn(bookModelUpdate1);
         when(catalogServiceClient.patchBookByIsbn(bookModelUpdate2.getIsbn(), bookModelUpdate2)).thenReturn(bookModelUpdate2);
         when(loanRepository.save(any(Loan.class))).thenReturn(loan1, updatedLoan);
@@ -2007,8 +2684,8 @@ class LoanServiceUnitTest {
         //define mock behaviors
         when(patronServiceClient.getPatronByPatronId(patronModel.getPatronId())).thenReturn(patronModel);
         when(fineServiceClient.getFineByFineId(fineModel.getFineId())).thenReturn(fineModel);
-        when(catalogServiceClient.getBookByIsbn(bookModel1.getIsbn())).thenReturn(bookModel1);
-        when(catalogServiceClient.getBookByIsbn(bookModel2.getIsbn())).thenReturn(bookModel2);
+        when(catalogServiceClient.getBooksByIsbns(anyList())).thenReturn(List.of(bookModel1, bookModel2));
+        mockBookTransitions(bookModel1, bookModel2);
         when(catalogServiceClient.patchBookByIsbn(bookModelUpdate1.getIsbn(), bookModelUpdate1)).thenReturn(bookModelUpdate1);
         when(catalogServiceClient.patchBookByIsbn(bookModelUpdate2.getIsbn(), bookModelUpdate2)).thenReturn(bookModelUpdate2);
         when(loanRepository.save(any(Loan.class))).thenReturn(loan1, updatedLoan);
@@ -2115,8 +2792,8 @@ class LoanServiceUnitTest {
         //define mock behaviors
         when(patronServiceClient.getPatronByPatronId(patronModel.getPatronId())).thenReturn(patronModel);
         when(fineServiceClient.getFineByFineId(fineModel.getFineId())).thenReturn(fineModel);
-        when(catalogServiceClient.getBookByIsbn(bookModel1.getIsbn())).thenReturn(bookModel1);
-        when(catalogServiceClient.getBookByIsbn(bookModel2.getIsbn())).thenReturn(bookModel2);
+        when(catalogServiceClient.getBooksByIsbns(anyList())).thenReturn(List.of(bookModel1, bookModel2));
+        mockBookTransitions(bookModel1, bookModel2);
         when(catalogServiceClient.patchBookByIsbn(bookModelUpdate1.getIsbn(), bookModelUpdate1)).thenReturn(bookModelUpdate1);
         when(catalogServiceClient.patchBookByIsbn(bookModelUpdate2.getIsbn(), bookModelUpdate2)).thenReturn(bookModelUpdate2);
         when(loanRepository.save(any(Loan.class))).thenReturn(loan1, updatedLoan);
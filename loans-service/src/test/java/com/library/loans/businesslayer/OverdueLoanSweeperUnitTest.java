@@ -0,0 +1,237 @@
+package com.library.loans.businesslayer;
+
+import com.library.loans.datalayer.Loan;
+import com.library.loans.datalayer.LoanStatus;
+import com.library.loans.datalayer.OverdueFineBatch;
+import com.library.loans.datalayer.SweepCheckpoint;
+import com.library.loans.domainclientlayer.catalogs.BookModel;
+import com.library.loans.domainclientlayer.fines.FineModel;
+import com.library.loans.domainclientlayer.fines.FineServiceClient;
+import com.mongodb.bulk.BulkWriteResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class OverdueLoanSweeperUnitTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+
+    private final FineServiceClient fineServiceClient = mock(FineServiceClient.class);
+
+    private final BulkOperations bulkOperations = mock(BulkOperations.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final OverdueLoanSweeper sweeper = new OverdueLoanSweeper(mongoTemplate, fineServiceClient, meterRegistry, 2);
+
+    private final LocalDate today = LocalDate.of(2024, 4, 10);
+
+    private final ArgumentCaptor<List<FineModel>> fines = ArgumentCaptor.captor();
+
+    private Loan overdueLoan(String id, int daysLate, int numBooks) {
+        List<BookModel> books = new ArrayList<>();
+        for (int i = 0; i < numBooks; i++) {
+            books.add(BookModel.builder().isbn(9789390183522L + i).build());
+        }
+        return Loan.builder()
+                .id(id)
+                .dueDate(today.minusDays(daysLate))
+                .books(books)
+                .build();
+    }
+
+    private BulkWriteResult modified(int count) {
+        BulkWriteResult result = mock(BulkWriteResult.class);
+        when(result.getModifiedCount()).thenReturn(count);
+        return result;
+    }
+
+    // positive path
+    @Test
+    public void whenLoansOverdue_thenClaimThemBeforeFiningPerChunk() {
+        //arrange
+        var loan1 = overdueLoan(new ObjectId().toHexString(), 2, 1);
+        var loan2 = overdueLoan(new ObjectId().toHexString(), 4, 2);
+        var loan3 = overdueLoan(new ObjectId().toHexString(), 1, 1);
+        loan3.setFineModel(FineModel.builder().fineId("ef23ab6e-d614-47b9-95d0-d66167ae5080").build());
+        String firstBatch = today + ":" + loan1.getId();
+
+        //define mock behaviors
+        when(mongoTemplate.stream(any(Query.class), eq(Loan.class))).thenReturn(Stream.of(loan1, loan2, loan3));
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(Loan.class))).thenReturn(bulkOperations);
+        // loan2 is returned before the first chunk is claimed, so only loan1 is expired and tagged
+        BulkWriteResult oneModified = modified(1);
+        when(bulkOperations.execute()).thenReturn(oneModified);
+        when(mongoTemplate.find(any(Query.class), eq(Loan.class))).thenAnswer(invocation -> {
+            Query claimed = invocation.getArgument(0);
+            return firstBatch.equals(claimed.getQueryObject().get(OverdueLoanSweeper.FINE_BATCH)) ? List.of(loan1) : List.of();
+        });
+        when(fineServiceClient.postFines(anyList(), anyString())).thenAnswer(invocation -> {
+            List<FineModel> fines = invocation.getArgument(0);
+            return fines.stream().map(fine -> FineModel.builder()
+                    .fineId(new ObjectId().toHexString())
+                    .amount(fine.getAmount())
+                    .build()).toList();
+        });
+
+        //act
+        sweeper.sweep(today);
+
+        //assert
+        InOrder inOrder = inOrder(bulkOperations, fineServiceClient);
+        inOrder.verify(bulkOperations).execute();
+        inOrder.verify(fineServiceClient).postFines(fines.capture(), eq(firstBatch));
+        assertEquals(1, fines.getValue().size());
+        assertEquals(0, new BigDecimal("0.5").compareTo(fines.getValue().get(0).getAmount()));
+
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(bulkOperations, times(4)).updateOne(any(Query.class), updates.capture());
+        assertEquals(firstBatch, updates.getAllValues().get(0).getUpdateObject().get("$set", Document.class)
+                .get(OverdueLoanSweeper.FINE_BATCH));
+        assertEquals(firstBatch, updates.getAllValues().get(1).getUpdateObject().get("$set", Document.class)
+                .get(OverdueLoanSweeper.FINE_BATCH));
+        assertTrue(updates.getAllValues().get(2).getUpdateObject().containsKey("$unset"));
+        assertNull(updates.getAllValues().get(3).getUpdateObject().get("$set", Document.class)
+                .get(OverdueLoanSweeper.FINE_BATCH));
+        verify(fineServiceClient, times(1)).postFines(anyList(), anyString());
+
+        ArgumentCaptor<SweepCheckpoint> checkpoints = ArgumentCaptor.forClass(SweepCheckpoint.class);
+        verify(mongoTemplate, times(1)).save(checkpoints.capture());
+        assertTrue(checkpoints.getValue().isCompleted());
+        assertEquals(2, meterRegistry.get("loans.overdue.sweep.expired").counter().count());
+        assertEquals(1, meterRegistry.get("loans.overdue.sweep.fined").counter().count());
+    }
+
+    // positive path
+    @Test
+    public void whenBatchClaimedByEarlierRun_thenFineItWithItsSweepDate() {
+        //arrange
+        var loan1 = overdueLoan(new ObjectId().toHexString(), 3, 1);
+        String batch = today.minusDays(1) + ":" + loan1.getId();
+
+        //define mock behaviors
+        when(mongoTemplate.findDistinct(any(Query.class), eq(OverdueLoanSweeper.FINE_BATCH), eq(Loan.class), eq(String.class)))
+                .thenReturn(List.of(batch));
+        when(mongoTemplate.find(any(Query.class), eq(Loan.class))).thenReturn(List.of(loan1));
+        when(mongoTemplate.stream(any(Query.class), eq(Loan.class))).thenReturn(Stream.empty());
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(Loan.class))).thenReturn(bulkOperations);
+        BulkWriteResult oneModified = modified(1);
+        when(bulkOperations.execute()).thenReturn(oneModified);
+        when(fineServiceClient.postFines(anyList(), anyString())).thenReturn(List.of(FineModel.builder()
+                .fineId(new ObjectId().toHexString())
+                .build()));
+
+        //act
+        sweeper.sweep(today);
+
+        //assert
+        verify(fineServiceClient).postFines(fines.capture(), eq(batch));
+        // three days late on the day after the sweep that claimed it, two days on the sweep date
+        assertEquals(0, new BigDecimal("0.5").compareTo(fines.getValue().get(0).getAmount()));
+        assertEquals(1, meterRegistry.get("loans.overdue.sweep.fined").counter().count());
+    }
+
+    // negative path
+    @Test
+    public void whenRecordingFinesFails_thenRerunReplaysSameBatchUnderSameKey() {
+        //arrange
+        var loan1 = overdueLoan(new ObjectId().toHexString(), 2, 1);
+        String batch = today + ":" + loan1.getId();
+        AtomicReference<OverdueFineBatch> storedBatch = new AtomicReference<>();
+
+        //define mock behaviors
+        when(mongoTemplate.stream(any(Query.class), eq(Loan.class))).thenReturn(Stream.of(loan1), Stream.empty());
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(Loan.class))).thenReturn(bulkOperations);
+        // the claim goes through, the first recording of the fines does not
+        BulkWriteResult oneModified = modified(1);
+        when(bulkOperations.execute())
+                .thenReturn(oneModified)
+                .thenThrow(new DataAccessResourceFailureException("Connection reset"))
+                .thenReturn(oneModified);
+        when(mongoTemplate.find(any(Query.class), eq(Loan.class))).thenReturn(List.of(loan1));
+        when(mongoTemplate.insert(any(OverdueFineBatch.class))).thenAnswer(invocation -> {
+            storedBatch.set(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        when(mongoTemplate.findById(batch, OverdueFineBatch.class)).thenAnswer(invocation -> storedBatch.get());
+        when(fineServiceClient.postFines(anyList(), anyString())).thenReturn(List.of(FineModel.builder()
+                .fineId("ef23ab6e-d614-47b9-95d0-d66167ae5080")
+                .build()));
+
+        //act
+        assertThrows(DataAccessResourceFailureException.class, () -> sweeper.sweep(today));
+        // the loan is still tagged, so the rerun finishes its batch first
+        when(mongoTemplate.findDistinct(any(Query.class), eq(OverdueLoanSweeper.FINE_BATCH), eq(Loan.class), eq(String.class)))
+                .thenReturn(List.of(batch));
+        sweeper.sweep(today);
+
+        //assert
+        ArgumentCaptor<String> keys = ArgumentCaptor.forClass(String.class);
+        verify(fineServiceClient, times(2)).postFines(fines.capture(), keys.capture());
+        assertEquals(List.of(batch, batch), keys.getAllValues());
+        assertEquals(fines.getAllValues().get(0), fines.getAllValues().get(1));
+        verify(mongoTemplate, times(1)).insert(any(OverdueFineBatch.class));
+        verify(mongoTemplate, times(1)).remove(storedBatch.get());
+        assertEquals(1, meterRegistry.get("loans.overdue.sweep.fined").counter().count());
+    }
+
+    // positive path
+    @Test
+    public void whenSweepRestarted_thenQueryActiveLoansInDueDateOrder() {
+        //define mock behaviors
+        when(mongoTemplate.findById(OverdueLoanSweeper.CHECKPOINT_NAME, SweepCheckpoint.class)).thenReturn(SweepCheckpoint.builder()
+                .name(OverdueLoanSweeper.CHECKPOINT_NAME)
+                .sweepDate(today)
+                .build());
+        when(mongoTemplate.stream(any(Query.class), eq(Loan.class))).thenReturn(Stream.empty());
+
+        //act
+        sweeper.sweep(today);
+
+        //assert
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).stream(query.capture(), eq(Loan.class));
+        // claimed loans are no longer active, so the restarted sweep starts at the first unclaimed one
+        assertEquals(LoanStatus.ACTIVE, query.getValue().getQueryObject().get("status"));
+        assertFalse(query.getValue().getQueryObject().containsKey("_id"));
+        assertEquals(new Document("dueDate", 1), query.getValue().getSortObject());
+        verify(fineServiceClient, never()).postFines(anyList(), anyString());
+    }
+
+    // negative path
+    @Test
+    public void whenSweepAlreadyCompletedToday_thenDoNothing() {
+        //define mock behaviors
+        when(mongoTemplate.findById(OverdueLoanSweeper.CHECKPOINT_NAME, SweepCheckpoint.class)).thenReturn(SweepCheckpoint.builder()
+                .name(OverdueLoanSweeper.CHECKPOINT_NAME)
+                .sweepDate(today)
+                .completed(true)
+                .build());
+
+        //act
+        sweeper.sweep(today);
+
+        //assert
+        verify(mongoTemplate, never()).stream(any(Query.class), eq(Loan.class));
+        verify(mongoTemplate, never()).save(any(SweepCheckpoint.class));
+    }
+}
@@ -0,0 +1,289 @@
+package com.library.loans.businesslayer;
+
+import com.library.loans.datalayer.Loan;
+import com.library.loans.datalayer.LoanIdentifier;
+import com.library.loans.datalayer.LoanRepository;
+import com.library.loans.datalayer.LoanStatus;
+import com.library.loans.datalayer.ReactiveIdempotencyRecordRepository;
+import com.library.loans.datalayer.ReactiveLoanRepository;
+import com.library.loans.domainclientlayer.catalogs.Author;
+import com.library.loans.domainclientlayer.catalogs.BookModel;
+import com.library.loans.domainclientlayer.catalogs.BookStatusTransitionResultModel;
+import com.library.loans.domainclientlayer.catalogs.ReactiveCatalogServiceClient;
+import com.library.loans.domainclientlayer.catalogs.Status;
+import com.library.loans.domainclientlayer.fines.FineModel;
+import com.library.loans.domainclientlayer.fines.ReactiveFineServiceClient;
+import com.library.loans.domainclientlayer.patrons.PatronModel;
+import com.library.loans.domainclientlayer.patrons.ReactivePatronServiceClient;
+import com.library.loans.presentationlayer.LoanRequestModel;
+import com.library.loans.utils.exceptions.NotFoundException;
+import com.library.loans.utils.exceptions.UnavailableBookException;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(properties = "spring.main.web-application-type=reactive")
+@TestPropertySource(properties = "spring.autoconfigure.exclude = org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration")
+@ActiveProfiles("test")
+class ReactiveLoanServiceUnitTest {
+
+    @Autowired
+    ReactiveLoanService loanService;
+
+    @MockBean
+    ReactiveCatalogServiceClient catalogServiceClient;
+
+    @MockBean
+    ReactiveFineServiceClient fineServiceClient;
+
+    @MockBean
+    ReactivePatronServiceClient patronServiceClient;
+
+    @MockBean
+    ReactiveLoanRepository reactiveLoanRepository;
+
+    @MockBean
+    ReactiveIdempotencyRecordRepository reactiveIdempotencyRecordRepository;
+
+    @MockBean
+    LoanRepository loanRepository;
+
+    private final PatronModel patronModel = PatronModel.builder()
+            .patronId("e5913a79-9b1e-4516-9ffd-06578e7af261")
+            .firstName("Vilma")
+            .lastName("Chawner")
+            .build();
+
+    private final FineModel fineModel = FineModel.builder()
+            .fineId("ef23ab6e-d614-47b9-95d0-d66167ae5080")
+            .amount(new BigDecimal("0.00"))
+            .build();
+
+    private BookModel buildBookModel(Long isbn, Status status) {
+        return BookModel.builder()
+                .isbn(isbn)
+                .catalogId("d846a5a7-2e1c-4c79-809c-4f3f471e826d")
+                .title("The Great Gatsby")
+                .collection("F. Scott Fitzgerald")
+                .status(status)
+                .author(Author.builder()
+                        .firstName("Robert")
+                        .lastName("Martin")
+                        .build())
+                .build();
+    }
+
+    // positive path
+    @Test
+    public void whenValidPatronId_thenProcessGetAll() {
+        //arrange
+        var loan1 = Loan.builder()
+                .loanIdentifier(new LoanIdentifier())
+                .patronModel(patronModel)
+                .fineModel(fineModel)
+                .books(List.of(buildBookModel(9789390183522L, Status.BORROWED)))
+                .status(LoanStatus.ACTIVE)
+                .build();
+
+        //define mock behaviors
+        when(patronServiceClient.getPatronByPatronId(patronModel.getPatronId())).thenReturn(Mono.just(patronModel));
+        when(reactiveLoanRepository.findLoansByPatronModel_PatronIdAfter(eq(patronModel.getPatronId()), any(ObjectId.class), any(Pageable.class)))
+                .thenReturn(Flux.just(loan1));
+
+        //act and assert
+        StepVerifier.create(loanService.getAllLoansForPatron(patronModel.getPatronId(), null, null))
+                .assertNext(page -> {
+                    assertEquals(1, page.getItems().size());
+                    assertEquals(loan1.getLoanIdentifier().getLoanId(), page.getItems().get(0).getLoanId());
+                    assertNull(page.getNextCursor());
+                })
+                .verifyComplete();
+    }
+
+    // negative path
+    @Test
+    public void whenInvalidPatronIdGETALL_thenThrowNotFound() {
+        //define mock behaviors
+        when(patronServiceClient.getPatronByPatronId("unknown"))
+                .thenReturn(Mono.error(new NotFoundException("Unknown patronId provided: unknown")));
+
+        //act and assert
+        StepVerifier.create(loanService.getAllLoansForPatron("unknown", null, null))
+                .expectError(NotFoundException.class)
+                .verify();
+        verify(reactiveLoanRepository, never()).findLoansByPatronModel_PatronIdAfter(any(), any(), any());
+    }
+
+    // positive path
+    @Test
+    public void whenValidPatronId_Loan_thenCreateLoan() {
+        //arrange
+        var bookModel1 = buildBookModel(9789390183522L, Status.BORROWED);
+        var loanRequestModel = LoanRequestModel.builder()
+                .status(LoanStatus.ACTIVE)
+                .bookISBN(List.of(bookModel1.getIsbn()))
+                .build();
+
+        //define mock behaviors
+        when(patronServiceClient.getPatronByPatronId(patronModel.getPatronId())).thenReturn(Mono.just(patronModel));
+        when(catalogServiceClient.transitionBooks(List.of(bookModel1.getIsbn()), Status.AVAILABLE, Status.BORROWED))
+                .thenReturn(Mono.just(BookStatusTransitionResultModel.builder()
+                        .transitioned(List.of(bookModel1))
+                        .rejected(List.of())
+                        .notFound(List.of())
+                        .build()));
+        when(reactiveLoanRepository.save(any(Loan.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        //act and assert
+        StepVerifier.create(loanService.addLoanForPatron(patronModel.getPatronId(), loanRequestModel))
+                .assertNext(loan -> {
+                    assertEquals(patronModel.getPatronId(), loan.getPatronId());
+                    assertEquals(LocalDate.now().plusDays(21), loan.getDueDate());
+                    assertNull(loan.getFineId());
+                })
+                .verifyComplete();
+        verify(fineServiceClient, never()).postFine(any(FineModel.class), anyString());
+    }
+
+    // negative path
+    @Test
+    public void whenOneBookUnavailablePOST_thenReleaseReservedBooks() {
+        //arrange
+        var bookModel1 = buildBookModel(9789390183522L, Status.BORROWED);
+        var bookModel2 = buildBookModel(9780132350882L, Status.LOST);
+        var loanRequestModel = LoanRequestModel.builder()
+                .status(LoanStatus.ACTIVE)
+                .bookISBN(List.of(bookModel1.getIsbn(), bookModel2.getIsbn()))
+                .build();
+
+        //define mock behaviors
+        when(patronServiceClient.getPatronByPatronId(patronModel.getPatronId())).thenReturn(Mono.just(patronModel));
+        when(catalogServiceClient.transitionBooks(loanRequestModel.getBookISBN(), Status.AVAILABLE, Status.BORROWED))
+                .thenReturn(Mono.just(BookStatusTransitionResultModel.builder()
+                        .transitioned(List.of(bookModel1))
+                        .rejected(List.of(bookModel2))
+                        .notFound(List.of())
+                        .build()));
+        when(catalogServiceClient.transitionBooks(List.of(bookModel1.getIsbn()), Status.BORROWED, Status.AVAILABLE))
+                .thenReturn(Mono.just(BookStatusTransitionResultModel.builder()
+                        .transitioned(List.of(bookModel1))
+                        .rejected(List.of())
+                        .notFound(List.of())
+                        .build()));
+
+        //act and assert
+        StepVerifier.create(loanService.addLoanForPatron(patronModel.getPatronId(), loanRequestModel))
+                .expectErrorMessage("Book with ISBN: " + bookModel2.getIsbn() + " is lost")
+                .verify();
+        verify(catalogServiceClient, times(1)).transitionBooks(List.of(bookModel1.getIsbn()), Status.BORROWED, Status.AVAILABLE);
+        verify(fineServiceClient, never()).postFine(any(FineModel.class), anyString());
+        verify(reactiveLoanRepository, never()).save(any(Loan.class));
+    }
+
+    // negative path
+    @Test
+    public void whenValidPatronId_InvalidLoanIdPUT_thenThrowNotFound() {
+        //arrange
+        var loanRequestModel = LoanRequestModel.builder()
+                .status(LoanStatus.RETURNED)
+                .bookISBN(List.of(9789390183522L))
+                .build();
+
+        //define mock behaviors
+        when(patronServiceClient.getPatronByPatronId(patronModel.getPatronId())).thenReturn(Mono.just(patronModel));
+        when(reactiveLoanRepository.findLoanByLoanIdentifier_LoanId("unknown")).thenReturn(Mono.empty());
+
+        //act and assert
+        StepVerifier.create(loanService.updateLoanForPatron(patronModel.getPatronId(), loanRequestModel, "unknown"))
+                .expectErrorMessage("Invalid loanId: unknown")
+                .verify();
+    }
+
+    // negative path
+    @Test
+    public void whenUpdateConflicts_thenReleaseAddedBooks() {
+        //arrange
+        var bookModel1 = buildBookModel(9789390183522L, Status.BORROWED);
+        var bookModel2 = buildBookModel(9780132350882L, Status.AVAILABLE);
+        var loanRequestModel = LoanRequestModel.builder()
+                .status(LoanStatus.ACTIVE)
+                .bookISBN(List.of(bookModel1.getIsbn(), bookModel2.getIsbn()))
+                .build();
+        var loan1 = Loan.builder()
+                .loanIdentifier(new LoanIdentifier())
+                .patronModel(patronModel)
+                .books(List.of(bookModel1))
+                .status(LoanStatus.ACTIVE)
+                .borrowedDate(LocalDate.now())
+                .dueDate(LocalDate.now().plusDays(21))
+                .build();
+
+        //define mock behaviors
+        when(patronServiceClient.getPatronByPatronId(patronModel.getPatronId())).thenReturn(Mono.just(patronModel));
+        when(reactiveLoanRepository.findLoanByLoanIdentifier_LoanId(loan1.getLoanIdentifier().getLoanId()))
+                .thenReturn(Mono.just(loan1));
+        when(catalogServiceClient.getBooksByIsbns(List.of(bookModel1.getIsbn()))).thenReturn(Mono.just(List.of(bookModel1)));
+        when(catalogServiceClient.transitionBooks(List.of(bookModel2.getIsbn()), Status.AVAILABLE, Status.BORROWED))
+                .thenReturn(Mono.just(BookStatusTransitionResultModel.builder()
+                        .transitioned(List.of(buildBookModel(bookModel2.getIsbn(), Status.BORROWED)))
+                        .rejected(List.of())
+                        .notFound(List.of())
+                        .build()));
+        when(catalogServiceClient.transitionBooks(List.of(bookModel2.getIsbn()), Status.BORROWED, Status.AVAILABLE))
+                .thenReturn(Mono.just(BookStatusTransitionResultModel.builder()
+                        .transitioned(List.of(bookModel2))
+                        .rejected(List.of())
+                        .notFound(List.of())
+                        .build()));
+        when(reactiveLoanRepository.save(any(Loan.class)))
+                .thenReturn(Mono.error(new OptimisticLockingFailureException("stale loan")));
+
+        //act and assert
+        StepVerifier.create(loanService.updateLoanForPatron(patronModel.getPatronId(), loanRequestModel,
+                        loan1.getLoanIdentifier().getLoanId()))
+                .expectError(OptimisticLockingFailureException.class)
+                .verify();
+        verify(catalogServiceClient, times(1)).transitionBooks(List.of(bookModel2.getIsbn()), Status.BORROWED, Status.AVAILABLE);
+    }
+
+    // positive path
+    @Test
+    public void whenValidPatronIdAndLoanId_DELETE_thenDeleteLoan() {
+        //arrange
+        var loan1 = Loan.builder()
+                .loanIdentifier(new LoanIdentifier())
+                .patronModel(patronModel)
+                .fineModel(fineModel)
+                .status(LoanStatus.ACTIVE)
+                .build();
+
+        //define mock behaviors
+        when(patronServiceClient.getPatronByPatronId(patronModel.getPatronId())).thenReturn(Mono.just(patronModel));
+        when(reactiveLoanRepository.findLoanByLoanIdentifier_LoanId(loan1.getLoanIdentifier().getLoanId()))
+                .thenReturn(Mono.just(loan1));
+        when(reactiveLoanRepository.delete(loan1)).thenReturn(Mono.empty());
+
+        //act and assert
+        StepVerifier.create(loanService.deleteLoanForPatron(patronModel.getPatronId(), loan1.getLoanIdentifier().getLoanId()))
+                .verifyComplete();
+        verify(reactiveLoanRepository, times(1)).delete(loan1);
+    }
+}
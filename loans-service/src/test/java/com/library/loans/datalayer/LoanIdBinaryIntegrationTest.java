@@ -0,0 +1,135 @@
+package com.library.loans.datalayer;
+
+import com.library.loans.domainclientlayer.catalogs.BookModel;
+import com.library.loans.domainclientlayer.catalogs.Status;
+import com.library.loans.domainclientlayer.patrons.PatronModel;
+import com.library.loans.utils.BinaryLoanIdMigration;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Updates;
+import org.bson.BsonBinarySubType;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataMongoTest(properties = "app.binary-ids.migration-page-size=100")
+@ActiveProfiles({"test", "binary-ids"})
+@Import(BinaryLoanIdMigration.class)
+class LoanIdBinaryIntegrationTest {
+
+    @Autowired
+    LoanRepository loanRepository;
+
+    @Autowired
+    MongoTemplate mongoTemplate;
+
+    @Autowired
+    BinaryLoanIdMigration binaryLoanIdMigration;
+
+    // the application class builds the downstream RestTemplate from web components this slice leaves out
+    @MockBean
+    RestTemplate restTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        loanRepository.deleteAll();
+    }
+
+    private Loan loan(String loanId) {
+        return Loan.builder()
+                .loanIdentifier(new LoanIdentifier(loanId))
+                .patronModel(PatronModel.builder()
+                        .patronId("c3540a89-cb47-4c96-888e-ff96708db4d8")
+                        .build())
+                .books(List.of(BookModel.builder()
+                        .isbn(9780395193952L)
+                        .catalogId("448b5ee1-4445-4213-84cf-0dc9150d82e9")
+                        .status(Status.BORROWED)
+                        .build()))
+                .status(LoanStatus.ACTIVE)
+                .borrowedDate(LocalDate.now())
+                .dueDate(LocalDate.now().plusDays(21))
+                .build();
+    }
+
+    private MongoCollection<Document> loans() {
+        return mongoTemplate.getCollection("loans");
+    }
+
+    private Object storedLoanId(String id) {
+        return loans().find(Filters.eq("_id", new org.bson.types.ObjectId(id))).first()
+                .get("loanIdentifier", Document.class).get("loanId");
+    }
+
+    @Test
+    public void whenLoanSaved_ThenStoreLoanIdAsBinaryUuid() {
+        // arrange
+        var loanId = new LoanIdentifier().getLoanId();
+
+        // act
+        var saved = loanRepository.save(loan(loanId));
+        var found = loanRepository.findLoanByLoanIdentifier_LoanId(loanId);
+
+        // assert
+        var stored = storedLoanId(saved.getId());
+        assertInstanceOf(Binary.class, stored);
+        assertEquals(BsonBinarySubType.UUID_STANDARD.getValue(), ((Binary) stored).getType());
+        assertEquals(16, ((Binary) stored).length());
+        assertNotNull(found);
+        assertEquals(loanId, found.getLoanIdentifier().getLoanId());
+    }
+
+    @Test
+    public void whenLoanIdNotAUuid_ThenKeepItAsString() {
+        // arrange
+        var loanId = "s846a5a7-2e1c-4c79-809c-4f3f471e826d";
+
+        // act
+        var saved = loanRepository.save(loan(loanId));
+        var found = loanRepository.findLoanByLoanIdentifier_LoanId(loanId);
+
+        // assert
+        assertEquals(loanId, storedLoanId(saved.getId()));
+        assertNotNull(found);
+        assertEquals(loanId, found.getLoanIdentifier().getLoanId());
+    }
+
+    @Test
+    public void whenLoanIdsStoredAsStrings_ThenMigrateThemToBinary() {
+        // arrange, more loans than a page and the ids written back as strings the way they were before
+        List<String> loanIds = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            var loanId = new LoanIdentifier().getLoanId();
+            loanIds.add(loanId);
+            var saved = loanRepository.save(loan(loanId));
+            loans().updateOne(Filters.eq("_id", new org.bson.types.ObjectId(saved.getId())),
+                    Updates.set("loanIdentifier.loanId", loanId));
+        }
+        var malformed = loanRepository.save(loan("s846a5a7-2e1c-4c79-809c-4f3f471e826d"));
+
+        // act
+        binaryLoanIdMigration.migrate();
+
+        // assert
+        assertEquals(0, loans().countDocuments(Filters.and(Filters.type("loanIdentifier.loanId", "string"),
+                Filters.ne("_id", new org.bson.types.ObjectId(malformed.getId())))));
+        assertEquals("s846a5a7-2e1c-4c79-809c-4f3f471e826d", storedLoanId(malformed.getId()));
+        for (String loanId : loanIds) {
+            assertEquals(loanId, loanRepository.findLoanByLoanIdentifier_LoanId(loanId).getLoanIdentifier().getLoanId());
+        }
+    }
+}
@@ -5,14 +5,21 @@ import com.library.loans.domainclientlayer.catalogs.BookModel;
 import com.library.loans.domainclientlayer.catalogs.Status;
 import com.library.loans.domainclientlayer.fines.FineModel;
 import com.library.loans.domainclientlayer.patrons.PatronModel;
+import org.bson.Document;
+import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.client.RestTemplate;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -24,6 +31,13 @@ class LoanRepositoryIntegrationTest {
     @Autowired
     LoanRepository loanRepository;
 
+    @Autowired
+    MongoTemplate mongoTemplate;
+
+    // the application class builds the downstream RestTemplate from web components this slice leaves out
+    @MockBean
+    RestTemplate restTemplate;
+
     @BeforeEach
     public void setUp() {
         loanRepository.deleteAll();
@@ -314,4 +328,194 @@ class LoanRepositoryIntegrationTest {
         assertArrayEquals(new Loan[]{}, savedLoan.toArray());
     }
 
-}
\ No newline at end of file
+    private Loan loan(String patronId, LoanStatus status, LocalDate dueDate, Long isbn) {
+        return Loan.builder()
+                .loanIdentifier(new LoanIdentifier())
+                .patronModel(PatronModel.builder()
+                        .patronId(patronId)
+                        .firstName("Alick")
+                        .lastName("Ucceli")
+                        .build())
+                .books(List.of(BookModel.builder()
+                        .isbn(isbn)
+                        .catalogId("448b5ee1-4445-4213-84cf-0dc9150d82e9")
+                        .title("The Lord Of The Rings")
+                        .status(Status.BORROWED)
+                        .build()))
+                .fineModel(FineModel.builder()
+                        .fineId(new FineIdentifier().getFineId())
+                        .amount(new BigDecimal("1.50"))
+                        .reason("Late return")
+                        .isPaid(false)
+                        .build())
+                .status(status)
+                .borrowedDate(dueDate.minusDays(21))
+                .dueDate(dueDate)
+                .pendingStatusChanges(new ArrayList<>(List.of(
+                        BookStatusChange.of(isbn, Status.BORROWED, Status.AVAILABLE))))
+                .build();
+    }
+
+    private String winningPlan(Document filter) {
+        return winningPlan(filter, new Document());
+    }
+
+    private String winningPlan(Document filter, Document sort) {
+        Document explain = mongoTemplate.getCollection("loans").find(filter).sort(sort).explain();
+        return explain.get("queryPlanner", Document.class).get("winningPlan", Document.class).toJson();
+    }
+
+    @Test
+    public void whenFindingLoanByLoanId_ThenUseLoanIdIndex() {
+        // arrange
+        var loan = loanRepository.save(loan("c3540a89-cb47-4c96-888e-ff96708db4d8", LoanStatus.ACTIVE, LocalDate.now(), 9780395193952L));
+
+        // act
+        var plan = winningPlan(new Document("loanIdentifier.loanId", loan.getLoanIdentifier().getLoanId()));
+
+        // assert
+        assertTrue(plan.contains("IXSCAN"));
+        assertTrue(plan.contains("loan_id"));
+        assertFalse(plan.contains("COLLSCAN"));
+    }
+
+    @Test
+    public void whenFindingOverdueLoans_ThenUseStatusDueDateIndex() {
+        // arrange
+        loanRepository.save(loan("c3540a89-cb47-4c96-888e-ff96708db4d8", LoanStatus.ACTIVE, LocalDate.now().minusDays(3), 9780395193952L));
+
+        // act
+        var plan = winningPlan(new Document("status", LoanStatus.ACTIVE.name())
+                .append("dueDate", new Document("$lt", LocalDate.now())));
+
+        // assert
+        assertTrue(plan.contains("IXSCAN"));
+        assertTrue(plan.contains("status_due_date"));
+        assertFalse(plan.contains("COLLSCAN"));
+    }
+
+    @Test
+    public void whenSweepingOverdueLoansInDueDateOrder_ThenSortThroughStatusDueDateIndex() {
+        // arrange
+        loanRepository.save(loan("c3540a89-cb47-4c96-888e-ff96708db4d8", LoanStatus.ACTIVE, LocalDate.now().minusDays(3), 9780395193952L));
+        loanRepository.save(loan("c3540a89-cb47-4c96-888e-ff96708db4d8", LoanStatus.ACTIVE, LocalDate.now().minusDays(5), 9780132350882L));
+
+        // act
+        var plan = winningPlan(new Document("status", LoanStatus.ACTIVE.name())
+                .append("dueDate", new Document("$lt", LocalDate.now())), new Document("dueDate", 1));
+
+        // assert
+        assertTrue(plan.contains("status_due_date"));
+        assertFalse(plan.contains("\"SORT\""));
+        assertFalse(plan.contains("COLLSCAN"));
+    }
+
+    @Test
+    public void whenFindingOverdueFineBatch_ThenUseSparseBatchIndex() {
+        // arrange
+        var loan = loan("c3540a89-cb47-4c96-888e-ff96708db4d8", LoanStatus.EXPIRED, LocalDate.now().minusDays(3), 9780395193952L);
+        loan.setOverdueFineBatch(LocalDate.now() + ":" + new ObjectId().toHexString());
+        loanRepository.save(loan);
+        loanRepository.save(loan("c3540a89-cb47-4c96-888e-ff96708db4d8", LoanStatus.ACTIVE, LocalDate.now(), 9780132350882L));
+
+        // act
+        var plan = winningPlan(new Document("overdueFineBatch", loan.getOverdueFineBatch()));
+        var pendingPlan = winningPlan(new Document("overdueFineBatch", new Document("$exists", true)));
+
+        // assert
+        assertTrue(plan.contains("overdue_fine_batch"));
+        assertTrue(pendingPlan.contains("overdue_fine_batch"));
+        assertFalse(pendingPlan.contains("COLLSCAN"));
+    }
+
+    @Test
+    public void whenListingLoansForPatron_ThenOnlyProjectListViewFields() {
+        // arrange
+        var loan = loanRepository.save(loan("c3540a89-cb47-4c96-888e-ff96708db4d8", LoanStatus.ACTIVE, LocalDate.now(), 9780395193952L));
+
+        // act
+        var loans = loanRepository.findLoansByPatronModel_PatronId("c3540a89-cb47-4c96-888e-ff96708db4d8");
+
+        // assert
+        assertEquals(1, loans.size());
+        assertEquals(loan.getLoanIdentifier().getLoanId(), loans.get(0).getLoanIdentifier().getLoanId());
+        assertEquals(loan.getFineModel().getFineId(), loans.get(0).getFineModel().getFineId());
+        assertNull(loans.get(0).getFineModel().getAmount());
+        assertTrue(loans.get(0).getPendingStatusChanges() == null || loans.get(0).getPendingStatusChanges().isEmpty());
+        assertEquals(1, loans.get(0).getBooks().size());
+    }
+
+    @Test
+    public void whenAggregatingCirculation_ThenCountPerDayBucket() {
+        // arrange
+        LocalDate today = LocalDate.now();
+        LocalDate dueDate = today.minusDays(5);
+        var returnedLate = loan("c3540a89-cb47-4c96-888e-ff96708db4d8", LoanStatus.RETURNED, dueDate, 9780395193952L);
+        returnedLate.setReturnedDate(today.minusDays(3));
+        var returnedOnTime = loan("c3540a89-cb47-4c96-888e-ff96708db4d8", LoanStatus.RETURNED, dueDate, 9780395193952L);
+        returnedOnTime.setReturnedDate(today.minusDays(6));
+        var stillOut = loan("c3540a89-cb47-4c96-888e-ff96708db4d8", LoanStatus.EXPIRED, dueDate, 9780132350882L);
+        loanRepository.saveAll(List.of(returnedLate, returnedOnTime, stillOut));
+
+        // act
+        var checkouts = loanRepository.countCheckoutsPerDay(dueDate.minusDays(21), dueDate);
+        var bookCheckouts = loanRepository.countBookCheckoutsPerDay(dueDate.minusDays(21), dueDate);
+        var dueLoans = loanRepository.countDueLoansPerDay(dueDate, dueDate, today);
+        var returns = loanRepository.countReturnsPerDay(today.minusDays(6), today);
+
+        // assert
+        assertEquals(1, checkouts.size());
+        assertEquals(dueDate.minusDays(21), checkouts.get(0).getDate());
+        assertEquals(3, checkouts.get(0).getCheckouts());
+        assertEquals(2, bookCheckouts.size());
+        assertEquals(2, bookCheckouts.stream().filter(row -> row.getIsbn() == 9780395193952L).findFirst().orElseThrow().getCheckouts());
+        assertEquals(1, dueLoans.size());
+        assertEquals(3, dueLoans.get(0).getDue());
+        assertEquals(2, dueLoans.get(0).getOverdue());
+        assertEquals(2, returns.size());
+        assertEquals(43, returns.stream().mapToLong(LoanDayCounts::getLoanDays).sum());
+    }
+
+    @Test
+    public void whenMatchingDueDatesOverEveryStatus_ThenUseStatusDueDateIndex() {
+        // arrange
+        loanRepository.save(loan("c3540a89-cb47-4c96-888e-ff96708db4d8", LoanStatus.RETURNED, LocalDate.now(), 9780395193952L));
+
+        // act
+        var plan = winningPlan(new Document("status", new Document("$in", List.of("EXPIRED", "ACTIVE", "RETURNED")))
+                .append("dueDate", new Document("$gte", LocalDate.now().minusDays(7)).append("$lte", LocalDate.now())));
+
+        // assert
+        assertTrue(plan.contains("IXSCAN"));
+        assertTrue(plan.contains("status_due_date"));
+        assertFalse(plan.contains("COLLSCAN"));
+    }
+
+    @Test
+    public void whenPagingPendingStatusChanges_ThenTakeOldestChangesOverAllLoans() {
+        // arrange, the first loan's newer change is younger than the second loan's only change
+        Instant now = Instant.now();
+        var first = loan("c3540a89-cb47-4c96-888e-ff96708db4d8", LoanStatus.RETURNED, LocalDate.now(), 9780395193952L);
+        first.setPendingStatusChanges(new ArrayList<>(List.of(
+                new BookStatusChange("c1", 9780395193952L, Status.BORROWED, Status.AVAILABLE, now.minusSeconds(30)),
+                new BookStatusChange("c3", 9780132350882L, Status.BORROWED, Status.AVAILABLE, now.minusSeconds(10)))));
+        var second = loan("c3540a89-cb47-4c96-888e-ff96708db4d8", LoanStatus.ACTIVE, LocalDate.now(), 9780132350882L);
+        second.setPendingStatusChanges(new ArrayList<>(List.of(
+                new BookStatusChange("c2", 9780132350882L, Status.AVAILABLE, Status.BORROWED, now.minusSeconds(20)))));
+        var withoutChanges = loan("c3540a89-cb47-4c96-888e-ff96708db4d8", LoanStatus.ACTIVE, LocalDate.now(), 9780201633610L);
+        withoutChanges.setPendingStatusChanges(new ArrayList<>());
+        first = loanRepository.save(first);
+        second = loanRepository.save(second);
+        loanRepository.save(withoutChanges);
+
+        // act
+        var page = loanRepository.findOldestPendingStatusChanges(2);
+        var all = loanRepository.findOldestPendingStatusChanges(10);
+
+        // assert
+        assertEquals(List.of("c1", "c2"), page.stream().map(pending -> pending.getChange().getId()).toList());
+        assertEquals(List.of(first.getId(), second.getId()), page.stream().map(PendingStatusChange::getLoanId).toList());
+        assertEquals(9780132350882L, page.get(1).getChange().getIsbn());
+        assertEquals(List.of("c1", "c2", "c3"), all.stream().map(pending -> pending.getChange().getId()).toList());
+    }
+}
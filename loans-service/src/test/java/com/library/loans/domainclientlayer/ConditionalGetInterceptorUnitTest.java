@@ -0,0 +1,75 @@
+package com.library.loans.domainclientlayer;
+
+import com.library.loans.domainclientlayer.patrons.PatronModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class ConditionalGetInterceptorUnitTest {
+
+    private static final String PATRON_URL = "http://localhost:7003/api/v1/patrons/e5913a79-9b1e-4516-9ffd-06578e7af261";
+    private static final String PATRON_JSON = "{\"patronId\":\"e5913a79-9b1e-4516-9ffd-06578e7af261\",\"firstName\":\"Vilma\"}";
+
+    private final RestTemplate restTemplate = new RestTemplate();
+
+    private final MockRestServiceServer server;
+
+    ConditionalGetInterceptorUnitTest() {
+        restTemplate.getInterceptors().add(new ConditionalGetInterceptor(new SimpleMeterRegistry(), 1024));
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+    }
+
+    // positive path
+    @Test
+    public void whenNotModified_thenReplayCachedBody() {
+        //arrange
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"v1\"");
+        server.expect(once(), requestTo(PATRON_URL))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess(PATRON_JSON, MediaType.APPLICATION_JSON).headers(headers));
+        server.expect(once(), requestTo(PATRON_URL))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+
+        //act
+        PatronModel first = restTemplate.getForObject(PATRON_URL, PatronModel.class);
+        PatronModel second = restTemplate.getForObject(PATRON_URL, PatronModel.class);
+
+        //assert
+        server.verify();
+        assertEquals("Vilma", first.getFirstName());
+        assertEquals(first, second);
+    }
+
+    // negative path
+    @Test
+    public void whenResponseHasNoETag_thenDoNotRevalidate() {
+        //arrange
+        server.expect(once(), requestTo(PATRON_URL))
+                .andRespond(withSuccess(PATRON_JSON, MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(PATRON_URL))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess(PATRON_JSON, MediaType.APPLICATION_JSON));
+
+        //act
+        restTemplate.getForObject(PATRON_URL, PatronModel.class);
+        PatronModel second = restTemplate.getForObject(PATRON_URL, PatronModel.class);
+
+        //assert
+        server.verify();
+        assertEquals("Vilma", second.getFirstName());
+    }
+}
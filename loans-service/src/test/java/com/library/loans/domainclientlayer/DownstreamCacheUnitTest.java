@@ -0,0 +1,92 @@
+package com.library.loans.domainclientlayer;
+
+import com.library.loans.utils.exceptions.NotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DownstreamCacheUnitTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DownstreamCache<String, String> cache = new DownstreamCache<>("patrons", 100,
+            Duration.ofMinutes(1), Duration.ofMinutes(1), meterRegistry);
+
+    // positive path
+    @Test
+    public void whenSameKeyRequestedTwice_thenLoadOnce() {
+        //arrange
+        AtomicInteger calls = new AtomicInteger();
+
+        //act
+        String first = cache.get("e5913a79", key -> "Vilma " + calls.incrementAndGet());
+        String second = cache.get("e5913a79", key -> "Vilma " + calls.incrementAndGet());
+
+        //assert
+        assertEquals("Vilma 1", first);
+        assertEquals(first, second);
+        assertEquals(1, calls.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "patrons").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    // negative path
+    @Test
+    public void whenKeyNotFound_thenRememberNotFound() {
+        //arrange
+        AtomicInteger calls = new AtomicInteger();
+
+        //act and assert
+        for (int i = 0; i < 2; i++) {
+            NotFoundException ex = assertThrows(NotFoundException.class, () -> cache.get("unknown", key -> {
+                calls.incrementAndGet();
+                throw new NotFoundException("Unknown patronId provided: " + key);
+            }));
+            assertEquals("Unknown patronId provided: unknown", ex.getMessage());
+        }
+        assertEquals(1, calls.get());
+    }
+
+    // positive path
+    @Test
+    public void whenKeyInvalidated_thenLoadAgain() {
+        //arrange
+        AtomicInteger calls = new AtomicInteger();
+        cache.get("e5913a79", key -> "Vilma " + calls.incrementAndGet());
+
+        //act
+        cache.invalidate("e5913a79");
+        String reloaded = cache.get("e5913a79", key -> "Vilma " + calls.incrementAndGet());
+
+        //assert
+        assertEquals("Vilma 2", reloaded);
+    }
+
+    // positive path
+    @Test
+    public void whenGetAll_thenLoadOnlyMissingKeysInOneCall() {
+        //arrange
+        cache.get("a", key -> "cached a");
+        AtomicInteger calls = new AtomicInteger();
+
+        //act
+        Map<String, String> values = cache.getAll(List.of("a", "b", "c"), keys -> {
+            calls.incrementAndGet();
+            assertFalse(keys.contains("a"));
+            Map<String, String> loaded = new HashMap<>();
+            loaded.put("b", "loaded b");
+            return loaded;
+        }, key -> "Unknown key: " + key);
+
+        //assert
+        assertEquals(1, calls.get());
+        assertEquals(Map.of("a", "cached a", "b", "loaded b"), values);
+        assertThrows(NotFoundException.class, () -> cache.get("c", key -> "should not load"));
+    }
+}
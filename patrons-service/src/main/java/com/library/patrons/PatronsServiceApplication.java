@@ -1,11 +1,33 @@
 package com.library.patrons;
 
+import com.library.patrons.utils.IdentifierGenerator;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Profile;
 
 @SpringBootApplication
 public class PatronsServiceApplication {
 
+	// the in-memory database outlives a context, so under h2 it is rebuilt from the migrations on every start
+	@Bean
+	@Profile("h2")
+	FlywayMigrationStrategy cleanMigrateStrategy() {
+		return flyway -> {
+			flyway.clean();
+			flyway.migrate();
+		};
+	}
+
+	// the generator the identifier classes take new ids from
+	@Bean
+	IdentifierGenerator identifierGenerator(@Value("${app.identifiers.generator:time-ordered}") IdentifierGenerator generator) {
+		IdentifierGenerator.use(generator);
+		return generator;
+	}
+
 	public static void main(String[] args) {
 		SpringApplication.run(PatronsServiceApplication.class, args);
 	}
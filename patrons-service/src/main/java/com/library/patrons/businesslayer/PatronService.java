@@ -2,12 +2,13 @@ package com.library.patrons.businesslayer;
 
 import com.library.patrons.presentationlayer.PatronRequestModel;
 import com.library.patrons.presentationlayer.PatronResponseModel;
+import com.library.patrons.utils.CursorPage;
 
 import java.util.List;
 
 public interface PatronService {
 
-    List<PatronResponseModel> getAllPatrons();
+    CursorPage<PatronResponseModel> getAllPatrons(String cursor, Integer size);
     PatronResponseModel getPatron(String patronId);
     PatronResponseModel addPatron(PatronRequestModel patronRequestModel);
     PatronResponseModel updatePatron(PatronRequestModel patronRequestModel, String patronId);
@@ -8,9 +8,12 @@ import com.library.patrons.datamapperlayer.PatronRequestMapper;
 import com.library.patrons.datamapperlayer.PatronResponseMapper;
 import com.library.patrons.presentationlayer.PatronRequestModel;
 import com.library.patrons.presentationlayer.PatronResponseModel;
+import com.library.patrons.utils.CursorPage;
+import com.library.patrons.utils.Pagination;
 import com.library.patrons.utils.exceptions.InvalidEmailException;
 import com.library.patrons.utils.exceptions.NotFoundException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -24,17 +27,21 @@ public class PatronServiceImpl implements PatronService{
     private final PatronRepository patronRepository;
     private final PatronResponseMapper patronResponseMapper;
     private final PatronRequestMapper patronRequestMapper;
+    private final Pagination pagination;
 
-    public PatronServiceImpl(PatronRepository patronRepository, PatronResponseMapper patronResponseMapper, PatronRequestMapper patronRequestMapper) {
+    public PatronServiceImpl(PatronRepository patronRepository, PatronResponseMapper patronResponseMapper, PatronRequestMapper patronRequestMapper, Pagination pagination) {
         this.patronRepository = patronRepository;
         this.patronResponseMapper = patronResponseMapper;
         this.patronRequestMapper = patronRequestMapper;
+        this.pagination = pagination;
     }
 
     @Override
-    public List<PatronResponseModel> getAllPatrons() {
-        List<Patron> patronList = patronRepository.findAll();
-        return patronResponseMapper.entityListToResponseModelList(patronList);
+    public CursorPage<PatronResponseModel> getAllPatrons(String cursor, Integer size) {
+        int pageSize = pagination.pageSize(size);
+        List<Patron> patronList = patronRepository.findAllByIdGreaterThanOrderByIdAsc(CursorPage.decodeId(cursor),
+                Limit.of(pageSize + 1));
+        return CursorPage.of(patronList, pageSize, Patron::getId, patronResponseMapper::entityListToResponseModelList);
     }
 
     @Override
@@ -78,6 +85,7 @@ public class PatronServiceImpl implements PatronService{
         Patron updatedPatron = patronRequestMapper.requestModelToEntity(patronRequestModel,
                 foundPatron.getPatronIdentifier(), address);
         updatedPatron.setId(foundPatron.getId());
+        updatedPatron.setVersion(foundPatron.getVersion());
         return patronResponseMapper.entityToResponseModel(patronRepository.save(updatedPatron));
     }
 
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.List;
 
@@ -33,6 +34,11 @@ public class Patron {
     @CollectionTable(name = "patron_phonenumbers", joinColumns = @JoinColumn(name="patron_id"))
     private List<PhoneNumber> phoneNumbers;
 
+    // rows loaded by the data scripts start at version 0
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
     public Patron(@NotNull String firstName, @NotNull String lastName, @NotNull String emailAddress,
                   @NotNull ContactMethodPreference contactMethodPreference, @NotNull Address address,
                   @NotNull List<PhoneNumber> phoneNumbers) {
@@ -1,11 +1,10 @@
 package com.library.patrons.datalayer;
 
+import com.library.patrons.utils.IdentifierGenerator;
 import jakarta.persistence.Embeddable;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
-import java.util.UUID;
-
 @Embeddable
 @Getter
 @AllArgsConstructor
@@ -14,6 +13,6 @@ public class PatronIdentifier {
     private String patronId;
 
     public PatronIdentifier() {
-        this.patronId = UUID.randomUUID().toString();
+        this.patronId = IdentifierGenerator.nextId();
     }
 }
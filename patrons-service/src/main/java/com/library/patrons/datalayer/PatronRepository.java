@@ -1,8 +1,14 @@
 package com.library.patrons.datalayer;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
+
 public interface PatronRepository extends JpaRepository<Patron, Integer> {
 
     Patron findByPatronIdentifier_PatronId(String patronId);
+
+    // keyset page, the rows after the given id in id order
+    List<Patron> findAllByIdGreaterThanOrderByIdAsc(Integer id, Limit limit);
 }
\ No newline at end of file
@@ -11,6 +11,7 @@ import org.mapstruct.Mapping;
 public interface PatronRequestMapper {
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Patron requestModelToEntity(PatronRequestModel patronRequestModel,
                                 PatronIdentifier patronIdentifier,
                                 Address address);
@@ -2,12 +2,13 @@ package com.library.patrons.datamapperlayer;
 
 import com.library.patrons.datalayer.Patron;
 import com.library.patrons.presentationlayer.PatronResponseModel;
+import com.library.patrons.utils.ETags;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
 import java.util.List;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", imports = ETags.class)
 public interface PatronResponseMapper {
 
     @Mapping(expression = "java(patron.getPatronIdentifier().getPatronId())", target = "patronId")
@@ -16,6 +17,7 @@ public interface PatronResponseMapper {
     @Mapping(expression = "java(patron.getAddress().getProvince())", target = "province")
     @Mapping(expression = "java(patron.getAddress().getCountry())", target = "country")
     @Mapping(expression = "java(patron.getAddress().getPostalCode())", target = "postalCode")
+    @Mapping(expression = "java(ETags.of(patron.getId(), patron.getVersion()))", target = "etag")
     PatronResponseModel entityToResponseModel(Patron patron);
 
     List<PatronResponseModel> entityListToResponseModelList(List<Patron> patrons);
@@ -1,6 +1,7 @@
 package com.library.patrons.presentationlayer;
 
 import com.library.patrons.businesslayer.PatronService;
+import com.library.patrons.utils.ETags;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -18,13 +19,15 @@ public class PatronController {
     }
 
     @GetMapping(produces = "application/json")
-    public ResponseEntity<List<PatronResponseModel>> getAllPatrons() {
-        return ResponseEntity.ok().body(patronService.getAllPatrons());
+    public ResponseEntity<List<PatronResponseModel>> getAllPatrons(@RequestParam(required = false) String cursor,
+                                                                   @RequestParam(required = false) Integer size) {
+        return patronService.getAllPatrons(cursor, size).toResponseEntity(PatronResponseModel::getEtag);
     }
 
     @GetMapping(value = "{patronId}", produces = "application/json")
     public ResponseEntity<PatronResponseModel> getPatron(@PathVariable String patronId) {
-        return ResponseEntity.ok().body(patronService.getPatron(patronId));
+        PatronResponseModel patron = patronService.getPatron(patronId);
+        return ETags.ok(patron.getEtag()).body(patron);
     }
 
     @PostMapping(consumes = "application/json", produces = "application/json")
@@ -1,10 +1,12 @@
 package com.library.patrons.presentationlayer;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.library.patrons.datalayer.ContactMethodPreference;
 import com.library.patrons.datalayer.PhoneNumber;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
@@ -28,4 +30,9 @@ public class PatronResponseModel {
     private String country;
     private String postalCode;
     private List<PhoneNumber> phoneNumbers;
+
+    // sent as the ETag header, not in the body
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private String etag;
 }
@@ -0,0 +1,58 @@
+package com.library.patrons.utils;
+
+import com.library.patrons.utils.exceptions.InvalidCursorException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+// One page of a keyset-paginated list. The cursor is the opaque, encoded key of the last row on the page,
+// null when there is nothing after it.
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    // rows are fetched with one extra row past the page size, which only tells us that another page exists
+    public static <E, T> CursorPage<T> of(List<E> rows, int pageSize, Function<E, ?> key,
+                                          Function<List<E>, List<T>> mapper) {
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(mapper.apply(rows), null);
+        }
+        List<E> page = rows.subList(0, pageSize);
+        return new CursorPage<>(mapper.apply(page), encode(key.apply(page.get(pageSize - 1))));
+    }
+
+    // the body stays a plain array, the cursor for the next page travels in a header
+    public ResponseEntity<List<T>> toResponseEntity(Function<T, String> etag) {
+        ResponseEntity.BodyBuilder response = ETags.ok(ETags.ofAll(items.stream().map(etag).toList(), nextCursor));
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(items);
+    }
+
+    public static String encode(Object key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Integer decodeId(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        try {
+            return Integer.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        }
+        catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+    }
+}
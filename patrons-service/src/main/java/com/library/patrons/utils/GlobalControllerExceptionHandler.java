@@ -1,5 +1,6 @@
 package com.library.patrons.utils;
 
+import com.library.patrons.utils.exceptions.InvalidCursorException;
 import com.library.patrons.utils.exceptions.InvalidEmailException;
 import com.library.patrons.utils.exceptions.NotFoundException;
 import lombok.extern.slf4j.Slf4j;
@@ -29,6 +30,12 @@ public class GlobalControllerExceptionHandler {
         return createHttpErrorInfo(UNPROCESSABLE_ENTITY, request, ex);
     }
 
+    @ResponseStatus(UNPROCESSABLE_ENTITY)
+    @ExceptionHandler(InvalidCursorException.class)
+    public HttpErrorInfo handleInvalidCursorException(WebRequest request, Exception ex) {
+        return createHttpErrorInfo(UNPROCESSABLE_ENTITY, request, ex);
+    }
+
     private HttpErrorInfo createHttpErrorInfo(HttpStatus httpStatus, WebRequest request, Exception ex) {
         final String path = request.getDescription(false);
         // final String path = request.getPath().pathWithinApplication().value();
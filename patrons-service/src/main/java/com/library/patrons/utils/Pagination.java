@@ -0,0 +1,25 @@
+package com.library.patrons.utils;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class Pagination {
+
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public Pagination(@Value("${app.pagination.default-page-size:50}") int defaultPageSize,
+                      @Value("${app.pagination.max-page-size:200}") int maxPageSize) {
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    // sizes outside 1..max are capped rather than rejected
+    public int pageSize(Integer requestedSize) {
+        if (requestedSize == null) {
+            return defaultPageSize;
+        }
+        return Math.max(1, Math.min(requestedSize, maxPageSize));
+    }
+}
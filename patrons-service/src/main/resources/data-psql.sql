@@ -1,34 +1,51 @@
+-- run on every start of the docker profile: a patron whose id is already there is skipped, not inserted twice
+
 insert into patrons(patron_id, first_name, last_name, email_address, contact_method_preference, street_address, city, province, country, postal_code)
-values('e5913a79-9b1e-4516-9ffd-06578e7af261', 'Vilma', 'Chawner', 'vchawner0@phoca.cz', 'MAIL', '8452 Anhalt Park', 'Chambly', 'Québec', 'Canada', 'J3L 5Y6');
+values('e5913a79-9b1e-4516-9ffd-06578e7af261', 'Vilma', 'Chawner', 'vchawner0@phoca.cz', 'MAIL', '8452 Anhalt Park', 'Chambly', 'Québec', 'Canada', 'J3L 5Y6')
+on conflict (patron_id) do nothing;
 insert into patrons (patron_id, first_name, last_name, email_address, contact_method_preference, street_address, city, province, country, postal_code)
-values ('c3540a89-cb47-4c96-888e-ff96708db4d8', 'Alick', 'Ucceli', 'aucceli0@dot.gov', 'EMAIL', '73 Shoshone Road', 'Barraute', 'Québec', 'Canada', 'P0M 2T6');
+values ('c3540a89-cb47-4c96-888e-ff96708db4d8', 'Alick', 'Ucceli', 'aucceli0@dot.gov', 'EMAIL', '73 Shoshone Road', 'Barraute', 'Québec', 'Canada', 'P0M 2T6')
+on conflict (patron_id) do nothing;
 insert into patrons (patron_id, first_name, last_name, email_address, contact_method_preference, street_address, city, province, country, postal_code)
-values ('dd1ab8b0-ab17-4e03-b70a-84caa3871606', 'Ricky', 'Presslie', 'rpresslie1@domainmarket.com', 'HOME_PHONE', '24 Dorton Circle', 'Notre-Dame-des-Prairies', 'Québec', 'Canada', 'K6V 3J2');
+values ('dd1ab8b0-ab17-4e03-b70a-84caa3871606', 'Ricky', 'Presslie', 'rpresslie1@domainmarket.com', 'HOME_PHONE', '24 Dorton Circle', 'Notre-Dame-des-Prairies', 'Québec', 'Canada', 'K6V 3J2')
+on conflict (patron_id) do nothing;
 insert into patrons (patron_id, first_name, last_name, email_address, contact_method_preference, street_address, city, province, country, postal_code)
-values ('ba6c3e76-366e-44bb-8279-b41dc32dc456', 'Allx', 'Cholmondeley', 'acholmondeley2@weibo.com', 'CELL_PHONE', '61 Farragut Street', 'Senneterre', 'Québec', 'Canada', 'L0P 1J8');
+values ('ba6c3e76-366e-44bb-8279-b41dc32dc456', 'Allx', 'Cholmondeley', 'acholmondeley2@weibo.com', 'CELL_PHONE', '61 Farragut Street', 'Senneterre', 'Québec', 'Canada', 'L0P 1J8')
+on conflict (patron_id) do nothing;
 insert into patrons (patron_id, first_name, last_name, email_address, contact_method_preference, street_address, city, province, country, postal_code)
-values ('45772446-62f4-4ccb-b3f4-9393c186fa43', 'Gaspar', 'Russi', 'grussi3@un.org', 'MAIL', '3612 Del Mar Terrace', 'Sainte-Marthe-sur-le-Lac', 'Québec', 'Canada', 'H9K 0W3');
+values ('45772446-62f4-4ccb-b3f4-9393c186fa43', 'Gaspar', 'Russi', 'grussi3@un.org', 'MAIL', '3612 Del Mar Terrace', 'Sainte-Marthe-sur-le-Lac', 'Québec', 'Canada', 'H9K 0W3')
+on conflict (patron_id) do nothing;
 insert into patrons (patron_id, first_name, last_name, email_address, contact_method_preference, street_address, city, province, country, postal_code)
-values ('30a4e2e3-fe9d-4903-bd23-b0a72b6c4ced', 'Hillard', 'Heamus', 'hheamus4@va.gov', 'EMAIL', '809 Blue Bill Park Park', 'Cowansville', 'Québec', 'Canada', 'J2K P4X');
+values ('30a4e2e3-fe9d-4903-bd23-b0a72b6c4ced', 'Hillard', 'Heamus', 'hheamus4@va.gov', 'EMAIL', '809 Blue Bill Park Park', 'Cowansville', 'Québec', 'Canada', 'J2K P4X')
+on conflict (patron_id) do nothing;
 insert into patrons (patron_id, first_name, last_name, email_address, contact_method_preference, street_address, city, province, country, postal_code)
-values ('2bec7ec2-fe40-474f-a8cd-612f7790d24f', 'Darrin', 'Cadd', 'dcadd5@ning.com', 'HOME_PHONE', '9 Cambridge Road', 'Havre-Saint-Pierre', 'Québec', 'Canada', 'H4R 1R9');
+values ('2bec7ec2-fe40-474f-a8cd-612f7790d24f', 'Darrin', 'Cadd', 'dcadd5@ning.com', 'HOME_PHONE', '9 Cambridge Road', 'Havre-Saint-Pierre', 'Québec', 'Canada', 'H4R 1R9')
+on conflict (patron_id) do nothing;
 insert into patrons (patron_id, first_name, last_name, email_address, contact_method_preference, street_address, city, province, country, postal_code)
-values ('6b2214d8-8d17-42f3-82bd-1b9264f19c64', 'Susana', 'Maxfield', 'smaxfield6@themeforest.net', 'CELL_PHONE', '4509 Mifflin Road', 'Acton Vale', 'Québec', 'Canada', 'G0E N6E');
+values ('6b2214d8-8d17-42f3-82bd-1b9264f19c64', 'Susana', 'Maxfield', 'smaxfield6@themeforest.net', 'CELL_PHONE', '4509 Mifflin Road', 'Acton Vale', 'Québec', 'Canada', 'G0E N6E')
+on conflict (patron_id) do nothing;
 insert into patrons (patron_id, first_name, last_name, email_address, contact_method_preference, street_address, city, province, country, postal_code)
-values ('a11014c8-85bc-4f8a-b627-7dfd645764ce', 'Elias', 'Plaxton', 'eplaxton7@house.gov', 'MAIL', '382 Dorton Terrace', 'London', 'Ontario', 'Canada', 'N6C 2E4');
+values ('a11014c8-85bc-4f8a-b627-7dfd645764ce', 'Elias', 'Plaxton', 'eplaxton7@house.gov', 'MAIL', '382 Dorton Terrace', 'London', 'Ontario', 'Canada', 'N6C 2E4')
+on conflict (patron_id) do nothing;
 insert into patrons (patron_id, first_name, last_name, email_address, contact_method_preference, street_address, city, province, country, postal_code)
-values ('13526a90-506f-4981-a9da-06ba21fc610b', 'Ralina', 'Sussex', 'rsussex8@nymag.com', 'EMAIL', '624 Gale Alley', 'Waterloo', 'Ontario', 'Canada', 'N2L 7K8');
+values ('13526a90-506f-4981-a9da-06ba21fc610b', 'Ralina', 'Sussex', 'rsussex8@nymag.com', 'EMAIL', '624 Gale Alley', 'Waterloo', 'Ontario', 'Canada', 'N2L 7K8')
+on conflict (patron_id) do nothing;
 insert into patrons (patron_id, first_name, last_name, email_address, contact_method_preference, street_address, city, province, country, postal_code)
-values ('cc9c2c7f-afc9-46fb-8119-17158e54d02f', 'Pen', 'Carruthers', 'pcarruthers9@gov.uk', 'HOME_PHONE', '3 4th Terrace', 'Hearst', 'Ontario', 'Canada', 'S4A 8Y2');
+values ('cc9c2c7f-afc9-46fb-8119-17158e54d02f', 'Pen', 'Carruthers', 'pcarruthers9@gov.uk', 'HOME_PHONE', '3 4th Terrace', 'Hearst', 'Ontario', 'Canada', 'S4A 8Y2')
+on conflict (patron_id) do nothing;
 
-insert into patron_phonenumbers(patron_id, type, number) values(1, 'HOME', '515-555-5555');
-insert into patron_phonenumbers(patron_id, type, number) values(1, 'MOBILE', '514-555-4444');
-INSERT INTO patron_phonenumbers (patron_id, type, number) VALUES
-                                                              (4, 'HOME', '514-555-1234'),
-                                                              (4, 'MOBILE', '514-555-5678'),
-                                                              (6, 'HOME', '514-555-9876'),
-                                                              (2, 'MOBILE', '514-555-4321'),
-                                                              (8, 'HOME', '514-555-2468'),
-                                                              (5, 'MOBILE', '514-555-1357'),
-                                                              (7, 'HOME', '514-555-3691'),
-                                                              (7, 'MOBILE', '514-555-7801');
+-- the phone numbers have no unique key, so each one is only inserted when it is not there yet
+insert into patron_phonenumbers (patron_id, type, number)
+select seed.patron_id, seed.type, seed.number
+from (values (1, 'HOME', '515-555-5555'),
+             (1, 'MOBILE', '514-555-4444'),
+             (4, 'HOME', '514-555-1234'),
+             (4, 'MOBILE', '514-555-5678'),
+             (6, 'HOME', '514-555-9876'),
+             (2, 'MOBILE', '514-555-4321'),
+             (8, 'HOME', '514-555-2468'),
+             (5, 'MOBILE', '514-555-1357'),
+             (7, 'HOME', '514-555-3691'),
+             (7, 'MOBILE', '514-555-7801')) as seed(patron_id, type, number)
+where not exists (select 1 from patron_phonenumbers p
+                  where p.patron_id = seed.patron_id and p.type = seed.type and p.number = seed.number);
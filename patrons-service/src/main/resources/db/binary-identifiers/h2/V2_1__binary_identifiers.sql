@@ -0,0 +1,2 @@
+-- patron ids as 16 byte UUIDs, H2 parses the existing strings and rebuilds the index on them
+alter table patrons alter column patron_id set data type uuid;
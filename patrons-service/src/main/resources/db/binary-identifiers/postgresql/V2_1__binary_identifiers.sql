@@ -0,0 +1,3 @@
+-- patron ids as 16 byte uuids. The cast rejects an id that is not a UUID, which fails the migration instead of
+-- losing the id, and the index on the column is rebuilt on the new type.
+alter table patrons alter column patron_id type uuid using patron_id::uuid;
@@ -1,14 +1,12 @@
-drop table if exists patron_phonenumbers;
+-- the schema as schema-psql.sql created it
 
-create table if not exists patron_phonenumbers (
+create table patron_phonenumbers (
     patron_id INTEGER,
     type VARCHAR(50),
     number VARCHAR(50)
     );
 
-drop table if exists patrons;
-
-create table if not exists patrons (
+create table patrons (
     id SERIAL,
     patron_id VARCHAR(36),
     first_name VARCHAR(50),
@@ -20,5 +18,6 @@ create table if not exists patrons (
     province VARCHAR (50),
     country VARCHAR (50),
     postal_code VARCHAR (9),
+    version BIGINT NOT NULL DEFAULT 0,
     PRIMARY KEY (id)
     );
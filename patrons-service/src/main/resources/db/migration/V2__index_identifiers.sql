@@ -0,0 +1,5 @@
+-- every patron lookup filters on its public id, unique so a duplicate id fails the insert
+create unique index patrons_patron_id on patrons (patron_id);
+
+-- the phone numbers are loaded by the patron's row id
+create index patron_phonenumbers_patron_id on patron_phonenumbers (patron_id);
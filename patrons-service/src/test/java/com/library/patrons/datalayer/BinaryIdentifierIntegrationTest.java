@@ -0,0 +1,102 @@
+package com.library.patrons.datalayer;
+
+import com.library.patrons.presentationlayer.PatronRequestModel;
+import com.library.patrons.presentationlayer.PatronResponseModel;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.test.annotation.DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD;
+
+// The API run against patron ids stored as UUIDs, the JSON must look the same as with string ids
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+@ActiveProfiles({"h2", "binary-ids"})
+@DirtiesContext(classMode = AFTER_EACH_TEST_METHOD)
+class BinaryIdentifierIntegrationTest {
+
+    private final String BASE_URI_PATRONS = "api/v1/patrons";
+    private final String FOUND_PATRON_ID = "e5913a79-9b1e-4516-9ffd-06578e7af261";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    // positive test case
+    @Test
+    public void whenBinaryIds_thenStorePatronIdsAsUuid() {
+        // act
+        String type = jdbcTemplate.queryForObject("select data_type from information_schema.columns "
+                + "where table_name = 'PATRONS' and column_name = 'PATRON_ID'", String.class);
+
+        // assert
+        assertEquals("UUID", type);
+    }
+
+    // positive test case
+    @Test
+    public void whenGetPatronExists_thenReturnPatronIdAsString() {
+        // act & assert
+        webTestClient.get()
+                .uri(BASE_URI_PATRONS + "/" + FOUND_PATRON_ID)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.patronId").isEqualTo(FOUND_PATRON_ID)
+                .jsonPath("$.firstName").isEqualTo("Vilma");
+    }
+
+    // positive test case
+    @Test
+    public void whenPatronCreated_thenFindItByItsId() {
+        // arrange
+        PatronRequestModel patronRequestModel = new PatronRequestModel("Val", "Chase", "val.chase@gmail.com",
+                "MAIL", "1234 Elm St", "Des Moines", "Iowa", "USA", "50309",
+                List.of(new PhoneNumber(PhoneType.HOME, "515-555-5555")));
+        PatronResponseModel created = webTestClient.post()
+                .uri(BASE_URI_PATRONS)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(patronRequestModel)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(PatronResponseModel.class)
+                .returnResult().getResponseBody();
+
+        // act & assert
+        assertNotNull(created);
+        assertEquals(created.getPatronId(), UUID.fromString(created.getPatronId()).toString());
+        webTestClient.get()
+                .uri(BASE_URI_PATRONS + "/" + created.getPatronId())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.patronId").isEqualTo(created.getPatronId());
+    }
+
+    // negative test case
+    @Test
+    public void whenPatronIdNotAUuid_thenReturnNotFound() {
+        // act & assert
+        webTestClient.get()
+                .uri(BASE_URI_PATRONS + "/not-a-uuid")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Unknown patronId: not-a-uuid");
+    }
+}
@@ -0,0 +1,89 @@
+package com.library.patrons.datalayer;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs H2's EXPLAIN on the SQL the repository methods actually send, against the schema the migrations create
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.library.patrons.datalayer.QueryPlanIntegrationTest$LastStatement")
+class QueryPlanIntegrationTest {
+
+    private static final String PATRON_ID = "e5913a79-9b1e-4516-9ffd-06578e7af261";
+
+    @Autowired
+    private PatronRepository patronRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // positive test case
+    @Test
+    public void whenFindByPatronId_thenUsePatronIdIndex() {
+        // act
+        patronRepository.findByPatronIdentifier_PatronId(PATRON_ID);
+        String plan = explain(PATRON_ID);
+
+        // assert
+        assertTrue(plan.contains("PUBLIC.PATRONS_PATRON_ID: PATRON_ID ="), plan);
+    }
+
+    // positive test case
+    @Test
+    public void whenPhoneNumbersLoaded_thenUsePatronIdIndex() {
+        // arrange
+        List<PhoneNumber> phoneNumbers = new ArrayList<>();
+        phoneNumbers.add(new PhoneNumber(PhoneType.HOME, "514-555-5555"));
+        Patron patron = patronRepository.save(new Patron("Vilma", "Chawner", "vchawner0@phoca.cz",
+                ContactMethodPreference.MAIL, new Address("8452 Anhalt Park", "Chambly", "Québec", "Canada",
+                "J3L 5Y6"), phoneNumbers));
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        // act
+        patronRepository.findByPatronIdentifier_PatronId(patron.getPatronIdentifier().getPatronId())
+                .getPhoneNumbers().size();
+        String plan = explain(patron.getId());
+
+        // assert
+        assertTrue(plan.contains("PUBLIC.PATRON_PHONENUMBERS_PATRON_ID: PATRON_ID ="), plan);
+    }
+
+    // negative test case
+    @Test
+    public void whenPatronIdDuplicated_thenRejectInsert() {
+        // arrange
+        jdbcTemplate.update("insert into patrons(patron_id, first_name) values (?, 'Vilma')", PATRON_ID);
+
+        // act & assert
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "insert into patrons(patron_id, first_name) values (?, 'Alick')", PATRON_ID));
+    }
+
+    private String explain(Object... parameters) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + LastStatement.sql, String.class, parameters);
+    }
+
+    public static class LastStatement implements StatementInspector {
+
+        private static volatile String sql;
+
+        @Override
+        public String inspect(String sql) {
+            LastStatement.sql = sql;
+            return sql;
+        }
+    }
+}
@@ -4,12 +4,15 @@ import com.library.patrons.datalayer.ContactMethodPreference;
 import com.library.patrons.datalayer.PatronRepository;
 import com.library.patrons.datalayer.PhoneNumber;
 import com.library.patrons.datalayer.PhoneType;
+import com.library.patrons.utils.CursorPage;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
 import java.util.ArrayList;
@@ -90,6 +93,50 @@ class PatronControllerIntegrationTest {
                 });
     }
 
+    // positive path
+    @Test
+    public void whenGetPatronsPageByPage_thenFollowCursorThroughAllPatrons() {
+
+        // arrange
+        long sizeDB = patronRepository.count();
+        List<String> patronIds = new ArrayList<>();
+        String cursor = null;
+
+        // act
+        do {
+            EntityExchangeResult<List<PatronResponseModel>> result = webTestClient.get()
+                    .uri(BASE_URI_PATRONS + "?size=3" + (cursor == null ? "" : "&cursor=" + cursor))
+                    .accept(MediaType.APPLICATION_JSON)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBodyList(PatronResponseModel.class)
+                    .returnResult();
+
+            assertTrue(result.getResponseBody().size() <= 3);
+            result.getResponseBody().forEach(patron -> patronIds.add(patron.getPatronId()));
+            cursor = result.getResponseHeaders().getFirst(CursorPage.NEXT_CURSOR_HEADER);
+        } while (cursor != null);
+
+        // assert
+        assertEquals(sizeDB, patronIds.size());
+        assertEquals(sizeDB, patronIds.stream().distinct().count());
+    }
+
+    // negative path
+    @Test
+    public void whenGetPatronsWithInvalidCursor_thenReturnUnprocessableEntity() {
+
+        // act & assert
+        webTestClient.get()
+                .uri(BASE_URI_PATRONS + "?cursor=not-a-cursor")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().is4xxClientError()
+                .expectBody()
+                .jsonPath("$.httpStatus").isEqualTo("UNPROCESSABLE_ENTITY")
+                .jsonPath("$.message").isEqualTo("Invalid cursor: not-a-cursor");
+    }
+
     // positive test case
     @Test
     public void whenGetPatronExists_thenReturnPatronByPatronId() {
@@ -125,6 +172,30 @@ class PatronControllerIntegrationTest {
                 });
     }
 
+    // positive test case
+    @Test
+    public void whenGetPatronWithMatchingETag_thenReturnNotModified() {
+
+        // arrange
+        String etag = webTestClient.get()
+                .uri(BASE_URI_PATRONS + "/" + FOUND_PATRON_ID)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .returnResult(PatronResponseModel.class)
+                .getResponseHeaders().getETag();
+
+        // act & assert
+        webTestClient.get()
+                .uri(BASE_URI_PATRONS + "/" + FOUND_PATRON_ID)
+                .accept(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
     // negative test case
     @Test
     public void whenGetPatronDoesNotExist_thenReturnNotFound() {
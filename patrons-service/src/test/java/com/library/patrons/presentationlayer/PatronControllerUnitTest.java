@@ -1,6 +1,7 @@
 package com.library.patrons.presentationlayer;
 
 import com.library.patrons.businesslayer.PatronService;
+import com.library.patrons.utils.CursorPage;
 import com.library.patrons.datalayer.PhoneNumber;
 import com.library.patrons.datalayer.PhoneType;
 import com.library.patrons.utils.exceptions.InvalidEmailException;
@@ -104,10 +105,10 @@ class PatronControllerUnitTest {
         // arrange
         PatronResponseModel patronResponseModel = buildPatronResponseModel();
 
-        when(patronService.getAllPatrons()).thenReturn(Collections.singletonList(patronResponseModel));
+        when(patronService.getAllPatrons(null, null)).thenReturn(new CursorPage<>(Collections.singletonList(patronResponseModel), null));
 
         // act
-        ResponseEntity<List<PatronResponseModel>> responseEntity = patronController.getAllPatrons();
+        ResponseEntity<List<PatronResponseModel>> responseEntity = patronController.getAllPatrons(null, null);
 
         // assert
         assertNotNull(responseEntity);
@@ -115,23 +116,23 @@ class PatronControllerUnitTest {
         assertFalse(responseEntity.getBody().isEmpty());
         assertEquals(1, responseEntity.getBody().size());
         assertEquals(patronResponseModel, responseEntity.getBody().get(0));
-        verify(patronService, times(1)).getAllPatrons();
+        verify(patronService, times(1)).getAllPatrons(null, null);
     }
 
     // negative test case
     @Test
     public void whenNoPatronExists_thenReturnEmptyList() {
         // arrange
-        when(patronService.getAllPatrons()).thenReturn(Collections.emptyList());
+        when(patronService.getAllPatrons(null, null)).thenReturn(new CursorPage<>(Collections.emptyList(), null));
 
         //act
-        ResponseEntity<List<PatronResponseModel>> responseEntity = patronController.getAllPatrons();
+        ResponseEntity<List<PatronResponseModel>> responseEntity = patronController.getAllPatrons(null, null);
 
         // assert
         assertNotNull(responseEntity);
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
         assertTrue(responseEntity.getBody().isEmpty());
-        verify(patronService, times(1)).getAllPatrons();
+        verify(patronService, times(1)).getAllPatrons(null, null);
     }
 
     // positive test case